@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.bench;
+
+import de.neemann.digital.analyse.ModelAnalyser;
+import de.neemann.digital.analyse.TruthTable;
+import de.neemann.digital.analyse.expression.Expression;
+import de.neemann.digital.analyse.expression.Variable;
+import de.neemann.digital.analyse.quinemc.BoolTableBoolArray;
+import de.neemann.digital.analyse.quinemc.QuineMcCluskey;
+import de.neemann.digital.core.Model;
+import de.neemann.digital.integration.ToBreakRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the analysis of a circuit and the minimization of boolean functions.
+ */
+public class AnalyseBenchmark {
+
+    /**
+     * Measures {@link ModelAnalyser#analyse()}.
+     * The analyser modifies the model, so a new model is created before every invocation.
+     */
+    @State(Scope.Thread)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public static class Analyse {
+        @Param({"dig/analyze/multiBitCounter.dig", "dig/analyze/multiBitInOutXOr.dig", "dig/test/vhdl/FullAdderCLA.dig"})
+        private String file;
+
+        private Model model;
+
+        /**
+         * Creates the model
+         *
+         * @throws Exception Exception
+         */
+        @Setup(Level.Invocation)
+        public void setup() throws Exception {
+            model = new ToBreakRunner(file, false).getModel();
+        }
+
+        /**
+         * Runs the analysis
+         *
+         * @return the truth table
+         * @throws Exception Exception
+         */
+        @Benchmark
+        public TruthTable analyse() throws Exception {
+            return new ModelAnalyser(model).analyse();
+        }
+    }
+
+    /**
+     * Measures {@link QuineMcCluskey#simplify()} on random functions.
+     */
+    @State(Scope.Thread)
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3)
+    @Measurement(iterations = 5)
+    @Fork(1)
+    public static class Simplify {
+        @Param({"6", "8"})
+        private int vars;
+
+        private ArrayList<Variable> variables;
+        private boolean[] table;
+
+        /**
+         * Creates a random function
+         */
+        @Setup(Level.Trial)
+        public void setup() {
+            variables = Variable.vars(vars);
+            table = new boolean[1 << vars];
+            Random r = new Random(vars);
+            for (int i = 0; i < table.length; i++)
+                table[i] = r.nextBoolean();
+        }
+
+        /**
+         * Runs the minimization
+         *
+         * @return the minimized expression
+         * @throws Exception Exception
+         */
+        @Benchmark
+        public Expression simplify() throws Exception {
+            return new QuineMcCluskey(variables)
+                    .fillTableWith(new BoolTableBoolArray(table))
+                    .simplify()
+                    .getExpression();
+        }
+    }
+}
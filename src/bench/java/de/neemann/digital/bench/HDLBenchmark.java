@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.bench;
+
+import de.neemann.digital.draw.elements.Circuit;
+import de.neemann.digital.draw.library.ElementLibrary;
+import de.neemann.digital.hdl.printer.CodePrinterStr;
+import de.neemann.digital.hdl.verilog2.VerilogGenerator;
+import de.neemann.digital.hdl.vhdl2.VHDLGenerator;
+import de.neemann.digital.integration.ToBreakRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the export of a circuit to Verilog and VHDL.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HDLBenchmark {
+
+    @Param({"dig/test/vhdl/FullAdderCLA.dig", "dig/hdl/adder4b.dig", "dig/hdl/demux3.dig"})
+    private String file;
+
+    private Circuit circuit;
+    private ElementLibrary library;
+
+    /**
+     * Loads the circuit
+     *
+     * @throws Exception Exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ToBreakRunner runner = new ToBreakRunner(file, false);
+        circuit = runner.getCircuit();
+        library = runner.getLibrary();
+        runner.close();
+    }
+
+    /**
+     * Measures the {@link VerilogGenerator}
+     *
+     * @return the generated code
+     * @throws Exception Exception
+     */
+    @Benchmark
+    public String verilog() throws Exception {
+        CodePrinterStr out = new CodePrinterStr();
+        new VerilogGenerator(library, out).export(circuit);
+        return out.toString();
+    }
+
+    /**
+     * Measures the {@link VHDLGenerator}
+     *
+     * @return the generated code
+     * @throws Exception Exception
+     */
+    @Benchmark
+    public String vhdl() throws Exception {
+        CodePrinterStr out = new CodePrinterStr();
+        new VHDLGenerator(library, out).export(circuit);
+        return out.toString();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.bench;
+
+import de.neemann.digital.core.Model;
+import de.neemann.digital.draw.elements.Circuit;
+import de.neemann.digital.draw.library.ElementLibrary;
+import de.neemann.digital.draw.model.ModelCreator;
+import de.neemann.digital.draw.model.NetList;
+import de.neemann.digital.integration.ToBreakRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the creation of the net list and of the model of a circuit.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ModelCreationBenchmark {
+
+    @Param({"dig/test/74xx/74181-74182.dig", "dig/test/vhdl/FullAdderCLA.dig", "dig/test/switch/GAL2v3.dig"})
+    private String file;
+
+    private Circuit circuit;
+    private ElementLibrary library;
+
+    /**
+     * Loads the circuit
+     *
+     * @throws Exception Exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ToBreakRunner runner = new ToBreakRunner(file, false);
+        circuit = runner.getCircuit();
+        library = runner.getLibrary();
+        runner.close();
+    }
+
+    /**
+     * Measures the creation of the {@link NetList}
+     *
+     * @return the net list
+     * @throws Exception Exception
+     */
+    @Benchmark
+    public NetList netList() throws Exception {
+        return new NetList(circuit);
+    }
+
+    /**
+     * Measures {@link ModelCreator#createModel(boolean)}
+     *
+     * @return the model
+     * @throws Exception Exception
+     */
+    @Benchmark
+    public Model createModel() throws Exception {
+        return new ModelCreator(circuit, library).createModel(false);
+    }
+}
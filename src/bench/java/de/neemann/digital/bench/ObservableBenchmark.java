@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.bench;
+
+import de.neemann.digital.core.ObservableValue;
+import de.neemann.digital.core.Observer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ObservableValue#setValue(long)} at different fan-outs.
+ * Every invocation changes the value, so all observers are notified.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ObservableBenchmark {
+
+    @Param({"1", "8", "64", "1024"})
+    private int fanOut;
+
+    private ObservableValue value;
+    private Blackhole blackhole;
+    private long next;
+
+    /**
+     * Creates the value and its observers
+     */
+    @Setup(Level.Trial)
+    public void setup() {
+        value = new ObservableValue("v", 8);
+        for (int i = 0; i < fanOut; i++) {
+            final int n = i;
+            value.addObserver(new Observer() {
+                @Override
+                public void hasChanged() {
+                    blackhole.consume(n);
+                }
+            });
+        }
+    }
+
+    /**
+     * Measures the dispatch of a value change to all observers
+     *
+     * @param bh the blackhole used by the observers
+     */
+    @Benchmark
+    public void setValue(Blackhole bh) {
+        blackhole = bh;
+        value.setValue(++next & 0xff);
+    }
+}
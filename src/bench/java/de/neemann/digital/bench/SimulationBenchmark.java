@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.bench;
+
+import de.neemann.digital.core.Model;
+import de.neemann.digital.core.ObservableValue;
+import de.neemann.digital.core.wiring.Clock;
+import de.neemann.digital.integration.ToBreakRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the simulation of a clocked circuit.
+ * Every invocation toggles the clock and runs the model until it is stable.
+ * The compiled model is only used by {@link Model#doStep()}, so only this benchmark
+ * is run with and without it.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SimulationBenchmark {
+
+    /**
+     * The model of the circuit to simulate
+     */
+    @State(Scope.Thread)
+    public static class Simulation {
+        @Param({"dig/test/counter/cascadeCounter.dig", "dig/test/counter/overflow.dig", "dig/analyze/multiBitCounter.dig"})
+        private String file;
+
+        private ToBreakRunner runner;
+        Model model;
+        ObservableValue clock;
+
+        /**
+         * Loads the circuit and creates the model
+         *
+         * @throws Exception Exception
+         */
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            runner = new ToBreakRunner(file);
+            model = runner.getModel();
+            model.setCompiled(isCompiled());
+            ArrayList<Clock> clocks = model.getClocks();
+            if (clocks.isEmpty())
+                throw new IllegalStateException("no clock found in " + file);
+            clock = clocks.get(0).getClockOutput();
+        }
+
+        /**
+         * @return true if the compiled model is to be used
+         */
+        boolean isCompiled() {
+            return false;
+        }
+
+        /**
+         * Closes the model
+         */
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            runner.close();
+        }
+    }
+
+    /**
+     * The model of the circuit to simulate, with and without the compiled model
+     */
+    @State(Scope.Thread)
+    public static class CompiledSimulation extends Simulation {
+        @Param({"false", "true"})
+        private boolean compiled;
+
+        @Override
+        boolean isCompiled() {
+            return compiled;
+        }
+    }
+
+    /**
+     * Measures {@link Model#doStep()}
+     *
+     * @param s the simulation
+     * @return the clock value to avoid dead code elimination
+     */
+    @Benchmark
+    public long doStep(CompiledSimulation s) {
+        s.clock.setBool(!s.clock.getBool());
+        s.model.doStep();
+        return s.clock.getValue();
+    }
+
+    /**
+     * Measures {@link Model#doMicroStep(boolean)} without noise
+     *
+     * @param s the simulation
+     * @return the number of micro steps
+     */
+    @Benchmark
+    public int doMicroStep(Simulation s) {
+        return microSteps(s, false);
+    }
+
+    /**
+     * Measures {@link Model#doMicroStep(boolean)} with noise
+     *
+     * @param s the simulation
+     * @return the number of micro steps
+     */
+    @Benchmark
+    public int doMicroStepNoise(Simulation s) {
+        return microSteps(s, true);
+    }
+
+    private static int microSteps(Simulation s, boolean noise) {
+        s.clock.setBool(!s.clock.getBool());
+        int n = 0;
+        while (s.model.needsUpdate()) {
+            s.model.doMicroStep(noise);
+            n++;
+        }
+        return n;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.bench;
+
+import de.neemann.digital.draw.elements.Circuit;
+import de.neemann.digital.draw.library.ElementLibrary;
+import de.neemann.digital.integration.ToBreakRunner;
+import de.neemann.digital.testing.TestExecutor;
+import de.neemann.digital.testing.TestResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the execution of all test cases embedded in a circuit.
+ * The model creation is included because every test case creates its own model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TestExecutorBenchmark {
+
+    @Param({"dig/test/74xx/74181-74182.dig", "dig/test/vhdl/FullAdderCLA.dig", "dig/test/counter/cascadeCounter.dig"})
+    private String file;
+
+    @Param({"true", "false"})
+    private boolean bitSliced;
+
+    private Circuit circuit;
+    private ElementLibrary library;
+
+    /**
+     * Loads the circuit
+     *
+     * @throws Exception Exception
+     */
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        ToBreakRunner runner = new ToBreakRunner(file, false);
+        circuit = runner.getCircuit();
+        library = runner.getLibrary();
+        runner.close();
+        if (circuit.getTestCases().isEmpty())
+            throw new IllegalStateException("no test cases found in " + file);
+    }
+
+    /**
+     * Measures {@link TestExecutor#execute()}
+     *
+     * @return the number of passed test cases
+     * @throws Exception Exception
+     */
+    @Benchmark
+    public int execute() throws Exception {
+        int passed = 0;
+        for (Circuit.TestCase tc : circuit.getTestCases()) {
+            TestResult tr = new TestExecutor(tc, circuit, library)
+                    .setAllowBitSliced(bitSliced)
+                    .execute();
+            if (tr.allPassed())
+                passed++;
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,12 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+
+/**
+ * JMH benchmarks of the hot paths of the simulator.
+ * The benchmarks use the example circuits of the test resources and are only compiled
+ * if the maven profile "benchmark" is active.
+ */
+package de.neemann.digital.bench;
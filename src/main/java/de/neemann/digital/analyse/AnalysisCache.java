@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse;
+
+import de.neemann.digital.analyse.expression.NamedExpression;
+import de.neemann.digital.analyse.expression.Variable;
+import de.neemann.digital.analyse.quinemc.BoolTable;
+import de.neemann.digital.analyse.quinemc.BoolTableByteArray;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+/**
+ * Stores the results of previous analyses, so that outputs which are not affected by a
+ * modification of the circuit need not to be simulated and minimized again.
+ * The tables of the outputs are stored using a hash of the structure of the outputs input cone,
+ * see {@link ModelAnalyser#setCache(AnalysisCache, de.neemann.digital.draw.model.ModelCreator)}.
+ * The minimized expressions are stored using a hash of the table content.
+ * Both stores drop the least recently used entries if they become too large.
+ * The methods are thread safe because the expressions are created in parallel.
+ */
+public final class AnalysisCache {
+    private static final long MAX_TABLE_BYTES = 1 << 26;
+    private static final int MAX_EXPRESSIONS = 4096;
+    private static final int FIXED_TABLE_BYTES = 1024;
+
+    private final LinkedHashMap<String, TableEntry> tables;
+    private final LinkedHashMap<String, List<NamedExpression>> expressions;
+    private long tableBytes;
+    private int tableHits;
+    private int expressionHits;
+
+    /**
+     * Creates a new empty cache
+     */
+    public AnalysisCache() {
+        tables = new LinkedHashMap<>(16, 0.75f, true);
+        expressions = new LinkedHashMap<String, List<NamedExpression>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, List<NamedExpression>> eldest) {
+                return size() > MAX_EXPRESSIONS;
+            }
+        };
+    }
+
+    /**
+     * Returns the stored table of an output
+     *
+     * @param key the structural key of the output
+     * @return the table or null if not available
+     */
+    synchronized TableEntry getTable(String key) {
+        TableEntry e = tables.get(key);
+        if (e != null)
+            tableHits++;
+        return e;
+    }
+
+    /**
+     * Stores the table of an output.
+     * The table must not be modified afterwards.
+     *
+     * @param key   the structural key of the output
+     * @param vars  the names of the variables of the table
+     * @param table the table
+     */
+    synchronized void putTable(String key, List<String> vars, BoolTable table) {
+        TableEntry old = tables.put(key, new TableEntry(vars, table));
+        if (old != null)
+            tableBytes -= old.bytes;
+        tableBytes += tables.get(key).bytes;
+        Iterator<TableEntry> it = tables.values().iterator();
+        while (tableBytes > MAX_TABLE_BYTES && tables.size() > 1) {
+            tableBytes -= it.next().bytes;
+            it.remove();
+        }
+    }
+
+    /**
+     * Returns the stored expressions
+     *
+     * @param key the key created by {@link #createKey(String, List, BoolTable, String)}
+     * @return the expressions or null if not available
+     */
+    public synchronized List<NamedExpression> getExpressions(String key) {
+        List<NamedExpression> e = expressions.get(key);
+        if (e != null)
+            expressionHits++;
+        return e;
+    }
+
+    /**
+     * Stores the expressions found by a minimizer.
+     * The expressions are copied.
+     *
+     * @param key         the key created by {@link #createKey(String, List, BoolTable, String)}
+     * @param expressions the expressions
+     */
+    public synchronized void putExpressions(String key, List<NamedExpression> expressions) {
+        ArrayList<NamedExpression> list = new ArrayList<>(expressions.size());
+        for (NamedExpression e : expressions)
+            list.add(new NamedExpression(e.getName(), e.getExpression().copy()));
+        this.expressions.put(key, Collections.unmodifiableList(list));
+    }
+
+    /**
+     * @return the number of tables taken from the cache
+     */
+    public synchronized int getTableHits() {
+        return tableHits;
+    }
+
+    /**
+     * @return the number of expressions taken from the cache
+     */
+    public synchronized int getExpressionHits() {
+        return expressionHits;
+    }
+
+    /**
+     * Creates a key which identifies the minimization of the given table
+     *
+     * @param name      the name of the result
+     * @param vars      the variables
+     * @param table     the table
+     * @param minimizer the name of the minimizer used
+     * @return the key
+     */
+    public static String createKey(String name, List<Variable> vars, BoolTable table, String minimizer) {
+        MessageDigest md = createDigest();
+        update(md, name);
+        update(md, minimizer);
+        for (Variable v : vars)
+            update(md, v.getIdentifier());
+        byte[] buffer = new byte[4096];
+        int pos = 0;
+        for (int i = 0; i < table.size(); i++) {
+            buffer[pos++] = (byte) table.get(i).asInt();
+            if (pos == buffer.length) {
+                md.update(buffer);
+                pos = 0;
+            }
+        }
+        md.update(buffer, 0, pos);
+        return toHex(md.digest());
+    }
+
+    static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform is required to support SHA-256
+            throw new RuntimeException(e);
+        }
+    }
+
+    static void update(MessageDigest md, String s) {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        md.update((byte) (b.length >>> 24));
+        md.update((byte) (b.length >>> 16));
+        md.update((byte) (b.length >>> 8));
+        md.update((byte) b.length);
+        md.update(b);
+    }
+
+    static String toHex(byte[] digest) {
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest)
+            sb.append(Character.forDigit((b >> 4) & 15, 16)).append(Character.forDigit(b & 15, 16));
+        return sb.toString();
+    }
+
+    /**
+     * A stored table
+     */
+    static final class TableEntry {
+        private final List<String> vars;
+        private final BoolTable table;
+        private final long bytes;
+
+        private TableEntry(List<String> vars, BoolTable table) {
+            this.vars = vars;
+            this.table = table;
+            bytes = table instanceof BoolTableByteArray ? table.size() : FIXED_TABLE_BYTES;
+        }
+
+        /**
+         * @return the names of the variables of the table
+         */
+        List<String> getVars() {
+            return vars;
+        }
+
+        /**
+         * @return the table
+         */
+        BoolTable getTable() {
+            return table;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse;
+
+import de.neemann.digital.core.*;
+import de.neemann.digital.core.Observer;
+import de.neemann.digital.draw.elements.PinException;
+import de.neemann.digital.lang.Lang;
+
+import java.util.*;
+
+/**
+ * The graph of all values which can be reached from the inputs of a circuit.
+ * There is an edge from a value to every output of a node which observes the value.
+ * The graph is build once and then used by all analysers. The values are stored in
+ * topological order, which allows to calculate path lengths and dependencies in a
+ * single pass. If the circuit contains a cycle, no topological order exists.
+ */
+final class AnalysisGraph {
+    private final ArrayList<Signal> inputs;
+    private final HashMap<ObservableValue, Integer> index;
+    private final int[] inputIndex;
+    private final int size;
+    private final int[] edgeStart;
+    private final int[] edgeTarget;
+    private final boolean[] edgeDelay;
+    private final int[] order;
+    private final boolean acyclic;
+
+    /**
+     * Creates a new graph
+     *
+     * @param inputs the inputs of the circuit
+     * @throws BacktrackException BacktrackException
+     * @throws PinException       PinException
+     */
+    AnalysisGraph(ArrayList<Signal> inputs) throws BacktrackException, PinException {
+        this.inputs = inputs;
+        index = new HashMap<>();
+        ArrayList<ObservableValue> values = new ArrayList<>();
+        inputIndex = new int[inputs.size()];
+        for (int i = 0; i < inputs.size(); i++)
+            inputIndex[i] = add(inputs.get(i).getValue(), values);
+
+        // visits every value once, the graph is stored as adjacency arrays
+        int[] start = new int[16];
+        int[] targets = new int[16];
+        boolean[] delays = new boolean[16];
+        int edges = 0;
+        for (int v = 0; v < values.size(); v++) {
+            if (v + 1 >= start.length)
+                start = Arrays.copyOf(start, start.length * 2);
+            start[v] = edges;
+            for (Observer o : values.get(v).getObservers()) {
+                if (o instanceof NodeInterface) {
+                    boolean delay = !(o instanceof NodeWithoutDelay);
+                    for (ObservableValue co : ((NodeInterface) o).getOutputs()) {
+                        if (edges == targets.length) {
+                            targets = Arrays.copyOf(targets, edges * 2);
+                            delays = Arrays.copyOf(delays, edges * 2);
+                        }
+                        targets[edges] = add(co, values);
+                        delays[edges] = delay;
+                        edges++;
+                    }
+                } else
+                    throw new BacktrackException(Lang.get("err_backtrackOf_N_isImpossible", o.getClass().getSimpleName()));
+            }
+        }
+        size = values.size();
+        start[size] = edges;
+        edgeStart = Arrays.copyOf(start, size + 1);
+        edgeTarget = Arrays.copyOf(targets, edges);
+        edgeDelay = Arrays.copyOf(delays, edges);
+
+        order = topologicalOrder();
+        acyclic = order.length == size;
+    }
+
+    private int add(ObservableValue value, ArrayList<ObservableValue> values) {
+        Integer i = index.get(value);
+        if (i == null) {
+            i = values.size();
+            index.put(value, i);
+            values.add(value);
+        }
+        return i;
+    }
+
+    /**
+     * Kahn's algorithm. Values which are part of a cycle are missing in the result.
+     */
+    private int[] topologicalOrder() {
+        int[] inDegree = new int[size];
+        for (int t : edgeTarget)
+            inDegree[t]++;
+
+        int[] result = new int[size];
+        int n = 0;
+        for (int v = 0; v < size; v++)
+            if (inDegree[v] == 0)
+                result[n++] = v;
+        for (int i = 0; i < n; i++) {
+            int v = result[i];
+            for (int e = edgeStart[v]; e < edgeStart[v + 1]; e++)
+                if (--inDegree[edgeTarget[e]] == 0)
+                    result[n++] = edgeTarget[e];
+        }
+        return Arrays.copyOf(result, n);
+    }
+
+    /**
+     * @return true if the circuit does not contain a cycle
+     */
+    boolean isAcyclic() {
+        return acyclic;
+    }
+
+    /**
+     * Calculates the max number of nodes with a delay on any path starting at an input.
+     * The graph must not contain a cycle.
+     *
+     * @return the max path len
+     */
+    int getMaxPathLen() {
+        int[] depth = new int[size];
+        int maxDepth = 0;
+        for (int v : order) {
+            int d = depth[v];
+            if (d > maxDepth)
+                maxDepth = d;
+            for (int e = edgeStart[v]; e < edgeStart[v + 1]; e++) {
+                int nd = edgeDelay[e] ? d + 1 : d;
+                if (nd > depth[edgeTarget[e]])
+                    depth[edgeTarget[e]] = nd;
+            }
+        }
+        return maxDepth;
+    }
+
+    /**
+     * Calculates the inputs every value depends on.
+     * The bit i of a set represents the input i.
+     *
+     * @return the dependencies of all values
+     */
+    Dependencies getDependencies() {
+        int words = (inputs.size() + 63) >> 6;
+        long[][] deps = new long[size][words];
+        for (int i = 0; i < inputIndex.length; i++)
+            deps[inputIndex[i]][i >> 6] |= 1L << i;
+
+        if (acyclic) {
+            for (int v : order)
+                for (int e = edgeStart[v]; e < edgeStart[v + 1]; e++)
+                    or(deps[edgeTarget[e]], deps[v]);
+        } else {
+            // the values in a cycle need to be visited until nothing changes anymore
+            ArrayDeque<Integer> queue = new ArrayDeque<>();
+            boolean[] queued = new boolean[size];
+            for (int v = 0; v < size; v++) {
+                queue.add(v);
+                queued[v] = true;
+            }
+            while (!queue.isEmpty()) {
+                int v = queue.poll();
+                queued[v] = false;
+                for (int e = edgeStart[v]; e < edgeStart[v + 1]; e++) {
+                    int t = edgeTarget[e];
+                    if (or(deps[t], deps[v]) && !queued[t]) {
+                        queue.add(t);
+                        queued[t] = true;
+                    }
+                }
+            }
+        }
+        return new Dependencies(deps);
+    }
+
+    private static boolean or(long[] target, long[] source) {
+        boolean changed = false;
+        for (int w = 0; w < target.length; w++) {
+            long n = target[w] | source[w];
+            if (n != target[w]) {
+                target[w] = n;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * The inputs every value depends on
+     */
+    final class Dependencies {
+        private final long[][] deps;
+
+        private Dependencies(long[][] deps) {
+            this.deps = deps;
+        }
+
+        /**
+         * Returns the inputs the given value depends on
+         *
+         * @param value the value
+         * @return the inputs in the order of the circuits inputs
+         */
+        ArrayList<Signal> getInputs(ObservableValue value) {
+            ArrayList<Signal> list = new ArrayList<>();
+            Integer v = index.get(value);
+            if (v != null) {
+                long[] d = deps[v];
+                for (int i = 0; i < inputs.size(); i++)
+                    if ((d[i >> 6] & (1L << i)) != 0)
+                        list.add(inputs.get(i));
+            }
+            return list;
+        }
+    }
+}
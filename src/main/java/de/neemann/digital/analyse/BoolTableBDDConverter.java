@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse;
+
+import com.thoughtworks.xstream.converters.ConversionException;
+import com.thoughtworks.xstream.converters.Converter;
+import com.thoughtworks.xstream.converters.MarshallingContext;
+import com.thoughtworks.xstream.converters.UnmarshallingContext;
+import com.thoughtworks.xstream.io.HierarchicalStreamReader;
+import com.thoughtworks.xstream.io.HierarchicalStreamWriter;
+import de.neemann.digital.analyse.bdd.BoolTableBDD;
+
+/**
+ * Converter for truth tables represented by a binary decision diagram.
+ * Only the nodes of the diagram are stored, not the manager the diagram belongs to.
+ */
+public class BoolTableBDDConverter implements Converter {
+
+    @Override
+    public boolean canConvert(Class aClass) {
+        return aClass.equals(BoolTableBDD.class);
+    }
+
+    @Override
+    public void marshal(Object o, HierarchicalStreamWriter writer, MarshallingContext marshallingContext) {
+        BoolTableBDD bt = (BoolTableBDD) o;
+        writer.addAttribute("vars", Integer.toString(bt.getColumnCount()));
+        writer.setValue(bt.toCompactString());
+    }
+
+    @Override
+    public Object unmarshal(HierarchicalStreamReader reader, UnmarshallingContext unmarshallingContext) {
+        try {
+            int vars = Integer.parseInt(reader.getAttribute("vars"));
+            return BoolTableBDD.fromCompactString(vars, reader.getValue());
+        } catch (NumberFormatException e) {
+            throw new ConversionException("invalid BDD table", e);
+        }
+    }
+
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse;
+
+import de.neemann.digital.core.*;
+import de.neemann.digital.draw.elements.IOState;
+import de.neemann.digital.draw.elements.PinException;
+import de.neemann.digital.draw.elements.VisualElement;
+import de.neemann.digital.draw.model.ModelEntry;
+import de.neemann.digital.draw.model.ModelCreator;
+
+import java.security.MessageDigest;
+import java.util.*;
+
+/**
+ * Calculates a hash of the structure of the cone of a value.
+ * The cone contains all components the value depends on, up to the inputs of the analysis.
+ * A component which is created from a circuit element is described by the name of the element,
+ * its attributes and the cones of its inputs in the order of the inputs. All other nodes,
+ * e.g. the helpers created by the {@link ModelAnalyser}, are described by their class and the
+ * cones of the values they observe. If two values have the same hash, they are calculated
+ * from the same named inputs in the same way.
+ */
+final class ConeHasher {
+    private final HashMap<ObservableValue, Producer> producers;
+    private final HashMap<ObservableValue, byte[]> hashes;
+    private final MessageDigest md;
+
+    /**
+     * Creates a new instance
+     *
+     * @param modelCreator the model creator used to create the model
+     * @param inputs       the inputs of the analysis
+     * @throws PinException PinException
+     */
+    ConeHasher(ModelCreator modelCreator, List<Signal> inputs) throws PinException {
+        producers = new HashMap<>();
+        hashes = new HashMap<>();
+        md = AnalysisCache.createDigest();
+
+        String global = String.valueOf(modelCreator.getCircuit().getAttributes().getContentDescription());
+        for (Signal s : inputs)
+            producers.put(s.getValue(), new Producer("in:" + s.getName(), Collections.emptyList(), true));
+
+        ArrayDeque<ObservableValue> todo = new ArrayDeque<>();
+        for (ModelEntry e : modelCreator) {
+            IOState io = e.getIoState();
+            if (io == null)
+                continue;
+            for (int i = 0; i < io.inputCount(); i++)
+                todo.add(io.getInput(i));
+            // the outputs of a flip-flop are inputs of the analysis
+            if (e.getElement() instanceof Node && ((Node) e.getElement()).hasState())
+                continue;
+            VisualElement ve = e.getVisualElement();
+            String desc = ve.getElementName() + "{" + ve.getElementAttributes().getContentDescription() + "}" + global;
+            ArrayList<ObservableValue> ins = new ArrayList<>(io.getInputs());
+            for (int i = 0; i < io.outputCount(); i++) {
+                ObservableValue o = io.getOutput(i);
+                producers.putIfAbsent(o, new Producer(desc + "#" + i + ":" + o.getBits(), ins, true));
+                todo.add(o);
+            }
+        }
+
+        // all other values are created by nodes which are found by their observers
+        for (Signal s : inputs)
+            todo.add(s.getValue());
+        IdentityHashMap<NodeInterface, ArrayList<ObservableValue>> observed = new IdentityHashMap<>();
+        HashSet<ObservableValue> visited = new HashSet<>();
+        while (!todo.isEmpty()) {
+            ObservableValue v = todo.poll();
+            if (visited.add(v))
+                for (de.neemann.digital.core.Observer o : v.getObservers())
+                    if (o instanceof NodeInterface) {
+                        observed.computeIfAbsent((NodeInterface) o, n -> new ArrayList<>()).add(v);
+                        todo.addAll(((NodeInterface) o).getOutputs());
+                    }
+        }
+        for (Map.Entry<NodeInterface, ArrayList<ObservableValue>> e : observed.entrySet()) {
+            ObservableValues outs = e.getKey().getOutputs();
+            for (int i = 0; i < outs.size(); i++) {
+                ObservableValue o = outs.get(i);
+                producers.putIfAbsent(o, new Producer(e.getKey().getClass().getName() + "#" + i + ":" + o.getBits(), e.getValue(), false));
+            }
+        }
+    }
+
+    /**
+     * Returns the hash of the cone of the given value
+     *
+     * @param value the value
+     * @return the hash or null if the cone contains a cycle
+     */
+    String getHash(ObservableValue value) {
+        byte[] h = calcHash(value);
+        return h == null ? null : AnalysisCache.toHex(h);
+    }
+
+    private byte[] calcHash(ObservableValue root) {
+        HashSet<ObservableValue> inProgress = new HashSet<>();
+        ArrayDeque<ObservableValue> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            ObservableValue v = stack.peek();
+            if (hashes.containsKey(v)) {
+                stack.pop();
+                continue;
+            }
+            Producer p = producers.get(v);
+            if (p == null) {
+                hashes.put(v, hash("free:" + v.getBits(), Collections.emptyList()));
+                stack.pop();
+                continue;
+            }
+            boolean ready = true;
+            if (inProgress.add(v)) {
+                for (ObservableValue in : p.inputs)
+                    if (!hashes.containsKey(in)) {
+                        if (inProgress.contains(in))
+                            return null;
+                        stack.push(in);
+                        ready = false;
+                    }
+            }
+            if (ready) {
+                ArrayList<byte[]> inputHashes = new ArrayList<>(p.inputs.size());
+                for (ObservableValue in : p.inputs)
+                    inputHashes.add(hashes.get(in));
+                if (!p.ordered)
+                    inputHashes.sort(ConeHasher::compare);
+                hashes.put(v, hash(p.description, inputHashes));
+                inProgress.remove(v);
+                stack.pop();
+            }
+        }
+        return hashes.get(root);
+    }
+
+    private byte[] hash(String description, List<byte[]> inputs) {
+        AnalysisCache.update(md, description);
+        for (byte[] h : inputs)
+            md.update(h);
+        return md.digest();
+    }
+
+    private static int compare(byte[] a, byte[] b) {
+        for (int i = 0; i < a.length; i++) {
+            int c = Integer.compare(a[i], b[i]);
+            if (c != 0)
+                return c;
+        }
+        return 0;
+    }
+
+    private static final class Producer {
+        private final String description;
+        private final List<ObservableValue> inputs;
+        private final boolean ordered;
+
+        private Producer(String description, List<ObservableValue> inputs, boolean ordered) {
+            this.description = description;
+            this.inputs = inputs;
+            this.ordered = ordered;
+        }
+    }
+}
@@ -5,20 +5,20 @@
  */
 package de.neemann.digital.analyse;
 
-import de.neemann.digital.core.*;
-import de.neemann.digital.core.Observer;
+import de.neemann.digital.core.BacktrackException;
+import de.neemann.digital.core.Signal;
 import de.neemann.digital.draw.elements.PinException;
-import de.neemann.digital.lang.Lang;
 
-import java.util.*;
+import java.util.ArrayList;
 
 /**
  * Used to analyse on which inputs a given output depends on.
  * So you only have to take into account the inputs, a given output
  * really depends on.
+ * The dependencies are propagated as bit sets along the topological order of the circuit.
  */
 public class DependencyAnalyser {
-    private final HashMap<Signal, Set<ObservableValue>> dependencyMap;
+    private final AnalysisGraph.Dependencies dependencies;
 
     /**
      * Creates a new instance
@@ -28,12 +28,7 @@ public class DependencyAnalyser {
      * @throws PinException       PinException
      */
     public DependencyAnalyser(ModelAnalyser modelAnalyser) throws BacktrackException, PinException {
-        dependencyMap = new HashMap<>();
-        for (Signal s : modelAnalyser.getInputs()) {
-            Set<ObservableValue> effected = new HashSet<>();
-            backtracking(s.getValue(), effected);
-            dependencyMap.put(s, effected);
-        }
+        dependencies = modelAnalyser.getAnalysisGraph().getDependencies();
     }
 
     /**
@@ -43,12 +38,7 @@ public class DependencyAnalyser {
      * @return the list of inputs which effect the given output
      */
     public ArrayList<Signal> getInputs(Signal output) {
-        ArrayList<Signal> list = new ArrayList<>();
-        for (Map.Entry<Signal, Set<ObservableValue>> e : dependencyMap.entrySet()) {
-            if (e.getValue().contains(output.getValue()))
-                list.add(e.getKey());
-        }
-        return list;
+        return dependencies.getInputs(output.getValue());
     }
 
     /**
@@ -65,19 +55,4 @@ public class DependencyAnalyser {
         }
         return num;
     }
-
-    private void backtracking(ObservableValue value, Set<ObservableValue> effected) throws PinException, BacktrackException {
-        if (!effected.contains(value)) {
-            effected.add(value);
-
-            for (Observer o : value.getObservers()) {
-                if ((o instanceof NodeInterface)) {
-                    ObservableValues outputs = ((NodeInterface) o).getOutputs();
-                    for (ObservableValue co : outputs)
-                        backtracking(co, effected);
-                } else
-                    throw new BacktrackException(Lang.get("err_backtrackOf_N_isImpossible", o.getClass().getSimpleName()));
-            }
-        }
-    }
 }
@@ -5,7 +5,10 @@
  */
 package de.neemann.digital.analyse;
 
+import de.neemann.digital.analyse.bdd.BDD;
+import de.neemann.digital.analyse.bdd.BoolTableBDD;
 import de.neemann.digital.analyse.expression.BitSetter;
+import de.neemann.digital.analyse.quinemc.BoolTable;
 import de.neemann.digital.analyse.quinemc.BoolTableByteArray;
 import de.neemann.digital.core.*;
 import de.neemann.digital.core.flipflops.FlipflopD;
@@ -15,12 +18,14 @@ import de.neemann.digital.core.switching.RelayDT;
 import de.neemann.digital.core.wiring.Clock;
 import de.neemann.digital.core.wiring.Splitter;
 import de.neemann.digital.draw.elements.PinException;
+import de.neemann.digital.draw.model.ModelCreator;
 import de.neemann.digital.gui.Main;
 import de.neemann.digital.lang.Lang;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 /**
@@ -30,11 +35,18 @@ import java.util.List;
 public class ModelAnalyser {
     private static final Logger LOGGER = LoggerFactory.getLogger(ModelAnalyser.class);
     private static final int MAX_INPUTS_ALLOWED = 24;
+    private static final int MIN_INPUTS_SYMBOLIC = 16;
+    private static final int MAX_INPUTS_SYMBOLIC = 30;
 
     private final Model model;
     private final ArrayList<Signal> inputs;
     private final ArrayList<Signal> outputs;
+    private final ArrayList<Alias> aliases = new ArrayList<>();
     private ModelAnalyserInfo modelAnalyzerInfo;
+    private boolean forceSymbolic;
+    private AnalysisGraph analysisGraph;
+    private AnalysisCache cache;
+    private ModelCreator modelCreator;
 
     /**
      * Creates a new instance
@@ -79,6 +91,7 @@ public class ModelAnalyser {
             inputs.add(sig);
 
             ObservableValue notQ = ff.getOutputs().get(1);
+            aliases.add(new Alias(notQ, new ObservableValue[]{q}, true));
             q.addObserver(new NodeWithoutDelay(notQ) {
                 @Override
                 public void hasChanged() {
@@ -201,11 +214,14 @@ public class ModelAnalyser {
                         String name = s.getName();
                         if (!name.contains("_"))
                             name += "_";
+                        ObservableValue[] bitValues = new ObservableValue[bits];
                         for (int i = bits - 1; i >= 0; i--) {
                             ObservableValue o = new ObservableValue(name + i, 1);
                             builder.add(o);
+                            bitValues[i] = o;
                             inputs.add(new Signal(name + i, o).setPinNumber(pins.getPin(i)));
                         }
+                        aliases.add(new Alias(s.getValue(), bitValues, false));
                         final ObservableValues inputsList = builder.reverse().build();
                         sp.setInputs(inputsList);
 
@@ -260,8 +276,10 @@ public class ModelAnalyser {
                     if (!label.contains("_"))
                         label = label + "_";
                     long def = ff.getDefault();
+                    ObservableValue[] qBits = new ObservableValue[ff.getDataBits()];
                     for (int i = ff.getDataBits() - 1; i >= 0; i--) {
                         ObservableValue qn = new ObservableValue("", 1);
+                        qBits[i] = qn;
                         ObservableValue nqn = new ObservableValue("", 1);
                         FlipflopD newff = new FlipflopD(label + i, qn, nqn, (def & (1L << i)) != 0 ? 1 : 0);
                         spinput.addAtTop(qn);
@@ -275,6 +293,8 @@ public class ModelAnalyser {
 
                     final ObservableValue qout = ff.getOutputs().get(0);
                     final ObservableValue nqout = ff.getOutputs().get(1);
+                    aliases.add(new Alias(qout, qBits, false));
+                    aliases.add(new Alias(nqout, qBits, true));
                     ObservableValue spq = outsp.getOutputs().get(0);
                     spq.addObserver(new NodeWithoutDelay(qout, nqout) {
                         @Override
@@ -320,11 +340,50 @@ public class ModelAnalyser {
      */
     public int calcMaxPathLen() throws PinException, BacktrackException, AnalyseException {
         LOGGER.debug("start to calculate the max path len of the model...");
-        CycleDetector.checkForCycles(inputs);
+        CycleDetector.checkForCycles(getAnalysisGraph());
         PathLenAnalyser da = new PathLenAnalyser(this);
         return da.getMaxPathLen();
     }
 
+    /**
+     * Returns the graph of the circuit used by the analysers.
+     * The graph is created only once.
+     *
+     * @return the graph
+     * @throws BacktrackException BacktrackException
+     * @throws PinException       PinException
+     */
+    AnalysisGraph getAnalysisGraph() throws BacktrackException, PinException {
+        if (analysisGraph == null)
+            analysisGraph = new AnalysisGraph(inputs);
+        return analysisGraph;
+    }
+
+    /**
+     * Uses the symbolic analysis independent of the number of inputs if the circuit supports it.
+     * Used by the tests.
+     *
+     * @return this for chained calls
+     */
+    ModelAnalyser forceSymbolic() {
+        forceSymbolic = true;
+        return this;
+    }
+
+    /**
+     * Sets the cache used to reuse the results of a previous analysis.
+     * An output is only simulated again if the structure of its input cone has changed.
+     *
+     * @param cache        the cache
+     * @param modelCreator the model creator which has created the analysed model
+     * @return this for chained calls
+     */
+    public ModelAnalyser setCache(AnalysisCache cache, ModelCreator modelCreator) {
+        this.cache = cache;
+        this.modelCreator = modelCreator;
+        return this;
+    }
+
     /**
      * Analyses the circuit
      *
@@ -343,7 +402,13 @@ public class ModelAnalyser {
             tt.addVariable(s.getName());
 
         if (!Main.isExperimentalMode() && !modelContainsSwitches())
-            CycleDetector.checkForCycles(inputs);
+            CycleDetector.checkForCycles(getAnalysisGraph());
+
+        if (cache != null && cachedFiller(tt))
+            return tt;
+
+        if ((forceSymbolic || inputs.size() > MIN_INPUTS_SYMBOLIC) && symbolicFiller(tt))
+            return tt;
 
         DependencyAnalyser da = new DependencyAnalyser(this);
         long steps = da.getRequiredSteps(this);
@@ -373,7 +438,188 @@ public class ModelAnalyser {
         return false;
     }
 
+    /**
+     * Creates the truth table by reusing the tables of all outputs whose input cone
+     * has not changed since the table was stored in the cache. Only the other outputs
+     * are calculated and afterwards stored in the cache.
+     *
+     * @param tt the table to fill
+     * @return false if the cache can not be used
+     */
+    private boolean cachedFiller(TruthTable tt) throws NodeException, AnalyseException, BacktrackException, PinException {
+        if (modelContainsSwitches() || !getAnalysisGraph().isAcyclic())
+            return false;
+
+        long time = System.currentTimeMillis();
+        ConeHasher hasher = new ConeHasher(modelCreator, inputs);
+        DependencyAnalyser da = new DependencyAnalyser(this);
+        ArrayList<String> inputNames = names(inputs);
+
+        BoolTable[] tables = new BoolTable[outputs.size()];
+        String[] keys = new String[outputs.size()];
+        ArrayList<ArrayList<Signal>> supports = new ArrayList<>();
+        ArrayList<Integer> missing = new ArrayList<>();
+        long steps = 0;
+        for (int i = 0; i < outputs.size(); i++) {
+            keys[i] = hasher.getHash(outputs.get(i).getValue());
+            if (keys[i] == null)
+                return false;
+            ArrayList<Signal> ins = reorder(da.getInputs(outputs.get(i)), inputs);
+            supports.add(ins);
+            AnalysisCache.TableEntry e = cache.getTable(keys[i]);
+            BoolTable cached = e == null ? null : reuse(e, ins, inputNames);
+            if (cached != null)
+                tables[i] = cached;
+            else {
+                if (ins.size() > MAX_INPUTS_ALLOWED)
+                    return false;
+                missing.add(i);
+                steps += 1L << ins.size();
+            }
+        }
+        LOGGER.debug("cached analysis: " + (outputs.size() - missing.size()) + " of " + outputs.size() + " outputs reused");
+
+        if (!missing.isEmpty()) {
+            ArrayList<Signal> outs = new ArrayList<>();
+            for (int i : missing)
+                outs.add(outputs.get(i));
+
+            ArrayList<BoolTableBDD> symbolic = null;
+            if (forceSymbolic || inputs.size() > MIN_INPUTS_SYMBOLIC)
+                symbolic = symbolicTables(outs);
+
+            if (symbolic != null) {
+                for (int j = 0; j < outs.size(); j++) {
+                    int i = missing.get(j);
+                    tables[i] = symbolic.get(j);
+                    cache.putTable(keys[i], inputNames, tables[i]);
+                }
+            } else if (steps >= (1L << inputs.size()) || inputs.size() <= 7) {
+                ArrayList<BoolTableByteArray> data = simpleTables(outs);
+                for (int j = 0; j < outs.size(); j++) {
+                    int i = missing.get(j);
+                    tables[i] = data.get(j);
+                    cache.putTable(keys[i], inputNames, detach(data.get(j)));
+                }
+            } else {
+                model.init();
+                for (int i : missing) {
+                    BoolTableByteArray e = dependantTable(outputs.get(i), supports.get(i));
+                    tables[i] = new BoolTableExpanded(e, supports.get(i), inputs);
+                    cache.putTable(keys[i], names(supports.get(i)), e);
+                }
+            }
+        }
+
+        for (int i = 0; i < outputs.size(); i++)
+            tt.addResult(outputs.get(i).getName(), tables[i]);
+
+        LOGGER.debug("cached model analysis: " + (System.currentTimeMillis() - time) / 1000.0 + " sec");
+        return true;
+    }
+
+    /**
+     * Creates the table of an output from a cached table.
+     * The cached table is either a table of the inputs the output depends on or a
+     * diagram which columns are mapped to the actual inputs.
+     *
+     * @return the table or null if the cached table can not be used
+     */
+    private BoolTable reuse(AnalysisCache.TableEntry e, ArrayList<Signal> ins, ArrayList<String> inputNames) {
+        BoolTable table = e.getTable();
+        if (e.getVars().equals(inputNames))
+            return detach(table);
+        if (table instanceof BoolTableBDD)
+            return ((BoolTableBDD) table).mapColumns(e.getVars(), inputNames);
+        if (table instanceof BoolTableByteArray && e.getVars().equals(names(ins)))
+            return new BoolTableExpanded((BoolTableByteArray) table, ins, inputs);
+        return null;
+    }
+
+    /**
+     * The tables of a truth table are modified in place, so a table shared with the
+     * cache needs to be copied.
+     */
+    private static BoolTable detach(BoolTable table) {
+        if (table instanceof BoolTableByteArray)
+            return new BoolTableByteArray(table);
+        return table;
+    }
+
+    private static ArrayList<String> names(List<Signal> signals) {
+        ArrayList<String> names = new ArrayList<>(signals.size());
+        for (Signal s : signals)
+            names.add(s.getName());
+        return names;
+    }
+
+    /**
+     * Creates the truth table without enumerating the rows.
+     * The outputs are calculated as binary decision diagrams by applying the
+     * operations of the circuit to the diagrams of the inputs.
+     *
+     * @param tt the table to fill
+     * @return false if the circuit contains components which can not be evaluated symbolically
+     */
+    private boolean symbolicFiller(TruthTable tt) {
+        ArrayList<BoolTableBDD> tables = symbolicTables(outputs);
+        if (tables == null)
+            return false;
+        for (int i = 0; i < outputs.size(); i++)
+            tt.addResult(outputs.get(i).getName(), tables.get(i));
+        return true;
+    }
+
+    private ArrayList<BoolTableBDD> symbolicTables(List<Signal> outputs) {
+        // the rows of a bool table are addressed by an int
+        if (modelContainsSwitches() || inputs.size() > MAX_INPUTS_SYMBOLIC)
+            return null;
+
+        long time = System.currentTimeMillis();
+        BDD bdd = new BDD(inputs.size());
+        IdentityHashMap<ObservableValue, Integer> varNodes = new IdentityHashMap<>();
+        ArrayList<ObservableValue> values = new ArrayList<>();
+        ArrayList<Integer> bits = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++) {
+            ObservableValue v = inputs.get(i).getValue();
+            int node = bdd.var(i);
+            varNodes.put(v, node);
+            values.add(v);
+            bits.add(node);
+        }
+        for (Alias a : aliases) {
+            values.add(a.value);
+            for (ObservableValue b : a.bits) {
+                Integer node = varNodes.get(b);
+                if (node == null)
+                    return null;
+                bits.add(a.invert ? bdd.not(node) : node);
+            }
+        }
+
+        ArrayList<ObservableValue> outs = new ArrayList<>();
+        for (Signal s : outputs)
+            outs.add(s.getValue());
+
+        ArrayList<Integer> results = BitSlicedModel.evaluate(model, values, bits, outs, new BDDOperations(bdd));
+        if (results == null)
+            return null;
+
+        ArrayList<BoolTableBDD> tables = new ArrayList<>();
+        for (int i = 0; i < outputs.size(); i++)
+            tables.add(new BoolTableBDD(bdd, results.get(i)));
+
+        LOGGER.debug("symbolic analysis: " + (System.currentTimeMillis() - time) / 1000.0 + " sec, " + bdd.getNodeCount() + " nodes");
+        return tables;
+    }
+
     private void simpleFiller(TruthTable tt) throws NodeException, AnalyseException {
+        ArrayList<BoolTableByteArray> data = simpleTables(outputs);
+        for (int i = 0; i < outputs.size(); i++)
+            tt.addResult(outputs.get(i).getName(), data.get(i));
+    }
+
+    private ArrayList<BoolTableByteArray> simpleTables(List<Signal> outputs) throws NodeException, AnalyseException {
         if (inputs.size() > MAX_INPUTS_ALLOWED)
             throw new AnalyseException(Lang.get("err_toManyInputs_max_N0_is_N1", MAX_INPUTS_ALLOWED, inputs.size()));
 
@@ -387,11 +633,8 @@ public class ModelAnalyser {
 
         int rows = 1 << inputs.size();
         ArrayList<BoolTableByteArray> data = new ArrayList<>();
-        for (Signal s : outputs) {
-            BoolTableByteArray e = new BoolTableByteArray(rows);
-            data.add(e);
-            tt.addResult(s.getName(), e);
-        }
+        for (int i = 0; i < outputs.size(); i++)
+            data.add(new BoolTableByteArray(rows));
 
         model.init();
         for (int row = 0; row < rows; row++) {
@@ -401,6 +644,7 @@ public class ModelAnalyser {
                 data.get(i).set(row, outputs.get(i).getValue().getBool());
             }
         }
+        return data;
     }
 
     private void dependantFiller(TruthTable tt, DependencyAnalyser da) throws NodeException, AnalyseException {
@@ -411,22 +655,84 @@ public class ModelAnalyser {
             if (ins.size() > MAX_INPUTS_ALLOWED)
                 throw new AnalyseException(Lang.get("err_toManyInputs_max_N0_is_N1", MAX_INPUTS_ALLOWED, ins.size()));
 
-            int rows = 1 << ins.size();
-            BoolTableByteArray e = new BoolTableByteArray(rows);
-            BitSetter bitsetter = new BitSetter(ins.size()) {
-                @Override
-                public void setBit(int row, int bit, boolean value) {
-                    ins.get(bit).getValue().setBool(value);
-                }
-            };
+            tt.addResult(out.getName(), new BoolTableExpanded(dependantTable(out, ins), ins, inputs));
+        }
+    }
 
-            for (int row = 0; row < rows; row++) {
-                bitsetter.fill(row);
-                model.doStep();
-                e.set(row, out.getValue().getBool());
+    private BoolTableByteArray dependantTable(Signal out, ArrayList<Signal> ins) throws NodeException {
+        int rows = 1 << ins.size();
+        BoolTableByteArray e = new BoolTableByteArray(rows);
+        BitSetter bitsetter = new BitSetter(ins.size()) {
+            @Override
+            public void setBit(int row, int bit, boolean value) {
+                ins.get(bit).getValue().setBool(value);
             }
+        };
+
+        for (int row = 0; row < rows; row++) {
+            bitsetter.fill(row);
+            model.doStep();
+            e.set(row, out.getValue().getBool());
+        }
+        return e;
+    }
+
+    /**
+     * A value which is not an input of the analysis but is calculated from the inputs
+     * by a helper node created by the analyser.
+     */
+    private static final class Alias {
+        private final ObservableValue value;
+        private final ObservableValue[] bits;
+        private final boolean invert;
+
+        private Alias(ObservableValue value, ObservableValue[] bits, boolean invert) {
+            this.value = value;
+            this.bits = bits;
+            this.invert = invert;
+        }
+    }
+
+    private static final class BDDOperations implements BitSlicedModel.Operations<Integer> {
+        private final BDD bdd;
+
+        private BDDOperations(BDD bdd) {
+            this.bdd = bdd;
+        }
+
+        @Override
+        public Integer zero() {
+            return BDD.FALSE;
+        }
+
+        @Override
+        public Integer one() {
+            return BDD.TRUE;
+        }
+
+        @Override
+        public Integer and(Integer a, Integer b) {
+            return bdd.and(a, b);
+        }
+
+        @Override
+        public Integer or(Integer a, Integer b) {
+            return bdd.or(a, b);
+        }
+
+        @Override
+        public Integer xor(Integer a, Integer b) {
+            return bdd.xor(a, b);
+        }
+
+        @Override
+        public Integer not(Integer a) {
+            return bdd.not(a);
+        }
 
-            tt.addResult(out.getName(), new BoolTableExpanded(e, ins, inputs));
+        @Override
+        public Integer mux(Integer sel, Integer a, Integer b) {
+            return bdd.ite(sel, b, a);
         }
     }
 
@@ -173,22 +173,15 @@ public class SubstituteLibrary implements LibraryInterface {
     }
 
     private static final class SubstituteGenericHGSParser extends SubstituteGeneric {
-        private final HashMap<String, Statement> map;
 
         private SubstituteGenericHGSParser(String filename) {
             super(filename);
-            map = new HashMap<>();
         }
 
         @Override
         void generify(ElementAttributes sourceAttributes, String gen, ElementAttributes nodeAttributes) throws IOException {
             try {
-                Statement s = map.get(gen);
-                if (s == null) {
-                    LOGGER.debug("generic: " + gen);
-                    s = new Parser(gen).parse(false);
-                    map.put(gen, s);
-                }
+                Statement s = Parser.createCached(gen);
                 Context context = new Context((File) null)
                         .declareVar("orig", sourceAttributes)
                         .declareVar("this", new AllowSetAttributes(nodeAttributes));
@@ -8,6 +8,7 @@ package de.neemann.digital.analyse;
 import com.thoughtworks.xstream.XStream;
 import com.thoughtworks.xstream.io.xml.PrettyPrintWriter;
 import de.neemann.digital.XStreamValid;
+import de.neemann.digital.analyse.bdd.BoolTableBDD;
 import de.neemann.digital.analyse.expression.BitSetter;
 import de.neemann.digital.analyse.expression.Context;
 import de.neemann.digital.analyse.expression.ExpressionException;
@@ -39,8 +40,11 @@ public class TruthTable implements Copyable<TruthTable> {
      * @throws IOException IOException
      */
     public static TruthTable readFromFile(File filename) throws IOException {
-        if (filename.getName().toLowerCase().endsWith(".csv"))
+        String name = filename.getName().toLowerCase();
+        if (name.endsWith(".csv"))
             return CSVImporter.readCSV(filename);
+        else if (name.endsWith("." + TruthTableBinary.SUFFIX))
+            return TruthTableBinary.read(filename);
         else {
             XStream xStream = getxStream();
             try (InputStream in = new FileInputStream(filename)) {
@@ -51,11 +55,16 @@ public class TruthTable implements Copyable<TruthTable> {
 
     /**
      * Writes the table to the given file.
+     * If the file has the suffix of the binary format, the {@link TruthTableBinary} format is used.
      *
      * @param filename the file
      * @throws IOException IOException
      */
     public void save(File filename) throws IOException {
+        if (filename.getName().toLowerCase().endsWith("." + TruthTableBinary.SUFFIX)) {
+            TruthTableBinary.write(this, filename);
+            return;
+        }
         XStream xStream = getxStream();
         try (Writer out = new OutputStreamWriter(new FileOutputStream(filename), StandardCharsets.UTF_8)) {
             out.write("<?xml version=\"1.0\" encoding=\"utf-8\"?>\n");
@@ -71,7 +80,9 @@ public class TruthTable implements Copyable<TruthTable> {
         xStream.alias("result", Result.class);
         xStream.alias("BoolTable", BoolTableByteArray.class);
         xStream.alias("BoolTableEx", BoolTableExpanded.class);
+        xStream.alias("BoolTableBDD", BoolTableBDD.class);
         xStream.registerConverter(new TruthTableConverter());
+        xStream.registerConverter(new BoolTableBDDConverter());
         return xStream;
     }
 
@@ -121,7 +132,10 @@ public class TruthTable implements Copyable<TruthTable> {
         results = new ArrayList<>();
         for (int i = 0; i < truthTable.getResultCount(); i++) {
             Result result = truthTable.results.get(i);
-            addResult(result.getName(), new BoolTableByteArray(result.values));
+            if (result.values instanceof BoolTableBDD)
+                addResult(result.getName(), result.values); // is immutable, no need to expand it
+            else
+                addResult(result.getName(), new BoolTableByteArray(result.values));
         }
         this.modelAnalyzerInfo = truthTable.modelAnalyzerInfo;
     }
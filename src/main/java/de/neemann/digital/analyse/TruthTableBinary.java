@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse;
+
+import de.neemann.digital.analyse.expression.Variable;
+import de.neemann.digital.analyse.quinemc.BoolTable;
+import de.neemann.digital.analyse.quinemc.BoolTableByteArray;
+import de.neemann.digital.lang.Lang;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * Reads and writes truth tables in a compact binary format.
+ * Every table entry is stored in two bits, so the format needs a quarter of the
+ * memory of the {@link BoolTableByteArray} and a small fraction of the xml file.
+ * The file starts with the magic number, the version, the names of the variables
+ * and the names of the results. After that the values of the results follow, one
+ * result after the other. The entry i of a result is stored in the bits 2*(i mod 4)
+ * and 2*(i mod 4)+1 of the byte i/4. A value of 2 represents a don't care.
+ * All numbers are stored big endian, all names UTF-8 encoded with a preceding length.
+ */
+public final class TruthTableBinary {
+    /**
+     * The suffix of binary truth table files
+     */
+    public static final String SUFFIX = "trb";
+
+    private static final int MAGIC = 0x44545442; // "DTTB"
+    private static final int VERSION = 1;
+    private static final int MAX_VARS = 30;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private TruthTableBinary() {
+    }
+
+    /**
+     * Writes the table to the given file
+     *
+     * @param truthTable the table to write
+     * @param file       the file
+     * @throws IOException IOException
+     */
+    public static void write(TruthTable truthTable, File file) throws IOException {
+        try (OutputStream out = new FileOutputStream(file)) {
+            write(truthTable, out);
+        }
+    }
+
+    /**
+     * Writes the table to the given stream.
+     * The stream is not closed.
+     *
+     * @param truthTable the table to write
+     * @param out        the stream
+     * @throws IOException IOException
+     */
+    public static void write(TruthTable truthTable, OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(truthTable.getVars().size());
+        for (String name : truthTable.getVarNames())
+            writeName(data, name);
+        data.writeInt(truthTable.getResultCount());
+        for (String name : truthTable.getResultNames())
+            writeName(data, name);
+
+        int rows = truthTable.getRows();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (int r = 0; r < truthTable.getResultCount(); r++) {
+            BoolTable values = truthTable.getResult(r);
+            int pos = 0;
+            for (int i = 0; i < rows; i += 4) {
+                int b = 0;
+                for (int j = 0; j < 4 && i + j < rows; j++)
+                    b |= values.get(i + j).asInt() << (j * 2);
+                buffer[pos++] = (byte) b;
+                if (pos == buffer.length) {
+                    data.write(buffer);
+                    pos = 0;
+                }
+            }
+            data.write(buffer, 0, pos);
+        }
+        data.flush();
+    }
+
+    private static void writeName(DataOutputStream data, String name) throws IOException {
+        byte[] b = name.getBytes(StandardCharsets.UTF_8);
+        data.writeInt(b.length);
+        data.write(b);
+    }
+
+    /**
+     * Reads a table from the given file.
+     * The file is memory mapped to avoid copying the data through a stream buffer.
+     *
+     * @param file the file
+     * @return the table
+     * @throws IOException IOException
+     */
+    public static TruthTable read(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException(Lang.get("err_invalidBinaryTruthTable"));
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(new Source() {
+                @Override
+                public int readInt() throws IOException {
+                    if (buffer.remaining() < 4)
+                        throw new EOFException();
+                    return buffer.getInt();
+                }
+
+                @Override
+                public void readFully(byte[] b, int len) throws IOException {
+                    if (buffer.remaining() < len)
+                        throw new EOFException();
+                    buffer.get(b, 0, len);
+                }
+            });
+        }
+    }
+
+    /**
+     * Reads a table from the given stream.
+     * The stream is not closed.
+     *
+     * @param in the stream
+     * @return the table
+     * @throws IOException IOException
+     */
+    public static TruthTable read(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        return read(new Source() {
+            @Override
+            public int readInt() throws IOException {
+                return data.readInt();
+            }
+
+            @Override
+            public void readFully(byte[] b, int len) throws IOException {
+                data.readFully(b, 0, len);
+            }
+        });
+    }
+
+    private static TruthTable read(Source in) throws IOException {
+        if (in.readInt() != MAGIC || in.readInt() != VERSION)
+            throw new IOException(Lang.get("err_invalidBinaryTruthTable"));
+
+        int varCount = in.readInt();
+        if (varCount < 0 || varCount > MAX_VARS)
+            throw new IOException(Lang.get("err_invalidBinaryTruthTable"));
+        ArrayList<Variable> vars = new ArrayList<>(varCount);
+        for (int i = 0; i < varCount; i++)
+            vars.add(new Variable(readName(in)));
+
+        int resultCount = in.readInt();
+        if (resultCount < 0)
+            throw new IOException(Lang.get("err_invalidBinaryTruthTable"));
+        ArrayList<String> names = new ArrayList<>();
+        for (int i = 0; i < resultCount; i++)
+            names.add(readName(in));
+
+        TruthTable tt = new TruthTable(vars);
+        int rows = tt.getRows();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (String name : names) {
+            byte[] values = new byte[rows];
+            int i = 0;
+            while (i < rows) {
+                int len = Math.min(buffer.length, (rows - i + 3) / 4);
+                in.readFully(buffer, len);
+                for (int p = 0; p < len; p++) {
+                    int b = buffer[p];
+                    for (int j = 0; j < 4 && i < rows; j++) {
+                        int v = (b >> (j * 2)) & 3;
+                        if (v == 3)
+                            throw new IOException(Lang.get("err_invalidBinaryTruthTable"));
+                        values[i++] = (byte) v;
+                    }
+                }
+            }
+            tt.addResult(name, new BoolTableByteArray(values));
+        }
+        return tt;
+    }
+
+    private static String readName(Source in) throws IOException {
+        int len = in.readInt();
+        if (len < 0 || len > BUFFER_SIZE)
+            throw new IOException(Lang.get("err_invalidBinaryTruthTable"));
+        byte[] b = new byte[len];
+        in.readFully(b, len);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private interface Source {
+        int readInt() throws IOException;
+
+        void readFully(byte[] b, int len) throws IOException;
+    }
+}
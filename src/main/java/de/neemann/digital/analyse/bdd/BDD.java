@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.bdd;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Manages reduced ordered binary decision diagrams.
+ * A node is identified by an int. The nodes {@link #FALSE} and {@link #TRUE} are the terminals.
+ * Every other node tests a variable and has a low and a high successor. The variables are ordered
+ * by their index, the variable with the index zero is tested first.
+ * <p>
+ * A unique table makes sure that every function is represented by exactly one node, so two
+ * functions are equal if and only if their nodes are equal. The results of the operations are
+ * stored in a computed cache, which is a lossy, direct mapped table.
+ * Nodes are never removed, so a manager should be used for a single analysis only.
+ */
+public final class BDD {
+    /**
+     * The constant false
+     */
+    public static final int FALSE = 0;
+    /**
+     * The constant true
+     */
+    public static final int TRUE = 1;
+
+    private static final int AND = 0;
+    private static final int OR = 1;
+    private static final int XOR = 2;
+    private static final int ITE = 3;
+    private static final int RESTRICT = 4;
+
+    private final int varCount;
+    private int[] var;
+    private int[] low;
+    private int[] high;
+    private int size;
+
+    private int[] unique;
+    private int uniqueMask;
+
+    private int[] cacheOp;
+    private int[] cacheA;
+    private int[] cacheB;
+    private int[] cacheC;
+    private int[] cacheResult;
+    private int cacheMask;
+
+    /**
+     * Creates a new manager
+     *
+     * @param varCount the number of variables
+     */
+    public BDD(int varCount) {
+        this.varCount = varCount;
+        int capacity = 1024;
+        var = new int[capacity];
+        low = new int[capacity];
+        high = new int[capacity];
+        var[FALSE] = varCount;
+        var[TRUE] = varCount;
+        size = 2;
+        unique = new int[capacity * 2];
+        uniqueMask = unique.length - 1;
+        createCache(capacity);
+    }
+
+    private void createCache(int capacity) {
+        cacheOp = new int[capacity];
+        Arrays.fill(cacheOp, -1);
+        cacheA = new int[capacity];
+        cacheB = new int[capacity];
+        cacheC = new int[capacity];
+        cacheResult = new int[capacity];
+        cacheMask = capacity - 1;
+    }
+
+    /**
+     * @return the number of variables
+     */
+    public int getVarCount() {
+        return varCount;
+    }
+
+    /**
+     * @return the number of nodes created, including the terminals
+     */
+    public int getNodeCount() {
+        return size;
+    }
+
+    /**
+     * Returns the variable tested by the given node.
+     * For the terminals the number of variables is returned.
+     *
+     * @param node the node
+     * @return the variable
+     */
+    public int getVar(int node) {
+        return var[node];
+    }
+
+    /**
+     * Returns the successor of a node which is used if the variable is false
+     *
+     * @param node the node
+     * @return the low successor
+     */
+    public int getLow(int node) {
+        return low[node];
+    }
+
+    /**
+     * Returns the successor of a node which is used if the variable is true
+     *
+     * @param node the node
+     * @return the high successor
+     */
+    public int getHigh(int node) {
+        return high[node];
+    }
+
+    /**
+     * Returns the node which represents the given variable
+     *
+     * @param v the variable
+     * @return the node
+     */
+    public int var(int v) {
+        return mk(v, FALSE, TRUE);
+    }
+
+    /**
+     * Returns the node with the given variable and successors.
+     * If both successors are equal no node is created.
+     *
+     * @param v the variable
+     * @param l the low successor
+     * @param h the high successor
+     * @return the node
+     */
+    private int mk(int v, int l, int h) {
+        if (l == h)
+            return l;
+
+        int i = hash(v, l, h) & uniqueMask;
+        while (true) {
+            int n = unique[i];
+            if (n == 0)
+                break;
+            if (var[n] == v && low[n] == l && high[n] == h)
+                return n;
+            i = (i + 1) & uniqueMask;
+        }
+
+        if (size == var.length) {
+            grow();
+            i = hash(v, l, h) & uniqueMask;
+            while (unique[i] != 0)
+                i = (i + 1) & uniqueMask;
+        }
+
+        int n = size++;
+        var[n] = v;
+        low[n] = l;
+        high[n] = h;
+        unique[i] = n;
+        return n;
+    }
+
+    private void grow() {
+        int capacity = var.length * 2;
+        var = Arrays.copyOf(var, capacity);
+        low = Arrays.copyOf(low, capacity);
+        high = Arrays.copyOf(high, capacity);
+
+        unique = new int[capacity * 2];
+        uniqueMask = unique.length - 1;
+        for (int n = 2; n < size; n++) {
+            int i = hash(var[n], low[n], high[n]) & uniqueMask;
+            while (unique[i] != 0)
+                i = (i + 1) & uniqueMask;
+            unique[i] = n;
+        }
+
+        createCache(capacity);
+    }
+
+    private static int hash(int a, int b, int c) {
+        int h = a * 0x9E3779B1 + b * 0x85EBCA77 + c * 0xC2B2AE3D;
+        return h ^ (h >>> 15);
+    }
+
+    private int cacheIndex(int op, int a, int b, int c) {
+        return hash(a + op, b, c) & cacheMask;
+    }
+
+    private int cacheGet(int i, int op, int a, int b, int c) {
+        if (cacheOp[i] == op && cacheA[i] == a && cacheB[i] == b && cacheC[i] == c)
+            return cacheResult[i];
+        return -1;
+    }
+
+    private int cachePut(int op, int a, int b, int c, int result) {
+        // the cache may have been recreated by a growth of the node table
+        int i = cacheIndex(op, a, b, c);
+        cacheOp[i] = op;
+        cacheA[i] = a;
+        cacheB[i] = b;
+        cacheC[i] = c;
+        cacheResult[i] = result;
+        return result;
+    }
+
+    /**
+     * Calculates the negation of a function
+     *
+     * @param a the function
+     * @return the result
+     */
+    public int not(int a) {
+        return apply(XOR, a, TRUE);
+    }
+
+    /**
+     * Calculates the conjunction of two functions
+     *
+     * @param a the first function
+     * @param b the second function
+     * @return the result
+     */
+    public int and(int a, int b) {
+        return apply(AND, a, b);
+    }
+
+    /**
+     * Calculates the disjunction of two functions
+     *
+     * @param a the first function
+     * @param b the second function
+     * @return the result
+     */
+    public int or(int a, int b) {
+        return apply(OR, a, b);
+    }
+
+    /**
+     * Calculates the exclusive or of two functions
+     *
+     * @param a the first function
+     * @param b the second function
+     * @return the result
+     */
+    public int xor(int a, int b) {
+        return apply(XOR, a, b);
+    }
+
+    private int apply(int op, int a, int b) {
+        switch (op) {
+            case AND:
+                if (a == FALSE || b == FALSE)
+                    return FALSE;
+                if (a == TRUE || a == b)
+                    return b;
+                if (b == TRUE)
+                    return a;
+                break;
+            case OR:
+                if (a == TRUE || b == TRUE)
+                    return TRUE;
+                if (a == FALSE || a == b)
+                    return b;
+                if (b == FALSE)
+                    return a;
+                break;
+            default:
+                if (a == b)
+                    return FALSE;
+                if (a == FALSE)
+                    return b;
+                if (b == FALSE)
+                    return a;
+                break;
+        }
+
+        // all operations are commutative
+        if (a > b) {
+            int t = a;
+            a = b;
+            b = t;
+        }
+
+        int r = cacheGet(cacheIndex(op, a, b, 0), op, a, b, 0);
+        if (r >= 0)
+            return r;
+
+        int va = var[a];
+        int vb = var[b];
+        int v = Math.min(va, vb);
+        int l = apply(op, va == v ? low[a] : a, vb == v ? low[b] : b);
+        int h = apply(op, va == v ? high[a] : a, vb == v ? high[b] : b);
+        return cachePut(op, a, b, 0, mk(v, l, h));
+    }
+
+    /**
+     * Calculates if f then g else h
+     *
+     * @param f the condition
+     * @param g the result if the condition is true
+     * @param h the result if the condition is false
+     * @return the result
+     */
+    public int ite(int f, int g, int h) {
+        if (f == TRUE)
+            return g;
+        if (f == FALSE)
+            return h;
+        if (g == h)
+            return g;
+        if (g == TRUE && h == FALSE)
+            return f;
+        if (g == FALSE)
+            return and(not(f), h);
+        if (h == FALSE)
+            return and(f, g);
+        if (g == TRUE)
+            return or(f, h);
+
+        int r = cacheGet(cacheIndex(ITE, f, g, h), ITE, f, g, h);
+        if (r >= 0)
+            return r;
+
+        int v = Math.min(var[f], Math.min(var[g], var[h]));
+        int l = ite(cofactor(f, v, false), cofactor(g, v, false), cofactor(h, v, false));
+        int hi = ite(cofactor(f, v, true), cofactor(g, v, true), cofactor(h, v, true));
+        return cachePut(ITE, f, g, h, mk(v, l, hi));
+    }
+
+    private int cofactor(int f, int v, boolean value) {
+        if (var[f] != v)
+            return f;
+        return value ? high[f] : low[f];
+    }
+
+    /**
+     * Sets a variable to a constant value
+     *
+     * @param f     the function
+     * @param v     the variable
+     * @param value the value of the variable
+     * @return the resulting function which does not depend on the variable
+     */
+    public int restrict(int f, int v, boolean value) {
+        if (var[f] > v)
+            return f;
+        if (var[f] == v)
+            return value ? high[f] : low[f];
+
+        int c = value ? 1 : 0;
+        int r = cacheGet(cacheIndex(RESTRICT, f, v, c), RESTRICT, f, v, c);
+        if (r >= 0)
+            return r;
+
+        int l = restrict(low[f], v, value);
+        int h = restrict(high[f], v, value);
+        return cachePut(RESTRICT, f, v, c, mk(var[f], l, h));
+    }
+
+    /**
+     * Returns the variables the given function depends on
+     *
+     * @param f the function
+     * @return the variables in ascending order
+     */
+    public int[] support(int f) {
+        BitSet vars = new BitSet(varCount);
+        BitSet visited = new BitSet(size);
+        int[] stack = new int[64];
+        int sp = 0;
+        stack[sp++] = f;
+        while (sp > 0) {
+            int n = stack[--sp];
+            if (n <= TRUE || visited.get(n))
+                continue;
+            visited.set(n);
+            vars.set(var[n]);
+            if (sp + 2 > stack.length)
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            stack[sp++] = low[n];
+            stack[sp++] = high[n];
+        }
+        return vars.stream().toArray();
+    }
+
+    /**
+     * Evaluates the function.
+     *
+     * @param f      the function
+     * @param values the values of the variables
+     * @return the result
+     */
+    public boolean evaluate(int f, BitSet values) {
+        while (f > TRUE)
+            f = values.get(var[f]) ? high[f] : low[f];
+        return f == TRUE;
+    }
+}
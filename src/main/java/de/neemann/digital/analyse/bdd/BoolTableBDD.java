@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.bdd;
+
+import de.neemann.digital.analyse.quinemc.BoolTable;
+import de.neemann.digital.analyse.quinemc.ThreeStateValue;
+
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * A bool table represented by a binary decision diagram.
+ * The table is never expanded, a row is evaluated by following a single path in the diagram.
+ * The table is immutable.
+ */
+public class BoolTableBDD implements BoolTable {
+    private final BDD bdd;
+    private final int root;
+    private final int vars;
+    private final int[] column;
+
+    /**
+     * Creates a new instance.
+     * The variables of the diagram are the columns of the table.
+     *
+     * @param bdd  the manager the diagram belongs to
+     * @param root the root node of the diagram
+     */
+    public BoolTableBDD(BDD bdd, int root) {
+        this.bdd = bdd;
+        this.root = root;
+        this.vars = bdd.getVarCount();
+        column = new int[vars];
+        for (int i = 0; i < vars; i++)
+            column[i] = i;
+    }
+
+    private BoolTableBDD(BDD bdd, int root, int vars, int[] column) {
+        this.bdd = bdd;
+        this.root = root;
+        this.vars = vars;
+        this.column = column;
+    }
+
+    @Override
+    public int size() {
+        return 1 << vars;
+    }
+
+    /**
+     * @return the number of columns of this table
+     */
+    public int getColumnCount() {
+        return vars;
+    }
+
+    @Override
+    public ThreeStateValue get(int i) {
+        int n = root;
+        while (n > BDD.TRUE) {
+            int bit = vars - 1 - column[bdd.getVar(n)];
+            n = ((i >>> bit) & 1) == 0 ? bdd.getLow(n) : bdd.getHigh(n);
+        }
+        return ThreeStateValue.value(n == BDD.TRUE);
+    }
+
+    /**
+     * Returns the columns the table depends on.
+     * Because the diagram is reduced, the table depends on all variables tested in the diagram.
+     *
+     * @return the columns in ascending order
+     */
+    public int[] getSupport() {
+        int[] support = bdd.support(root);
+        for (int i = 0; i < support.length; i++)
+            support[i] = column[support[i]];
+        return support;
+    }
+
+    /**
+     * Creates a table which only contains the given columns.
+     * The table must not depend on the removed columns.
+     *
+     * @param columns the columns to keep in ascending order
+     * @return the new table
+     */
+    public BoolTableBDD keepColumns(int[] columns) {
+        int[] c = new int[column.length];
+        for (int v = 0; v < c.length; v++) {
+            c[v] = -1;
+            for (int j = 0; j < columns.length; j++)
+                if (columns[j] == column[v])
+                    c[v] = j;
+        }
+        return new BoolTableBDD(bdd, root, columns.length, c);
+    }
+
+    /**
+     * Creates a table with the columns ordered and named in a different way.
+     * The columns are identified by their names. A column the table does not depend on
+     * may be missing in the new columns.
+     *
+     * @param names    the names of the columns of this table
+     * @param newNames the names of the columns of the new table
+     * @return the new table or null if the table depends on a column which is missing
+     */
+    public BoolTableBDD mapColumns(List<String> names, List<String> newNames) {
+        int[] c = new int[column.length];
+        for (int v = 0; v < c.length; v++)
+            c[v] = column[v] < 0 ? -1 : newNames.indexOf(names.get(column[v]));
+        for (int v : bdd.support(root))
+            if (c[v] < 0)
+                return null;
+        return new BoolTableBDD(bdd, root, newNames.size(), c);
+    }
+
+    /**
+     * Creates a compact textual form of this table.
+     * Only the nodes of this diagram are stored, not the complete manager.
+     * Every node is written as "column:low:high". The successors are referenced
+     * by the index of the node in this list plus two, the values 0 and 1 are the
+     * constants. The last entry is the reference of the root.
+     *
+     * @return the compact form
+     * @see #fromCompactString(int, String)
+     */
+    public String toCompactString() {
+        StringBuilder sb = new StringBuilder();
+        int r = write(root, new HashMap<>(), sb);
+        return sb.append(r).toString();
+    }
+
+    private int write(int n, HashMap<Integer, Integer> refs, StringBuilder sb) {
+        if (n <= BDD.TRUE)
+            return n;
+        Integer ref = refs.get(n);
+        if (ref != null)
+            return ref;
+        int l = write(bdd.getLow(n), refs, sb);
+        int h = write(bdd.getHigh(n), refs, sb);
+        sb.append(column[bdd.getVar(n)]).append(':').append(l).append(':').append(h).append(' ');
+        ref = refs.size() + 2;
+        refs.put(n, ref);
+        return ref;
+    }
+
+    /**
+     * Creates a table from the form created by {@link #toCompactString()}.
+     *
+     * @param vars  the number of columns of the table
+     * @param nodes the compact form
+     * @return the table
+     * @throws NumberFormatException if the given form is not valid
+     */
+    public static BoolTableBDD fromCompactString(int vars, String nodes) {
+        BDD bdd = new BDD(vars);
+        String[] items = nodes.trim().split(" ");
+        int[] refs = new int[items.length + 1];
+        refs[0] = BDD.FALSE;
+        refs[1] = BDD.TRUE;
+        for (int i = 0; i < items.length - 1; i++) {
+            String[] f = items[i].split(":");
+            if (f.length != 3)
+                throw new NumberFormatException("invalid node " + items[i]);
+            int c = Integer.parseInt(f[0]);
+            int l = Integer.parseInt(f[1]);
+            int h = Integer.parseInt(f[2]);
+            if (c < 0 || c >= vars || l < 0 || l >= i + 2 || h < 0 || h >= i + 2)
+                throw new NumberFormatException("invalid node " + items[i]);
+            refs[i + 2] = bdd.ite(bdd.var(c), refs[h], refs[l]);
+        }
+        int r = Integer.parseInt(items[items.length - 1]);
+        if (r < 0 || r >= items.length + 1)
+            throw new NumberFormatException("invalid root " + r);
+        return new BoolTableBDD(bdd, refs[r]);
+    }
+}
@@ -0,0 +1,10 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+
+/**
+ * Binary decision diagrams used to represent large truth tables
+ */
+package de.neemann.digital.analyse.bdd;
@@ -0,0 +1,378 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.espresso;
+
+import de.neemann.digital.analyse.bdd.BDD;
+import de.neemann.digital.analyse.expression.Constant;
+import de.neemann.digital.analyse.expression.Expression;
+import de.neemann.digital.analyse.expression.ExpressionException;
+import de.neemann.digital.analyse.expression.Variable;
+import de.neemann.digital.analyse.quinemc.BoolTable;
+import de.neemann.digital.analyse.quinemc.ThreeStateValue;
+import de.neemann.digital.lang.Lang;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static de.neemann.digital.analyse.expression.Not.not;
+import static de.neemann.digital.analyse.expression.Operation.and;
+import static de.neemann.digital.analyse.expression.Operation.or;
+
+/**
+ * Heuristic two-level minimizer which follows the expand, irredundant and reduce loop of espresso.
+ * In contrast to the Quine-McCluskey algorithm the prime implicants are never enumerated, so the
+ * result is not guaranteed to be minimal, but tables with many variables can be minimized.
+ * <p>
+ * A cube is packed into two longs: The mask contains a one for every variable which appears in
+ * the product term, the value contains the polarity of these variables. The bit i belongs to the
+ * variable i, which is the most significant bit of the row index if i is zero.
+ * The on-set, the don't care set and the off-set of the table are stored as binary decision
+ * diagrams, which allows to check a cube against the off-set without expanding the table.
+ */
+public final class Espresso {
+    private static final Logger LOGGER = LoggerFactory.getLogger(Espresso.class);
+
+    private final List<Variable> variables;
+    private final int vars;
+    private final BDD bdd;
+    private final int on;
+    private final int dc;
+    private final int off;
+
+    private long[] mask;
+    private long[] value;
+    private int size;
+
+    private int[] visited = new int[0];
+    private int stamp;
+
+    /**
+     * Creates a new instance
+     *
+     * @param variables the variables to use
+     * @param table     the table to minimize
+     * @throws ExpressionException ExpressionException
+     */
+    public Espresso(List<Variable> variables, BoolTable table) throws ExpressionException {
+        this.variables = variables;
+        this.vars = variables.size();
+        int n = 1 << vars;
+        if (vars > 30 || n != table.size())
+            throw new ExpressionException(Lang.get("err_exact_N0_valuesNecessaryNot_N1", n, table.size()));
+
+        bdd = new BDD(vars);
+        on = build(table, ThreeStateValue.one, 0, 0);
+        dc = build(table, ThreeStateValue.dontCare, 0, 0);
+        off = bdd.not(bdd.or(on, dc));
+
+        mask = new long[16];
+        value = new long[16];
+        addPaths(on, 0, 0);
+    }
+
+    private int build(BoolTable table, ThreeStateValue val, int v, int row) {
+        if (v == vars)
+            return table.get(row) == val ? BDD.TRUE : BDD.FALSE;
+        int l = build(table, val, v + 1, row);
+        int h = build(table, val, v + 1, row | (1 << (vars - 1 - v)));
+        return bdd.ite(bdd.var(v), h, l);
+    }
+
+    /**
+     * The paths to the true terminal form a disjoint cover which is used as the initial cover
+     */
+    private void addPaths(int f, long m, long val) {
+        if (f == BDD.FALSE)
+            return;
+        if (f == BDD.TRUE) {
+            add(m, val);
+            return;
+        }
+        long bit = 1L << bdd.getVar(f);
+        addPaths(bdd.getLow(f), m | bit, val);
+        addPaths(bdd.getHigh(f), m | bit, val | bit);
+    }
+
+    private void add(long m, long val) {
+        if (size == mask.length) {
+            mask = Arrays.copyOf(mask, size * 2);
+            value = Arrays.copyOf(value, size * 2);
+        }
+        mask[size] = m;
+        value[size] = val;
+        size++;
+    }
+
+    /**
+     * Minimizes the table
+     *
+     * @return this for chained calls
+     */
+    public Espresso minimize() {
+        LOGGER.debug("initial cubes " + size);
+        expand();
+        irredundant();
+
+        long[] bestMask = Arrays.copyOf(mask, size);
+        long[] bestValue = Arrays.copyOf(value, size);
+        long bestCost = getCost();
+        while (true) {
+            reduce();
+            expand();
+            irredundant();
+            long cost = getCost();
+            if (cost >= bestCost)
+                break;
+            bestMask = Arrays.copyOf(mask, size);
+            bestValue = Arrays.copyOf(value, size);
+            bestCost = cost;
+        }
+        mask = bestMask;
+        value = bestValue;
+        size = bestMask.length;
+        LOGGER.debug("final cubes " + size + ", literals " + getLiteralCount());
+        return this;
+    }
+
+    /**
+     * The number of cubes is the primary cost, the number of literals the secondary cost
+     */
+    private long getCost() {
+        return ((long) size << 32) + getLiteralCount();
+    }
+
+    /**
+     * Makes every cube as large as possible without intersecting the off-set
+     * and removes the cubes which are covered by an expanded cube.
+     */
+    private void expand() {
+        int[] order = orderBySize(true);
+        boolean[] covered = new boolean[size];
+        int[] score = new int[vars];
+        Integer[] lits = new Integer[vars];
+        for (int i : order) {
+            if (covered[i])
+                continue;
+
+            long m = mask[i];
+            long val = value[i];
+
+            // prefer the literals whose raising moves the cube towards many other cubes
+            Arrays.fill(score, 0);
+            for (int j = 0; j < size; j++)
+                if (!covered[j] && j != i) {
+                    long towards = m & (~mask[j] | (val ^ value[j]));
+                    while (towards != 0) {
+                        score[Long.numberOfTrailingZeros(towards)]++;
+                        towards &= towards - 1;
+                    }
+                }
+            int n = 0;
+            for (int v = 0; v < vars; v++)
+                if ((m & (1L << v)) != 0)
+                    lits[n++] = v;
+            Arrays.sort(lits, 0, n, (a, b) -> score[b] - score[a]);
+
+            for (int l = 0; l < n; l++) {
+                long raised = m & ~(1L << lits[l]);
+                if (!intersects(off, raised, val & raised))
+                    m = raised;
+            }
+            mask[i] = m;
+            value[i] = val & m;
+
+            for (int j = 0; j < size; j++)
+                if (j != i && !covered[j] && contains(i, j))
+                    covered[j] = true;
+        }
+        compact(covered);
+    }
+
+    /**
+     * Removes the cubes which are covered by the other cubes and the don't care set
+     */
+    private void irredundant() {
+        int[] order = orderBySize(false);
+        boolean[] removed = new boolean[size];
+        for (int i : order) {
+            int others = coverOfOthers(i, removed);
+            if (!intersects(bdd.and(on, bdd.not(others)), mask[i], value[i]))
+                removed[i] = true;
+        }
+        compact(removed);
+    }
+
+    /**
+     * Makes every cube as small as possible without uncovering a part of the on-set.
+     * This allows the following expansion to find a different and maybe better cover.
+     */
+    private void reduce() {
+        int[] order = orderBySize(true);
+        boolean[] removed = new boolean[size];
+        for (int i : order) {
+            int others = coverOfOthers(i, removed);
+            int g = bdd.and(cube(mask[i], value[i]), bdd.and(on, bdd.not(others)));
+            if (g == BDD.FALSE) {
+                removed[i] = true;
+                continue;
+            }
+
+            // the smallest cube which contains the part of the on-set only covered by this cube
+            long m = mask[i];
+            long val = value[i];
+            for (int v = 0; v < vars; v++) {
+                long bit = 1L << v;
+                if ((m & bit) == 0) {
+                    if (bdd.restrict(g, v, false) == BDD.FALSE) {
+                        m |= bit;
+                        val |= bit;
+                    } else if (bdd.restrict(g, v, true) == BDD.FALSE)
+                        m |= bit;
+                }
+            }
+            mask[i] = m;
+            value[i] = val;
+        }
+        compact(removed);
+    }
+
+    /**
+     * Creates the union of the don't care set and all cubes which intersect the cube i
+     */
+    private int coverOfOthers(int i, boolean[] removed) {
+        int f = dc;
+        for (int j = 0; j < size; j++)
+            if (j != i && !removed[j] && ((value[i] ^ value[j]) & mask[i] & mask[j]) == 0)
+                f = bdd.or(f, cube(mask[j], value[j]));
+        return f;
+    }
+
+    private int cube(long m, long val) {
+        int n = BDD.TRUE;
+        for (int v = vars - 1; v >= 0; v--) {
+            long bit = 1L << v;
+            if ((m & bit) != 0) {
+                if ((val & bit) != 0)
+                    n = bdd.ite(bdd.var(v), n, BDD.FALSE);
+                else
+                    n = bdd.ite(bdd.var(v), BDD.FALSE, n);
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Returns true if the cube i contains the cube j
+     */
+    private boolean contains(int i, int j) {
+        return (mask[i] & ~mask[j]) == 0 && ((value[i] ^ value[j]) & mask[i]) == 0;
+    }
+
+    /**
+     * Checks if the function has a satisfying assignment inside the given cube.
+     * Every node is visited only once, because the result of a node only depends
+     * on the cube.
+     */
+    private boolean intersects(int f, long m, long val) {
+        if (visited.length < bdd.getNodeCount()) {
+            visited = new int[bdd.getNodeCount() * 2];
+            stamp = 0;
+        }
+        stamp++;
+        return intersectsRec(f, m, val);
+    }
+
+    private boolean intersectsRec(int f, long m, long val) {
+        if (f == BDD.TRUE)
+            return true;
+        if (f == BDD.FALSE || visited[f] == stamp)
+            return false;
+        visited[f] = stamp;
+        long bit = 1L << bdd.getVar(f);
+        if ((m & bit) == 0)
+            return intersectsRec(bdd.getLow(f), m, val) || intersectsRec(bdd.getHigh(f), m, val);
+        return intersectsRec((val & bit) == 0 ? bdd.getLow(f) : bdd.getHigh(f), m, val);
+    }
+
+    /**
+     * Orders the cubes by the number of literals.
+     *
+     * @param largestFirst if true the cubes with the fewest literals come first
+     */
+    private int[] orderBySize(boolean largestFirst) {
+        int[] count = new int[vars + 2];
+        for (int i = 0; i < size; i++)
+            count[bucket(i, largestFirst) + 1]++;
+        for (int b = 1; b < count.length; b++)
+            count[b] += count[b - 1];
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++)
+            order[count[bucket(i, largestFirst)]++] = i;
+        return order;
+    }
+
+    private int bucket(int i, boolean largestFirst) {
+        int lits = Long.bitCount(mask[i]);
+        return largestFirst ? lits : vars - lits;
+    }
+
+    private void compact(boolean[] removed) {
+        int n = 0;
+        for (int i = 0; i < size; i++)
+            if (!removed[i]) {
+                mask[n] = mask[i];
+                value[n] = value[i];
+                n++;
+            }
+        size = n;
+    }
+
+    /**
+     * @return the number of product terms
+     */
+    public int getCubeCount() {
+        return size;
+    }
+
+    /**
+     * @return the number of literals in all product terms
+     */
+    public int getLiteralCount() {
+        int lits = 0;
+        for (int i = 0; i < size; i++)
+            lits += Long.bitCount(mask[i]);
+        return lits;
+    }
+
+    /**
+     * @return the expression which represents the minimized table
+     */
+    public Expression getExpression() {
+        if (size == 0)
+            return Constant.ZERO;
+
+        ArrayList<Expression> terms = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (mask[i] == 0)
+                return Constant.ONE;
+            ArrayList<Expression> lits = new ArrayList<>();
+            for (int v = 0; v < vars; v++) {
+                long bit = 1L << v;
+                if ((mask[i] & bit) != 0) {
+                    if ((value[i] & bit) != 0)
+                        lits.add(variables.get(v));
+                    else
+                        lits.add(not(variables.get(v)));
+                }
+            }
+            terms.add(and(lits));
+        }
+        return or(terms);
+    }
+}
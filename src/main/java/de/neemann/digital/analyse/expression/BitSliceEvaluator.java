@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.expression;
+
+import de.neemann.digital.lang.Lang;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Evaluates an expression for all rows of a truth table.
+ * The expression is compiled once to a flat list of instructions which operate on long words.
+ * Every bit of a word represents a table row, so a single pass through the instructions
+ * evaluates 64 rows at once. The rows are numbered in the same way as it is done by
+ * the {@link ContextFiller}: The first variable is the most significant bit of the row number.
+ * The results are identical to calling {@link Expression#calculate(Context)} for every row.
+ */
+public final class BitSliceEvaluator {
+    private static final byte VAR = 0;
+    private static final byte CONST = 1;
+    private static final byte NOT = 2;
+    private static final byte AND = 3;
+    private static final byte OR = 4;
+    private static final byte XOR = 5;
+    private static final byte TREE = 6;
+
+    /**
+     * The values of the variables which select the rows within a word
+     */
+    private static final long[] PATTERN = {
+            0xAAAAAAAAAAAAAAAAL,
+            0xCCCCCCCCCCCCCCCCL,
+            0xF0F0F0F0F0F0F0F0L,
+            0xFF00FF00FF00FF00L,
+            0xFFFF0000FFFF0000L,
+            0xFFFFFFFF00000000L};
+
+    private final List<Variable> vars;
+    private final HashMap<Variable, Integer> bitOf;
+    private final int rows;
+    private final long lastMask;
+    private final ArrayList<Expression> treeExpressions;
+    private byte[] op;
+    private int[] arg;
+    private int size;
+    private int depth;
+    private int maxDepth;
+    private ContextFiller context;
+
+    /**
+     * Creates a new instance.
+     * The variables are taken from the expression and sorted in the same way the
+     * {@link ContextFiller#ContextFiller(Expression)} does.
+     *
+     * @param expression the expression
+     * @throws ExpressionException ExpressionException
+     */
+    public BitSliceEvaluator(Expression expression) throws ExpressionException {
+        this(expression, new ContextFiller(expression).getVariables());
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param expression the expression
+     * @param variables  the variables which define the rows of the table
+     * @throws ExpressionException if the expression uses a variable which is not given
+     */
+    public BitSliceEvaluator(Expression expression, List<Variable> variables) throws ExpressionException {
+        vars = variables;
+        rows = 1 << variables.size();
+        lastMask = rows < 64 ? (1L << rows) - 1 : -1;
+        bitOf = new HashMap<>();
+        for (int i = 0; i < variables.size(); i++)
+            bitOf.put(variables.get(i), variables.size() - 1 - i);
+        treeExpressions = new ArrayList<>();
+        op = new byte[16];
+        arg = new int[16];
+        compile(expression);
+        op = Arrays.copyOf(op, size);
+        arg = Arrays.copyOf(arg, size);
+    }
+
+    private void compile(Expression e) throws ExpressionException {
+        if (e.getClass() == Variable.class) {
+            Integer bit = bitOf.get(e);
+            if (bit == null)
+                throw new ExpressionException(Lang.get("err_varNotDefined_N", e));
+            push(VAR, bit);
+        } else if (e instanceof Constant)
+            push(CONST, ((Constant) e).getValue() ? 1 : 0);
+        else if (e instanceof Not) {
+            compile(((Not) e).getExpression());
+            emit(NOT, 0);
+        } else if (e.getClass() == NamedExpression.class)
+            compile(((NamedExpression) e).getExpression());
+        else if (e instanceof Operation) {
+            Operation o = (Operation) e;
+            ArrayList<Expression> list = o.getExpressions();
+            if (list.isEmpty())
+                push(CONST, o.getNeutral() ? 1 : 0);
+            else {
+                byte code = operationCode(o);
+                compile(list.get(0));
+                for (int i = 1; i < list.size(); i++) {
+                    compile(list.get(i));
+                    emit(code, 0);
+                    depth--;
+                }
+            }
+        } else {
+            // unknown expressions are evaluated row by row
+            push(TREE, treeExpressions.size());
+            treeExpressions.add(e);
+        }
+    }
+
+    private static byte operationCode(Operation o) {
+        if (o instanceof Operation.And)
+            return AND;
+        if (o instanceof Operation.Or)
+            return OR;
+        return XOR;
+    }
+
+    private void push(byte code, int a) {
+        emit(code, a);
+        depth++;
+        if (depth > maxDepth)
+            maxDepth = depth;
+    }
+
+    private void emit(byte code, int a) {
+        if (size == op.length) {
+            op = Arrays.copyOf(op, size * 2);
+            arg = Arrays.copyOf(arg, size * 2);
+        }
+        op[size] = code;
+        arg[size] = a;
+        size++;
+    }
+
+    /**
+     * @return the number of rows
+     */
+    public int getRowCount() {
+        return rows;
+    }
+
+    /**
+     * @return the number of words needed to hold all rows
+     */
+    public int getWordCount() {
+        return (rows + 63) >>> 6;
+    }
+
+    /**
+     * Evaluates 64 rows of the table.
+     * The bit i of the result is the value of the row word*64+i.
+     * Bits which do not belong to a row are zero.
+     *
+     * @param word the word to evaluate
+     * @return the values of the rows
+     * @throws ExpressionException ExpressionException
+     */
+    public long calculate(int word) throws ExpressionException {
+        return calculate(word, new long[maxDepth]);
+    }
+
+    /**
+     * Evaluates all rows of the table
+     *
+     * @return the values, use {@link #get(long[], int)} to access a single row
+     * @throws ExpressionException ExpressionException
+     */
+    public long[] calculateAll() throws ExpressionException {
+        long[] stack = new long[maxDepth];
+        long[] values = new long[getWordCount()];
+        for (int w = 0; w < values.length; w++)
+            values[w] = calculate(w, stack);
+        return values;
+    }
+
+    private long calculate(int word, long[] stack) throws ExpressionException {
+        int sp = 0;
+        for (int i = 0; i < size; i++) {
+            switch (op[i]) {
+                case VAR:
+                    int bit = arg[i];
+                    if (bit < 6)
+                        stack[sp++] = PATTERN[bit];
+                    else
+                        stack[sp++] = -((word >>> (bit - 6)) & 1L);
+                    break;
+                case CONST:
+                    stack[sp++] = -(long) arg[i];
+                    break;
+                case NOT:
+                    stack[sp - 1] = ~stack[sp - 1];
+                    break;
+                case AND:
+                    sp--;
+                    stack[sp - 1] &= stack[sp];
+                    break;
+                case OR:
+                    sp--;
+                    stack[sp - 1] |= stack[sp];
+                    break;
+                case XOR:
+                    sp--;
+                    stack[sp - 1] ^= stack[sp];
+                    break;
+                default:
+                    stack[sp++] = calculateRows(treeExpressions.get(arg[i]), word);
+            }
+        }
+        return stack[0] & lastMask;
+    }
+
+    private long calculateRows(Expression expression, int word) throws ExpressionException {
+        if (context == null)
+            context = new ContextFiller(vars);
+        int first = word << 6;
+        int n = Math.min(64, rows - first);
+        long value = 0;
+        for (int i = 0; i < n; i++)
+            if (expression.calculate(context.setContextTo(first + i)))
+                value |= 1L << i;
+        return value;
+    }
+
+    /**
+     * Returns the value of a single row
+     *
+     * @param values the values created by {@link #calculateAll()}
+     * @param row    the row
+     * @return the value of the row
+     */
+    public static boolean get(long[] values, int row) {
+        return (values[row >>> 6] & (1L << row)) != 0;
+    }
+}
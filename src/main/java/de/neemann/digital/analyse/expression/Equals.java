@@ -43,13 +43,11 @@ public class Equals {
         ArrayList<Variable> vars = new ArrayList<>(variables.size());
         vars.addAll(variables);
 
-        ContextFiller cf = new ContextFiller(vars);
-        int count = 1 << vars.size();
-        for (int i = 0; i < count; i++) {
-            cf.setContextTo(i);
-            if (a.calculate(cf) != b.calculate(cf))
+        BitSliceEvaluator ea = new BitSliceEvaluator(a, vars);
+        BitSliceEvaluator eb = new BitSliceEvaluator(b, vars);
+        for (int w = 0; w < ea.getWordCount(); w++)
+            if (ea.calculate(w) != eb.calculate(w))
                 return false;
-        }
         return true;
     }
 
@@ -6,6 +6,7 @@
 package de.neemann.digital.analyse.expression.format;
 
 
+import de.neemann.digital.analyse.expression.BitSliceEvaluator;
 import de.neemann.digital.analyse.expression.ContextFiller;
 import de.neemann.digital.analyse.expression.Expression;
 import de.neemann.digital.analyse.expression.ExpressionException;
@@ -27,11 +28,12 @@ public class FormatToTable implements Formatter {
         sb.append("\n");
         formatTableStart(sb);
 
+        long[] values = new BitSliceEvaluator(expression, cf.getVariables()).calculateAll();
         for (int i = 0; i < cf.getRowCount(); i++) {
             cf.setContextTo(i);
             for (Variable v : cf)
                 sb.append(formatValue(cf.get(v)));
-            sb.append(formatResult(expression.calculate(cf)));
+            sb.append(formatResult(BitSliceEvaluator.get(values, i)));
             sb.append("\n");
         }
         formatEnd(sb);
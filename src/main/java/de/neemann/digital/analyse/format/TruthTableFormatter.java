@@ -8,6 +8,9 @@ package de.neemann.digital.analyse.format;
 import de.neemann.digital.analyse.TruthTable;
 import de.neemann.digital.analyse.expression.ExpressionException;
 
+import java.io.IOException;
+import java.io.Writer;
+
 /**
  * Formats a truth table
  */
@@ -21,4 +24,18 @@ public interface TruthTableFormatter {
      * @throws ExpressionException ExpressionException
      */
     String format(TruthTable truthTable) throws ExpressionException;
+
+    /**
+     * Writes the string representation of the table to the given writer.
+     * Formatters which are used for very large tables write the table row by row
+     * instead of creating the complete string in memory.
+     *
+     * @param truthTable the table
+     * @param out        the writer to write to
+     * @throws ExpressionException ExpressionException
+     * @throws IOException         IOException
+     */
+    default void format(TruthTable truthTable, Writer out) throws ExpressionException, IOException {
+        out.write(format(truthTable));
+    }
 }
@@ -7,9 +7,13 @@ package de.neemann.digital.analyse.format;
 
 import de.neemann.digital.analyse.TruthTable;
 import de.neemann.digital.analyse.expression.ExpressionException;
-import de.neemann.digital.analyse.quinemc.ThreeStateValue;
+import de.neemann.digital.analyse.quinemc.BoolTable;
 import de.neemann.digital.core.Bits;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
 /**
  * Exports a table in LogicFriday format
  */
@@ -17,35 +21,51 @@ public class TruthTableFormatterCSV implements TruthTableFormatter {
 
     @Override
     public String format(TruthTable truthTable) throws ExpressionException {
+        StringWriter sw = new StringWriter();
+        try {
+            format(truthTable, sw);
+        } catch (IOException e) {
+            // a StringWriter does not throw an IOException
+            throw new RuntimeException(e);
+        }
+        return sw.toString();
+    }
+
+    @Override
+    public void format(TruthTable truthTable, Writer out) throws IOException {
         StringBuilder sb = new StringBuilder();
         for (String n : truthTable.getVarNames())
             sb.append(n).append(",");
         for (String n : truthTable.getResultNames())
             sb.append(',').append(n);
         sb.append('\n');
+        out.write(sb.toString());
 
-        export(sb, truthTable);
-
-        return sb.toString();
+        export(out, truthTable);
     }
 
-    private void export(StringBuilder sb, TruthTable truthTable) {
+    private void export(Writer out, TruthTable truthTable) throws IOException {
         int vars = truthTable.getVars().size();
+        BoolTable[] results = new BoolTable[truthTable.getResultCount()];
+        for (int c = 0; c < results.length; c++)
+            results[c] = truthTable.getResult(c);
+
+        char[] line = new char[vars * 2 + results.length * 2 + 1];
+        for (int c = 0; c < vars; c++)
+            line[c * 2 + 1] = ',';
+        for (int c = 0; c < results.length; c++)
+            line[vars * 2 + c * 2] = ',';
+        line[line.length - 1] = '\n';
+
         for (int r = 0; r < truthTable.getRows(); r++) {
             long m = Bits.up(1, vars - 1);
             for (int c = 0; c < vars; c++) {
-                if ((r & m) == 0)
-                    sb.append('0');
-                else
-                    sb.append('1');
-                sb.append(',');
+                line[c * 2] = (r & m) == 0 ? '0' : '1';
                 m = m >> 1;
             }
-            for (int c = 0; c < truthTable.getResultCount(); c++) {
-                ThreeStateValue v = truthTable.getResult(c).get(r);
-                sb.append(',').append(v.toString());
-            }
-            sb.append('\n');
+            for (int c = 0; c < results.length; c++)
+                line[vars * 2 + c * 2 + 1] = results[c].get(r).toString().charAt(0);
+            out.write(line);
         }
     }
 }
@@ -7,9 +7,14 @@ package de.neemann.digital.analyse.format;
 
 import de.neemann.digital.analyse.TruthTable;
 import de.neemann.digital.analyse.expression.ExpressionException;
+import de.neemann.digital.analyse.quinemc.BoolTable;
 import de.neemann.digital.analyse.quinemc.ThreeStateValue;
 import de.neemann.digital.lang.Lang;
 
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+
 /**
  * Formats a truth table
  */
@@ -17,25 +22,38 @@ public class TruthTableFormatterHex implements TruthTableFormatter {
 
     @Override
     public String format(TruthTable truthTable) throws ExpressionException {
+        StringWriter sw = new StringWriter();
+        try {
+            format(truthTable, sw);
+        } catch (IOException e) {
+            // a StringWriter does not throw an IOException
+            throw new RuntimeException(e);
+        }
+        return sw.toString();
+    }
+
+    @Override
+    public void format(TruthTable truthTable, Writer out) throws ExpressionException, IOException {
         if (truthTable.getResultCount() > 63)
             throw new ExpressionException(Lang.get("err_tableHasToManyResultColumns"));
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("v2.0 raw\n");
+        out.write("v2.0 raw\n");
+
+        BoolTable[] results = new BoolTable[truthTable.getResultCount()];
+        for (int j = 0; j < results.length; j++)
+            results[j] = truthTable.getResult(j);
 
-        int count = truthTable.getResult(0).size();
+        int count = results[0].size();
         for (int i = 0; i < count; i++) {
             long val = 0;
             long mask = 1;
-            for (int j = 0; j < truthTable.getResultCount(); j++) {
-                ThreeStateValue v = truthTable.getResult(j).get(i);
-                if (v == ThreeStateValue.one)
+            for (BoolTable r : results) {
+                if (r.get(i) == ThreeStateValue.one)
                     val |= mask;
                 mask *= 2;
             }
-            sb.append(Long.toHexString(val));
-            sb.append('\n');
+            out.write(Long.toHexString(val));
+            out.write('\n');
         }
-        return sb.toString();
     }
 }
@@ -6,16 +6,19 @@
 package de.neemann.digital.analyse.quinemc;
 
 
+import de.neemann.digital.analyse.expression.BitSliceEvaluator;
 import de.neemann.digital.analyse.expression.ContextFiller;
 import de.neemann.digital.analyse.expression.Expression;
 import de.neemann.digital.analyse.expression.ExpressionException;
 
 /**
- * Creates a bool table from the given expression
+ * Creates a bool table from the given expression.
+ * The complete table is evaluated by a {@link BitSliceEvaluator} when the first value is requested.
  */
 public class BoolTableExpression implements BoolTable {
     private final Expression expression;
     private final ContextFiller context;
+    private long[] values;
 
     /**
      * Creates a new instance
@@ -35,11 +38,13 @@ public class BoolTableExpression implements BoolTable {
 
     @Override
     public ThreeStateValue get(int i) {
-        context.setContextTo(i);
-        try {
-            return ThreeStateValue.value(expression.calculate(context));
-        } catch (ExpressionException e) {
-            throw new RuntimeException(e); // ToDo!!
+        if (values == null) {
+            try {
+                values = new BitSliceEvaluator(expression, context.getVariables()).calculateAll();
+            } catch (ExpressionException e) {
+                throw new RuntimeException(e); // ToDo!!
+            }
         }
+        return ThreeStateValue.value(BitSliceEvaluator.get(values, i));
     }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.quinemc;
+
+import java.util.Arrays;
+
+/**
+ * Hash index of cubes which are given by their optimized flags and their state.
+ * The values are non negative ints. Several values can be stored for the same cube,
+ * they are chained in the order they were added.
+ * Uses open addressing on primitive arrays, so no objects are created per cube.
+ */
+final class CubeIndex {
+    private long[] flags;
+    private long[] states;
+    private int[] head;
+    private int[] tail;
+    private int[] next;
+    private int mask;
+    private int used;
+
+    /**
+     * Creates a new index
+     *
+     * @param expected the expected number of cubes
+     */
+    CubeIndex(int expected) {
+        int capacity = 16;
+        while (capacity < expected * 2)
+            capacity *= 2;
+        create(capacity);
+        next = new int[Math.max(16, expected)];
+    }
+
+    private void create(int capacity) {
+        flags = new long[capacity];
+        states = new long[capacity];
+        head = new int[capacity];
+        Arrays.fill(head, -1);
+        tail = new int[capacity];
+        mask = capacity - 1;
+    }
+
+    private int slot(long f, long s) {
+        long h = f * 0x9E3779B97F4A7C15L + s * 0xC2B2AE3D27D4EB4FL;
+        int i = (int) (h ^ (h >>> 29)) & mask;
+        while (head[i] >= 0 && (flags[i] != f || states[i] != s))
+            i = (i + 1) & mask;
+        return i;
+    }
+
+    /**
+     * Adds a value to the given cube
+     *
+     * @param f     the optimized flags
+     * @param s     the state
+     * @param value the value
+     */
+    void add(long f, long s, int value) {
+        if (value >= next.length)
+            next = Arrays.copyOf(next, Math.max(value + 1, next.length * 2));
+        next[value] = -1;
+
+        int i = slot(f, s);
+        if (head[i] >= 0) {
+            next[tail[i]] = value;
+            tail[i] = value;
+            return;
+        }
+
+        flags[i] = f;
+        states[i] = s;
+        head[i] = value;
+        tail[i] = value;
+        used++;
+        if (used * 2 > head.length)
+            grow();
+    }
+
+    /**
+     * Adds a value to the given cube if the cube is not yet present
+     *
+     * @param f     the optimized flags
+     * @param s     the state
+     * @param value the value
+     * @return true if the cube was not present
+     */
+    boolean addIfAbsent(long f, long s, int value) {
+        if (first(f, s) >= 0)
+            return false;
+        add(f, s, value);
+        return true;
+    }
+
+    /**
+     * Returns the first value of the given cube
+     *
+     * @param f the optimized flags
+     * @param s the state
+     * @return the first value or -1 if the cube is not present
+     */
+    int first(long f, long s) {
+        return head[slot(f, s)];
+    }
+
+    /**
+     * Returns the value which follows the given value
+     *
+     * @param value the value
+     * @return the next value of the same cube or -1 if there is none
+     */
+    int next(int value) {
+        return next[value];
+    }
+
+    private void grow() {
+        long[] f = flags;
+        long[] s = states;
+        int[] h = head;
+        int[] t = tail;
+        create(h.length * 2);
+        for (int j = 0; j < h.length; j++)
+            if (h[j] >= 0) {
+                int i = slot(f[j], s[j]);
+                flags[i] = f[j];
+                states[i] = s[j];
+                head[i] = h[j];
+                tail[i] = t[j];
+            }
+    }
+}
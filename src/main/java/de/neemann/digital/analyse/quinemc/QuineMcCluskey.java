@@ -52,10 +52,16 @@ public class QuineMcCluskey {
      * @throws ExpressionException ExpressionException
      */
     public QuineMcCluskey(Expression expression) throws ExpressionException {
-        ContextFiller context = new ContextFiller(expression);
-        variables = context.getVariables();
+        variables = new ContextFiller(expression).getVariables();
         rows = new TableRows();
-        fillTableWith(new BoolTableExpression(expression, context));
+        long[] values = new BitSliceEvaluator(expression, variables).calculateAll();
+        for (int w = 0; w < values.length; w++) {
+            long word = values[w];
+            while (word != 0) {
+                add((w << 6) + Long.numberOfTrailingZeros(word), false);
+                word &= word - 1;
+            }
+        }
         primes = new ArrayList<>();
     }
 
@@ -134,32 +140,69 @@ public class QuineMcCluskey {
 
 
     /**
-     * a single simplification iteration
+     * a single simplification iteration.
+     * The rows are indexed by their state, so the compatible rows are found by
+     * flipping a single bit instead of comparing all pairs of rows.
      */
     public void simplifyStep() {
         TableRows newRows = new TableRows();
+        CubeIndex created = new CubeIndex(rows.size());
+        int[] partner = new int[64];
+        int[] partnerBit = new int[64];
+
+        for (TableRows.InnerList list : rows.listIterable()) {
+            int size = list.size();
+            if (size < 2)
+                continue;
+
+            CubeIndex index = new CubeIndex(size);
+            for (int i = 0; i < size; i++)
+                index.add(0, list.get(i).getState(), i);
+
+            for (int i = 0; i < size - 1; i++) {
+                TableRow r1 = list.get(i);
+                long state = r1.getState();
+                long free = ~r1.getOptimizedFlags();
+                if (r1.size() < 64)
+                    free &= (1L << r1.size()) - 1;
+
+                // collect the compatible rows behind r1 ordered by their position
+                int n = 0;
+                while (free != 0) {
+                    int bit = Long.numberOfTrailingZeros(free);
+                    free &= free - 1;
+                    for (int j = index.first(0, state ^ (1L << bit)); j >= 0; j = index.next(j))
+                        if (j > i) {
+                            if (n == partner.length) {
+                                partner = Arrays.copyOf(partner, n * 2);
+                                partnerBit = Arrays.copyOf(partnerBit, n * 2);
+                            }
+                            int k = n++;
+                            while (k > 0 && partner[k - 1] > j) {
+                                partner[k] = partner[k - 1];
+                                partnerBit[k] = partnerBit[k - 1];
+                                k--;
+                            }
+                            partner[k] = j;
+                            partnerBit[k] = bit;
+                        }
+                }
 
-        for (TableRows.InnerList list : rows.listIterable())
-            for (int i = 0; i < list.size() - 1; i++)
-                for (int j = i + 1; j < list.size(); j++) {
-                    TableRow r1 = list.get(i);
-                    TableRow r2 = list.get(j);
-
-                    int index = r1.checkCompatible(r2);
-                    if (index >= 0) {
-                        // can optimize;
+                for (int k = 0; k < n; k++) {
+                    TableRow r2 = list.get(partner[k]);
+                    long bit = 1L << partnerBit[k];
+                    if (created.addIfAbsent(r1.getOptimizedFlags() | bit, state & ~bit, newRows.size())) {
                         TableRow newRow = new TableRow(r1);
-                        newRow.setToOptimized(index);
-
-                        if (!newRows.contains(newRow)) {
-                            newRow.addSource(r1.getSource());
-                            newRow.addSource(r2.getSource());
-                            newRows.add(newRow);
-                        }
-                        r1.setUsed();
-                        r2.setUsed();
+                        newRow.setToOptimized(partnerBit[k]);
+                        newRow.addSource(r1.getSource());
+                        newRow.addSource(r2.getSource());
+                        newRows.add(newRow);
                     }
+                    r1.setUsed();
+                    r2.setUsed();
                 }
+            }
+        }
 
         for (TableRow row : rows)
             if (!row.isUsed() && row.getSource().size() > 0)
@@ -251,47 +294,156 @@ public class QuineMcCluskey {
     }
 
     /**
-     * Simplify the primes
+     * Simplify the primes.
+     * The coverage of the primes is stored in bit sets, one set per prime which contains
+     * the covered columns and one set per column which contains the primes covering it.
      *
      * @param primeSelector the prime selector to use
      */
     public void simplifyPrimes(PrimeSelector primeSelector) {
-
-        TreeSet<Integer> columns = new TreeSet<>();
+        SourceSet allColumns = new SourceSet();
         for (TableRow r : primes)
-            columns.addAll(r.getSource());
+            allColumns.addAll(r.getSource());
+
+        int colCount = allColumns.size();
+        int[] column = new int[colCount];
+        for (int c = 0; c < colCount; c++)
+            column[c] = allColumns.get(c);
+
+        int primeCount = primes.size();
+        long[][] primeCols = new long[primeCount][words(colCount)];
+        long[][] colPrimes = new long[colCount][words(primeCount)];
+        for (int p = 0; p < primeCount; p++) {
+            SourceSet source = primes.get(p).getSource();
+            for (int i = 0; i < source.size(); i++) {
+                int c = Arrays.binarySearch(column, source.get(i));
+                primeCols[p][c >> 6] |= 1L << c;
+                colPrimes[c][p >> 6] |= 1L << p;
+            }
+        }
 
-        LOGGER.debug("initial primes " + primes.size());
+        int[] alivePrimes = new int[primeCount];
+        for (int p = 0; p < primeCount; p++)
+            alivePrimes[p] = p;
+        int[] aliveCols = new int[colCount];
+        for (int c = 0; c < colCount; c++)
+            aliveCols[c] = c;
+        int primesLeft = primeCount;
+        int colsLeft = colCount;
+
+        LOGGER.debug("initial primes " + primeCount);
 
         // remove all primes which are easy to remove
+        boolean[] primeDeleted = new boolean[primeCount];
+        boolean[] colDeleted = new boolean[colCount];
         while (true) {
-            // find rows to delete
-            HashSet<TableRow> rowsToDelete = new HashSet<>();
-            for (TableRow r1 : primes)
-                for (TableRow r2 : primes) {
-                    if ((r1 != r2) && !rowsToDelete.contains(r1) && r1.getSource().containsAll(r2.getSource()))
-                        rowsToDelete.add(r2);
-                }
-
-            primes.removeAll(rowsToDelete);
+            // find rows to delete, a row can only be a subset of a row which contains its lowest column
+            boolean rowsDeleted = false;
+            Subsets rows = new Subsets(primeCols, alivePrimes, primesLeft);
+            int[] bucket = new int[colCount + 1];
+            Arrays.fill(bucket, -1);
+            int[] nextInBucket = new int[primeCount];
+            for (int i = primesLeft - 1; i >= 0; i--) {
+                int p = alivePrimes[i];
+                int c = rows.lowest[p] < 0 ? colCount : rows.lowest[p];
+                nextInBucket[p] = bucket[c];
+                bucket[c] = p;
+            }
+            for (int i = 0; i < primesLeft; i++) {
+                int p1 = alivePrimes[i];
+                if (primeDeleted[p1])
+                    continue;
+                for (int p2 = bucket[colCount]; p2 >= 0; p2 = nextInBucket[p2])
+                    if (p1 != p2) {
+                        primeDeleted[p2] = true;
+                        rowsDeleted = true;
+                    }
+                long[] set = primeCols[p1];
+                for (int w = 0; w < set.length; w++)
+                    for (long bits = set[w]; bits != 0; bits &= bits - 1) {
+                        int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        for (int p2 = bucket[c]; p2 >= 0; p2 = nextInBucket[p2])
+                            if (p1 != p2 && rows.isSubset(p2, p1)) {
+                                primeDeleted[p2] = true;
+                                rowsDeleted = true;
+                            }
+                    }
+            }
 
-            // find the cols to delete
-            HashSet<Integer> colsToDelete = new HashSet<>();
-            for (int c1 : columns) {
-                for (int c2 : columns) {
-                    if ((c1 != c2) && !colsToDelete.contains(c1) && smaller(c1, c2, primes))
-                        colsToDelete.add(c2);
+            int n = 0;
+            for (int i = 0; i < primesLeft; i++) {
+                int p = alivePrimes[i];
+                if (primeDeleted[p]) {
+                    for (int j = 0; j < colsLeft; j++)
+                        colPrimes[aliveCols[j]][p >> 6] &= ~(1L << p);
+                } else
+                    alivePrimes[n++] = p;
+            }
+            primesLeft = n;
+
+            // find the cols to delete, a superset of a column contains the lowest prime of the column
+            boolean colsDeleted = false;
+            Subsets cols = new Subsets(colPrimes, aliveCols, colsLeft);
+            for (int i = 0; i < colsLeft; i++) {
+                int c1 = aliveCols[i];
+                if (colDeleted[c1])
+                    continue;
+                int p = cols.lowest[c1];
+                if (p < 0) {
+                    for (int j = 0; j < colsLeft; j++)
+                        if (aliveCols[j] != c1) {
+                            colDeleted[aliveCols[j]] = true;
+                            colsDeleted = true;
+                        }
+                } else {
+                    long[] set = primeCols[p];
+                    for (int w = 0; w < set.length; w++)
+                        for (long bits = set[w]; bits != 0; bits &= bits - 1) {
+                            int c2 = (w << 6) + Long.numberOfTrailingZeros(bits);
+                            if (c1 != c2 && cols.isSubset(c1, c2)) {
+                                colDeleted[c2] = true;
+                                colsDeleted = true;
+                            }
+                        }
                 }
             }
 
-            if (colsToDelete.isEmpty() && rowsToDelete.isEmpty())
+            if (!colsDeleted && !rowsDeleted)
                 break;
 
-            for (TableRow p : primes)
-                p.getSource().removeAll(colsToDelete);
+            n = 0;
+            for (int i = 0; i < colsLeft; i++) {
+                int c = aliveCols[i];
+                if (colDeleted[c]) {
+                    for (int j = 0; j < primesLeft; j++)
+                        primeCols[alivePrimes[j]][c >> 6] &= ~(1L << c);
+                } else
+                    aliveCols[n++] = c;
+            }
+            colsLeft = n;
+        }
 
-            columns.removeAll(colsToDelete);
+        // write the remaining primes and columns back
+        ArrayList<TableRow> remaining = new ArrayList<>(primesLeft);
+        int[] source = new int[colsLeft];
+        for (int i = 0; i < primesLeft; i++) {
+            int p = alivePrimes[i];
+            int n = 0;
+            for (int j = 0; j < colsLeft; j++) {
+                int c = aliveCols[j];
+                if ((primeCols[p][c >> 6] & (1L << c)) != 0)
+                    source[n++] = column[c];
+            }
+            TableRow r = primes.get(p);
+            r.getSource().set(source, n);
+            remaining.add(r);
         }
+        primes.clear();
+        primes.addAll(remaining);
+
+        TreeSet<Integer> columns = new TreeSet<>();
+        for (int j = 0; j < colsLeft; j++)
+            columns.add(column[aliveCols[j]]);
 
         LOGGER.debug("residual primes " + primes.size());
 
@@ -305,12 +457,56 @@ public class QuineMcCluskey {
         }
     }
 
-    private boolean smaller(int c1, int c2, ArrayList<TableRow> primes) {
-        for (TableRow r : primes) {
-            Collection<Integer> s = r.getSource();
-            if (s.contains(c1) && !s.contains(c2))
+    private static int words(int bits) {
+        return (bits + 63) >> 6;
+    }
+
+    /**
+     * Checks if a bit set is a subset of another bit set.
+     * Most pairs are rejected by comparing the number of bits and by testing
+     * the highest bit before the sets are compared word by word.
+     */
+    private static final class Subsets {
+        private final long[][] sets;
+        private final int[] count;
+        private final int[] lowest;
+        private final int[] highest;
+
+        private Subsets(long[][] sets, int[] alive, int n) {
+            this.sets = sets;
+            count = new int[sets.length];
+            lowest = new int[sets.length];
+            highest = new int[sets.length];
+            for (int i = 0; i < n; i++) {
+                int s = alive[i];
+                long[] set = sets[s];
+                lowest[s] = -1;
+                for (int w = 0; w < set.length; w++)
+                    if (set[w] != 0) {
+                        if (lowest[s] < 0)
+                            lowest[s] = (w << 6) + Long.numberOfTrailingZeros(set[w]);
+                        highest[s] = (w << 6) + 63 - Long.numberOfLeadingZeros(set[w]);
+                        count[s] += Long.bitCount(set[w]);
+                    }
+            }
+        }
+
+        /**
+         * Returns true if every bit set in the set a is also set in the set b
+         */
+        private boolean isSubset(int a, int b) {
+            if (count[a] > count[b])
+                return false;
+            if (count[a] == 0)
+                return true;
+            long[] sb = sets[b];
+            if ((sb[highest[a] >> 6] & (1L << highest[a])) == 0)
                 return false;
+            long[] sa = sets[a];
+            for (int w = lowest[a] >> 6; w <= highest[a] >> 6; w++)
+                if ((sa[w] & ~sb[w]) != 0)
+                    return false;
+            return true;
         }
-        return true;
     }
 }
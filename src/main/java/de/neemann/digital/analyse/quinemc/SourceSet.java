@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.quinemc;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * The source rows of a {@link TableRow}.
+ * The indices are stored in a sorted int array, so the union of two sets is a simple merge
+ * and no objects are created if a set is filled.
+ */
+public final class SourceSet extends AbstractSet<Integer> {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] data = EMPTY;
+    private int size;
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the i'th index in ascending order
+     *
+     * @param i the position
+     * @return the index
+     */
+    public int get(int i) {
+        return data[i];
+    }
+
+    /**
+     * Checks if the given index is contained in this set
+     *
+     * @param index the index
+     * @return true if the index is contained
+     */
+    public boolean contains(int index) {
+        return Arrays.binarySearch(data, 0, size, index) >= 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && contains(((Integer) o).intValue());
+    }
+
+    /**
+     * Adds an index
+     *
+     * @param index the index to add
+     * @return true if the set has changed
+     */
+    public boolean add(int index) {
+        int pos = Arrays.binarySearch(data, 0, size, index);
+        if (pos >= 0)
+            return false;
+        pos = -pos - 1;
+        if (size == data.length)
+            data = Arrays.copyOf(data, Math.max(4, size * 2));
+        System.arraycopy(data, pos, data, pos + 1, size - pos);
+        data[pos] = index;
+        size++;
+        return true;
+    }
+
+    @Override
+    public boolean add(Integer index) {
+        return add(index.intValue());
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends Integer> c) {
+        if (!(c instanceof SourceSet))
+            return super.addAll(c);
+
+        SourceSet o = (SourceSet) c;
+        if (o.size == 0)
+            return false;
+        int[] m = new int[size + o.size];
+        int i = 0;
+        int j = 0;
+        int n = 0;
+        while (i < size && j < o.size) {
+            int a = data[i];
+            int b = o.data[j];
+            if (a < b) {
+                m[n++] = a;
+                i++;
+            } else if (b < a) {
+                m[n++] = b;
+                j++;
+            } else {
+                m[n++] = a;
+                i++;
+                j++;
+            }
+        }
+        while (i < size)
+            m[n++] = data[i++];
+        while (j < o.size)
+            m[n++] = o.data[j++];
+
+        boolean changed = n != size;
+        data = m;
+        size = n;
+        return changed;
+    }
+
+    @Override
+    public boolean containsAll(Collection<?> c) {
+        if (!(c instanceof SourceSet))
+            return super.containsAll(c);
+
+        SourceSet o = (SourceSet) c;
+        int i = 0;
+        for (int j = 0; j < o.size; j++) {
+            int b = o.data[j];
+            while (i < size && data[i] < b)
+                i++;
+            if (i == size || data[i] != b)
+                return false;
+        }
+        return true;
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        int n = 0;
+        for (int i = 0; i < size; i++)
+            if (!c.contains(data[i]))
+                data[n++] = data[i];
+        boolean changed = n != size;
+        size = n;
+        return changed;
+    }
+
+    /**
+     * Replaces the content of this set
+     *
+     * @param indices the new indices in ascending order
+     * @param n       the number of indices to use
+     */
+    void set(int[] indices, int n) {
+        data = Arrays.copyOf(indices, n);
+        size = n;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new Iterator<Integer>() {
+            private int pos;
+            private boolean removable;
+
+            @Override
+            public boolean hasNext() {
+                return pos < size;
+            }
+
+            @Override
+            public Integer next() {
+                if (pos >= size)
+                    throw new NoSuchElementException();
+                removable = true;
+                return data[pos++];
+            }
+
+            @Override
+            public void remove() {
+                if (!removable)
+                    throw new IllegalStateException();
+                removable = false;
+                pos--;
+                System.arraycopy(data, pos + 1, data, pos, size - pos - 1);
+                size--;
+            }
+        };
+    }
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.quinemc;
+
+import de.neemann.digital.analyse.expression.Constant;
+import de.neemann.digital.analyse.expression.Expression;
+import de.neemann.digital.analyse.expression.ExpressionException;
+import de.neemann.digital.analyse.expression.Variable;
+import de.neemann.digital.analyse.expression.format.FormatterException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static de.neemann.digital.analyse.expression.Not.not;
+import static de.neemann.digital.analyse.expression.Operation.*;
+
+/**
+ * Decomposes a bool table into smaller tables which are minimized independently.
+ * The table is stored as a bitset, so that the checks work on 64 rows at once.
+ * The following decompositions are detected:
+ * <ul>
+ * <li>XOR: If the mixed derivative of the function with respect to two variables is zero,
+ * no term of the algebraic normal form contains both variables. So the connected groups of
+ * variables with a non zero mixed derivative form independent functions which are XORed.
+ * This splits a parity function into its variables.</li>
+ * <li>AND and OR: The function is the AND (OR) of functions of disjoint groups of variables,
+ * like the one-hot decoder or the equality comparator. The groups are proposed by a check
+ * of all pairs of variables and afterwards verified exactly.</li>
+ * <li>Symmetric functions: If the function depends only on the number of ones in its
+ * variables and is a threshold function, the minimal expression is created directly.</li>
+ * </ul>
+ * The found parts are decomposed recursively. Tables containing don't cares are not
+ * decomposed, because the choice of the don't cares would influence the decomposition.
+ * The result is a multi level expression, so it is only used if the table is too large
+ * to be minimized exactly.
+ */
+public final class TableDecomposer {
+    private static final long[] PATTERN = {
+            0xAAAAAAAAAAAAAAAAL,
+            0xCCCCCCCCCCCCCCCCL,
+            0xF0F0F0F0F0F0F0F0L,
+            0xFF00FF00FF00FF00L,
+            0xFFFF0000FFFF0000L,
+            0xFFFFFFFF00000000L};
+    private static final int MAX_SYMMETRIC_TERMS = 1024;
+
+    private final Part root;
+
+    /**
+     * Creates a new instance
+     *
+     * @param vars  the variables
+     * @param table the bool table
+     */
+    public TableDecomposer(List<Variable> vars, BoolTable table) {
+        long[] f = toBits(table, vars.size());
+        if (f == null)
+            root = null;
+        else
+            root = decompose(new ArrayList<>(vars), f);
+    }
+
+    /**
+     * @return true if the table can be decomposed
+     */
+    public boolean canDecompose() {
+        return root != null && !(root instanceof Leaf);
+    }
+
+    /**
+     * @return the number of variables of the largest part which needs to be minimized
+     */
+    public int getMaxPartVars() {
+        return root.getMaxVars();
+    }
+
+    /**
+     * Creates the expression by minimizing all parts and combining them
+     *
+     * @param minimizer the minimizer used to minimize the parts
+     * @return the expression
+     * @throws ExpressionException ExpressionException
+     * @throws FormatterException  FormatterException
+     */
+    public Expression createExpression(PartMinimizer minimizer) throws ExpressionException, FormatterException {
+        return root.create(minimizer);
+    }
+
+    private static Part decompose(List<Variable> vars, long[] f) {
+        int n = vars.size();
+
+        int[] support = getSupport(f, n);
+        if (support.length < n) {
+            vars = select(vars, support);
+            f = project(f, n, support);
+            n = support.length;
+        }
+
+        if (n == 0)
+            return new Direct(f[0] == 0 ? Constant.ZERO : Constant.ONE);
+        if (n == 1)
+            return new Direct(f[0] == 1 ? not(vars.get(0)) : vars.get(0));
+
+        Part p = xorDecomposition(vars, f);
+        if (p != null)
+            return p;
+        p = andDecomposition(vars, f, false);
+        if (p != null)
+            return p;
+        p = andDecomposition(vars, complement(f, n), true);
+        if (p != null)
+            return p;
+        p = symmetricFunction(vars, f);
+        if (p != null)
+            return p;
+
+        return new Leaf(vars, f);
+    }
+
+    private static Part xorDecomposition(List<Variable> vars, long[] f) {
+        int n = vars.size();
+        Groups groups = new Groups(n);
+        for (int i = 0; i < n; i++) {
+            long[] d = flip(f, n - 1 - i);
+            for (int k = 0; k < d.length; k++)
+                d[k] ^= f[k];
+            for (int j = i + 1; j < n; j++)
+                if (!groups.same(i, j) && !isInvariant(d, n - 1 - j))
+                    groups.join(i, j);
+        }
+        List<int[]> list = groups.getGroups();
+        if (list.size() < 2)
+            return null;
+
+        // f = c ^ g_1(X_1) ^ g_2(X_2) ^ ... with g_k(0) = 0 and c = f(0)
+        boolean c = (f[0] & 1) != 0;
+        ArrayList<Part> parts = new ArrayList<>();
+        for (int[] g : list) {
+            long[] h = project(f, n, g);
+            if (c)
+                h = complement(h, g.length);
+            parts.add(decompose(select(vars, g), h));
+        }
+        return new Combination(Combination.XOR, parts, c);
+    }
+
+    /**
+     * Checks if f is the AND of functions of disjoint variable groups.
+     * If the complement of the function is given, the OR decomposition is checked.
+     */
+    private static Part andDecomposition(List<Variable> vars, long[] g, boolean or) {
+        int n = vars.size();
+        if (isZero(g))
+            return null;
+
+        // if the variables i and j are in different groups, g00 & g11 == g01 & g10 holds
+        Groups groups = new Groups(n);
+        for (int i = 0; i < n; i++) {
+            long[] gi = flip(g, n - 1 - i);
+            for (int j = i + 1; j < n; j++)
+                if (!groups.same(i, j)) {
+                    int pj = n - 1 - j;
+                    for (int k = 0; k < g.length; k++)
+                        if ((g[k] & flipWord(gi, k, pj)) != (gi[k] & flipWord(g, k, pj))) {
+                            groups.join(i, j);
+                            break;
+                        }
+                }
+        }
+        List<int[]> candidates = groups.getGroups();
+        if (candidates.size() < 2)
+            return null;
+        candidates.sort((a, b) -> Integer.compare(a.length, b.length));
+
+        // verify the proposed groups: rem == (exists others: rem) & (exists group: rem)
+        ArrayList<int[]> found = new ArrayList<>();
+        long[] rem = g;
+        boolean[] remaining = new boolean[n];
+        Arrays.fill(remaining, true);
+        for (int c = 0; c < candidates.size() - 1; c++) {
+            int[] group = candidates.get(c);
+            boolean[] others = remaining.clone();
+            for (int v : group)
+                others[v] = false;
+            long[] a = exists(rem, n, others);
+            boolean[] inGroup = new boolean[n];
+            for (int v : group)
+                inGroup[v] = true;
+            long[] b = exists(rem, n, inGroup);
+            boolean ok = true;
+            for (int k = 0; k < rem.length && ok; k++)
+                ok = (a[k] & b[k]) == rem[k];
+            if (ok) {
+                found.add(group);
+                rem = b;
+                remaining = others;
+            }
+        }
+        if (found.isEmpty())
+            return null;
+        found.add(indices(remaining));
+
+        ArrayList<Part> parts = new ArrayList<>();
+        for (int[] group : found) {
+            boolean[] others = new boolean[n];
+            Arrays.fill(others, true);
+            for (int v : group)
+                others[v] = false;
+            long[] h = project(exists(g, n, others), n, group);
+            if (or)
+                h = complement(h, group.length);
+            parts.add(decompose(select(vars, group), h));
+        }
+        return new Combination(or ? Combination.OR : Combination.AND, parts, false);
+    }
+
+    private static Part symmetricFunction(List<Variable> vars, long[] f) {
+        int n = vars.size();
+        int[] weight = new int[n + 1];
+        Arrays.fill(weight, -1);
+        int rows = 1 << n;
+        for (int r = 0; r < rows; r++) {
+            int w = Integer.bitCount(r);
+            int v = (int) (f[r >>> 6] >>> (r & 63)) & 1;
+            if (weight[w] < 0)
+                weight[w] = v;
+            else if (weight[w] != v)
+                return null;
+        }
+
+        int k = 0;
+        while (k <= n && weight[k] == weight[0])
+            k++;
+        for (int w = k; w <= n; w++)
+            if (weight[w] == weight[0])
+                return null;
+
+        // the function is one if at least k variables are one or if at least n-k+1 variables are zero
+        boolean atLeast = weight[0] == 0;
+        int size = atLeast ? k : n - k + 1;
+        if (binomial(n, size) > MAX_SYMMETRIC_TERMS)
+            return null;
+
+        ArrayList<Expression> terms = new ArrayList<>();
+        int[] c = new int[size];
+        for (int i = 0; i < size; i++)
+            c[i] = i;
+        while (true) {
+            ArrayList<Expression> term = new ArrayList<>(size);
+            for (int i : c)
+                term.add(atLeast ? vars.get(i) : not(vars.get(i)));
+            terms.add(and(term));
+
+            int i = size - 1;
+            while (i >= 0 && c[i] == n - size + i)
+                i--;
+            if (i < 0)
+                break;
+            c[i]++;
+            for (int j = i + 1; j < size; j++)
+                c[j] = c[j - 1] + 1;
+        }
+        return new Direct(or(terms));
+    }
+
+    private static long binomial(int n, int k) {
+        long b = 1;
+        for (int i = 1; i <= k; i++)
+            b = b * (n - k + i) / i;
+        return b;
+    }
+
+    private static long[] toBits(BoolTable table, int n) {
+        int rows = 1 << n;
+        long[] f = new long[Math.max(1, rows >>> 6)];
+        for (int r = 0; r < rows; r++) {
+            switch (table.get(r)) {
+                case one:
+                    f[r >>> 6] |= 1L << (r & 63);
+                    break;
+                case dontCare:
+                    return null;
+                default:
+            }
+        }
+        return f;
+    }
+
+    private static int[] getSupport(long[] f, int n) {
+        ArrayList<Integer> support = new ArrayList<>();
+        for (int i = 0; i < n; i++)
+            if (!isInvariant(f, n - 1 - i))
+                support.add(i);
+        int[] s = new int[support.size()];
+        for (int i = 0; i < s.length; i++)
+            s[i] = support.get(i);
+        return s;
+    }
+
+    /**
+     * Returns the word k of the table with the row bit p inverted
+     */
+    private static long flipWord(long[] f, int k, int p) {
+        if (p < 6) {
+            long m = PATTERN[p];
+            int s = 1 << p;
+            long w = f[k];
+            return ((w & m) >>> s) | ((w & ~m) << s);
+        } else
+            return f[k ^ (1 << (p - 6))];
+    }
+
+    private static long[] flip(long[] f, int p) {
+        long[] r = new long[f.length];
+        for (int k = 0; k < f.length; k++)
+            r[k] = flipWord(f, k, p);
+        return r;
+    }
+
+    private static boolean isInvariant(long[] f, int p) {
+        for (int k = 0; k < f.length; k++)
+            if (f[k] != flipWord(f, k, p))
+                return false;
+        return true;
+    }
+
+    private static long[] exists(long[] f, int n, boolean[] vars) {
+        long[] r = f.clone();
+        for (int i = 0; i < n; i++)
+            if (vars[i]) {
+                int p = n - 1 - i;
+                long[] t = r.clone();
+                for (int k = 0; k < r.length; k++)
+                    r[k] |= flipWord(t, k, p);
+            }
+        return r;
+    }
+
+    private static long[] complement(long[] f, int n) {
+        long mask = n < 6 ? (1L << (1 << n)) - 1 : -1;
+        long[] r = new long[f.length];
+        for (int k = 0; k < f.length; k++)
+            r[k] = ~f[k] & mask;
+        return r;
+    }
+
+    private static boolean isZero(long[] f) {
+        for (long w : f)
+            if (w != 0)
+                return false;
+        return true;
+    }
+
+    /**
+     * Creates the table of the given variables, all other variables are set to zero
+     */
+    private static long[] project(long[] f, int n, int[] keep) {
+        int m = keep.length;
+        int rows = 1 << m;
+        long[] r = new long[Math.max(1, rows >>> 6)];
+        for (int y = 0; y < rows; y++) {
+            int x = 0;
+            for (int i = 0; i < m; i++)
+                if ((y & (1 << (m - 1 - i))) != 0)
+                    x |= 1 << (n - 1 - keep[i]);
+            if ((f[x >>> 6] & (1L << (x & 63))) != 0)
+                r[y >>> 6] |= 1L << (y & 63);
+        }
+        return r;
+    }
+
+    private static List<Variable> select(List<Variable> vars, int[] indices) {
+        ArrayList<Variable> list = new ArrayList<>(indices.length);
+        for (int i : indices)
+            list.add(vars.get(i));
+        return list;
+    }
+
+    private static int[] indices(boolean[] set) {
+        int c = 0;
+        for (boolean b : set)
+            if (b) c++;
+        int[] r = new int[c];
+        c = 0;
+        for (int i = 0; i < set.length; i++)
+            if (set[i])
+                r[c++] = i;
+        return r;
+    }
+
+    /**
+     * Minimizes a part of the table
+     */
+    public interface PartMinimizer {
+        /**
+         * Minimizes the given table
+         *
+         * @param vars  the variables of the table
+         * @param table the table
+         * @return the minimized expression
+         * @throws ExpressionException ExpressionException
+         * @throws FormatterException  FormatterException
+         */
+        Expression minimize(List<Variable> vars, BoolTable table) throws ExpressionException, FormatterException;
+    }
+
+    private interface Part {
+        Expression create(PartMinimizer minimizer) throws ExpressionException, FormatterException;
+
+        int getMaxVars();
+    }
+
+    private static final class Leaf implements Part {
+        private final List<Variable> vars;
+        private final long[] f;
+
+        private Leaf(List<Variable> vars, long[] f) {
+            this.vars = vars;
+            this.f = f;
+        }
+
+        @Override
+        public Expression create(PartMinimizer minimizer) throws ExpressionException, FormatterException {
+            int rows = 1 << vars.size();
+            BoolTableByteArray table = new BoolTableByteArray(rows);
+            for (int r = 0; r < rows; r++)
+                table.set(r, (int) (f[r >>> 6] >>> (r & 63)) & 1);
+            return minimizer.minimize(vars, table);
+        }
+
+        @Override
+        public int getMaxVars() {
+            return vars.size();
+        }
+    }
+
+    private static final class Direct implements Part {
+        private final Expression expression;
+
+        private Direct(Expression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public Expression create(PartMinimizer minimizer) {
+            return expression;
+        }
+
+        @Override
+        public int getMaxVars() {
+            return 0;
+        }
+    }
+
+    private static final class Combination implements Part {
+        private static final int AND = 0;
+        private static final int OR = 1;
+        private static final int XOR = 2;
+
+        private final int operation;
+        private final List<Part> parts;
+        private final boolean invert;
+
+        private Combination(int operation, List<Part> parts, boolean invert) {
+            this.operation = operation;
+            this.parts = parts;
+            this.invert = invert;
+        }
+
+        @Override
+        public Expression create(PartMinimizer minimizer) throws ExpressionException, FormatterException {
+            ArrayList<Expression> list = new ArrayList<>(parts.size());
+            for (Part p : parts)
+                list.add(p.create(minimizer));
+            Expression e;
+            switch (operation) {
+                case AND:
+                    e = and(list);
+                    break;
+                case OR:
+                    e = or(list);
+                    break;
+                default:
+                    e = list.get(0);
+                    for (int i = 1; i < list.size(); i++)
+                        e = xor(e, list.get(i));
+            }
+            return invert ? not(e) : e;
+        }
+
+        @Override
+        public int getMaxVars() {
+            int max = 0;
+            for (Part p : parts)
+                max = Math.max(max, p.getMaxVars());
+            return max;
+        }
+    }
+
+    /**
+     * Union find to group variables
+     */
+    private static final class Groups {
+        private final int[] parent;
+
+        private Groups(int n) {
+            parent = new int[n];
+            for (int i = 0; i < n; i++)
+                parent[i] = i;
+        }
+
+        private int find(int i) {
+            while (parent[i] != i) {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
+        }
+
+        private boolean same(int i, int j) {
+            return find(i) == find(j);
+        }
+
+        private void join(int i, int j) {
+            parent[find(i)] = find(j);
+        }
+
+        private List<int[]> getGroups() {
+            ArrayList<int[]> groups = new ArrayList<>();
+            for (int i = 0; i < parent.length; i++)
+                if (find(i) == i) {
+                    int c = 0;
+                    for (int j = 0; j < parent.length; j++)
+                        if (find(j) == i) c++;
+                    int[] g = new int[c];
+                    c = 0;
+                    for (int j = 0; j < parent.length; j++)
+                        if (find(j) == i) g[c++] = j;
+                    groups.add(g);
+                }
+            return groups;
+        }
+    }
+}
@@ -6,6 +6,7 @@
 package de.neemann.digital.analyse.quinemc;
 
 import de.neemann.digital.analyse.BoolTableExpanded;
+import de.neemann.digital.analyse.bdd.BoolTableBDD;
 import de.neemann.digital.analyse.expression.Variable;
 
 import java.util.ArrayList;
@@ -44,6 +45,18 @@ public class TableReducer {
             table = t.getBoolTable();
             canReduceOnlyCheckTable();
             return true;
+        } else if (table instanceof BoolTableBDD) {
+            // the diagram knows the variables it depends on, so the table is not expanded
+            BoolTableBDD t = (BoolTableBDD) table;
+            int[] support = t.getSupport();
+            if (support.length == vars.size())
+                return false;
+            ArrayList<Variable> newVars = new ArrayList<>(support.length);
+            for (int s : support)
+                newVars.add(vars.get(s));
+            vars = newVars;
+            table = t.keepColumns(support);
+            return true;
         } else
             return canReduceOnlyCheckTable();
     }
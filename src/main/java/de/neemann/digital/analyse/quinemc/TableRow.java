@@ -13,7 +13,6 @@ import de.neemann.digital.analyse.expression.Variable;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.TreeSet;
 
 import static de.neemann.digital.analyse.expression.Not.not;
 import static de.neemann.digital.analyse.expression.Operation.and;
@@ -23,7 +22,7 @@ import static de.neemann.digital.analyse.expression.Operation.and;
  */
 public final class TableRow implements Comparable<TableRow> {
 
-    private final TreeSet<Integer> source;
+    private final SourceSet source;
     private boolean used = false;
     private long optimizedFlags;
     private long state;
@@ -47,7 +46,7 @@ public final class TableRow implements Comparable<TableRow> {
      */
     public TableRow(int cols) {
         this.cols = cols;
-        source = new TreeSet<>();
+        source = new SourceSet();
     }
 
     /**
@@ -97,6 +96,16 @@ public final class TableRow implements Comparable<TableRow> {
         return optimizedFlags;
     }
 
+    /**
+     * Returns the values of the variables which are not optimized.
+     * The variable i is represented by the bit i.
+     *
+     * @return the state
+     */
+    public long getState() {
+        return state;
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -166,7 +175,7 @@ public final class TableRow implements Comparable<TableRow> {
     /**
      * @return the source line numbers
      */
-    public Collection<Integer> getSource() {
+    public SourceSet getSource() {
         return source;
     }
 
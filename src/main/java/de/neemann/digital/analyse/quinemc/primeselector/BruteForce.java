@@ -9,7 +9,6 @@ package de.neemann.digital.analyse.quinemc.primeselector;
 import de.neemann.digital.analyse.quinemc.TableRow;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.TreeSet;
 
 /**
@@ -20,36 +19,20 @@ public class BruteForce implements PrimeSelector {
         if (primesAvail.size() > 31)
             throw new RuntimeException("to many primes");
 
-        int comb = 1 << primesAvail.size();
-        ArrayList<Integer> list = new ArrayList<>(comb);
-        for (int i = 1; i < comb; i++) {
-            list.add(i);
-        }
-        Collections.sort(list, (i1, i2) -> Integer.bitCount(i1) - Integer.bitCount(i2));
-
-        ArrayList<Integer> l = new ArrayList<>();
-        for (int mask : list) {
-            l.addAll(termIndices);
-            int m = mask;
-            for (TableRow aPrimesAvail : primesAvail) {
-                if ((m & 1) > 0) {
-                    l.removeAll(aPrimesAvail.getSource());
-                }
-                m >>= 1;
-            }
-            if (l.isEmpty()) {
-                m = mask;
-                for (TableRow aPrime : primesAvail) {
-                    if ((m & 1) > 0) {
-                        primes.add(aPrime);
+        Coverage coverage = new Coverage(primesAvail, termIndices);
+        long comb = 1L << primesAvail.size();
+        for (int bits = 1; bits <= primesAvail.size(); bits++)
+            for (long mask = (1L << bits) - 1; mask < comb; mask = Coverage.nextCombination(mask))
+                if (coverage.covers(mask)) {
+                    long m = mask;
+                    for (TableRow aPrime : primesAvail) {
+                        if ((m & 1) > 0) {
+                            primes.add(aPrime);
+                        }
+                        m >>= 1;
                     }
-                    m >>= 1;
+                    return;
                 }
-                return;
-            } else {
-                l.clear();
-            }
-        }
         throw new RuntimeException("BruteForce Error!");
     }
 }
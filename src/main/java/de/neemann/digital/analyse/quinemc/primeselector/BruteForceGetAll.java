@@ -9,7 +9,6 @@ package de.neemann.digital.analyse.quinemc.primeselector;
 import de.neemann.digital.analyse.quinemc.TableRow;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.TreeSet;
 
 /**
@@ -23,46 +22,25 @@ public class BruteForceGetAll implements PrimeSelector {
         if (primesAvail.size() > 31)
             throw new RuntimeException("to many primes");
 
-        int comb = 1 << primesAvail.size();
-        ArrayList<Integer> list = new ArrayList<>(comb);
-        for (int i = 1; i < comb; i++) {
-            list.add(i);
-        }
-        Collections.sort(list, (i1, i2) -> Integer.bitCount(i1) - Integer.bitCount(i2));
-
-        int primesUsed = 0;
+        Coverage coverage = new Coverage(primesAvail, termIndices);
+        long comb = 1L << primesAvail.size();
 
         foundSolutions = new ArrayList<>();
 
-        ArrayList<Integer> indicesOpen = new ArrayList<>();
-        for (int mask : list) {
-
-            if (primesUsed != 0 && Integer.bitCount(mask) > primesUsed)
-                break;
-
-            indicesOpen.clear();
-            indicesOpen.addAll(termIndices);
-            int m = mask;
-            for (TableRow aPrimesAvail : primesAvail) {
-                if ((m & 1) > 0) {
-                    indicesOpen.removeAll(aPrimesAvail.getSource());
-                }
-                m >>= 1;
-            }
-            if (indicesOpen.isEmpty()) {
-                primesUsed = Integer.bitCount(mask);
-
-                ArrayList<TableRow> singleSolution = new ArrayList<>(primes);
-                m = mask;
-                for (TableRow aPrime : primesAvail) {
-                    if ((m & 1) > 0) {
-                        singleSolution.add(aPrime);
+        // the masks are visited ordered by the number of primes used, so the first solutions found are minimal
+        for (int bits = 1; bits <= primesAvail.size() && foundSolutions.isEmpty(); bits++)
+            for (long mask = (1L << bits) - 1; mask < comb; mask = Coverage.nextCombination(mask))
+                if (coverage.covers(mask)) {
+                    ArrayList<TableRow> singleSolution = new ArrayList<>(primes);
+                    long m = mask;
+                    for (TableRow aPrime : primesAvail) {
+                        if ((m & 1) > 0) {
+                            singleSolution.add(aPrime);
+                        }
+                        m >>= 1;
                     }
-                    m >>= 1;
+                    foundSolutions.add(singleSolution);
                 }
-                foundSolutions.add(singleSolution);
-            }
-        }
         primes.clear();
         primes.addAll(foundSolutions.get(0));
     }
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.quinemc.primeselector;
+
+import de.neemann.digital.analyse.quinemc.SourceSet;
+import de.neemann.digital.analyse.quinemc.TableRow;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.TreeSet;
+
+/**
+ * The terms covered by the available primes, stored as bit sets.
+ * The bit i represents the i'th term index in ascending order.
+ */
+final class Coverage {
+    private final long[][] primes;
+    private final long[] all;
+    private final long[] work;
+
+    /**
+     * Creates a new instance
+     *
+     * @param primesAvail the available primes
+     * @param termIndices the term indices which are to cover
+     */
+    Coverage(ArrayList<TableRow> primesAvail, TreeSet<Integer> termIndices) {
+        int[] terms = new int[termIndices.size()];
+        int n = 0;
+        for (int t : termIndices)
+            terms[n++] = t;
+
+        int words = (terms.length + 63) >> 6;
+        all = new long[words];
+        for (int t = 0; t < terms.length; t++)
+            all[t >> 6] |= 1L << t;
+        work = new long[words];
+
+        primes = new long[primesAvail.size()][words];
+        for (int p = 0; p < primes.length; p++) {
+            SourceSet source = primesAvail.get(p).getSource();
+            for (int i = 0; i < source.size(); i++) {
+                int t = Arrays.binarySearch(terms, source.get(i));
+                if (t >= 0)
+                    primes[p][t >> 6] |= 1L << t;
+            }
+        }
+    }
+
+    /**
+     * Checks if the primes selected by the given mask cover all terms
+     *
+     * @param mask the mask, bit i selects the i'th prime
+     * @return true if all terms are covered
+     */
+    boolean covers(long mask) {
+        Arrays.fill(work, 0);
+        while (mask != 0) {
+            long[] p = primes[Long.numberOfTrailingZeros(mask)];
+            mask &= mask - 1;
+            for (int w = 0; w < work.length; w++)
+                work[w] |= p[w];
+        }
+        return Arrays.equals(work, all);
+    }
+
+    /**
+     * @return a new bit set containing all terms
+     */
+    long[] getAll() {
+        return all.clone();
+    }
+
+    /**
+     * Counts the terms of the given set which are covered by the given prime
+     *
+     * @param prime the prime
+     * @param open  the set of terms
+     * @return the number of terms
+     */
+    int count(int prime, long[] open) {
+        long[] p = primes[prime];
+        int count = 0;
+        for (int w = 0; w < open.length; w++)
+            count += Long.bitCount(p[w] & open[w]);
+        return count;
+    }
+
+    /**
+     * Removes the terms covered by the given prime from the given set
+     *
+     * @param prime the prime
+     * @param open  the set of terms
+     */
+    void remove(int prime, long[] open) {
+        long[] p = primes[prime];
+        for (int w = 0; w < open.length; w++)
+            open[w] &= ~p[w];
+    }
+
+    /**
+     * Calculates the next larger mask with the same number of bits set
+     *
+     * @param mask the mask
+     * @return the next mask
+     */
+    static long nextCombination(long mask) {
+        long c = mask & -mask;
+        long r = mask + c;
+        return (((r ^ mask) >>> 2) / c) | r;
+    }
+}
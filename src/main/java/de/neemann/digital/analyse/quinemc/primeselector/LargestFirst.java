@@ -17,23 +17,26 @@ import java.util.TreeSet;
 public class LargestFirst implements PrimeSelector {
     @Override
     public void select(ArrayList<TableRow> primes, ArrayList<TableRow> primesAvail, TreeSet<Integer> termIndices) {
-        while (!termIndices.isEmpty()) {
-            TableRow bestRow = null;
+        Coverage coverage = new Coverage(primesAvail, termIndices);
+        boolean[] used = new boolean[primesAvail.size()];
+        long[] open = coverage.getAll();
+        int openCount = termIndices.size();
+        while (openCount > 0) {
+            int best = -1;
             int maxCount = 0;
-            for (TableRow tr : primesAvail) {
-                int count = 0;
-                for (int i : tr.getSource()) {
-                    if (termIndices.contains(i))
-                        count++;
-                }
-                if (count > maxCount) {
-                    maxCount = count;
-                    bestRow = tr;
+            for (int p = 0; p < used.length; p++) {
+                if (!used[p]) {
+                    int count = coverage.count(p, open);
+                    if (count > maxCount) {
+                        maxCount = count;
+                        best = p;
+                    }
                 }
             }
-            primes.add(bestRow);
-            primesAvail.remove(bestRow);
-            termIndices.removeAll(bestRow.getSource());
+            primes.add(primesAvail.get(best));
+            used[best] = true;
+            coverage.remove(best, open);
+            openCount -= maxCount;
         }
     }
 }
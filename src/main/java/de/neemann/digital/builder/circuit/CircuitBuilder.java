@@ -277,15 +277,12 @@ public class CircuitBuilder implements BuilderInterface<CircuitBuilder> {
 
         final int size = 1 << vars.size();
         DataField data = new DataField(size);
-        ContextFiller context = new ContextFiller(vars);
-        for (int i = 0; i < size; i++) {
-            context.setContextTo(i);
-            try {
-                boolean r = expression.calculate(context);
-                data.setData(i, r ? 1 : 0);
-            } catch (ExpressionException e) {
-                throw new BuilderException(Lang.get("err_builder_couldNotFillLUT"), e);
-            }
+        try {
+            long[] values = new BitSliceEvaluator(expression, vars).calculateAll();
+            for (int i = 0; i < size; i++)
+                data.setData(i, BitSliceEvaluator.get(values, i) ? 1 : 0);
+        } catch (ExpressionException e) {
+            throw new BuilderException(Lang.get("err_builder_couldNotFillLUT"), e);
         }
 
         if (isXor(data.getData()))
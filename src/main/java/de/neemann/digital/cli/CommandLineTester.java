@@ -12,12 +12,19 @@ import de.neemann.digital.core.ErrorDetector;
 import de.neemann.digital.draw.elements.Circuit;
 import de.neemann.digital.lang.Lang;
 import de.neemann.digital.testing.TestExecutor;
+import de.neemann.digital.testing.TestModelCache;
 import de.neemann.digital.testing.TestResult;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Tester used from the command line
@@ -29,6 +36,7 @@ public class CommandLineTester {
     private int testsPassed;
     private boolean allowMissingInputs;
     private boolean verbose;
+    private int threads = Runtime.getRuntime().availableProcessors();
 
     /**
      * Creates a new instance.
@@ -69,43 +77,123 @@ public class CommandLineTester {
             out.println("no test cases given");
             errorCount++;
         } else {
-            for (Circuit.TestCase t : testCases) {
-                String label = t.getLabel();
-                if (label.isEmpty())
-                    label = "unnamed";
-
+            int n = Math.min(threads, testCases.size());
+            if (n <= 1) {
+                TestModelCache models = createModelCache();
                 try {
-                    ErrorDetector errorDetector = new ErrorDetector();
-                    TestResult tr = new TestExecutor(t, circuitLoader.getCircuit(), circuitLoader.getLibrary())
-                            .setAllowMissingInputs(allowMissingInputs)
-                            .addObserver(errorDetector)
-                            .execute();
-
-                    if (tr.allPassed()) {
-                        out.println(label + ": passed");
-                        testsPassed++;
-                    } else {
-                        String message = label + ": failed";
-                        if (tr.isErrorOccurred())
-                            message += " due to an error";
+                    for (Circuit.TestCase t : testCases)
+                        if (execute(t, models, out))
+                            testsPassed++;
                         else
-                            message += " (" + tr.failedPercent() + "%)";
-                        out.println(message);
+                            errorCount++;
+                } finally {
+                    models.close();
+                }
+            } else
+                errorCount += executeParallel(n, out);
+        }
+        return errorCount;
+    }
 
-                        if (verbose)
-                            out.println(tr.getValueTable());
+    private int executeParallel(int n, PrintStream out) {
+        ExecutorService executor = Executors.newFixedThreadPool(n, r -> {
+            Thread t = new Thread(r);
+            t.setDaemon(true);
+            return t;
+        });
+        // every thread runs its test cases on its own model
+        ArrayList<TestModelCache> caches = new ArrayList<>();
+        ThreadLocal<TestModelCache> models = ThreadLocal.withInitial(() -> {
+            TestModelCache c = createModelCache();
+            synchronized (caches) {
+                caches.add(c);
+            }
+            return c;
+        });
+        // the library is loaded and resolved before, so the threads only read it
+        TestExecutor.prepare(testCases, circuitLoader.getCircuit(), circuitLoader.getLibrary());
+        try {
+            ArrayList<Future<Output>> results = new ArrayList<>();
+            for (Circuit.TestCase t : testCases)
+                results.add(executor.submit(() -> {
+                    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+                    PrintStream ps = new PrintStream(baos, false, "utf-8");
+                    boolean passed = execute(t, models.get(), ps);
+                    ps.flush();
+                    return new Output(baos.toString("utf-8"), passed);
+                }));
 
+            // the output is written in the order of the test cases
+            int errorCount = 0;
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    Output o = results.get(i).get();
+                    out.print(o.text);
+                    if (o.passed)
+                        testsPassed++;
+                    else
                         errorCount++;
-                    }
-                    errorDetector.check();
-
-                } catch (Exception e) {
-                    out.println(label + ": " + e.getMessage());
+                } catch (ExecutionException e) {
+                    out.println(getLabel(testCases.get(i)) + ": " + e.getCause().getMessage());
                     errorCount++;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    out.println(e.getMessage());
+                    // all test cases not yet reported are counted as failed
+                    return errorCount + results.size() - i;
                 }
             }
+            return errorCount;
+        } finally {
+            executor.shutdownNow();
+            synchronized (caches) {
+                for (TestModelCache c : caches)
+                    c.close();
+            }
+        }
+    }
+
+    private TestModelCache createModelCache() {
+        return new TestModelCache(circuitLoader.getCircuit(), circuitLoader.getLibrary());
+    }
+
+    private static String getLabel(Circuit.TestCase t) {
+        String label = t.getLabel();
+        if (label.isEmpty())
+            label = "unnamed";
+        return label;
+    }
+
+    private boolean execute(Circuit.TestCase t, TestModelCache models, PrintStream out) {
+        String label = getLabel(t);
+
+        try {
+            ErrorDetector errorDetector = new ErrorDetector();
+            TestResult tr = new TestExecutor(t, models)
+                    .setAllowMissingInputs(allowMissingInputs)
+                    .addObserver(errorDetector)
+                    .execute();
+
+            boolean passed = tr.allPassed();
+            if (passed) {
+                out.println(label + ": passed");
+            } else {
+                String message = label + ": failed";
+                if (tr.isErrorOccurred())
+                    message += " due to an error";
+                else
+                    message += " (" + tr.failedPercent() + "%)";
+                out.println(message);
+
+                if (verbose)
+                    out.println(tr.getValueTable());
+            }
+            errorDetector.check();
+            return passed;
+        } catch (Exception e) {
+            out.println(label + ": " + e.getMessage());
+            return false;
         }
-        return errorCount;
     }
 
     /**
@@ -131,6 +219,30 @@ public class CommandLineTester {
         return this;
     }
 
+    /**
+     * Sets the number of threads used to execute the test cases.
+     * The default is the number of available processors.
+     *
+     * @param threads the number of threads, if zero or less, the number of available processors is used
+     * @return this for chained calls
+     */
+    public CommandLineTester setThreads(int threads) {
+        if (threads <= 0)
+            threads = Runtime.getRuntime().availableProcessors();
+        this.threads = threads;
+        return this;
+    }
+
+    private static final class Output {
+        private final String text;
+        private final boolean passed;
+
+        private Output(String text, boolean passed) {
+            this.text = text;
+            this.passed = passed;
+        }
+    }
+
     /**
      * The test command
      */
@@ -139,6 +251,7 @@ public class CommandLineTester {
         private final Argument<String> tests;
         private final Argument<Boolean> allowMissingInputs;
         private final Argument<Boolean> verbose;
+        private final Argument<Integer> threads;
         private int testsPassed;
 
         /**
@@ -150,6 +263,7 @@ public class CommandLineTester {
             tests = addArgument(new Argument<>("tests", "", true));
             allowMissingInputs = addArgument(new Argument<>("allowMissingInputs", false, true));
             verbose = addArgument(new Argument<>("verbose", false, true));
+            threads = addArgument(new Argument<>("threads", 0, true));
         }
 
         @Override
@@ -157,6 +271,7 @@ public class CommandLineTester {
             try {
                 CommandLineTester clt = new CommandLineTester(new File(circ.get()))
                         .setVerbose(verbose.get())
+                        .setThreads(threads.get())
                         .setAllowMissingInputs(allowMissingInputs.get());
                 if (tests.isSet())
                     clt.useTestCasesFrom(new File(tests.get()));
@@ -11,6 +11,7 @@ import de.neemann.digital.cli.cli.CLIException;
 import de.neemann.digital.core.Model;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.stats.Statistics;
+import de.neemann.digital.core.stats.TimingAnalysis;
 import de.neemann.digital.draw.elements.PinException;
 import de.neemann.digital.draw.library.ElementNotFoundException;
 import de.neemann.digital.lang.Lang;
@@ -19,6 +20,7 @@ import java.io.BufferedWriter;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStreamWriter;
+import java.util.HashMap;
 
 /**
  * CLI stats exporter
@@ -26,6 +28,10 @@ import java.io.OutputStreamWriter;
 public class StatsExport extends BasicCommand {
     private final Argument<String> digFile;
     private final Argument<String> csvFile;
+    private final Argument<String> timingFile;
+    private final Argument<Integer> paths;
+    private final Argument<Integer> period;
+    private final Argument<String> delays;
 
     /**
      * Creates the stats export command
@@ -34,6 +40,10 @@ public class StatsExport extends BasicCommand {
         super("stats");
         digFile = addArgument(new Argument<>("dig", "", false));
         csvFile = addArgument(new Argument<>("csv", "", true));
+        timingFile = addArgument(new Argument<>("timing", "", true));
+        paths = addArgument(new Argument<>("paths", 10, true));
+        period = addArgument(new Argument<>("period", 0, true));
+        delays = addArgument(new Argument<>("delays", "", true));
     }
 
     @Override
@@ -50,8 +60,34 @@ public class StatsExport extends BasicCommand {
 
             new CSVWriter(stats.getTableModel()).writeTo(writer);
 
+            if (timingFile.isSet()) {
+                TimingAnalysis timing = new TimingAnalysis(model, parseDelays(delays.get()));
+                writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(timingFile.get())));
+                new CSVWriter(timing.getTableModel(paths.get(), period.get())).writeTo(writer);
+            }
         } catch (IOException | ElementNotFoundException | PinException | NodeException e) {
             throw new CLIException(Lang.get("cli_errorCreatingStats"), e);
         }
     }
+
+    /**
+     * Parses the delays given in the form "And=2,Or=2"
+     *
+     * @param delays the delays
+     * @return the map of delays
+     * @throws CLIException CLIException
+     */
+    static HashMap<String, Integer> parseDelays(String delays) throws CLIException {
+        HashMap<String, Integer> map = new HashMap<>();
+        for (String d : delays.split(",")) {
+            d = d.trim();
+            if (d.isEmpty())
+                continue;
+            int p = d.indexOf('=');
+            if (p < 0)
+                throw new CLIException(Lang.get("cli_invalidDelay_N", d), 107);
+            map.put(d.substring(0, p).trim(), (Integer) Argument.fromString(d.substring(p + 1).trim(), 0));
+        }
+        return map;
+    }
 }
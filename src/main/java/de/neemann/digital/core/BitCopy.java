@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import java.util.Arrays;
+
+/**
+ * A node without delay which copies a range of bits from one value to a range of bits of another value.
+ * The copied bits can be inverted.
+ * Used by the splitter and the inverted inputs. Because the bit mapping is known,
+ * this node can also be evaluated by the {@link BitSlicedModel}.
+ */
+public final class BitCopy extends NodeWithoutDelay {
+    private final ObservableValue in;
+    private final int inPos;
+    private final ObservableValue out;
+    private final int outPos;
+    private final int bits;
+    private final boolean invert;
+    private final long mask;
+    private final long keep;
+    private final boolean complete;
+    // buffers used to copy wide values, null if both values have not more than 64 bits
+    private final long[] inValue;
+    private final long[] inHighZ;
+    private final long[] outValue;
+    private final long[] outHighZ;
+
+    /**
+     * Creates a new instance
+     *
+     * @param in     the value to copy the bits from
+     * @param inPos  the lowest bit to copy
+     * @param out    the value to copy the bits to
+     * @param outPos the position of the lowest copied bit in the output
+     * @param bits   the number of bits to copy
+     * @param invert if true the bits are inverted
+     */
+    public BitCopy(ObservableValue in, int inPos, ObservableValue out, int outPos, int bits, boolean invert) {
+        super(out);
+        this.in = in;
+        this.inPos = inPos;
+        this.out = out;
+        this.outPos = outPos;
+        this.bits = bits;
+        this.invert = invert;
+        mask = Bits.mask(bits);
+        keep = ~Bits.up(mask, outPos);
+        complete = outPos == 0 && bits >= out.getBits();
+        if (in.isWide() || out.isWide()) {
+            inValue = new long[in.getWordCount()];
+            inHighZ = new long[inValue.length];
+            outValue = new long[out.getWordCount()];
+            outHighZ = new long[outValue.length];
+        } else {
+            inValue = null;
+            inHighZ = null;
+            outValue = null;
+            outHighZ = null;
+        }
+    }
+
+    @Override
+    public void hasChanged() {
+        if (inValue != null) {
+            copyWide();
+            return;
+        }
+
+        long v = in.getValue();
+        if (invert)
+            v = ~v;
+        v = Bits.up(Bits.down(v, inPos) & mask, outPos);
+        long z = Bits.up(Bits.down(in.getHighZ(), inPos) & mask, outPos);
+        if (complete)
+            out.set(v, z);
+        else
+            out.set((out.getValue() & keep) | v, (out.getHighZ() & keep) | z);
+    }
+
+    private void copyWide() {
+        in.getWords(inValue, inHighZ);
+        if (complete) {
+            Arrays.fill(outValue, 0);
+            Arrays.fill(outHighZ, 0);
+        } else
+            out.getWords(outValue, outHighZ);
+        for (int i = 0; i < bits; i += 64) {
+            int n = Math.min(64, bits - i);
+            long v = Bits.getBits(inValue, inPos + i, n);
+            if (invert)
+                v = ~v;
+            Bits.setBits(outValue, outPos + i, n, v);
+            Bits.setBits(outHighZ, outPos + i, n, Bits.getBits(inHighZ, inPos + i, n));
+        }
+        out.set(outValue, outHighZ);
+    }
+
+    /**
+     * @return the value the bits are copied from
+     */
+    public ObservableValue getInput() {
+        return in;
+    }
+
+    /**
+     * @return the lowest bit copied from the input
+     */
+    public int getInputPos() {
+        return inPos;
+    }
+
+    /**
+     * @return the value the bits are copied to
+     */
+    public ObservableValue getOutput() {
+        return out;
+    }
+
+    /**
+     * @return the position of the lowest bit in the output
+     */
+    public int getOutputPos() {
+        return outPos;
+    }
+
+    /**
+     * @return the number of bits copied
+     */
+    public int getBits() {
+        return bits;
+    }
+
+    /**
+     * @return true if the bits are inverted
+     */
+    public boolean isInverted() {
+        return invert;
+    }
+}
@@ -0,0 +1,587 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import de.neemann.digital.core.basic.And;
+import de.neemann.digital.core.basic.FanIn;
+import de.neemann.digital.core.basic.NAnd;
+import de.neemann.digital.core.basic.NOr;
+import de.neemann.digital.core.basic.Not;
+import de.neemann.digital.core.basic.Or;
+import de.neemann.digital.core.basic.XNOr;
+import de.neemann.digital.core.basic.XOr;
+import de.neemann.digital.core.wiring.Clock;
+import de.neemann.digital.core.wiring.Multiplexer;
+import de.neemann.digital.core.wiring.bus.BusModelStateObserver;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * A bit sliced version of a model.
+ * Every bit of every value is stored in a slot of type long. Each bit of such a slot belongs
+ * to a independent simulation, so up to {@link #LANES} sets of input values are evaluated in a
+ * single pass.
+ * <p>
+ * Only combinatorial circuits without feedback loops and without buses which consist of the basic gates,
+ * multiplexers, splitters and inverted inputs are supported. Such a circuit has no state and its outputs do not
+ * depend on the gate delays, so the result is the same as the result of the event driven simulation.
+ */
+public final class BitSlicedModel {
+    /**
+     * The number of independent simulations evaluated in a single pass
+     */
+    public static final int LANES = 64;
+
+    private static final int ZERO = 0;
+    private static final int ONE = 1;
+
+    private static final int AND = 0;
+    private static final int OR = 1;
+    private static final int XOR = 2;
+    private static final int NOT = 3;
+    private static final int MUX = 4;
+    private static final int STRIDE = 5;
+
+    private final long[] slots;
+    private final int[] code;
+    private final int[][] inputSlots;
+    private final int[][] outputSlots;
+
+    /**
+     * Creates a bit sliced model.
+     * Model inputs and clocks which are not contained in the given inputs keep their actual value.
+     *
+     * @param model   the model, needs to be initialized
+     * @param inputs  the inputs which are set by {@link #setInput(int, int, long)}
+     * @param outputs the outputs which are read by {@link #getOutput(int, int)}
+     * @return the bit sliced model or null if the model is not supported
+     */
+    public static BitSlicedModel create(Model model, List<ObservableValue> inputs, List<ObservableValue> outputs) {
+        // buses are checked for short circuits, which requires the event driven simulation
+        if (model.getObserver(BusModelStateObserver.class) != null)
+            return null;
+
+        // the slots are addressed by long values, so wide values are not supported
+        for (ObservableValue v : inputs)
+            if (v.isWide())
+                return null;
+        for (ObservableValue v : outputs)
+            if (v.isWide())
+                return null;
+
+        Compiler c = new Compiler(model, inputs);
+        if (c.unsupportedNodeFound)
+            return null;
+
+        int[][] outputSlots = new int[outputs.size()][];
+        for (int i = 0; i < outputs.size(); i++) {
+            outputSlots[i] = c.resolve(outputs.get(i));
+            if (outputSlots[i] == null)
+                return null;
+        }
+
+        int[][] inputSlots = new int[inputs.size()][];
+        for (int i = 0; i < inputs.size(); i++)
+            inputSlots[i] = c.bitSlots.get(inputs.get(i));
+
+        return new BitSlicedModel(c.slotCount, Arrays.copyOf(c.code, c.codeSize), inputSlots, outputSlots);
+    }
+
+    /**
+     * Evaluates the outputs of a model symbolically.
+     * Every bit of the inputs is represented by a symbolic value, and the bit operations of the
+     * model are applied to these symbolic values. Unlike {@link #create(Model, List, List)}, the
+     * model may contain unsupported nodes, as long as the outputs do not depend on them.
+     *
+     * @param model     the model
+     * @param inputs    the inputs
+     * @param inputBits the symbolic values of the inputs bits, the bits of all inputs in the order of the inputs
+     * @param outputs   the outputs
+     * @param ops       the operations on the symbolic values
+     * @param <T>       the type of the symbolic values
+     * @return the symbolic values of the outputs bits in the order of the outputs or null if the outputs could not be resolved
+     */
+    public static <T> ArrayList<T> evaluate(Model model, List<ObservableValue> inputs, List<T> inputBits, List<ObservableValue> outputs, Operations<T> ops) {
+        if (model.getObserver(BusModelStateObserver.class) != null)
+            return null;
+
+        Compiler c = new Compiler(model, inputs);
+        int[][] outputSlots = new int[outputs.size()][];
+        for (int i = 0; i < outputs.size(); i++) {
+            outputSlots[i] = c.resolve(outputs.get(i));
+            if (outputSlots[i] == null)
+                return null;
+        }
+
+        ArrayList<T> slots = new ArrayList<>(c.slotCount);
+        for (int i = 0; i < c.slotCount; i++)
+            slots.add(null);
+        slots.set(ZERO, ops.zero());
+        slots.set(ONE, ops.one());
+        int bit = 0;
+        HashSet<ObservableValue> set = new HashSet<>();
+        for (ObservableValue in : inputs) {
+            if (set.add(in))
+                for (int s : c.bitSlots.get(in))
+                    slots.set(s, inputBits.get(bit++));
+            else
+                bit += in.getBits();
+        }
+
+        final int[] code = c.code;
+        for (int p = 0; p < c.codeSize; p += STRIDE) {
+            T a = slots.get(code[p + 2]);
+            final T r;
+            switch (code[p]) {
+                case AND:
+                    r = ops.and(a, slots.get(code[p + 3]));
+                    break;
+                case OR:
+                    r = ops.or(a, slots.get(code[p + 3]));
+                    break;
+                case XOR:
+                    r = ops.xor(a, slots.get(code[p + 3]));
+                    break;
+                case NOT:
+                    r = ops.not(a);
+                    break;
+                default:
+                    r = ops.mux(slots.get(code[p + 4]), a, slots.get(code[p + 3]));
+                    break;
+            }
+            slots.set(code[p + 1], r);
+        }
+
+        ArrayList<T> result = new ArrayList<>();
+        for (int[] out : outputSlots)
+            for (int s : out)
+                result.add(slots.get(s));
+        return result;
+    }
+
+    private BitSlicedModel(int slotCount, int[] code, int[][] inputSlots, int[][] outputSlots) {
+        this.code = code;
+        this.inputSlots = inputSlots;
+        this.outputSlots = outputSlots;
+        slots = new long[slotCount];
+        slots[ONE] = -1;
+    }
+
+    /**
+     * Sets the value of an input in a single lane.
+     *
+     * @param input the index of the input
+     * @param lane  the lane, 0 &le; lane &lt; {@link #LANES}
+     * @param value the value
+     */
+    public void setInput(int input, int lane, long value) {
+        final int[] bitSlots = inputSlots[input];
+        final long laneMask = 1L << lane;
+        for (int bit = 0; bit < bitSlots.length; bit++) {
+            if (((value >>> bit) & 1) == 0)
+                slots[bitSlots[bit]] &= ~laneMask;
+            else
+                slots[bitSlots[bit]] |= laneMask;
+        }
+    }
+
+    /**
+     * Evaluates all lanes.
+     */
+    public void evaluate() {
+        final long[] s = slots;
+        final int[] c = code;
+        for (int p = 0; p < c.length; p += STRIDE) {
+            switch (c[p]) {
+                case AND:
+                    s[c[p + 1]] = s[c[p + 2]] & s[c[p + 3]];
+                    break;
+                case OR:
+                    s[c[p + 1]] = s[c[p + 2]] | s[c[p + 3]];
+                    break;
+                case XOR:
+                    s[c[p + 1]] = s[c[p + 2]] ^ s[c[p + 3]];
+                    break;
+                case NOT:
+                    s[c[p + 1]] = ~s[c[p + 2]];
+                    break;
+                default:
+                    final long sel = s[c[p + 4]];
+                    s[c[p + 1]] = (s[c[p + 2]] & ~sel) | (s[c[p + 3]] & sel);
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Returns the value of an output in a single lane.
+     *
+     * @param output the index of the output
+     * @param lane   the lane, 0 &le; lane &lt; {@link #LANES}
+     * @return the value
+     */
+    public long getOutput(int output, int lane) {
+        final int[] bitSlots = outputSlots[output];
+        long value = 0;
+        for (int bit = 0; bit < bitSlots.length; bit++)
+            value |= ((slots[bitSlots[bit]] >>> lane) & 1) << bit;
+        return value;
+    }
+
+    /**
+     * @return the number of bit operations evaluated in a single pass
+     */
+    public int getOperationCount() {
+        return code.length / STRIDE;
+    }
+
+    /**
+     * The operations used to evaluate a model symbolically
+     *
+     * @param <T> the type of the symbolic values
+     */
+    public interface Operations<T> {
+        /**
+         * @return the constant zero
+         */
+        T zero();
+
+        /**
+         * @return the constant one
+         */
+        T one();
+
+        /**
+         * Calculates a and b
+         *
+         * @param a the first value
+         * @param b the second value
+         * @return the result
+         */
+        T and(T a, T b);
+
+        /**
+         * Calculates a or b
+         *
+         * @param a the first value
+         * @param b the second value
+         * @return the result
+         */
+        T or(T a, T b);
+
+        /**
+         * Calculates a xor b
+         *
+         * @param a the first value
+         * @param b the second value
+         * @return the result
+         */
+        T xor(T a, T b);
+
+        /**
+         * Calculates not a
+         *
+         * @param a the value
+         * @return the result
+         */
+        T not(T a);
+
+        /**
+         * Selects one of two values
+         *
+         * @param sel the selector
+         * @param a   the value used if the selector is zero
+         * @param b   the value used if the selector is one
+         * @return the result
+         */
+        default T mux(T sel, T a, T b) {
+            return or(and(a, not(sel)), and(b, sel));
+        }
+    }
+
+    /**
+     * Creates the program which evaluates the bit slots.
+     * The values are resolved in a depth first order starting at the outputs.
+     */
+    private static final class Compiler {
+        private static final int VISITED = 1;
+        private static final int DONE = 2;
+
+        private final HashMap<ObservableValue, Node> nodeProducer = new HashMap<>();
+        private final HashMap<ObservableValue, ArrayList<BitCopy>> copyProducer = new HashMap<>();
+        private final HashSet<ObservableValue> fixed = new HashSet<>();
+        private final HashMap<ObservableValue, int[]> bitSlots = new HashMap<>();
+        private final HashMap<ObservableValue, Integer> state = new HashMap<>();
+        private int slotCount = 2;
+        private int[] code = new int[STRIDE * 64];
+        private int codeSize;
+        private boolean unsupportedNodeFound;
+
+        private Compiler(Model model, List<ObservableValue> inputs) {
+            ArrayList<ObservableValue> toScan = new ArrayList<>();
+            for (Node n : model.getNodes()) {
+                ObservableValues in = getInputs(n);
+                if (in != null) {
+                    toScan.addAll(in);
+                    ObservableValue out;
+                    if (n instanceof Not)
+                        out = ((Not) n).getOutput();
+                    else
+                        out = ((FanIn) n).getOutput();
+                    nodeProducer.put(out, n);
+                    // the output can feed a splitter without being used by any other node
+                    toScan.add(out);
+                } else
+                    unsupportedNodeFound = true;
+            }
+            for (Signal s : model.getInputs())
+                fixed.add(s.getValue());
+            for (Clock c : model.getClocks())
+                fixed.add(c.getClockOutput());
+
+            for (ObservableValue v : inputs) {
+                toScan.add(v);
+                fixed.remove(v);
+                if (!bitSlots.containsKey(v)) {
+                    int[] s = new int[v.getBits()];
+                    for (int i = 0; i < s.length; i++)
+                        s[i] = slotCount++;
+                    bitSlots.put(v, s);
+                    state.put(v, DONE);
+                }
+            }
+            toScan.addAll(fixed);
+
+            // find the splitters and inverted inputs
+            HashSet<ObservableValue> scanned = new HashSet<>();
+            while (!toScan.isEmpty()) {
+                ObservableValue v = toScan.remove(toScan.size() - 1);
+                if (scanned.add(v))
+                    for (Observer o : v.getObservers())
+                        if (o instanceof BitCopy) {
+                            BitCopy bc = (BitCopy) o;
+                            copyProducer.computeIfAbsent(bc.getOutput(), k -> new ArrayList<>()).add(bc);
+                            toScan.add(bc.getOutput());
+                        }
+            }
+        }
+
+        /**
+         * Returns the inputs of a supported node.
+         *
+         * @param n the node
+         * @return the inputs or null if the node is not supported
+         */
+        private static ObservableValues getInputs(Node n) {
+            Class<?> c = n.getClass();
+            if (c == And.class || c == NAnd.class || c == Or.class || c == NOr.class || c == XOr.class || c == XNOr.class)
+                return new ObservableValues(((FanIn) n).getInputs());
+            if (c == Not.class)
+                return ((Not) n).getInput().asList();
+            if (c == Multiplexer.class) {
+                ArrayList<ObservableValue> in = new ArrayList<>();
+                in.add(((Multiplexer) n).getSelector());
+                in.addAll(((Multiplexer) n).getInputs());
+                return new ObservableValues(in);
+            }
+            return null;
+        }
+
+        private ArrayList<ObservableValue> getDependencies(ObservableValue v) {
+            ArrayList<ObservableValue> deps = new ArrayList<>();
+            Node n = nodeProducer.get(v);
+            if (n != null)
+                deps.addAll(getInputs(n));
+            else {
+                ArrayList<BitCopy> copies = copyProducer.get(v);
+                if (copies != null)
+                    for (BitCopy bc : copies)
+                        deps.add(bc.getInput());
+            }
+            return deps;
+        }
+
+        /**
+         * Resolves the given value
+         *
+         * @param value the value
+         * @return the slots of the values bits or null if value could not be resolved
+         */
+        private int[] resolve(ObservableValue value) {
+            ArrayList<ObservableValue> stack = new ArrayList<>();
+            stack.add(value);
+            while (!stack.isEmpty()) {
+                ObservableValue v = stack.get(stack.size() - 1);
+                Integer s = state.get(v);
+                if (s == null) {
+                    state.put(v, VISITED);
+                    for (ObservableValue d : getDependencies(v)) {
+                        Integer ds = state.get(d);
+                        if (ds == null)
+                            stack.add(d);
+                        else if (ds == VISITED)
+                            return null; // feedback loop
+                    }
+                } else {
+                    stack.remove(stack.size() - 1);
+                    if (s == VISITED) {
+                        int[] slots = create(v);
+                        if (slots == null)
+                            return null;
+                        bitSlots.put(v, slots);
+                        state.put(v, DONE);
+                    }
+                }
+            }
+            return bitSlots.get(value);
+        }
+
+        private int[] create(ObservableValue v) {
+            Node n = nodeProducer.get(v);
+            if (n != null)
+                return create(n);
+
+            ArrayList<BitCopy> copies = copyProducer.get(v);
+            if (copies != null) {
+                int[] s = new int[v.getBits()];
+                Arrays.fill(s, -1);
+                for (BitCopy bc : copies) {
+                    int[] in = bitSlots.get(bc.getInput());
+                    for (int i = 0; i < bc.getBits(); i++) {
+                        int inBit = bc.getInputPos() + i;
+                        int outBit = bc.getOutputPos() + i;
+                        if (outBit < s.length) {
+                            int slot = inBit < in.length ? in[inBit] : ZERO;
+                            s[outBit] = bc.isInverted() ? not(slot) : slot;
+                        }
+                    }
+                }
+                for (int i : s)
+                    if (i < 0)
+                        return null;
+                return s;
+            }
+
+            if ((v.isConstant() || fixed.contains(v)) && v.getHighZ() == 0) {
+                int[] s = new int[v.getBits()];
+                for (int i = 0; i < s.length; i++)
+                    s[i] = ((v.getWord(i >>> 6) >>> i) & 1) == 0 ? ZERO : ONE;
+                return s;
+            }
+
+            return null;
+        }
+
+        private int[] create(Node n) {
+            if (n instanceof Not) {
+                int[] in = bitSlots.get(((Not) n).getInput());
+                int[] s = new int[in.length];
+                for (int i = 0; i < s.length; i++)
+                    s[i] = not(in[i]);
+                return s;
+            }
+
+            FanIn f = (FanIn) n;
+            ArrayList<ObservableValue> inputs = f.getInputs();
+            int[] s = new int[f.getOutput().getBits()];
+            if (n instanceof Multiplexer) {
+                int[] sel = bitSlots.get(((Multiplexer) n).getSelector());
+                for (int bit = 0; bit < s.length; bit++) {
+                    int[] level = new int[inputs.size()];
+                    for (int i = 0; i < level.length; i++)
+                        level[i] = bitSlots.get(inputs.get(i))[bit];
+                    for (int selBit = 0; selBit < sel.length; selBit++)
+                        for (int i = 0; i < level.length >> (selBit + 1); i++)
+                            level[i] = mux(sel[selBit], level[2 * i], level[2 * i + 1]);
+                    s[bit] = level[0];
+                }
+                return s;
+            }
+
+            final int op;
+            if (n instanceof XOr)
+                op = XOR;
+            else if (n instanceof Or)
+                op = OR;
+            else
+                op = AND;
+            boolean invert = n instanceof XNOr || n instanceof NOr || n instanceof NAnd;
+            for (int bit = 0; bit < s.length; bit++) {
+                int r = bitSlots.get(inputs.get(0))[bit];
+                for (int i = 1; i < inputs.size(); i++)
+                    r = op(op, r, bitSlots.get(inputs.get(i))[bit]);
+                s[bit] = invert ? not(r) : r;
+            }
+            return s;
+        }
+
+        private int op(int op, int a, int b) {
+            switch (op) {
+                case AND:
+                    if (a == ZERO || b == ZERO)
+                        return ZERO;
+                    if (a == ONE || a == b)
+                        return b;
+                    if (b == ONE)
+                        return a;
+                    break;
+                case OR:
+                    if (a == ONE || b == ONE)
+                        return ONE;
+                    if (a == ZERO || a == b)
+                        return b;
+                    if (b == ZERO)
+                        return a;
+                    break;
+                default:
+                    if (a == b)
+                        return ZERO;
+                    if (a == ZERO)
+                        return b;
+                    if (b == ZERO)
+                        return a;
+                    if (a == ONE)
+                        return not(b);
+                    if (b == ONE)
+                        return not(a);
+                    break;
+            }
+            return emit(op, a, b, 0);
+        }
+
+        private int not(int a) {
+            if (a == ZERO)
+                return ONE;
+            if (a == ONE)
+                return ZERO;
+            return emit(NOT, a, 0, 0);
+        }
+
+        private int mux(int sel, int a, int b) {
+            if (sel == ZERO || a == b)
+                return a;
+            if (sel == ONE)
+                return b;
+            return emit(MUX, a, b, sel);
+        }
+
+        private int emit(int op, int a, int b, int sel) {
+            if (codeSize + STRIDE > code.length)
+                code = Arrays.copyOf(code, code.length * 2);
+            int dst = slotCount++;
+            code[codeSize++] = op;
+            code[codeSize++] = dst;
+            code[codeSize++] = a;
+            code[codeSize++] = b;
+            code[codeSize++] = sel;
+            return dst;
+        }
+    }
+}
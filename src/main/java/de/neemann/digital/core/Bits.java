@@ -12,9 +12,61 @@ import de.neemann.digital.lang.Lang;
  */
 public final class Bits {
 
+    /**
+     * The maximum number of bits of elements which support wide values
+     */
+    public static final int MAX_WIDE_BITS = 256;
+
     private Bits() {
     }
 
+    /**
+     * Returns the number of 64 bit words needed to store the given number of bits
+     *
+     * @param bits the number of bits
+     * @return the number of words
+     */
+    public static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+
+    /**
+     * Reads up to 64 bits from a wide value
+     *
+     * @param words the words of the wide value, the lowest word first
+     * @param pos   the position of the lowest bit to read
+     * @param bits  the number of bits to read, at most 64
+     * @return the bits read
+     */
+    public static long getBits(long[] words, int pos, int bits) {
+        int w = pos >>> 6;
+        int s = pos & 63;
+        long v = words[w] >>> s;
+        if (s != 0 && s + bits > 64 && w + 1 < words.length)
+            v |= words[w + 1] << (64 - s);
+        return v & mask(bits);
+    }
+
+    /**
+     * Writes up to 64 bits to a wide value
+     *
+     * @param words the words of the wide value, the lowest word first
+     * @param pos   the position of the lowest bit to write
+     * @param bits  the number of bits to write, at most 64
+     * @param value the bits to write
+     */
+    public static void setBits(long[] words, int pos, int bits, long value) {
+        long m = mask(bits);
+        value &= m;
+        int w = pos >>> 6;
+        int s = pos & 63;
+        words[w] = (words[w] & ~(m << s)) | (value << s);
+        if (s != 0 && s + bits > 64) {
+            int r = 64 - s;
+            words[w + 1] = (words[w + 1] & ~(m >>> r)) | (value >>> r);
+        }
+    }
+
     /**
      * Shifts a value up
      *
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import de.neemann.digital.core.switching.PlainSwitch;
+import de.neemann.digital.core.switching.PlainSwitchDT;
+import de.neemann.digital.draw.elements.PinException;
+import de.neemann.digital.lang.Lang;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * The schedule used by the compiled execution engine.
+ * All combinatorial nodes which are not part of a feedback loop are sorted in topological
+ * order and grouped into levels. A level only contains nodes which do not depend on each other.
+ * If such a node is marked as dirty, it is evaluated exactly once per pass after all nodes
+ * of lower levels are evaluated. So the schedule is free of glitches and does not depend on the
+ * gate propagation delays.
+ * <p>
+ * All nodes which have a state or are part of a feedback loop are not contained in the schedule.
+ * They are still updated by the event driven micro steps of the {@link Model}.
+ * <p>
+ * The schedule is stored in integer indexed arrays, so marking and evaluating nodes
+ * does not create any garbage.
+ */
+final class CompiledSchedule {
+    private final Node[] nodes;
+    private final int[] nodeLevel;
+    private final int[] levelStart;
+    private final int levels;
+    private final int[] fanOutStart;
+    private final int[] fanOut;
+    private final boolean[] dirty;
+    private final int[] dirtyList;
+    private final int[] dirtyCount;
+    private final int eventDrivenNodes;
+    private int lowestDirty;
+    private int actualLevel;
+    private int backwardMarks;
+
+    /**
+     * Creates a new schedule
+     *
+     * @param modelNodes all nodes of the model
+     * @throws PinException PinException
+     */
+    CompiledSchedule(List<Node> modelNodes) throws PinException {
+        for (Node n : modelNodes)
+            n.setScheduleIndex(-1);
+
+        // collect the candidates
+        HashMap<Node, Integer> candidateIndex = new HashMap<>();
+        ArrayList<Node> candidates = new ArrayList<>();
+        for (Node n : modelNodes)
+            if (n.isCombinatorial() && !n.hasState()) {
+                candidateIndex.put(n, candidates.size());
+                candidates.add(n);
+            }
+
+        // create the fan out tables of the candidates
+        int[][] successors = new int[candidates.size()][];
+        boolean containsSwitches = false;
+        for (int i = 0; i < candidates.size(); i++) {
+            SuccessorCollector sc = new SuccessorCollector(candidateIndex);
+            for (ObservableValue v : candidates.get(i).getOutputs())
+                sc.follow(v);
+            successors[i] = sc.get();
+            containsSwitches |= sc.switchFound;
+        }
+
+        if (containsSwitches) {
+            // switches modify the net topology at runtime, so a static order is not possible
+            candidates.clear();
+            successors = new int[0][];
+        }
+
+        boolean[] cyclic = new Tarjan(successors).findCyclicNodes();
+
+        // levelize the remaining nodes
+        int n = candidates.size();
+        int[] inDegree = new int[n];
+        for (int i = 0; i < n; i++)
+            if (!cyclic[i])
+                for (int s : successors[i])
+                    if (!cyclic[s])
+                        inDegree[s]++;
+
+        int[] level = new int[n];
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int i = 0; i < n; i++)
+            if (!cyclic[i] && inDegree[i] == 0)
+                queue[tail++] = i;
+        int maxLevel = -1;
+        while (head < tail) {
+            int i = queue[head++];
+            if (level[i] > maxLevel)
+                maxLevel = level[i];
+            for (int s : successors[i])
+                if (!cyclic[s]) {
+                    if (level[s] < level[i] + 1)
+                        level[s] = level[i] + 1;
+                    if (--inDegree[s] == 0)
+                        queue[tail++] = s;
+                }
+        }
+
+        // sort the nodes by level
+        levels = maxLevel + 1;
+        levelStart = new int[levels + 1];
+        for (int k = 0; k < tail; k++)
+            levelStart[level[queue[k]] + 1]++;
+        for (int l = 0; l < levels; l++)
+            levelStart[l + 1] += levelStart[l];
+
+        int[] fill = new int[levels];
+        int[] position = new int[n];
+        nodes = new Node[tail];
+        nodeLevel = new int[tail];
+        for (int k = 0; k < tail; k++) {
+            int i = queue[k];
+            int l = level[i];
+            int p = levelStart[l] + fill[l]++;
+            position[i] = p;
+            nodes[p] = candidates.get(i);
+            nodeLevel[p] = l;
+            nodes[p].setScheduleIndex(p);
+        }
+
+        fanOutStart = new int[tail + 1];
+        for (int k = 0; k < tail; k++) {
+            int i = queue[k];
+            int count = 0;
+            for (int s : successors[i])
+                if (!cyclic[s])
+                    count++;
+            fanOutStart[position[i] + 1] = count;
+        }
+        for (int p = 0; p < tail; p++)
+            fanOutStart[p + 1] += fanOutStart[p];
+        fanOut = new int[fanOutStart[tail]];
+        for (int k = 0; k < tail; k++) {
+            int i = queue[k];
+            int f = fanOutStart[position[i]];
+            for (int s : successors[i])
+                if (!cyclic[s])
+                    fanOut[f++] = position[s];
+        }
+
+        eventDrivenNodes = modelNodes.size() - tail;
+        dirty = new boolean[tail];
+        dirtyList = new int[tail];
+        dirtyCount = new int[levels];
+        lowestDirty = levels;
+        actualLevel = levels;
+    }
+
+    /**
+     * @return true if there are no nodes in this schedule
+     */
+    boolean isEmpty() {
+        return nodes.length == 0;
+    }
+
+    /**
+     * @return the number of levels
+     */
+    int getLevels() {
+        return levels;
+    }
+
+    /**
+     * @return the number of levelized nodes
+     */
+    int getNodeCount() {
+        return nodes.length;
+    }
+
+    /**
+     * @return the number of nodes which are not levelized and updated event driven
+     */
+    int getEventDrivenNodeCount() {
+        return eventDrivenNodes;
+    }
+
+    /**
+     * Returns the level of the given node
+     *
+     * @param node the node
+     * @return the level or -1 if the node is not levelized
+     */
+    int getLevel(Node node) {
+        int i = node.getScheduleIndex();
+        if (i < 0 || i >= nodes.length || nodes[i] != node)
+            return -1;
+        return nodeLevel[i];
+    }
+
+    /**
+     * Returns the number of nodes which are directly driven by the given node
+     *
+     * @param node the node
+     * @return the fan out, -1 if the node is not levelized
+     */
+    int getFanOut(Node node) {
+        int i = node.getScheduleIndex();
+        if (i < 0 || i >= nodes.length || nodes[i] != node)
+            return -1;
+        return fanOutStart[i + 1] - fanOutStart[i];
+    }
+
+    /**
+     * Marks a levelized node as dirty.
+     *
+     * @param node the node
+     */
+    void markDirty(Node node) {
+        int i = node.getScheduleIndex();
+        if (!dirty[i]) {
+            dirty[i] = true;
+            int l = nodeLevel[i];
+            dirtyList[levelStart[l] + dirtyCount[l]++] = i;
+            if (l < lowestDirty)
+                lowestDirty = l;
+            if (l < actualLevel)
+                backwardMarks++;
+        }
+    }
+
+    /**
+     * @return true if there are dirty nodes
+     */
+    boolean isDirty() {
+        return lowestDirty < levels;
+    }
+
+    /**
+     * Evaluates all dirty nodes level by level.
+     * In a correct order a node is never marked dirty by a node of the same or a higher level.
+     * This happens only if a value is modified by an observer which is not known to
+     * the schedule. In this case the lower levels are evaluated again.
+     *
+     * @param oscillationDetectionCounter the number of backward marks which indicate an oscillation
+     * @throws NodeException NodeException
+     */
+    void evaluate(int oscillationDetectionCounter) throws NodeException {
+        backwardMarks = 0;
+        try {
+            while (lowestDirty < levels) {
+                final int l = lowestDirty;
+                if (dirtyCount[l] == 0) {
+                    lowestDirty++;
+                    continue;
+                }
+                lowestDirty = l + 1;
+                actualLevel = l;
+
+                final int start = levelStart[l];
+                while (dirtyCount[l] > 0) {
+                    int i = dirtyList[start + --dirtyCount[l]];
+                    dirty[i] = false;
+                    Node n = nodes[i];
+                    n.clearStepMark();
+                    n.readInputs();
+                    n.writeOutputs();
+                }
+
+                if (backwardMarks > oscillationDetectionCounter)
+                    throw new NodeException(Lang.get("err_seemsToOscillate")).addNodes(getDirtyNodes());
+            }
+        } finally {
+            actualLevel = levels;
+        }
+    }
+
+    private ArrayList<Node> getDirtyNodes() {
+        ArrayList<Node> list = new ArrayList<>();
+        for (int i = 0; i < nodes.length; i++)
+            if (dirty[i])
+                list.add(nodes[i]);
+        return list;
+    }
+
+    /**
+     * Follows the given value through all nodes without delay and collects the
+     * candidate nodes which are driven by it.
+     */
+    private static final class SuccessorCollector {
+        private final HashMap<Node, Integer> candidateIndex;
+        private final HashSet<ObservableValue> visited;
+        private final HashSet<Integer> successors;
+        private boolean switchFound;
+
+        private SuccessorCollector(HashMap<Node, Integer> candidateIndex) {
+            this.candidateIndex = candidateIndex;
+            visited = new HashSet<>();
+            successors = new HashSet<>();
+        }
+
+        private void follow(ObservableValue value) throws PinException {
+            if (!visited.add(value))
+                return;
+
+            for (Observer o : value.getObservers()) {
+                if (o instanceof Node) {
+                    Integer i = candidateIndex.get(o);
+                    if (i != null)
+                        successors.add(i);
+                } else if (o instanceof PlainSwitch || o instanceof PlainSwitchDT) {
+                    switchFound = true;
+                } else if (o instanceof NodeInterface) {
+                    for (ObservableValue v : ((NodeInterface) o).getOutputs())
+                        follow(v);
+                }
+            }
+        }
+
+        private int[] get() {
+            int[] s = new int[successors.size()];
+            int i = 0;
+            for (Integer n : successors)
+                s[i++] = n;
+            return s;
+        }
+    }
+
+    /**
+     * Finds the nodes which are part of a feedback loop using Tarjan's algorithm.
+     * Implemented without recursion to allow large circuits.
+     */
+    private static final class Tarjan {
+        private final int[][] successors;
+        private final int[] index;
+        private final int[] lowLink;
+        private final boolean[] onStack;
+        private final int[] stack;
+        private int stackPointer;
+        private int counter;
+
+        private Tarjan(int[][] successors) {
+            this.successors = successors;
+            int n = successors.length;
+            index = new int[n];
+            lowLink = new int[n];
+            onStack = new boolean[n];
+            stack = new int[n];
+        }
+
+        private boolean[] findCyclicNodes() {
+            int n = successors.length;
+            boolean[] cyclic = new boolean[n];
+            int[] callStack = new int[n];
+            int[] edge = new int[n];
+            for (int root = 0; root < n; root++) {
+                if (index[root] != 0)
+                    continue;
+
+                int depth = 0;
+                callStack[0] = root;
+                visit(root);
+                while (depth >= 0) {
+                    int v = callStack[depth];
+                    if (edge[v] < successors[v].length) {
+                        int w = successors[v][edge[v]++];
+                        if (w == v)
+                            cyclic[v] = true;
+                        if (index[w] == 0) {
+                            visit(w);
+                            callStack[++depth] = w;
+                        } else if (onStack[w] && index[w] < lowLink[v])
+                            lowLink[v] = index[w];
+                    } else {
+                        if (lowLink[v] == index[v]) {
+                            int size = 0;
+                            int w;
+                            int first = stackPointer;
+                            do {
+                                w = stack[--stackPointer];
+                                onStack[w] = false;
+                                size++;
+                            } while (w != v);
+                            if (size > 1)
+                                for (int k = stackPointer; k < first; k++)
+                                    cyclic[stack[k]] = true;
+                        }
+                        depth--;
+                        if (depth >= 0) {
+                            int u = callStack[depth];
+                            if (lowLink[v] < lowLink[u])
+                                lowLink[u] = lowLink[v];
+                        }
+                    }
+                }
+            }
+            return cyclic;
+        }
+
+        private void visit(int v) {
+            counter++;
+            index[v] = counter;
+            lowLink[v] = counter;
+            stack[stackPointer++] = v;
+            onStack[v] = true;
+        }
+    }
+}
@@ -11,12 +11,14 @@ import de.neemann.digital.core.wiring.AsyncSeq;
 import de.neemann.digital.core.wiring.Break;
 import de.neemann.digital.core.wiring.Clock;
 import de.neemann.digital.core.wiring.Reset;
+import de.neemann.digital.draw.elements.PinException;
 import de.neemann.digital.gui.components.WindowPosManager;
 import de.neemann.digital.lang.Lang;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -81,7 +83,14 @@ public class Model implements Iterable<Node>, SyncAccess {
     private boolean asyncMode = false;
     private boolean allowGlobalValues = false;
     private boolean recoverFromOscillation = false;
+    private boolean compiled = false;
+    private CompiledSchedule schedule;
+    private boolean compiledStep = false;
+    private int threads = 1;
+    private PartitionedSchedule partitions;
+    private boolean partitionedStep = false;
     private File rootPath;
+    private final LinkedHashSet<ObservableValue> values;
 
     private final ArrayList<ModelStateObserver> observers;
     private ArrayList<ModelStateObserver> observersStep;
@@ -103,6 +112,7 @@ public class Model implements Iterable<Node>, SyncAccess {
         this.nodesToUpdateAct = new ArrayList<>();
         this.nodesToUpdateNext = new ArrayList<>();
         this.observers = new ArrayList<>();
+        this.values = new LinkedHashSet<>();
     }
 
     /**
@@ -240,6 +250,9 @@ public class Model implements Iterable<Node>, SyncAccess {
 
             fireEvent(ModelEvent.CLOSED);
             fireEvent(ModelEvent.POSTCLOSED);
+
+            if (partitions != null)
+                partitions.shutdown();
         }
     }
 
@@ -268,7 +281,12 @@ public class Model implements Iterable<Node>, SyncAccess {
      * @param node the node
      */
     final void addToUpdateList(Node node) {
-        nodesToUpdateNext.add(node);
+        if (partitionedStep)
+            partitions.addToUpdateList(node);
+        else if (compiledStep && node.getScheduleIndex() >= 0)
+            schedule.markDirty(node);
+        else
+            nodesToUpdateNext.add(node);
     }
 
     /**
@@ -287,7 +305,10 @@ public class Model implements Iterable<Node>, SyncAccess {
      * @param noise calculation is performed using noise
      */
     public void doStep(boolean noise) {
-        stepWithCondition(noise, this::needsUpdate);
+        if (compiled && !noise && state == State.RUNNING && observersMicroStep == null)
+            stepCompiled();
+        else
+            stepWithCondition(noise, this::needsUpdate);
     }
 
     synchronized private void stepWithCondition(boolean noise, StepCondition cond) {
@@ -332,6 +353,19 @@ public class Model implements Iterable<Node>, SyncAccess {
      * @param noise if true the micro step is performed with noise
      */
     synchronized public void doMicroStep(boolean noise) {
+        try {
+            updateNodes(noise);
+            if (observersMicroStep != null)
+                fireEvent(ModelEvent.MICROSTEP);
+
+            if (nodesToUpdateNext.isEmpty())
+                fireEvent(ModelEvent.STEP);
+        } catch (Exception e) {
+            errorOccurred(e);
+        }
+    }
+
+    private void updateNodes(boolean noise) throws NodeException {
         version++;
         // swap lists
         ArrayList<Node> nl = nodesToUpdateNext;
@@ -340,31 +374,108 @@ public class Model implements Iterable<Node>, SyncAccess {
 
         nodesToUpdateNext.clear();
 
+        if (noise) {
+            Collections.shuffle(nodesToUpdateAct);
+            for (Node n : nodesToUpdateAct) {
+                n.readInputs();
+                n.writeOutputs();
+            }
+        } else if (usePartitions()) {
+            partitionedStep = true;
+            try {
+                partitions.update(nodesToUpdateAct, nodesToUpdateNext);
+            } finally {
+                partitionedStep = false;
+            }
+        } else {
+            for (Node n : nodesToUpdateAct) {
+                n.readInputs();
+            }
+            for (Node n : nodesToUpdateAct) {
+                n.writeOutputs();
+            }
+        }
+    }
+
+    private boolean usePartitions() {
+        if (threads <= 1 || compiledStep || nodesToUpdateAct.size() < PartitionedSchedule.MIN_PARALLEL_NODES)
+            return false;
+
+        if (partitions == null) {
+            try {
+                partitions = new PartitionedSchedule(nodes, threads);
+                LOGGER.debug("partitioned schedule: " + partitions.getRegions() + " regions, "
+                        + partitions.getCutSignals() + " cut signals");
+            } catch (PinException e) {
+                LOGGER.debug("could not partition model", e);
+                threads = 1;
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Performs a full step using the compiled schedule.
+     * At first all pending nodes which are not levelized are updated by a micro step, then
+     * all dirty levelized nodes are evaluated in topological order. This is repeated until
+     * the model is stable.
+     */
+    synchronized private void stepCompiled() {
         try {
-            if (noise) {
-                Collections.shuffle(nodesToUpdateAct);
-                for (Node n : nodesToUpdateAct) {
-                    n.readInputs();
-                    n.writeOutputs();
-                }
-            } else {
-                for (Node n : nodesToUpdateAct) {
-                    n.readInputs();
-                }
-                for (Node n : nodesToUpdateAct) {
-                    n.writeOutputs();
-                }
+            if (schedule == null) {
+                schedule = new CompiledSchedule(nodes);
+                LOGGER.debug("compiled schedule: " + schedule.getNodeCount() + " nodes in " + schedule.getLevels()
+                        + " levels, " + schedule.getEventDrivenNodeCount() + " event driven nodes");
+            }
+            if (schedule.isEmpty()) {
+                stepWithCondition(false, this::needsUpdate);
+                return;
             }
-            if (observersMicroStep != null)
-                fireEvent(ModelEvent.MICROSTEP);
 
-            if (nodesToUpdateNext.isEmpty())
-                fireEvent(ModelEvent.STEP);
+            if (nodesToUpdateNext.isEmpty()) {
+                fireEvent(ModelEvent.CHECKBURN);
+                return;
+            }
+
+            compiledStep = true;
+            try {
+                moveLevelizedNodesToSchedule();
+                int counter = 0;
+                while (state != State.CLOSED) {
+                    if (!nodesToUpdateNext.isEmpty()) {
+                        if (counter++ > oscillationDetectionCounter)
+                            throw new NodeException(Lang.get("err_seemsToOscillate")).addNodes(new ArrayList<>(nodesToUpdateNext));
+                        updateNodes(false);
+                    }
+                    if (schedule.isDirty()) {
+                        version++;
+                        schedule.evaluate(oscillationDetectionCounter);
+                    } else if (nodesToUpdateNext.isEmpty())
+                        break;
+                }
+            } finally {
+                compiledStep = false;
+            }
+            fireEvent(ModelEvent.STEP);
         } catch (Exception e) {
             errorOccurred(e);
         }
     }
 
+    private void moveLevelizedNodesToSchedule() {
+        int j = 0;
+        for (int i = 0; i < nodesToUpdateNext.size(); i++) {
+            Node n = nodesToUpdateNext.get(i);
+            if (n.getScheduleIndex() >= 0)
+                schedule.markDirty(n);
+            else
+                nodesToUpdateNext.set(j++, n);
+        }
+        while (nodesToUpdateNext.size() > j)
+            nodesToUpdateNext.remove(nodesToUpdateNext.size() - 1);
+    }
+
     /**
      * Runs the model until a positive edge at a break element is detected.
      *
@@ -927,6 +1038,84 @@ public class Model implements Iterable<Node>, SyncAccess {
         return null;
     }
 
+    /**
+     * Adds values which are to be stored in a {@link ModelSnapshot}.
+     * Called by the model creator to register all values which connect the elements.
+     *
+     * @param values the values to add
+     */
+    public void addValues(ObservableValues values) {
+        for (ObservableValue v : values)
+            if (v != null)
+                this.values.add(v);
+    }
+
+    /**
+     * Creates a snapshot of the actual state of this model.
+     * Restoring the snapshot later on resets the model to this state, which is much
+     * faster than creating and initializing a new model.
+     * A snapshot is only possible if the model is running, the connecting values are
+     * registered by {@link #addValues(ObservableValues)}, and all nodes are either
+     * combinatorial or implement the {@link Restorable} interface.
+     *
+     * @return the snapshot or null if the state of this model can not be stored
+     */
+    public synchronized ModelSnapshot createSnapshot() {
+        if (state != State.RUNNING || values.isEmpty())
+            return null;
+        for (Node n : nodes)
+            if (!(n.isCombinatorial() || n instanceof Restorable))
+                return null;
+        return new ModelSnapshot(this, values, nodes);
+    }
+
+    /**
+     * Writes the actual state of this model to a checkpoint file.
+     * The checkpoint contains the values, the clock states and the internal state of
+     * all nodes including the memories. Loading the checkpoint later on allows to
+     * continue the simulation without simulating all the steps which lead to this state.
+     *
+     * @param file      the file to write
+     * @param key       identifies the circuit and the stimuli which lead to this state,
+     *                  the checkpoint is only loaded with the same key
+     * @param variables additional values stored in the checkpoint, e.g. the variables of a test case
+     * @return false if the state of this model can not be stored
+     * @throws IOException IOException
+     * @see #createSnapshot()
+     */
+    public boolean saveCheckpoint(File file, String key, Map<String, Long> variables) throws IOException {
+        ModelSnapshot snapshot = createSnapshot();
+        if (snapshot == null)
+            return false;
+        snapshot.write(file, key, variables);
+        return true;
+    }
+
+    /**
+     * Restores the state stored by {@link #saveCheckpoint(File, String, Map)}.
+     * The model is left unchanged if the checkpoint does not match this model.
+     *
+     * @param file the file to read
+     * @param key  the key the checkpoint was stored with
+     * @return the additional values stored in the checkpoint
+     * @throws IOException if the file could not be read or does not match this model or the key
+     */
+    public Map<String, Long> loadCheckpoint(File file, String key) throws IOException {
+        ModelSnapshot snapshot = createSnapshot();
+        if (snapshot == null)
+            throw new IOException("the state of the model can not be restored");
+        Map<String, Long> variables = snapshot.read(file, key);
+        snapshot.restore();
+        return variables;
+    }
+
+    /**
+     * Called after a {@link ModelSnapshot} is restored.
+     */
+    void snapshotRestored() {
+        brVal = null;
+    }
+
     /**
      * Registers a global value.
      *
@@ -963,6 +1152,58 @@ public class Model implements Iterable<Node>, SyncAccess {
         return this;
     }
 
+    /**
+     * Enables or disables the compiled execution engine.
+     * If enabled, all full steps without noise are calculated by evaluating the combinatorial
+     * nodes in topological order instead of propagating every value change through the
+     * model in micro steps. Nodes which have a state or are part of a feedback loop are still
+     * updated event driven.
+     * The compiled engine does not model the gate propagation delays. So circuits which rely
+     * on hazards, like pulse generators made of gates, behave different.
+     * If the model is observed in micro step mode, the event driven engine is used.
+     *
+     * @param compiled if true the compiled engine is used
+     * @return this for chained calls
+     */
+    public Model setCompiled(boolean compiled) {
+        this.compiled = compiled;
+        return this;
+    }
+
+    /**
+     * @return true if the compiled engine is enabled
+     */
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Sets the number of threads used to calculate the micro steps.
+     * If more than one thread is used, the nodes are split into regions which
+     * are updated in parallel. This is only done in micro steps without noise
+     * which contain enough nodes to update. The results are identical to the
+     * calculation using a single thread.
+     * The observers of the values are called by the thread which writes the value.
+     *
+     * @param threads the number of threads
+     * @return this for chained calls
+     */
+    public synchronized Model setThreads(int threads) {
+        if (partitions != null) {
+            partitions.shutdown();
+            partitions = null;
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * @return the number of threads used to calculate the micro steps
+     */
+    public int getThreads() {
+        return threads;
+    }
+
     /**
      * Sets async execution infos
      *
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of the state of a model.
+ * Contains the values of all {@link ObservableValue}s and the internal state of all
+ * nodes. Restoring the snapshot resets the model in place, so a single model can be
+ * used to run many independent simulations, e.g. all test cases of a circuit.
+ * A snapshot can also be written to a checkpoint file, see {@link Model#saveCheckpoint(File, String, Map)}.
+ *
+ * @see Model#createSnapshot()
+ */
+public final class ModelSnapshot {
+    private static final int MAGIC = 0x44434B50;
+    private static final int VERSION = 2;
+    private static final byte STATE_NULL = 0;
+    private static final byte STATE_BOOLEANS = 1;
+    private static final byte STATE_LONGS = 2;
+    private static final byte STATE_INTEGER = 3;
+    private static final byte STATE_BINARY = 4;
+
+    private final Model model;
+    private final ObservableValue[] values;
+    private final long[] data;
+    private final Restorable[] nodes;
+    private final Object[] states;
+
+    /**
+     * Creates a new snapshot.
+     *
+     * @param model  the model
+     * @param values the values to store
+     * @param nodes  the nodes to store
+     */
+    ModelSnapshot(Model model, Collection<ObservableValue> values, List<Node> nodes) {
+        this.model = model;
+
+        ArrayList<ObservableValue> vl = new ArrayList<>(values.size());
+        int words = 0;
+        for (ObservableValue v : values)
+            if (!v.isConstant()) {
+                vl.add(v);
+                words += v.getStateWords();
+            }
+        this.values = vl.toArray(new ObservableValue[0]);
+        data = new long[words];
+        int pos = 0;
+        for (ObservableValue v : this.values) {
+            v.saveState(data, pos);
+            pos += v.getStateWords();
+        }
+
+        ArrayList<Restorable> nl = new ArrayList<>();
+        for (Node n : nodes)
+            if (n instanceof Restorable)
+                nl.add((Restorable) n);
+        this.nodes = nl.toArray(new Restorable[0]);
+        states = new Object[this.nodes.length];
+        for (int i = 0; i < states.length; i++)
+            states[i] = this.nodes[i].saveState();
+    }
+
+    /**
+     * Restores the state of the model.
+     * No events are fired by the values, because all values and nodes are restored
+     * to a consistent state. The model needs to be running.
+     */
+    public void restore() {
+        synchronized (model) {
+            if (!model.isRunning())
+                throw new RuntimeException("model is closed");
+
+            int pos = 0;
+            for (ObservableValue v : values) {
+                v.restoreState(data, pos);
+                pos += v.getStateWords();
+            }
+            for (int i = 0; i < states.length; i++)
+                nodes[i].restoreState(states[i]);
+            model.snapshotRestored();
+        }
+    }
+
+    /**
+     * Writes this snapshot to a checkpoint file.
+     * The file starts with the given key and a description of the model structure,
+     * which are used to detect a checkpoint which does not match the model.
+     *
+     * @param file      the file to write
+     * @param key       identifies the circuit and the stimuli the state was created with
+     * @param variables additional values to store
+     * @throws IOException IOException
+     */
+    void write(File file, String key, Map<String, Long> variables) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeUTF(key);
+            out.writeInt(values.length);
+            for (ObservableValue v : values)
+                out.writeInt(v.getBits());
+            out.writeInt(nodes.length);
+            for (Restorable n : nodes)
+                out.writeUTF(n.getClass().getName());
+
+            out.writeInt(data.length);
+            for (long d : data)
+                out.writeLong(d);
+            for (Object state : states)
+                writeState(out, state);
+
+            out.writeInt(variables.size());
+            for (Map.Entry<String, Long> e : variables.entrySet()) {
+                out.writeUTF(e.getKey());
+                out.writeLong(e.getValue());
+            }
+        }
+    }
+
+    private static void writeState(DataOutputStream out, Object state) throws IOException {
+        if (state == null)
+            out.writeByte(STATE_NULL);
+        else if (state instanceof boolean[]) {
+            boolean[] b = (boolean[]) state;
+            out.writeByte(STATE_BOOLEANS);
+            out.writeInt(b.length);
+            for (boolean v : b)
+                out.writeBoolean(v);
+        } else if (state instanceof long[]) {
+            long[] l = (long[]) state;
+            out.writeByte(STATE_LONGS);
+            out.writeInt(l.length);
+            for (long v : l)
+                out.writeLong(v);
+        } else if (state instanceof Integer) {
+            out.writeByte(STATE_INTEGER);
+            out.writeInt((Integer) state);
+        } else if (state instanceof Restorable.BinaryState) {
+            out.writeByte(STATE_BINARY);
+            ((Restorable.BinaryState) state).write(out);
+        } else
+            throw new IOException("state of type " + state.getClass().getName() + " can not be stored");
+    }
+
+    /**
+     * Reads a checkpoint file into this snapshot.
+     * Since the snapshot is modified, it has to be created just for this purpose.
+     * A damaged file is always reported by an {@link IOException}.
+     *
+     * @param file the file to read
+     * @param key  the key the file has to be written with
+     * @return the additional values stored in the file
+     * @throws IOException if the file could not be read or does not match the model
+     */
+    Map<String, Long> read(File file, String key) throws IOException {
+        // The file is not mapped to memory, because a mapped file stays locked on some
+        // platforms until the buffer is garbage collected, so it could not be overwritten.
+        ByteBuffer in;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("checkpoint file is too large: " + file);
+            in = ByteBuffer.allocate((int) size);
+            while (in.hasRemaining())
+                if (channel.read(in) < 0)
+                    throw new IOException("checkpoint file is truncated: " + file);
+            in.flip();
+        }
+        try {
+            if (in.getInt() != MAGIC || in.getInt() != VERSION)
+                throw new IOException("not a checkpoint file: " + file);
+            if (!readString(in).equals(key))
+                throw new IOException("checkpoint was created from a different circuit or test: " + file);
+            check(in.getInt() == values.length);
+            for (ObservableValue v : values)
+                check(in.getInt() == v.getBits());
+            check(in.getInt() == nodes.length);
+            for (Restorable n : nodes)
+                check(readString(in).equals(n.getClass().getName()));
+
+            check(in.getInt() == data.length);
+            in.asLongBuffer().get(data);
+            in.position(in.position() + data.length * Long.BYTES);
+            for (int i = 0; i < states.length; i++)
+                states[i] = readState(in, states[i]);
+
+            int n = in.getInt();
+            LinkedHashMap<String, Long> variables = new LinkedHashMap<>();
+            for (int i = 0; i < n; i++)
+                variables.put(readString(in), in.getLong());
+            return variables;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("checkpoint file is truncated: " + file, e);
+        } catch (RuntimeException e) {
+            throw new IOException("checkpoint file is damaged: " + file, e);
+        }
+    }
+
+    private static void check(boolean matches) throws IOException {
+        if (!matches)
+            throw new IOException("checkpoint does not match the model");
+    }
+
+    private static String readString(ByteBuffer in) {
+        byte[] b = new byte[in.getShort() & 0xffff];
+        in.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    private static int readLength(ByteBuffer in, int bytesPerItem) throws IOException {
+        int len = in.getInt();
+        if (len < 0 || len > in.remaining() / bytesPerItem)
+            throw new IOException("invalid array length in checkpoint");
+        return len;
+    }
+
+    private static Object readState(ByteBuffer in, Object template) throws IOException {
+        switch (in.get()) {
+            case STATE_NULL:
+                return null;
+            case STATE_BOOLEANS:
+                boolean[] b = new boolean[readLength(in, 1)];
+                for (int i = 0; i < b.length; i++)
+                    b[i] = in.get() != 0;
+                return b;
+            case STATE_LONGS:
+                long[] l = new long[readLength(in, Long.BYTES)];
+                for (int i = 0; i < l.length; i++)
+                    l[i] = in.getLong();
+                return l;
+            case STATE_INTEGER:
+                return in.getInt();
+            case STATE_BINARY:
+                check(template instanceof Restorable.BinaryState);
+                ((Restorable.BinaryState) template).read(in);
+                return template;
+            default:
+                throw new IOException("invalid node state in checkpoint");
+        }
+    }
+
+    /**
+     * @return the model this snapshot belongs to
+     */
+    public Model getModel() {
+        return model;
+    }
+}
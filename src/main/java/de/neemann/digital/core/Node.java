@@ -24,6 +24,10 @@ public abstract class Node implements NodeInterface {
     private final boolean hasState;
     private Model model;
     private int version;
+    // position of this node in the compiled schedule, -1 if not levelized
+    private int scheduleIndex = -1;
+    // position of this node in the partitioned schedule, -1 if not partitioned
+    private int partitionIndex = -1;
     // used to store the origin of this node
     // only used to create better error messages
     private File origin;
@@ -64,6 +68,15 @@ public abstract class Node implements NodeInterface {
         }
     }
 
+    /**
+     * Allows this node to be added to the update list again in the actual step.
+     * Used by the compiled schedule which evaluates a node more than once
+     * without incrementing the step counter.
+     */
+    void clearStepMark() {
+        version = -1;
+    }
+
     /**
      * Only read the input!
      * It is not allowed to write to one of the outputs!!!
@@ -97,6 +110,51 @@ public abstract class Node implements NodeInterface {
         return hasState;
     }
 
+    /**
+     * Returns true if this node is a pure combinatorial function of its inputs.
+     * Such a node has no state, no side effects and does not depend on the propagation
+     * delay of the gates. These nodes are evaluated in a topological order if the
+     * compiled engine is used.
+     *
+     * @return true if this node is purely combinatorial
+     * @see Model#setCompiled(boolean)
+     */
+    public boolean isCombinatorial() {
+        return false;
+    }
+
+    /**
+     * @return the index of this node in the compiled schedule, -1 if not levelized
+     */
+    int getScheduleIndex() {
+        return scheduleIndex;
+    }
+
+    /**
+     * Sets the index of this node in the compiled schedule
+     *
+     * @param scheduleIndex the index, -1 if not levelized
+     */
+    void setScheduleIndex(int scheduleIndex) {
+        this.scheduleIndex = scheduleIndex;
+    }
+
+    /**
+     * @return the index of this node in the partitioned schedule, -1 if not partitioned
+     */
+    int getPartitionIndex() {
+        return partitionIndex;
+    }
+
+    /**
+     * Sets the index of this node in the partitioned schedule
+     *
+     * @param partitionIndex the index
+     */
+    void setPartitionIndex(int partitionIndex) {
+        this.partitionIndex = partitionIndex;
+    }
+
     /**
      * Returns the origin of this node
      * Only used to show better error messages.
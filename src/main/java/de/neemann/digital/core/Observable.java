@@ -5,19 +5,32 @@
  */
 package de.neemann.digital.core;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
 
 /**
- * A simple observable
+ * A simple observable.
+ * The observers are stored in a plain array, so notifying the observers is an index
+ * based iteration which does not create any garbage. Adding an observer appends it to
+ * the array, removing an observer replaces the array. So it is safe to add or remove
+ * observers while the observers are notified: Observers added during the notification
+ * are not notified, observers removed are still notified this time.
  */
 public class Observable {
-    private final ArrayList<Observer> observers;
+    private static final Observer[] EMPTY = new Observer[0];
+    private static final int SET_THRESHOLD = 16;
+    private Observer[] observers;
+    private int size;
+    private Set<Observer> observerSet;
 
     /**
      * Creates a new instance
      */
     public Observable() {
-        observers = new ArrayList<>();
+        observers = EMPTY;
     }
 
     /**
@@ -27,8 +40,13 @@ public class Observable {
      * @return observer the observer to add
      */
     public Observer addObserver(Observer observer) {
-        if (observer != null && !observers.contains(observer))
-            observers.add(observer);
+        if (observer != null && !hasObserver(observer)) {
+            if (size == observers.length)
+                observers = Arrays.copyOf(observers, Math.max(4, size * 2));
+            observers[size++] = observer;
+            if (observerSet != null)
+                observerSet.add(observer);
+        }
         return observer;
     }
 
@@ -36,7 +54,7 @@ public class Observable {
      * @return the numbers of observers
      */
     public int observerCount() {
-        return observers.size();
+        return size;
     }
 
     /**
@@ -45,7 +63,16 @@ public class Observable {
      * @param observer the observer to use
      */
     public void removeObserver(Observer observer) {
-        observers.remove(observer);
+        if (observer == null)
+            return;
+        for (int i = 0; i < size; i++)
+            if (observers[i] == observer) {
+                Observer[] o = new Observer[observers.length];
+                System.arraycopy(observers, 0, o, 0, i);
+                System.arraycopy(observers, i + 1, o, i, size - i - 1);
+                setObservers(o, size - 1);
+                return;
+            }
     }
 
     /**
@@ -54,15 +81,34 @@ public class Observable {
      * @param observerClass the class of observers to remove
      */
     public void removeObserver(Class<? extends Observer> observerClass) {
-        observers.removeIf(observer -> observer.getClass() == observerClass);
+        int n = 0;
+        Observer[] o = new Observer[observers.length];
+        for (int i = 0; i < size; i++)
+            if (observers[i].getClass() != observerClass)
+                o[n++] = observers[i];
+        if (n < size)
+            setObservers(o, n);
+    }
+
+    private void setObservers(Observer[] o, int n) {
+        observers = n == 0 ? EMPTY : o;
+        size = n;
+        observerSet = null;
     }
 
     /**
      * Fires a has changed event to all observers
      */
     public void fireHasChanged() {
-        for (Observer o : observers)
-            o.hasChanged();
+        final int n = size;
+        if (n == 0)
+            return;
+        final Observer[] o = observers;
+        if (n == 1)
+            o[0].hasChanged();
+        else
+            for (int i = 0; i < n; i++)
+                o[i].hasChanged();
     }
 
 
@@ -73,14 +119,27 @@ public class Observable {
      * @return true if the given observer observes this observable
      */
     public boolean hasObserver(Observer observer) {
-        return observers.contains(observer);
+        if (observer == null)
+            return false;
+        if (size < SET_THRESHOLD) {
+            for (int i = 0; i < size; i++)
+                if (observers[i] == observer)
+                    return true;
+            return false;
+        }
+        if (observerSet == null) {
+            observerSet = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = 0; i < size; i++)
+                observerSet.add(observers[i]);
+        }
+        return observerSet.contains(observer);
     }
 
     /**
-     * @return tje list of observers
+     * @return the list of observers, the list can not be modified
      */
-    public ArrayList<Observer> getObservers() {
-        return observers;
+    public List<Observer> getObservers() {
+        return Collections.unmodifiableList(Arrays.asList(observers).subList(0, size));
     }
 
 }
@@ -15,6 +15,15 @@ import java.util.Random;
  * Represents all signal values in the simulator.
  * There are some setters to set the value. Each bit of a value can be set to high z state.
  * Observers can observe this value to be notified if the value changes.
+ * <p>
+ * Values with more than 64 bits are wide values. They are stored in words of 64 bits,
+ * the lowest word first. The methods which use a single long only access the lowest word,
+ * and setting a wide value by a single long clears the upper words.
+ * Because of this, the model creator connects wide values only to elements which declare
+ * {@link de.neemann.digital.core.element.ElementTypeDescription#supportsWideValues()}, and a
+ * bus driven by more than one output is limited to 64 bits.
+ * Elements which support wide values use {@link #getWord(int)}, {@link #getWords(long[], long[])}
+ * and {@link #set(long[], long[])}.
  */
 public class ObservableValue extends Observable implements PinDescription {
 
@@ -26,6 +35,11 @@ public class ObservableValue extends Observable implements PinDescription {
     private long value;
     // the high z state of each bit
     private long highZ;
+    // the words of a wide value, null if there are not more than 64 bits
+    // the lowest words are always the same as value and highZ
+    private final long[] wideValue;
+    private final long[] wideHighZ;
+    private final long topMask;
     private boolean bidirectional;
     private boolean isConstant = false;
     private String description;
@@ -45,6 +59,16 @@ public class ObservableValue extends Observable implements PinDescription {
         this.bits = bits;
         mask = Bits.mask(bits);
         signedFlag = Bits.signedFlagMask(bits);
+        if (bits > 64) {
+            int words = Bits.words(bits);
+            wideValue = new long[words];
+            wideHighZ = new long[words];
+            topMask = Bits.mask(bits - (words - 1) * 64);
+        } else {
+            wideValue = null;
+            wideHighZ = null;
+            topMask = mask;
+        }
     }
 
 
@@ -93,6 +117,9 @@ public class ObservableValue extends Observable implements PinDescription {
      * @return this for chained calls
      */
     public ObservableValue set(long value, long highZ) {
+        if (wideValue != null)
+            return setWide(value, highZ);
+
         value = getValueBits(value);
         highZ = getValueBits(highZ);
         if (highZ != this.highZ || ((~highZ & (value ^ this.value))) != 0) {
@@ -107,6 +134,181 @@ public class ObservableValue extends Observable implements PinDescription {
         return this;
     }
 
+    /**
+     * Sets the lowest word of a wide value. The upper words are set to zero.
+     * If all bits of the given high z state are set, all bits of the upper words
+     * are set to high z.
+     */
+    private ObservableValue setWide(long value, long highZ) {
+        long upperZ = highZ == -1 ? -1 : 0;
+        boolean changed = highZ != this.highZ || ((~highZ & (value ^ this.value))) != 0;
+        int last = wideValue.length - 1;
+        for (int i = 1; i <= last && !changed; i++) {
+            long z = i == last ? upperZ & topMask : upperZ;
+            changed = wideValue[i] != 0 || wideHighZ[i] != z;
+        }
+        if (changed) {
+            if (isConstant)
+                throw new RuntimeException("tried to modify a constant value!");
+
+            this.highZ = highZ;
+            this.value = value & (~highZ);
+            wideHighZ[0] = this.highZ;
+            wideValue[0] = this.value;
+            for (int i = 1; i <= last; i++) {
+                wideValue[i] = 0;
+                wideHighZ[i] = i == last ? upperZ & topMask : upperZ;
+            }
+            fireHasChanged();
+        }
+        return this;
+    }
+
+    /**
+     * Sets all words of the value and the high z state and fires an event if the value has changed.
+     * The arrays need to contain at least {@link #getWordCount()} words, the lowest word first.
+     * If this is not a wide value, only the lowest word is used.
+     *
+     * @param value the words of the value
+     * @param highZ the words of the high z state, null if no bit is in high z state
+     * @return this for chained calls
+     */
+    public ObservableValue set(long[] value, long[] highZ) {
+        if (wideValue == null)
+            return set(value[0], highZ == null ? 0 : highZ[0]);
+
+        int last = wideValue.length - 1;
+        boolean changed = false;
+        for (int i = 0; i <= last && !changed; i++) {
+            long m = i == last ? topMask : -1;
+            long z = highZ == null ? 0 : highZ[i] & m;
+            changed = z != wideHighZ[i] || (value[i] & m & ~z) != wideValue[i];
+        }
+        if (changed) {
+            if (isConstant)
+                throw new RuntimeException("tried to modify a constant value!");
+
+            for (int i = 0; i <= last; i++) {
+                long m = i == last ? topMask : -1;
+                long z = highZ == null ? 0 : highZ[i] & m;
+                wideHighZ[i] = z;
+                wideValue[i] = value[i] & m & ~z;
+            }
+            this.value = wideValue[0];
+            this.highZ = wideHighZ[0];
+            fireHasChanged();
+        }
+        return this;
+    }
+
+    /**
+     * @return true if this value has more than 64 bits
+     */
+    public boolean isWide() {
+        return wideValue != null;
+    }
+
+    /**
+     * @return the number of 64 bit words needed to store this value
+     */
+    public int getWordCount() {
+        if (wideValue == null)
+            return 1;
+        return wideValue.length;
+    }
+
+    /**
+     * Returns a word of the value.
+     * The high-z bits are set to a random value.
+     *
+     * @param word the index of the word, the lowest word has the index zero
+     * @return the value of the word
+     */
+    public long getWord(int word) {
+        if (word == 0)
+            return getValue();
+        long z = wideHighZ[word];
+        if (z != 0) {
+            if (random == null)
+                random = new Random();
+            return wideValue[word] | (random.nextLong() & z);
+        } else
+            return wideValue[word];
+    }
+
+    /**
+     * Returns the high z state of a word.
+     *
+     * @param word the index of the word, the lowest word has the index zero
+     * @return the high z bit mask of the word
+     */
+    public long getHighZWord(int word) {
+        if (word == 0)
+            return highZ;
+        return wideHighZ[word];
+    }
+
+    /**
+     * Copies all words of the value to the given arrays.
+     * The high-z bits of the value are set to zero.
+     *
+     * @param value the array to copy the value to
+     * @param highZ the array to copy the high z state to, maybe null
+     */
+    public void getWords(long[] value, long[] highZ) {
+        if (wideValue == null) {
+            value[0] = this.value;
+            if (highZ != null)
+                highZ[0] = this.highZ;
+        } else {
+            System.arraycopy(wideValue, 0, value, 0, wideValue.length);
+            if (highZ != null)
+                System.arraycopy(wideHighZ, 0, highZ, 0, wideHighZ.length);
+        }
+    }
+
+    /**
+     * @return the number of words needed to store the state of this value in a {@link ModelSnapshot}
+     */
+    int getStateWords() {
+        return getWordCount() * 2;
+    }
+
+    /**
+     * Stores the value and the high z state.
+     *
+     * @param data the array to write to
+     * @param pos  the position of the first word to write
+     */
+    void saveState(long[] data, int pos) {
+        if (wideValue == null) {
+            data[pos] = value;
+            data[pos + 1] = highZ;
+        } else {
+            System.arraycopy(wideValue, 0, data, pos, wideValue.length);
+            System.arraycopy(wideHighZ, 0, data, pos + wideValue.length, wideHighZ.length);
+        }
+    }
+
+    /**
+     * Restores the value and the high z state stored by {@link #saveState(long[], int)}.
+     * No event is fired, because the whole model is restored at once.
+     *
+     * @param data the array to read from
+     * @param pos  the position of the first word to read
+     */
+    void restoreState(long[] data, int pos) {
+        if (wideValue == null) {
+            value = data[pos];
+            highZ = data[pos + 1];
+        } else {
+            System.arraycopy(data, pos, wideValue, 0, wideValue.length);
+            System.arraycopy(data, pos + wideValue.length, wideHighZ, 0, wideHighZ.length);
+            value = wideValue[0];
+            highZ = wideHighZ[0];
+        }
+    }
+
     /**
      * Adds an observer to this value.
      *
@@ -165,6 +367,9 @@ public class ObservableValue extends Observable implements PinDescription {
      * @return the value as string
      */
     public String getValueString() {
+        if (wideValue != null)
+            return getWideValueString();
+
         if (highZ != 0)
             if (highZ == mask)
                 return "Z";
@@ -176,6 +381,39 @@ public class ObservableValue extends Observable implements PinDescription {
         }
     }
 
+    private String getWideValueString() {
+        int last = wideValue.length - 1;
+        boolean allZ = true;
+        boolean anyZ = false;
+        for (int i = 0; i <= last; i++) {
+            long m = i == last ? topMask : -1;
+            allZ &= wideHighZ[i] == m;
+            anyZ |= wideHighZ[i] != 0;
+        }
+        if (allZ)
+            return "Z";
+        if (anyZ) {
+            StringBuilder sb = new StringBuilder();
+            for (int i = last; i >= 0; i--)
+                sb.append(zMaskString(wideValue[i], wideHighZ[i], i == last ? bits - last * 64 : 64));
+            return sb.toString();
+        }
+
+        int top = last;
+        while (top > 0 && wideValue[top] == 0)
+            top--;
+        if (top == 0)
+            return IntFormat.toShortHex(value);
+        StringBuilder sb = new StringBuilder("0x").append(Long.toHexString(wideValue[top]));
+        for (int i = top - 1; i >= 0; i--) {
+            String h = Long.toHexString(wideValue[i]);
+            for (int j = h.length(); j < 16; j++)
+                sb.append('0');
+            sb.append(h);
+        }
+        return sb.toString();
+    }
+
     static String zMaskString(long value, long highZ, int bits) {
         StringBuilder sb = new StringBuilder();
         long m = Bits.up(1, bits - 1);
@@ -270,7 +508,13 @@ public class ObservableValue extends Observable implements PinDescription {
      * @return true if one of the bits is in high z state
      */
     public boolean isHighZ() {
-        return highZ != 0;
+        if (highZ != 0)
+            return true;
+        if (wideValue != null)
+            for (long z : wideHighZ)
+                if (z != 0)
+                    return true;
+        return false;
     }
 
     @Override
@@ -0,0 +1,384 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import de.neemann.digital.core.switching.PlainSwitch;
+import de.neemann.digital.core.switching.PlainSwitchDT;
+import de.neemann.digital.core.wiring.Stop;
+import de.neemann.digital.core.wiring.bus.CommonBusValue;
+import de.neemann.digital.draw.elements.PinException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The schedule used by the partitioned execution engine.
+ * The nodes of the model are split into regions. In a micro step without noise all nodes
+ * read their inputs before any node writes its outputs. So the nodes of different regions
+ * can read their inputs in parallel, and after a barrier they can write their outputs in
+ * parallel, as long as no value is written by more than one region.
+ * <p>
+ * Writing a value calls its observers. Nodes only register themselves for the next micro step,
+ * which is done in a region local list. All other observers, like nodes without delay, modify
+ * further values. So all nodes which write the same value, directly or via such observers, are
+ * placed in the same region. Busses, switches and unknown observers are placed in the first
+ * region, which is always evaluated by the calling thread.
+ * <p>
+ * The regions are created by a greedy breadth first traversal of the node graph, so that
+ * connected nodes end up in the same region and only few signals cross region borders.
+ * Because a micro step without noise does not depend on the order of the nodes, the results
+ * are identical to the sequential engine.
+ */
+final class PartitionedSchedule {
+    /**
+     * The minimal number of nodes to update in a micro step to use more than one thread
+     */
+    static final int MIN_PARALLEL_NODES = 256;
+
+    private final ForkJoinPool pool;
+    private final Region[] regions;
+    private final int[] nodeRegion;
+    private final int[] mergeMark;
+    private final int cutSignals;
+    private final ThreadLocal<Region> actualRegion;
+    private int mergeCounter;
+
+    /**
+     * Creates a new schedule
+     *
+     * @param modelNodes the nodes of the model
+     * @param threads    the number of threads to use
+     * @throws PinException PinException
+     */
+    PartitionedSchedule(List<Node> modelNodes, int threads) throws PinException {
+        int n = modelNodes.size();
+        for (int i = 0; i < n; i++)
+            modelNodes.get(i).setPartitionIndex(i);
+
+        // the last element represents everything which needs to be evaluated by the first region
+        UnionFind uf = new UnionFind(n + 1);
+        int shared = n;
+        ArrayList<int[]> edges = new ArrayList<>();
+        IdentityHashMap<Object, Integer> writer = new IdentityHashMap<>();
+        for (int i = 0; i < n; i++) {
+            Node node = modelNodes.get(i);
+            if (node instanceof Stop)
+                uf.union(i, shared);
+            for (ObservableValue v : node.getOutputs())
+                new Writer(i, uf, shared, writer, edges).write(v);
+        }
+
+        // collect the units of nodes which have to be evaluated together
+        int[] unit = new int[n + 1];
+        Arrays.fill(unit, -1);
+        int units = 0;
+        int sharedRoot = uf.find(shared);
+        unit[sharedRoot] = units++;
+        for (int i = 0; i < n; i++) {
+            int r = uf.find(i);
+            if (unit[r] < 0)
+                unit[r] = units++;
+        }
+        int[] nodeUnit = new int[n];
+        int[] unitSize = new int[units];
+        for (int i = 0; i < n; i++) {
+            nodeUnit[i] = unit[uf.find(i)];
+            unitSize[nodeUnit[i]]++;
+        }
+
+        int[][] neighbours = createNeighbours(units, nodeUnit, edges);
+
+        // assign the units to the regions in breadth first order starting with the shared unit
+        int regionCount = Math.max(1, Math.min(threads, n));
+        int[] unitRegion = new int[units];
+        Arrays.fill(unitRegion, -1);
+        int[] queue = new int[units];
+        int head = 0;
+        int tail = 0;
+        int assigned = 0;
+        int region = 0;
+        for (int seed = 0; seed < units; seed++) {
+            if (unitRegion[seed] >= 0)
+                continue;
+            queue[tail++] = seed;
+            unitRegion[seed] = -2;
+            while (head < tail) {
+                int u = queue[head++];
+                if (region < regionCount - 1 && assigned >= (long) n * (region + 1) / regionCount)
+                    region++;
+                unitRegion[u] = region;
+                assigned += unitSize[u];
+                for (int v : neighbours[u])
+                    if (unitRegion[v] == -1) {
+                        unitRegion[v] = -2;
+                        queue[tail++] = v;
+                    }
+            }
+        }
+
+        nodeRegion = new int[n];
+        for (int i = 0; i < n; i++)
+            nodeRegion[i] = unitRegion[nodeUnit[i]];
+
+        int cut = 0;
+        for (int[] e : edges)
+            if (nodeRegion[e[0]] != nodeRegion[e[1]])
+                cut++;
+        cutSignals = cut;
+
+        regions = new Region[regionCount];
+        for (int r = 0; r < regionCount; r++)
+            regions[r] = new Region();
+        mergeMark = new int[n];
+        actualRegion = new ThreadLocal<>();
+        if (regionCount > 1)
+            pool = new ForkJoinPool(regionCount - 1);
+        else
+            pool = null;
+    }
+
+    private static int[][] createNeighbours(int units, int[] nodeUnit, ArrayList<int[]> edges) {
+        int[] count = new int[units];
+        for (int[] e : edges) {
+            int a = nodeUnit[e[0]];
+            int b = nodeUnit[e[1]];
+            if (a != b) {
+                count[a]++;
+                count[b]++;
+            }
+        }
+        int[][] neighbours = new int[units][];
+        for (int u = 0; u < units; u++)
+            neighbours[u] = new int[count[u]];
+        Arrays.fill(count, 0);
+        for (int[] e : edges) {
+            int a = nodeUnit[e[0]];
+            int b = nodeUnit[e[1]];
+            if (a != b) {
+                neighbours[a][count[a]++] = b;
+                neighbours[b][count[b]++] = a;
+            }
+        }
+        return neighbours;
+    }
+
+    /**
+     * @return the number of regions
+     */
+    int getRegions() {
+        return regions.length;
+    }
+
+    /**
+     * @return the number of node connections which cross a region border
+     */
+    int getCutSignals() {
+        return cutSignals;
+    }
+
+    /**
+     * Returns the region of the given node
+     *
+     * @param node the node
+     * @return the region
+     */
+    int getRegion(Node node) {
+        return nodeRegion[node.getPartitionIndex()];
+    }
+
+    /**
+     * Adds a node to the list of nodes to update in the next micro step.
+     * Called while the outputs are written, so the node is added to the list
+     * of the region which is evaluated by the calling thread.
+     *
+     * @param node the node
+     */
+    void addToUpdateList(Node node) {
+        actualRegion.get().next.add(node);
+    }
+
+    /**
+     * Performs a micro step without noise
+     *
+     * @param act  the nodes to update
+     * @param next the list to add the nodes to update in the next micro step to
+     * @throws NodeException NodeException
+     */
+    void update(ArrayList<Node> act, ArrayList<Node> next) throws NodeException {
+        for (Region r : regions)
+            r.act.clear();
+        for (Node n : act) {
+            int i = n.getPartitionIndex();
+            regions[i < 0 ? 0 : nodeRegion[i]].act.add(n);
+        }
+
+        runPhase(false);
+        runPhase(true);
+
+        mergeCounter++;
+        for (Region r : regions) {
+            for (Node n : r.next) {
+                int i = n.getPartitionIndex();
+                if (i < 0)
+                    next.add(n);
+                else if (mergeMark[i] != mergeCounter) {
+                    mergeMark[i] = mergeCounter;
+                    next.add(n);
+                }
+            }
+            r.next.clear();
+        }
+    }
+
+    private void runPhase(boolean write) throws NodeException {
+        for (int r = 1; r < regions.length; r++) {
+            Region region = regions[r];
+            region.write = write;
+            region.reinitialize();
+            if (!region.act.isEmpty())
+                pool.execute(region);
+        }
+
+        Region first = regions[0];
+        first.write = write;
+        first.compute();
+
+        for (int r = 1; r < regions.length; r++)
+            if (!regions[r].act.isEmpty())
+                regions[r].join();
+
+        for (Region r : regions)
+            if (r.exception != null) {
+                NodeException e = r.exception;
+                for (Region c : regions)
+                    c.exception = null;
+                throw e;
+            }
+    }
+
+    /**
+     * Stops the threads
+     */
+    void shutdown() {
+        if (pool != null)
+            pool.shutdown();
+    }
+
+    private final class Region extends RecursiveAction {
+        private final ArrayList<Node> act = new ArrayList<>();
+        private final ArrayList<Node> next = new ArrayList<>();
+        private boolean write;
+        private NodeException exception;
+
+        @Override
+        protected void compute() {
+            actualRegion.set(this);
+            try {
+                if (write) {
+                    for (Node n : act)
+                        n.writeOutputs();
+                } else {
+                    for (Node n : act)
+                        n.readInputs();
+                }
+            } catch (NodeException e) {
+                exception = e;
+            } finally {
+                actualRegion.set(null);
+            }
+        }
+    }
+
+    /**
+     * Follows a value written by a node through all observers which are not nodes.
+     * Such observers are evaluated by the thread which writes the value, so all
+     * nodes which reach the same observer have to be placed in the same region.
+     */
+    private static final class Writer {
+        private final int node;
+        private final UnionFind uf;
+        private final int shared;
+        private final IdentityHashMap<Object, Integer> writer;
+        private final ArrayList<int[]> edges;
+
+        private Writer(int node, UnionFind uf, int shared, IdentityHashMap<Object, Integer> writer, ArrayList<int[]> edges) {
+            this.node = node;
+            this.uf = uf;
+            this.shared = shared;
+            this.writer = writer;
+            this.edges = edges;
+        }
+
+        private void write(ObservableValue value) throws PinException {
+            if (!own(value))
+                return;
+
+            for (Observer o : value.getObservers()) {
+                if (o instanceof Node) {
+                    int i = ((Node) o).getPartitionIndex();
+                    if (i >= 0)
+                        edges.add(new int[]{node, i});
+                } else if (o instanceof CommonBusValue || o instanceof PlainSwitch || o instanceof PlainSwitchDT) {
+                    // busses share a common burn check and switches modify the nets at runtime
+                    uf.union(node, shared);
+                    if (o instanceof ObservableValue)
+                        write((ObservableValue) o);
+                } else if (o instanceof ObservableValue) {
+                    write((ObservableValue) o);
+                } else if (o instanceof NodeInterface) {
+                    if (own(o))
+                        for (ObservableValue v : ((NodeInterface) o).getOutputs())
+                            write(v);
+                } else
+                    uf.union(node, shared);
+            }
+        }
+
+        /**
+         * Marks the given object as written by this node.
+         *
+         * @return true if the object is reached for the first time
+         */
+        private boolean own(Object o) {
+            Integer w = writer.get(o);
+            if (w == null) {
+                writer.put(o, node);
+                return true;
+            }
+            uf.union(node, w);
+            return false;
+        }
+    }
+
+    private static final class UnionFind {
+        private final int[] parent;
+
+        private UnionFind(int n) {
+            parent = new int[n];
+            for (int i = 0; i < n; i++)
+                parent[i] = i;
+        }
+
+        private int find(int i) {
+            while (parent[i] != i) {
+                parent[i] = parent[parent[i]];
+                i = parent[i];
+            }
+            return i;
+        }
+
+        private void union(int a, int b) {
+            int ra = find(a);
+            int rb = find(b);
+            if (ra != rb)
+                parent[ra] = rb;
+        }
+    }
+}
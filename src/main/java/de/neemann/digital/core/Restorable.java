@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Implemented by nodes which are able to store their internal state in a {@link ModelSnapshot}.
+ * The values of the inputs and outputs are stored by the snapshot itself, so only the
+ * state which is kept between two steps needs to be stored, e.g. the last clock value
+ * or the contents of a memory.
+ */
+public interface Restorable {
+
+    /**
+     * Creates a copy of the internal state of this node.
+     * The returned object is only passed back to {@link #restoreState(Object)}.
+     *
+     * @return the state, maybe null if the node keeps no state between two steps
+     */
+    Object saveState();
+
+    /**
+     * Restores the state created by {@link #saveState()}.
+     * The state object may be restored many times, so it must not be modified.
+     *
+     * @param state the state
+     */
+    void restoreState(Object state);
+
+    /**
+     * Implemented by state objects which are not a primitive array or an Integer.
+     * Allows the state to be written to a checkpoint file.
+     *
+     * @see Model#saveCheckpoint(java.io.File, String, java.util.Map)
+     */
+    interface BinaryState {
+        /**
+         * Writes this state
+         *
+         * @param out the output to write to
+         * @throws IOException IOException
+         */
+        void write(DataOutput out) throws IOException;
+
+        /**
+         * Reads the state written by {@link #write(DataOutput)}.
+         * Is called on a state object created by the same node, so the sizes
+         * of the contained arrays have to match.
+         *
+         * @param in the buffer to read from
+         * @throws IOException if the data does not match this state
+         */
+        void read(ByteBuffer in) throws IOException;
+    }
+
+}
@@ -29,12 +29,15 @@ public class SpeedTest {
     }
 
     /**
-     * Calculates and returns the maximal frequency in Hz
+     * Calculates the maximal frequency in Hz.
+     * The frequency is measured using the event driven engine and using the compiled engine
+     * on the same model.
      *
-     * @return the maximal frequency in Hz
+     * @return the result containing the maximal frequencies
      * @throws NodeException NodeException
+     * @see Model#setCompiled(boolean)
      */
-    public double calculate() throws NodeException {
+    public Result calculate() throws NodeException {
         ArrayList<Clock> clocks = model.getClocks();
         if (clocks.isEmpty())
             throw new NodeException(Lang.get("err_noClockFound"));
@@ -45,6 +48,16 @@ public class SpeedTest {
         Clock clock = clocks.get(0);
         model.init();
         ObservableValue clockValue = clock.getOutputs().get(0);
+
+        model.setCompiled(false);
+        double frequency = measure(clockValue);
+        model.setCompiled(true);
+        double compiledFrequency = measure(clockValue);
+
+        return new Result(frequency, compiledFrequency);
+    }
+
+    private double measure(ObservableValue clockValue) {
         int state = (int) clockValue.getValue();
 
         long aktTime;
@@ -65,10 +78,38 @@ public class SpeedTest {
 
         double frequency = cycles / time;
 
-        System.out.println("cycles: " + cycles);
-        System.out.println("time  : " + time + "s");
-        System.out.println("freq  :" + frequency);
+        System.out.println("compiled: " + model.isCompiled());
+        System.out.println("cycles  : " + cycles);
+        System.out.println("time    : " + time + "s");
+        System.out.println("freq    : " + frequency);
 
         return frequency;
     }
+
+    /**
+     * The result of the speed test
+     */
+    public static final class Result {
+        private final double frequency;
+        private final double compiledFrequency;
+
+        private Result(double frequency, double compiledFrequency) {
+            this.frequency = frequency;
+            this.compiledFrequency = compiledFrequency;
+        }
+
+        /**
+         * @return the maximal frequency in Hz using the event driven engine
+         */
+        public double getFrequency() {
+            return frequency;
+        }
+
+        /**
+         * @return the maximal frequency in Hz using the compiled engine
+         */
+        public double getCompiledFrequency() {
+            return compiledFrequency;
+        }
+    }
 }
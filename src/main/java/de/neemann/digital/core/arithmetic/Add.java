@@ -28,7 +28,8 @@ public class Add extends Node implements Element, Countable {
             .addAttribute(Keys.ROTATE)
             .addAttribute(Keys.LABEL)
             .addAttribute(Keys.BITS)
-            .supportsHDL();
+            .supportsHDL()
+            .supportsWideValues();
 
     private final int bits;
     private final ObservableValue sum;
@@ -40,6 +41,9 @@ public class Add extends Node implements Element, Countable {
     private long aVal;
     private long bVal;
     private long cVal;
+    private final long[] aWords;
+    private final long[] bWords;
+    private final long[] sWords;
 
     /**
      * Create a new instance
@@ -53,6 +57,16 @@ public class Add extends Node implements Element, Countable {
         this.cOut = new ObservableValue("c_o", 1).setPinDescription(DESCRIPTION);
 
         calc = createCalculation(bits);
+        if (bits > 64) {
+            int words = Bits.words(bits);
+            aWords = new long[words];
+            bWords = new long[words];
+            sWords = new long[words];
+        } else {
+            aWords = null;
+            bWords = null;
+            sWords = null;
+        }
     }
 
     Calc createCalculation(int bits) {
@@ -72,6 +86,41 @@ public class Add extends Node implements Element, Countable {
         }
     }
 
+    /**
+     * Calculates the sum of wide values.
+     * The words are added from the lowest to the highest word.
+     *
+     * @param a  the words of the first summand
+     * @param b  the words of the second summand
+     * @param ci the carry input
+     * @param s  the words of the sum
+     * @return the carry output
+     */
+    boolean calcWords(long[] a, long[] b, long ci, long[] s) {
+        long carry = ci;
+        for (int i = 0; i < s.length; i++) {
+            long t = a[i] + b[i];
+            long r = t + carry;
+            carry = Long.compareUnsigned(t, a[i]) < 0 || Long.compareUnsigned(r, t) < 0 ? 1 : 0;
+            s[i] = r;
+        }
+        return carryOut(s[s.length - 1], carry);
+    }
+
+    /**
+     * Returns the carry of a wide calculation.
+     *
+     * @param top   the highest word of the result
+     * @param carry the carry out of the highest word
+     * @return the carry output
+     */
+    boolean carryOut(long top, long carry) {
+        int topBits = bits - (Bits.words(bits) - 1) * 64;
+        if (topBits == 64)
+            return carry != 0;
+        return (top & Bits.up(1, topBits)) != 0;
+    }
+
     private static final long LOWMASK = -1L >>> 1;
     private static final long CARRYMASK = 1L << 63;
 
@@ -82,16 +131,33 @@ public class Add extends Node implements Element, Countable {
         return (a & b) | ((a ^ b) & c);
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
-        aVal = a.getValue();
-        bVal = b.getValue();
+        if (aWords == null) {
+            aVal = a.getValue();
+            bVal = b.getValue();
+        } else
+            for (int w = 0; w < aWords.length; w++) {
+                aWords[w] = a.getWord(w);
+                bWords[w] = b.getWord(w);
+            }
         cVal = cIn.getValue();
     }
 
     @Override
     public void writeOutputs() throws NodeException {
-        calc.calc(aVal, bVal, cVal, sum, cOut);
+        if (aWords == null)
+            calc.calc(aVal, bVal, cVal, sum, cOut);
+        else {
+            boolean c = calcWords(aWords, bWords, cVal, sWords);
+            sum.set(sWords, null);
+            cOut.setBool(c);
+        }
     }
 
     @Override
@@ -61,6 +61,11 @@ public class BarrelShifter extends Node implements Element, Countable {
         this.out = new ObservableValue("out", bits).setPinDescription(DESCRIPTION);
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         long inVal = in.getValue();
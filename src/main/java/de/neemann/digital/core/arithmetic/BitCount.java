@@ -42,6 +42,11 @@ public class BitCount extends Node implements Element, Countable {
         output = new ObservableValue("out", outBits).setPinDescription(DESCRIPTION);
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         value = input.getValue();
@@ -58,6 +58,11 @@ public class Comparator extends Node implements Element, Countable {
         this.aklb = new ObservableValue("<", 1).setPinDescription(DESCRIPTION);
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         if (signed) {
@@ -56,6 +56,11 @@ public class Div extends Node implements Element, Countable {
         remainderPositive = attributes.get(Keys.REMAINDER_POSITIVE);
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         if (signed) {
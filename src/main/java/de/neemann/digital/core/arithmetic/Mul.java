@@ -52,6 +52,11 @@ public class Mul extends Node implements Element, Countable {
         this.mul = new ObservableValue("mul", outBits).setPinDescription(DESCRIPTION);
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         if (signed)
@@ -45,6 +45,11 @@ public class Neg extends Node implements Element, Countable {
         output = new ObservableValue("out", bits).setPinDescription(DESCRIPTION);
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         value = input.getValue();
@@ -24,7 +24,8 @@ public class Sub extends Add {
             .addAttribute(Keys.ROTATE)
             .addAttribute(Keys.LABEL)
             .addAttribute(Keys.BITS)
-            .supportsHDL();
+            .supportsHDL()
+            .supportsWideValues();
 
     /**
      * Creates a new instance
@@ -55,6 +56,18 @@ public class Sub extends Add {
         }
     }
 
+    @Override
+    boolean calcWords(long[] a, long[] b, long ci, long[] s) {
+        long borrow = ci;
+        for (int i = 0; i < s.length; i++) {
+            long t = a[i] - b[i];
+            long r = t - borrow;
+            borrow = Long.compareUnsigned(a[i], b[i]) < 0 || Long.compareUnsigned(t, borrow) < 0 ? 1 : 0;
+            s[i] = r;
+        }
+        return carryOut(s[s.length - 1], borrow);
+    }
+
     private static final long LOWMASK = -1L >>> 1;
     private static final long CARRYMASK = 1L << 63;
 
@@ -67,6 +67,11 @@ public abstract class FanIn extends Node implements Element, Countable {
         return output.asList();
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public int getDataBits() {
         return bits;
@@ -85,6 +90,7 @@ public abstract class FanIn extends Node implements Element, Countable {
             super(clazz);
             addAttributes();
             supportsHDL();
+            supportsWideValues();
         }
 
         private void addAttributes() {
@@ -5,6 +5,7 @@
  */
 package de.neemann.digital.core.basic;
 
+import de.neemann.digital.core.Bits;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
 
@@ -14,22 +15,42 @@ import java.util.ArrayList;
  */
 abstract class Function extends FanIn {
 
+    private final long[] words;
     private long value;
 
     Function(int bits) {
         super(bits);
+        if (bits > 64)
+            words = new long[Bits.words(bits)];
+        else
+            words = null;
     }
 
     @Override
     public void readInputs() throws NodeException {
-        value = calculate(getInputs());
+        if (words == null)
+            value = calculate(getInputs(), 0);
+        else
+            for (int w = 0; w < words.length; w++)
+                words[w] = calculate(getInputs(), w);
     }
 
     @Override
     public void writeOutputs() throws NodeException {
-        getOutput().setValue(value);
+        if (words == null)
+            getOutput().setValue(value);
+        else
+            getOutput().set(words, null);
     }
 
-    protected abstract long calculate(ArrayList<ObservableValue> inputs) throws NodeException;
+    /**
+     * Calculates a single word of the output
+     *
+     * @param inputs the inputs
+     * @param word   the word to calculate, is always zero if there are not more than 64 bits
+     * @return the value of the word
+     * @throws NodeException NodeException
+     */
+    protected abstract long calculate(ArrayList<ObservableValue> inputs, int word) throws NodeException;
 
 }
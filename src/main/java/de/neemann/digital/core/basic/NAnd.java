@@ -33,7 +33,7 @@ public class NAnd extends And {
     }
 
     @Override
-    protected long calculate(ArrayList<ObservableValue> inputs) throws NodeException {
-        return ~super.calculate(inputs);
+    protected long calculate(ArrayList<ObservableValue> inputs, int word) throws NodeException {
+        return ~super.calculate(inputs, word);
     }
 }
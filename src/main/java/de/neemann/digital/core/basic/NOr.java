@@ -33,7 +33,7 @@ public class NOr extends Or {
     }
 
     @Override
-    protected long calculate(ArrayList<ObservableValue> inputs) throws NodeException {
-        return ~super.calculate(inputs);
+    protected long calculate(ArrayList<ObservableValue> inputs, int word) throws NodeException {
+        return ~super.calculate(inputs, word);
     }
 }
@@ -5,6 +5,7 @@
  */
 package de.neemann.digital.core.basic;
 
+import de.neemann.digital.core.Bits;
 import de.neemann.digital.core.Node;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
@@ -29,10 +30,12 @@ public class Not extends Node implements Element, Countable {
             .addAttribute(Keys.ROTATE)
             .addAttribute(Keys.WIDE_SHAPE)
             .addAttribute(Keys.BITS)
-            .supportsHDL();
+            .supportsHDL()
+            .supportsWideValues();
 
     private final ObservableValue output;
     private final int bits;
+    private final long[] words;
     private ObservableValue input;
     private long value;
 
@@ -44,16 +47,32 @@ public class Not extends Node implements Element, Countable {
     public Not(ElementAttributes attributes) {
         bits = attributes.get(Keys.BITS);
         output = new ObservableValue("out", bits).setPinDescription(DESCRIPTION);
+        if (bits > 64)
+            words = new long[Bits.words(bits)];
+        else
+            words = null;
+    }
+
+    @Override
+    public boolean isCombinatorial() {
+        return true;
     }
 
     @Override
     public void readInputs() throws NodeException {
-        value = input.getValue();
+        if (words == null)
+            value = input.getValue();
+        else
+            for (int w = 0; w < words.length; w++)
+                words[w] = ~input.getWord(w);
     }
 
     @Override
     public void writeOutputs() throws NodeException {
-        output.setValue(~value);
+        if (words == null)
+            output.setValue(~value);
+        else
+            output.set(words, null);
     }
 
     @Override
@@ -73,6 +92,13 @@ public class Not extends Node implements Element, Countable {
         return output;
     }
 
+    /**
+     * @return the input
+     */
+    public ObservableValue getInput() {
+        return input;
+    }
+
     @Override
     public int getDataBits() {
         return bits;
@@ -33,10 +33,10 @@ public class Or extends Function {
     }
 
     @Override
-    protected long calculate(ArrayList<ObservableValue> inputs) throws NodeException {
+    protected long calculate(ArrayList<ObservableValue> inputs, int word) throws NodeException {
         long f = 0;
         for (ObservableValue i : inputs) {
-            f |= i.getValue();
+            f |= i.getWord(word);
         }
         return f;
     }
@@ -33,7 +33,7 @@ public class XNOr extends XOr {
     }
 
     @Override
-    protected long calculate(ArrayList<ObservableValue> inputs) throws NodeException {
-        return ~super.calculate(inputs);
+    protected long calculate(ArrayList<ObservableValue> inputs, int word) throws NodeException {
+        return ~super.calculate(inputs, word);
     }
 }
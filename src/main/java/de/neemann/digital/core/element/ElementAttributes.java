@@ -5,12 +5,17 @@
  */
 package de.neemann.digital.core.element;
 
+import com.thoughtworks.xstream.XStream;
 import de.neemann.digital.FileLocator;
 import de.neemann.digital.core.ValueFormatter;
+import de.neemann.digital.core.memory.DataField;
+import de.neemann.digital.draw.elements.Circuit;
 import de.neemann.digital.hdl.hgs.HGSMap;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -205,6 +210,36 @@ public class ElementAttributes implements HGSMap {
                 + '}';
     }
 
+    /**
+     * Creates a description of the attribute values which does not depend on the
+     * order in which the attributes are set.
+     * Strings, numbers, booleans and enums are described by their string representation.
+     * All other values are described by the XML form used to store them in a circuit file,
+     * so the description contains their complete content.
+     *
+     * @return the description
+     */
+    public String getContentDescription() {
+        if (attributes == null)
+            return "";
+        ArrayList<String> keys = new ArrayList<>(attributes.keySet());
+        Collections.sort(keys);
+        StringBuilder sb = new StringBuilder();
+        for (String k : keys) {
+            Object value = attributes.get(k);
+            sb.append(k).append('=');
+            if (value instanceof DataField)
+                sb.append(Arrays.toString(((DataField) value).getData()));
+            else if (value instanceof String || value instanceof Number
+                    || value instanceof Boolean || value instanceof Enum)
+                sb.append(value);
+            else
+                sb.append(XStreamHolder.XSTREAM.toXML(value));
+            sb.append(';');
+        }
+        return sb.toString();
+    }
+
     /**
      * @return true if map is empty
      */
@@ -372,4 +407,11 @@ public class ElementAttributes implements HGSMap {
         return cache.remove(key);
     }
 
+    /**
+     * The XStream instance used to describe the attribute values.
+     * Created lazily because it is only needed by the analysis cache and the checkpoints.
+     */
+    private static final class XStreamHolder {
+        private static final XStream XSTREAM = Circuit.getxStream();
+    }
 }
@@ -27,6 +27,7 @@ public class ElementTypeDescription {
     private final PinDescriptions inputPins;
     private final ArrayList<Key> attributeList;
     private boolean supportsHDL;
+    private boolean supportsWideValues;
 
     /**
      * Creates a new ElementTypeDescription
@@ -177,6 +178,24 @@ public class ElementTypeDescription {
         return supportsHDL;
     }
 
+    /**
+     * Used to flag this element as supporting values with more than 64 bits.
+     *
+     * @return this for chained calls
+     * @see Keys#BITS
+     */
+    public ElementTypeDescription supportsWideValues() {
+        supportsWideValues = true;
+        return this;
+    }
+
+    /**
+     * @return true if the element supports values with more than 64 bits
+     */
+    public boolean isSupportsWideValues() {
+        return supportsWideValues;
+    }
+
     /**
      * Returns the list of attributes which are used by this element.
      *
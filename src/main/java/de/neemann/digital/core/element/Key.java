@@ -404,6 +404,18 @@ public class Key<VALUE> {
             setComboBoxValues(1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 32);
             allowGroupEdit();
         }
+
+        /**
+         * Creates a new bits key
+         *
+         * @param key the key
+         * @param def the default value
+         * @param max the maximum number of bits
+         */
+        public KeyBits(String key, Integer def, int max) {
+            this(key, def);
+            setMax(max);
+        }
     }
 
     /**
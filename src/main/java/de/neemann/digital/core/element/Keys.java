@@ -6,6 +6,7 @@
 package de.neemann.digital.core.element;
 
 import de.neemann.digital.analyse.expression.format.FormatToExpression;
+import de.neemann.digital.core.Bits;
 import de.neemann.digital.core.IntFormat;
 import de.neemann.digital.core.arithmetic.BarrelShifterMode;
 import de.neemann.digital.core.arithmetic.LeftRightFormat;
@@ -85,10 +86,13 @@ public final class Keys {
     }
 
     /**
-     * number of bits in simple gates like And and Or
+     * number of bits in simple gates like And and Or.
+     * More than 64 bits are only allowed if the element supports wide values.
+     *
+     * @see ElementTypeDescription#supportsWideValues()
      */
     public static final Key.KeyBits BITS
-            = new Key.KeyBits("Bits", 1);
+            = new Key.KeyBits("Bits", 1, Bits.MAX_WIDE_BITS);
 
     /**
      * input bits of sign extender
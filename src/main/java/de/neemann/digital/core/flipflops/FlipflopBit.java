@@ -16,7 +16,7 @@ import static de.neemann.digital.core.ObservableValues.ovs;
 /**
  * Base class of all flip-flops storing a single bit
  */
-abstract class FlipflopBit extends Node implements Element {
+abstract class FlipflopBit extends Node implements Element, Restorable {
 
     private final boolean isProbe;
     private final String label;
@@ -89,6 +89,16 @@ abstract class FlipflopBit extends Node implements Element {
             }).setTestOutput());
     }
 
+    @Override
+    public Object saveState() {
+        return new boolean[]{out};
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        out = ((boolean[]) state)[0];
+    }
+
     void setOut(boolean out) {
         this.out = out;
     }
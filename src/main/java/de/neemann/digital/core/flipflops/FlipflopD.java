@@ -10,6 +10,7 @@ import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.core.stats.ClockedInputs;
 import de.neemann.digital.core.stats.Countable;
 
 import static de.neemann.digital.core.ObservableValues.ovs;
@@ -18,7 +19,7 @@ import static de.neemann.digital.core.element.PinInfo.input;
 /**
  * The D Flipflop
  */
-public class FlipflopD extends Node implements Element, Countable {
+public class FlipflopD extends Node implements Element, Countable, ClockedInputs, Restorable {
 
     /**
      * The D-FF description
@@ -107,6 +108,23 @@ public class FlipflopD extends Node implements Element, Countable {
         clockVal = inputs.get(1).addObserverToValue(this).checkBits(1, this, 1);
     }
 
+    @Override
+    public Object saveState() {
+        return new long[]{value, lastClock ? 1 : 0};
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        long[] s = (long[]) state;
+        value = s[0];
+        lastClock = s[1] != 0;
+    }
+
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(dVal);
+    }
+
     @Override
     public ObservableValues getOutputs() {
         return ovs(q, qn);
@@ -12,13 +12,15 @@ import de.neemann.digital.core.ObservableValues;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.core.stats.ClockedInputs;
 
+import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
  * The JK flip-flop
  */
-public class FlipflopJK extends FlipflopBit {
+public class FlipflopJK extends FlipflopBit implements ClockedInputs {
 
     /**
      * The JK-FF description
@@ -72,6 +74,18 @@ public class FlipflopJK extends FlipflopBit {
         lastClock = clock;
     }
 
+    @Override
+    public Object saveState() {
+        return new boolean[]{isOut(), lastClock};
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        boolean[] s = (boolean[]) state;
+        setOut(s[0]);
+        lastClock = s[1];
+    }
+
     @Override
     public void setInputs(ObservableValues inputs) throws BitsException {
         jVal = inputs.get(0).checkBits(1, this, 0);
@@ -79,6 +93,11 @@ public class FlipflopJK extends FlipflopBit {
         kVal = inputs.get(2).checkBits(1, this, 2);
     }
 
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(jVal, kVal);
+    }
+
     /**
      * @return the j value
      */
@@ -12,13 +12,15 @@ import de.neemann.digital.core.ObservableValues;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.core.stats.ClockedInputs;
 
+import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
  * The RS flip-flop
  */
-public class FlipflopRS extends FlipflopBit {
+public class FlipflopRS extends FlipflopBit implements ClockedInputs {
 
     /**
      * The RS-FF description
@@ -69,6 +71,18 @@ public class FlipflopRS extends FlipflopBit {
         lastClock = clock;
     }
 
+    @Override
+    public Object saveState() {
+        return new boolean[]{isOut(), lastClock};
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        boolean[] s = (boolean[]) state;
+        setOut(s[0]);
+        lastClock = s[1];
+    }
+
     @Override
     public void setInputs(ObservableValues inputs) throws BitsException {
         sVal = inputs.get(0).checkBits(1, this, 0);
@@ -76,4 +90,9 @@ public class FlipflopRS extends FlipflopBit {
         rVal = inputs.get(2).checkBits(1, this, 2);
     }
 
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(sVal, rVal);
+    }
+
 }
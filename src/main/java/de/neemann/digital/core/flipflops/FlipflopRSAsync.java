@@ -89,6 +89,19 @@ public class FlipflopRSAsync extends FlipflopBit {
         qnVal.setBool(qn);
     }
 
+    @Override
+    public Object saveState() {
+        return new boolean[]{isOut(), q, qn};
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        boolean[] s = (boolean[]) state;
+        setOut(s[0]);
+        q = s[1];
+        qn = s[2];
+    }
+
     @Override
     public void setInputs(ObservableValues inputs) throws BitsException {
         sVal = inputs.get(0).addObserverToValue(this).checkBits(1, this, 0);
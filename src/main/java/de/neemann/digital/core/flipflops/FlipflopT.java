@@ -13,13 +13,15 @@ import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
 import de.neemann.digital.core.element.PinDescriptions;
+import de.neemann.digital.core.stats.ClockedInputs;
 
+import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
  * The T flip-flop
  */
-public class FlipflopT extends FlipflopBit {
+public class FlipflopT extends FlipflopBit implements ClockedInputs {
 
     /**
      * The T-FF description
@@ -72,6 +74,18 @@ public class FlipflopT extends FlipflopBit {
         lastClock = clock;
     }
 
+    @Override
+    public Object saveState() {
+        return new boolean[]{isOut(), lastClock};
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        boolean[] s = (boolean[]) state;
+        setOut(s[0]);
+        lastClock = s[1];
+    }
+
     @Override
     public void setInputs(ObservableValues inputs) throws BitsException {
         if (isEnable) {
@@ -81,6 +95,13 @@ public class FlipflopT extends FlipflopBit {
             clockVal = inputs.get(0).addObserverToValue(this).checkBits(1, this, 0);
     }
 
+    @Override
+    public ObservableValues getClockedInputs() {
+        if (enable == null)
+            return ObservableValues.EMPTY_LIST;
+        return ovs(enable);
+    }
+
     /**
      * @return the clock value
      */
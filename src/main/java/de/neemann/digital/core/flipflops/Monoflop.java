@@ -70,6 +70,19 @@ public class Monoflop extends FlipflopBit {
         lastClock = clockVal;
     }
 
+    @Override
+    public Object saveState() {
+        return new long[]{isOut() ? 1 : 0, lastClock ? 1 : 0, counter};
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        long[] s = (long[]) state;
+        setOut(s[0] != 0);
+        lastClock = s[1] != 0;
+        counter = (int) s[2];
+    }
+
     @Override
     public void setInputs(ObservableValues inputs) throws NodeException {
         clock = inputs.get(0).checkBits(1, this).addObserverToValue(this);
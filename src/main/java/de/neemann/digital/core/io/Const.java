@@ -28,7 +28,8 @@ public class Const implements Element {
             .addAttribute(Keys.BITS)
             .addAttribute(Keys.VALUE)
             .addAttribute(Keys.INT_FORMAT)
-            .supportsHDL();
+            .supportsHDL()
+            .supportsWideValues();
 
     private final ObservableValue output;
 
@@ -42,7 +42,8 @@ public class In implements Element {
             .addAttribute(Keys.PINNUMBER)
             .addAttribute(Keys.ADD_VALUE_TO_GRAPH)
             .addAttribute(Keys.IN_OUT_SMALL)
-            .supportsHDL();
+            .supportsHDL()
+            .supportsWideValues();
 
     private final ObservableValue output;
     private final String label;
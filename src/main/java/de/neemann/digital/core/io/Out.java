@@ -39,7 +39,8 @@ public class Out implements Element {
             .addAttribute(Keys.PINNUMBER)
             .addAttribute(Keys.ADD_VALUE_TO_GRAPH)
             .addAttribute(Keys.IN_OUT_SMALL)
-            .supportsHDL();
+            .supportsHDL()
+            .supportsWideValues();
 
     /**
      * The LED description
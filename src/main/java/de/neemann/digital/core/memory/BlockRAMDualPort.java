@@ -9,17 +9,20 @@ import de.neemann.digital.core.Node;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.ObservableValues;
+import de.neemann.digital.core.Restorable;
 import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.core.stats.ClockedInputs;
 
+import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
  * A synchronized read memory which can be synthesised by using block ram.
  */
-public class BlockRAMDualPort extends Node implements Element, RAMInterface {
+public class BlockRAMDualPort extends Node implements Element, RAMInterface, ClockedInputs, Restorable {
 
     /**
      * The RAMs {@link ElementTypeDescription}
@@ -75,6 +78,11 @@ public class BlockRAMDualPort extends Node implements Element, RAMInterface {
         clkIn = inputs.get(3).checkBits(1, this).addObserverToValue(this);
     }
 
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(addrIn, dataIn, str);
+    }
+
     @Override
     public void readInputs() throws NodeException {
         boolean clk = clkIn.getBool();
@@ -92,6 +100,19 @@ public class BlockRAMDualPort extends Node implements Element, RAMInterface {
         output.setValue(outputVal);
     }
 
+    @Override
+    public Object saveState() {
+        return new MemoryState(memory, lastClk ? 1 : 0, outputVal);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        MemoryState s = (MemoryState) state;
+        s.restoreTo(memory);
+        lastClk = s.getBool(0);
+        outputVal = s.get(1);
+    }
+
     @Override
     public ObservableValues getOutputs() {
         return output.asList();
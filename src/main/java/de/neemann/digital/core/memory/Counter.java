@@ -7,6 +7,7 @@ package de.neemann.digital.core.memory;
 
 import de.neemann.digital.core.*;
 import de.neemann.digital.core.element.*;
+import de.neemann.digital.core.stats.ClockedInputs;
 
 import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
@@ -14,7 +15,7 @@ import static de.neemann.digital.core.element.PinInfo.input;
 /**
  * A simple counter.
  */
-public class Counter extends Node implements Element, ProgramCounter {
+public class Counter extends Node implements Element, ProgramCounter, ClockedInputs, Restorable {
 
     /**
      * The counters {@link ElementTypeDescription}
@@ -91,6 +92,24 @@ public class Counter extends Node implements Element, ProgramCounter {
         clrIn = inputs.get(2).checkBits(1, this, 2);
     }
 
+    @Override
+    public Object saveState() {
+        return new long[]{lastClock ? 1 : 0, counter, ovfOut ? 1 : 0};
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        long[] s = (long[]) state;
+        lastClock = s[0] != 0;
+        counter = s[1];
+        ovfOut = s[2] != 0;
+    }
+
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(clrIn);
+    }
+
     @Override
     public ObservableValues getOutputs() {
         return ovs(out, ovf);
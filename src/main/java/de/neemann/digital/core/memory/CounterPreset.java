@@ -10,6 +10,7 @@ import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.core.stats.ClockedInputs;
 
 import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
@@ -17,7 +18,7 @@ import static de.neemann.digital.core.element.PinInfo.input;
 /**
  * A simple counter.
  */
-public class CounterPreset extends Node implements Element, ProgramCounter {
+public class CounterPreset extends Node implements Element, ProgramCounter, ClockedInputs, Restorable {
 
     /**
      * The counters {@link ElementTypeDescription}
@@ -131,6 +132,24 @@ public class CounterPreset extends Node implements Element, ProgramCounter {
         clrIn = inputs.get(5).checkBits(1, this, 5);
     }
 
+    @Override
+    public Object saveState() {
+        return new long[]{lastClock ? 1 : 0, counter, ovfOut ? 1 : 0};
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        long[] s = (long[]) state;
+        lastClock = s[0] != 0;
+        counter = s[1];
+        ovfOut = s[2] != 0;
+    }
+
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(in, ld, clrIn);
+    }
+
     @Override
     public ObservableValues getOutputs() {
         return ovs(out, ovf);
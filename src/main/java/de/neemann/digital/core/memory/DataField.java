@@ -259,6 +259,21 @@ public class DataField implements HGSArray {
         fireChanged(-1);
     }
 
+    /**
+     * Restores the data from the given data field.
+     * Other than {@link #setDataFrom(DataField)} the data is copied in place if
+     * both fields are of the same size.
+     *
+     * @param dataField the data to restore
+     */
+    void restoreFrom(DataField dataField) {
+        if (data.length == dataField.data.length) {
+            System.arraycopy(dataField.data, 0, data, 0, data.length);
+            fireChanged(-1);
+        } else
+            setDataFrom(dataField);
+    }
+
     @Override
     public int hgsArraySize() {
         return data.length;
@@ -15,13 +15,15 @@ import de.neemann.digital.core.ValueFormatter;
 import de.neemann.digital.draw.elements.VisualElement;
 import de.neemann.digital.gui.components.CircuitModifier;
 import de.neemann.digital.gui.components.modification.ModifyAttribute;
+import de.neemann.digital.core.stats.ClockedInputs;
 
+import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
  * A EEPROM module.
  */
-public class EEPROM extends Node implements Element, RAMInterface, ROMInterface {
+public class EEPROM extends Node implements Element, RAMInterface, ROMInterface, ClockedInputs, Restorable {
 
     /**
      * The EEPROMs {@link ElementTypeDescription}
@@ -104,6 +106,11 @@ public class EEPROM extends Node implements Element, RAMInterface, ROMInterface
         dataIn = inputs.get(4).checkBits(bits, this);
     }
 
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(dataIn);
+    }
+
     @Override
     public void readInputs() throws NodeException {
         cs = csIn.getBool();
@@ -133,6 +140,19 @@ public class EEPROM extends Node implements Element, RAMInterface, ROMInterface
         }
     }
 
+    @Override
+    public Object saveState() {
+        return new MemoryState(memory, lastWrite ? 1 : 0, writeAddr);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        MemoryState s = (MemoryState) state;
+        s.restoreTo(memory);
+        lastWrite = s.getBool(0);
+        writeAddr = (int) s.get(1);
+    }
+
     @Override
     public ValueFormatter getValueFormatter() {
         return formatter;
@@ -67,6 +67,11 @@ public class LookUpTable extends Node implements Element {
         return output.asList();
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         addr = 0;
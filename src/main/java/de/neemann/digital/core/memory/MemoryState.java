@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core.memory;
+
+import de.neemann.digital.core.Restorable;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * The state of a memory stored in a {@link de.neemann.digital.core.ModelSnapshot}.
+ * Holds a copy of the memory contents and some additional values like the last clock state.
+ */
+final class MemoryState implements Restorable.BinaryState {
+    private final DataField data;
+    private final long[] values;
+
+    /**
+     * Creates a new instance
+     *
+     * @param memory the memory to copy
+     * @param values the additional values
+     */
+    MemoryState(DataField memory, long... values) {
+        this.data = new DataField(memory);
+        this.values = values;
+    }
+
+    /**
+     * Restores the memory contents
+     *
+     * @param memory the memory to write the contents to
+     */
+    void restoreTo(DataField memory) {
+        memory.restoreFrom(data);
+    }
+
+    /**
+     * Returns a stored value
+     *
+     * @param i the index of the value
+     * @return the value
+     */
+    long get(int i) {
+        return values[i];
+    }
+
+    /**
+     * Returns a stored boolean value
+     *
+     * @param i the index of the value
+     * @return the value
+     */
+    boolean getBool(int i) {
+        return values[i] != 0;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        long[] d = data.getData();
+        out.writeInt(d.length);
+        for (long v : d)
+            out.writeLong(v);
+        out.writeInt(values.length);
+        for (long v : values)
+            out.writeLong(v);
+    }
+
+    @Override
+    public void read(ByteBuffer in) throws IOException {
+        long[] d = data.getData();
+        if (in.getInt() != d.length)
+            throw new IOException("memory size does not match");
+        in.asLongBuffer().get(d);
+        in.position(in.position() + d.length * Long.BYTES);
+        if (in.getInt() != values.length)
+            throw new IOException("memory state does not match");
+        for (int i = 0; i < values.length; i++)
+            values[i] = in.getLong();
+    }
+}
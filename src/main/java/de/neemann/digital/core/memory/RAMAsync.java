@@ -9,6 +9,7 @@ import de.neemann.digital.core.Node;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.ObservableValues;
+import de.neemann.digital.core.Restorable;
 import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
@@ -19,7 +20,7 @@ import static de.neemann.digital.core.element.PinInfo.input;
 /**
  * A asynchronous memory
  */
-public class RAMAsync extends Node implements Element, RAMInterface {
+public class RAMAsync extends Node implements Element, RAMInterface, Restorable {
 
     /**
      * The RAMs {@link ElementTypeDescription}
@@ -85,6 +86,16 @@ public class RAMAsync extends Node implements Element, RAMInterface {
         output.setValue(outputVal);
     }
 
+    @Override
+    public Object saveState() {
+        return new MemoryState(memory);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        ((MemoryState) state).restoreTo(memory);
+    }
+
     @Override
     public ObservableValues getOutputs() {
         return output.asList();
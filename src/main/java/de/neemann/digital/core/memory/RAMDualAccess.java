@@ -10,14 +10,16 @@ import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.core.stats.ClockedInputs;
 
+import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
  * RAM module with different ports to read and write the data
  * and an additional read port. Used to implement graphic card memory.
  */
-public class RAMDualAccess extends Node implements Element, RAMInterface {
+public class RAMDualAccess extends Node implements Element, RAMInterface, ClockedInputs, Restorable {
 
     /**
      * The RAMs {@link ElementTypeDescription}
@@ -85,6 +87,11 @@ public class RAMDualAccess extends Node implements Element, RAMInterface {
         this.addr2In = inputs.get(5).checkBits(addrBits, this).addObserverToValue(this);
     }
 
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(str1In, data1In);
+    }
+
     @Override
     public ObservableValues getOutputs() {
         return new ObservableValues(out1, out2);
@@ -123,6 +130,18 @@ public class RAMDualAccess extends Node implements Element, RAMInterface {
         out2.setValue(memory.getDataWord(addr2));
     }
 
+    @Override
+    public Object saveState() {
+        return new MemoryState(memory, lastClk ? 1 : 0);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        MemoryState s = (MemoryState) state;
+        s.restoreTo(memory);
+        lastClk = s.getBool(0);
+    }
+
     @Override
     public DataField getMemory() {
         return memory;
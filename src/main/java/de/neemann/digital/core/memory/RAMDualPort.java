@@ -11,13 +11,15 @@ import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
 import de.neemann.digital.core.ValueFormatter;
+import de.neemann.digital.core.stats.ClockedInputs;
 
+import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
  * RAM module with different ports to read and write the data.
  */
-public class RAMDualPort extends Node implements Element, RAMInterface {
+public class RAMDualPort extends Node implements Element, RAMInterface, ClockedInputs, Restorable {
 
     /**
      * The RAMs {@link ElementTypeDescription}
@@ -90,6 +92,11 @@ public class RAMDualPort extends Node implements Element, RAMInterface {
         setLdIn(inputs.get(4));
     }
 
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(dataIn, strIn);
+    }
+
     /**
      * creates the data field to use
      *
@@ -186,6 +193,18 @@ public class RAMDualPort extends Node implements Element, RAMInterface {
         }
     }
 
+    @Override
+    public Object saveState() {
+        return new MemoryState(memory, lastClk ? 1 : 0);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        MemoryState s = (MemoryState) state;
+        s.restoreTo(memory);
+        lastClk = s.getBool(0);
+    }
+
     @Override
     public ValueFormatter getValueFormatter() {
         return formatter;
@@ -9,6 +9,7 @@ import de.neemann.digital.core.Node;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.ObservableValues;
+import de.neemann.digital.core.Restorable;
 import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
@@ -20,7 +21,7 @@ import static de.neemann.digital.core.element.PinInfo.input;
  * RAM module with a single port to read and write data and a select input.
  * This allows to build a bigger RAM with smaller RAMS and an additional address decoder.
  */
-public class RAMSinglePortSel extends Node implements Element, RAMInterface {
+public class RAMSinglePortSel extends Node implements Element, RAMInterface, Restorable {
 
     /**
      * The RAMs {@link ElementTypeDescription}
@@ -106,6 +107,16 @@ public class RAMSinglePortSel extends Node implements Element, RAMInterface {
         }
     }
 
+    @Override
+    public Object saveState() {
+        return new MemoryState(memory);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        ((MemoryState) state).restoreTo(memory);
+    }
+
     @Override
     public ObservableValues getOutputs() {
         return dataOut.asList();
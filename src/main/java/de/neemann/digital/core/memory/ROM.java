@@ -23,7 +23,7 @@ import static de.neemann.digital.core.element.PinInfo.input;
 /**
  * A ROM module.
  */
-public class ROM extends Node implements Element, ROMInterface, ProgramMemory {
+public class ROM extends Node implements Element, ROMInterface, ProgramMemory, Restorable {
 
     /**
      * The ROMs {@link ElementTypeDescription}
@@ -108,6 +108,16 @@ public class ROM extends Node implements Element, ROMInterface, ProgramMemory {
             output.setToHighZ();
     }
 
+    @Override
+    public Object saveState() {
+        // the contents of the rom are not modified by the simulation
+        return null;
+    }
+
+    @Override
+    public void restoreState(Object state) {
+    }
+
     long getDataWord(int addr) {
         return data.getDataWord(addr);
     }
@@ -10,14 +10,18 @@ import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.core.stats.ClockedInputs;
 import de.neemann.digital.core.stats.Countable;
 
+import java.util.Arrays;
+
+import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
  * A simple register.
  */
-public class Register extends Node implements Element, Countable, ProgramCounter {
+public class Register extends Node implements Element, Countable, ProgramCounter, ClockedInputs, Restorable {
 
     /**
      * The registers {@link ElementTypeDescription}
@@ -30,13 +34,16 @@ public class Register extends Node implements Element, Countable, ProgramCounter
             .addAttribute(Keys.INVERTER_CONFIG)
             .addAttribute(Keys.IS_PROGRAM_COUNTER)
             .addAttribute(Keys.VALUE_IS_PROBE)
-            .supportsHDL();
+            .supportsHDL()
+            .supportsWideValues();
 
     private final int bits;
     private final boolean isProbe;
     private final String label;
     private final boolean isProgramCounter;
     private final ObservableValue q;
+    // the stored words of a wide value, null if there are not more than 64 bits
+    private final long[] words;
     private ObservableValue dVal;
     private ObservableValue clockVal;
     private ObservableValue enableVal;
@@ -56,20 +63,34 @@ public class Register extends Node implements Element, Countable, ProgramCounter
         isProbe = attributes.get(Keys.VALUE_IS_PROBE);
         label = attributes.get(Keys.LABEL);
         isProgramCounter = attributes.get(Keys.IS_PROGRAM_COUNTER);
+        if (bits > 64)
+            words = new long[Bits.words(bits)];
+        else
+            words = null;
     }
 
     @Override
     public void readInputs() throws NodeException {
         enable = enableVal.getBool();
         boolean clock = clockVal.getBool();
-        if (clock && !lastClock && enable)
-            value = dVal.getValue();
+        if (clock && !lastClock && enable) {
+            if (words == null)
+                value = dVal.getValue();
+            else {
+                for (int w = 0; w < words.length; w++)
+                    words[w] = dVal.getWord(w);
+                value = words[0];
+            }
+        }
         lastClock = clock;
     }
 
     @Override
     public void writeOutputs() throws NodeException {
-        q.setValue(value);
+        if (words == null)
+            q.setValue(value);
+        else
+            q.set(words, null);
     }
 
     @Override
@@ -79,6 +100,31 @@ public class Register extends Node implements Element, Countable, ProgramCounter
         enableVal = inputs.get(2).checkBits(1, this);
     }
 
+    @Override
+    public Object saveState() {
+        int w = words == null ? 0 : words.length;
+        long[] s = new long[w + 2];
+        s[0] = lastClock ? 1 : 0;
+        s[1] = value;
+        if (words != null)
+            System.arraycopy(words, 0, s, 2, w);
+        return s;
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        long[] s = (long[]) state;
+        lastClock = s[0] != 0;
+        value = s[1];
+        if (words != null)
+            System.arraycopy(s, 2, words, 0, words.length);
+    }
+
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(dVal, enableVal);
+    }
+
     @Override
     public ObservableValues getOutputs() {
         return q.asList();
@@ -108,6 +154,7 @@ public class Register extends Node implements Element, Countable, ProgramCounter
 
     /**
      * Returns the stored value.
+     * If the register stores more than 64 bits, the lowest 64 bits are returned.
      * Used to improve custom testing capabilities.
      *
      * @return the stared value
@@ -124,6 +171,10 @@ public class Register extends Node implements Element, Countable, ProgramCounter
      */
     public void setValue(long v) {
         value = v;
+        if (words != null) {
+            Arrays.fill(words, 0);
+            words[0] = v;
+        }
         q.setValue(value);
     }
 
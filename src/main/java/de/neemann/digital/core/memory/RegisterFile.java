@@ -9,17 +9,20 @@ import de.neemann.digital.core.Node;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.ObservableValues;
+import de.neemann.digital.core.Restorable;
 import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.core.stats.ClockedInputs;
 
+import static de.neemann.digital.core.ObservableValues.ovs;
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
  * A register file with two output a one input port.
  */
-public class RegisterFile extends Node implements Element, RAMInterface {
+public class RegisterFile extends Node implements Element, RAMInterface, ClockedInputs, Restorable {
 
     /**
      * The RAMs {@link ElementTypeDescription}
@@ -80,6 +83,11 @@ public class RegisterFile extends Node implements Element, RAMInterface {
         this.reg2In = inputs.get(5).checkBits(addrBits, this).addObserverToValue(this);
     }
 
+    @Override
+    public ObservableValues getClockedInputs() {
+        return ovs(data1In, weIn, regWIn);
+    }
+
     @Override
     public ObservableValues getOutputs() {
         return new ObservableValues(out1, out2);
@@ -107,6 +115,18 @@ public class RegisterFile extends Node implements Element, RAMInterface {
         out2.setValue(memory.getDataWord(reg2));
     }
 
+    @Override
+    public Object saveState() {
+        return new MemoryState(memory, lastClk ? 1 : 0);
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        MemoryState s = (MemoryState) state;
+        s.restoreTo(memory);
+        lastClk = s.getBool(0);
+    }
+
     @Override
     public DataField getMemory() {
         return memory;
@@ -13,8 +13,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * New rom manager which is able to deal with data stored in a file
@@ -79,6 +81,11 @@ public class ROMManagerFile extends ROMMangerBase {
         roms.put(label, romContainer);
     }
 
+    @Override
+    public String toString() {
+        return "ROMManagerFile" + new TreeMap<>(roms);
+    }
+
     /**
      * Interface to access the rom data
      */
@@ -114,6 +121,11 @@ public class ROMManagerFile extends ROMMangerBase {
         public DataField getDataField(int dataBits, File origin) {
             return dataField;
         }
+
+        @Override
+        public String toString() {
+            return Arrays.toString(dataField.getData());
+        }
     }
 
     /**
@@ -153,5 +165,10 @@ public class ROMManagerFile extends ROMMangerBase {
         public boolean isBigEndian() {
             return bigEndian;
         }
+
+        @Override
+        public String toString() {
+            return romFile + (bigEndian ? ",bigEndian" : "");
+        }
     }
 }
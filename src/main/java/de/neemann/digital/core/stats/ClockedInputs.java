@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core.stats;
+
+import de.neemann.digital.core.ObservableValues;
+
+/**
+ * Used by the {@link TimingAnalysis} class.
+ * Implemented by the nodes which read some of their inputs only at a clock edge.
+ * The node does not observe these inputs, so they can not be found by following the observers.
+ */
+public interface ClockedInputs {
+
+    /**
+     * @return the inputs which are read at the clock edge
+     */
+    ObservableValues getClockedInputs();
+
+}
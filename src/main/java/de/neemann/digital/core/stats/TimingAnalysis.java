@@ -0,0 +1,475 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core.stats;
+
+import de.neemann.digital.core.*;
+import de.neemann.digital.core.Observer;
+import de.neemann.digital.draw.elements.PinException;
+import de.neemann.digital.lang.Lang;
+
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableModel;
+import java.util.*;
+
+/**
+ * Static timing analysis of a circuit.
+ * Every node has a delay which depends on its type. A {@link NodeWithoutDelay} and the
+ * nets which connect several outputs have no delay at all.
+ * The paths start at the inputs of the circuit or at the outputs of a node which has a state,
+ * and they end at the outputs of the circuit or at an input of a node which has a state.
+ * The inputs which are only read at a clock edge are given by {@link ClockedInputs}.
+ * For every end point the path with the largest delay is determined. These paths are sorted
+ * by their delay, so the first path is the critical path of the circuit.
+ * <p>
+ * The values are visited in topological order. If the circuit contains a combinatorial loop,
+ * the loop is broken at the edge which closes it, and the number of broken loops is reported.
+ */
+public class TimingAnalysis {
+    /**
+     * The default delay of a node
+     */
+    public static final int DEFAULT_DELAY = 1;
+
+    private final Map<String, Integer> delays;
+    private final HashMap<ObservableValue, Integer> index;
+    private final ArrayList<ObservableValue> values;
+    private final ArrayList<String> signalNames;
+    private final HashMap<Integer, String> startNames;
+    private final ArrayList<EndPoint> endPoints;
+    private final ArrayList<Path> paths;
+    private int brokenLoops;
+
+    private int[] edgeStart;
+    private int[] edgeTarget;
+    private int[] edgeDelay;
+    private NodeInterface[] edgeNode;
+
+    /**
+     * Creates a new instance using the default delay for all nodes
+     *
+     * @param model the model to analyse
+     * @throws PinException PinException
+     */
+    public TimingAnalysis(Model model) throws PinException {
+        this(model, Collections.emptyMap());
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param model  the model to analyse
+     * @param delays the delays of the nodes, the key is the simple class name of the node.
+     *               The nodes which are not contained in this map have the delay {@link #DEFAULT_DELAY}.
+     * @throws PinException PinException
+     */
+    public TimingAnalysis(Model model, Map<String, Integer> delays) throws PinException {
+        this.delays = delays;
+        index = new HashMap<>();
+        values = new ArrayList<>();
+        signalNames = new ArrayList<>();
+        startNames = new HashMap<>();
+        endPoints = new ArrayList<>();
+
+        HashMap<ObservableValue, String> names = new HashMap<>();
+        for (Signal s : model.getSignals())
+            names.put(s.getValue(), s.getName());
+        for (Signal s : model.getOutputs())
+            names.put(s.getValue(), s.getName());
+        for (Signal s : model.getInputs())
+            names.put(s.getValue(), s.getName());
+
+        for (Signal s : model.getInputs())
+            startNames.put(add(s.getValue(), names), s.getName());
+        for (Node n : model)
+            if (n.hasState())
+                for (ObservableValue v : n.getOutputs())
+                    startNames.putIfAbsent(add(v, names), getName(n));
+
+        createGraph(names);
+
+        for (Node n : model)
+            if (n instanceof ClockedInputs)
+                for (ObservableValue in : ((ClockedInputs) n).getClockedInputs()) {
+                    Integer v = index.get(in);
+                    if (v != null)
+                        endPoints.add(new EndPoint(v, getName(n)));
+                }
+
+        for (Signal s : model.getOutputs()) {
+            Integer v = index.get(s.getValue());
+            if (v != null)
+                endPoints.add(new EndPoint(v, s.getName()));
+        }
+
+        paths = calcPaths(topologicalOrder());
+    }
+
+    private int add(ObservableValue value, HashMap<ObservableValue, String> names) {
+        Integer i = index.get(value);
+        if (i == null) {
+            i = values.size();
+            index.put(value, i);
+            values.add(value);
+            signalNames.add(names.getOrDefault(value, value.getName()));
+        }
+        return i;
+    }
+
+    /**
+     * Visits every value reachable from a start point once and stores the edges in adjacency arrays.
+     * The inputs of nodes with a state become end points.
+     */
+    private void createGraph(HashMap<ObservableValue, String> names) throws PinException {
+        int[] start = new int[16];
+        int[] targets = new int[16];
+        int[] del = new int[16];
+        NodeInterface[] nodes = new NodeInterface[16];
+        int edges = 0;
+        for (int v = 0; v < values.size(); v++) {
+            if (v + 1 >= start.length)
+                start = Arrays.copyOf(start, start.length * 2);
+            start[v] = edges;
+            for (Observer o : values.get(v).getObservers()) {
+                if (o instanceof Node && ((Node) o).hasState())
+                    endPoints.add(new EndPoint(v, getName((Node) o)));
+                else if (o instanceof NodeInterface) {
+                    int d = getDelay((NodeInterface) o);
+                    for (ObservableValue co : ((NodeInterface) o).getOutputs()) {
+                        if (edges == targets.length) {
+                            targets = Arrays.copyOf(targets, edges * 2);
+                            del = Arrays.copyOf(del, edges * 2);
+                            nodes = Arrays.copyOf(nodes, edges * 2);
+                        }
+                        targets[edges] = add(co, names);
+                        del[edges] = d;
+                        nodes[edges] = (NodeInterface) o;
+                        edges++;
+                    }
+                }
+            }
+        }
+        start[values.size()] = edges;
+        edgeStart = Arrays.copyOf(start, values.size() + 1);
+        edgeTarget = Arrays.copyOf(targets, edges);
+        edgeDelay = Arrays.copyOf(del, edges);
+        edgeNode = Arrays.copyOf(nodes, edges);
+    }
+
+    private int getDelay(NodeInterface node) {
+        if (!(node instanceof Node))
+            return 0;
+        return delays.getOrDefault(getName(node), DEFAULT_DELAY);
+    }
+
+    /**
+     * Depth first search which returns the values in reverse post order.
+     * Edges which lead back to a value on the stack close a loop and are disabled.
+     */
+    private int[] topologicalOrder() {
+        int size = values.size();
+        byte[] state = new byte[size];
+        int[] edgePos = new int[size];
+        int[] stack = new int[size];
+        int[] order = new int[size];
+        int n = size;
+        for (int root = 0; root < size; root++) {
+            if (state[root] != 0)
+                continue;
+            int sp = 0;
+            stack[sp++] = root;
+            state[root] = 1;
+            edgePos[root] = edgeStart[root];
+            while (sp > 0) {
+                int v = stack[sp - 1];
+                if (edgePos[v] < edgeStart[v + 1]) {
+                    int e = edgePos[v]++;
+                    int t = edgeTarget[e];
+                    if (state[t] == 0) {
+                        state[t] = 1;
+                        edgePos[t] = edgeStart[t];
+                        stack[sp++] = t;
+                    } else if (state[t] == 1) {
+                        edgeTarget[e] = -1;
+                        brokenLoops++;
+                    }
+                } else {
+                    state[v] = 2;
+                    order[--n] = v;
+                    sp--;
+                }
+            }
+        }
+        return order;
+    }
+
+    private ArrayList<Path> calcPaths(int[] order) {
+        int size = values.size();
+        int[] arrival = new int[size];
+        int[] pred = new int[size];
+        int[] source = new int[edgeTarget.length];
+        Arrays.fill(arrival, -1);
+        Arrays.fill(pred, -1);
+        for (int v : startNames.keySet())
+            arrival[v] = 0;
+
+        for (int v : order) {
+            if (arrival[v] < 0)
+                continue;
+            for (int e = edgeStart[v]; e < edgeStart[v + 1]; e++) {
+                int t = edgeTarget[e];
+                if (t >= 0) {
+                    source[e] = v;
+                    int a = arrival[v] + edgeDelay[e];
+                    if (a > arrival[t]) {
+                        arrival[t] = a;
+                        pred[t] = e;
+                    }
+                }
+            }
+        }
+
+        ArrayList<Path> list = new ArrayList<>();
+        for (EndPoint ep : endPoints) {
+            if (arrival[ep.value] < 0)
+                continue;
+            ArrayList<Hop> hops = new ArrayList<>();
+            int v = ep.value;
+            while (pred[v] >= 0) {
+                int e = pred[v];
+                hops.add(new Hop(getName(edgeNode[e]), signalNames.get(v), arrival[v]));
+                v = source[e];
+            }
+            hops.add(new Hop(startNames.get(v), signalNames.get(v), 0));
+            Collections.reverse(hops);
+            list.add(new Path(hops, ep.name, arrival[ep.value]));
+        }
+        list.sort((a, b) -> b.delay - a.delay);
+        return list;
+    }
+
+    private static String getName(NodeInterface node) {
+        Class<?> c = node.getClass();
+        while (c.isAnonymousClass())
+            c = c.getSuperclass();
+        return c.getSimpleName();
+    }
+
+    /**
+     * @return the paths ordered by their delay, the critical path comes first
+     */
+    public List<Path> getPaths() {
+        return Collections.unmodifiableList(paths);
+    }
+
+    /**
+     * @return the delay of the critical path, zero if there is no path at all
+     */
+    public int getCriticalDelay() {
+        if (paths.isEmpty())
+            return 0;
+        return paths.get(0).getDelay();
+    }
+
+    /**
+     * @return the number of combinatorial loops which are broken to allow the analysis
+     */
+    public int getBrokenLoops() {
+        return brokenLoops;
+    }
+
+    /**
+     * Creates the table model needed to represent the results.
+     * Every hop of a path is shown in a row.
+     *
+     * @param maxPaths the number of paths to show
+     * @param period   the clock period used to calculate the slack, zero if no slack is to be calculated
+     * @return the table model
+     */
+    public TableModel getTableModel(int maxPaths, int period) {
+        return new MyTableModel(paths.subList(0, Math.min(maxPaths, paths.size())), period);
+    }
+
+    private static final class EndPoint {
+        private final int value;
+        private final String name;
+
+        private EndPoint(int value, String name) {
+            this.value = value;
+            this.name = name;
+        }
+    }
+
+    /**
+     * A path from a start point to an end point
+     */
+    public static final class Path {
+        private final List<Hop> hops;
+        private final String end;
+        private final int delay;
+
+        private Path(List<Hop> hops, String end, int delay) {
+            this.hops = hops;
+            this.end = end;
+            this.delay = delay;
+        }
+
+        /**
+         * Returns the hops of this path.
+         * The first hop is the start point, which is followed by a hop for every node.
+         *
+         * @return the hops
+         */
+        public List<Hop> getHops() {
+            return Collections.unmodifiableList(hops);
+        }
+
+        /**
+         * @return the name of the start point
+         */
+        public String getStart() {
+            return hops.get(0).getComponent();
+        }
+
+        /**
+         * @return the name of the end point
+         */
+        public String getEnd() {
+            return end;
+        }
+
+        /**
+         * @return the delay of this path
+         */
+        public int getDelay() {
+            return delay;
+        }
+
+        /**
+         * Returns the slack of this path
+         *
+         * @param period the clock period
+         * @return the slack, negative if the path is too slow
+         */
+        public int getSlack(int period) {
+            return period - delay;
+        }
+    }
+
+    /**
+     * A single hop of a path
+     */
+    public static final class Hop {
+        private final String component;
+        private final String signal;
+        private final int delay;
+
+        private Hop(String component, String signal, int delay) {
+            this.component = component;
+            this.signal = signal;
+            this.delay = delay;
+        }
+
+        /**
+         * @return the component which creates the signal
+         */
+        public String getComponent() {
+            return component;
+        }
+
+        /**
+         * @return the signal reached by this hop
+         */
+        public String getSignal() {
+            return signal;
+        }
+
+        /**
+         * @return the cumulative delay from the start point up to this hop
+         */
+        public int getDelay() {
+            return delay;
+        }
+    }
+
+    private static final class Row {
+        private final int path;
+        private final String component;
+        private final String signal;
+        private final int delay;
+        private final Integer slack;
+
+        private Row(int path, String component, String signal, int delay, Integer slack) {
+            this.path = path;
+            this.component = component;
+            this.signal = signal;
+            this.delay = delay;
+            this.slack = slack;
+        }
+    }
+
+    private static final class MyTableModel extends AbstractTableModel {
+        private final ArrayList<Row> rows;
+
+        private MyTableModel(List<Path> paths, int period) {
+            rows = new ArrayList<>();
+            for (int p = 0; p < paths.size(); p++) {
+                Path path = paths.get(p);
+                for (Hop h : path.hops)
+                    rows.add(new Row(p + 1, h.component, h.signal, h.delay, null));
+                rows.add(new Row(p + 1, path.end, "", path.delay, period > 0 ? path.getSlack(period) : null));
+            }
+        }
+
+        @Override
+        public int getRowCount() {
+            return rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return 5;
+        }
+
+        @Override
+        public String getColumnName(int i) {
+            switch (i) {
+                case 0:
+                    return Lang.get("stat_path");
+                case 1:
+                    return Lang.get("stat_part");
+                case 2:
+                    return Lang.get("stat_signal");
+                case 3:
+                    return Lang.get("stat_delay");
+                default:
+                    return Lang.get("stat_slack");
+            }
+        }
+
+        @Override
+        public Class<?> getColumnClass(int i) {
+            if (i == 1 || i == 2) return String.class;
+            else return Integer.class;
+        }
+
+        @Override
+        public Object getValueAt(int row, int col) {
+            Row r = rows.get(row);
+            switch (col) {
+                case 0:
+                    return r.path;
+                case 1:
+                    return r.component;
+                case 2:
+                    return r.signal;
+                case 3:
+                    return r.delay;
+                default:
+                    return r.slack;
+            }
+        }
+    }
+}
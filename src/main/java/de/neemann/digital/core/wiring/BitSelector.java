@@ -51,6 +51,11 @@ public class BitSelector extends Node implements Element {
         output = new ObservableValue("out", 1).setPinDescription(DESCRIPTION);
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         value = input.getValue();
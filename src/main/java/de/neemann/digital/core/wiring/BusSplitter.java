@@ -5,6 +5,7 @@
  */
 package de.neemann.digital.core.wiring;
 
+import de.neemann.digital.core.Bits;
 import de.neemann.digital.core.Node;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
@@ -13,6 +14,8 @@ import de.neemann.digital.core.element.*;
 import de.neemann.digital.draw.elements.PinException;
 import de.neemann.digital.lang.Lang;
 
+import java.util.Arrays;
+
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
@@ -28,7 +31,8 @@ public class BusSplitter extends Node implements Element {
                     .addAttribute(Keys.ROTATE)
                     .addAttribute(Keys.MIRROR)
                     .addAttribute(Keys.BITS)
-                    .addAttribute(Keys.SPLITTER_SPREADING);
+                    .addAttribute(Keys.SPLITTER_SPREADING)
+                    .supportsWideValues();
 
     private final int bits;
     private final ObservableValue commonOut;
@@ -37,8 +41,8 @@ public class BusSplitter extends Node implements Element {
     private ObservableValue oeValue;
     private ObservableValue commonIn;
     private boolean oe;
-    private long commonD;
-    private long commonZ;
+    private final long[] commonD;
+    private final long[] commonZ;
     private ObservableValues outputValues;
 
     /**
@@ -64,6 +68,8 @@ public class BusSplitter extends Node implements Element {
         }
         outputValues = builder.build();
         in = new ObservableValue[bits];
+        commonD = new long[Bits.words(bits)];
+        commonZ = new long[commonD.length];
     }
 
     @Override
@@ -78,18 +84,16 @@ public class BusSplitter extends Node implements Element {
     public void readInputs() throws NodeException {
         oe = oeValue.getBool();
         if (oe) {
-            commonD = commonIn.getValue();
-            commonZ = commonIn.getHighZ();
+            commonIn.getWords(commonD, commonZ);
         } else {
-            commonD = 0;
-            commonZ = 0;
-            long mask = 1;
+            Arrays.fill(commonD, 0);
+            Arrays.fill(commonZ, 0);
             for (int i = 0; i < bits; i++) {
+                long mask = 1L << i;
                 if (in[i].getBool())
-                    commonD |= mask;
+                    commonD[i >>> 6] |= mask;
                 if (in[i].isHighZ())
-                    commonZ |= mask;
-                mask <<= 1;
+                    commonZ[i >>> 6] |= mask;
             }
         }
     }
@@ -98,13 +102,12 @@ public class BusSplitter extends Node implements Element {
     public void writeOutputs() throws NodeException {
         if (oe) {
             commonOut.setToHighZ();
-            long mask = 1;
             for (int i = 0; i < bits; i++) {
-                if ((commonZ & mask) != 0)
+                long mask = 1L << i;
+                if ((commonZ[i >>> 6] & mask) != 0)
                     out[i].setToHighZ();
                 else
-                    out[i].setBool((commonD & mask) != 0);
-                mask <<= 1;
+                    out[i].setBool((commonD[i >>> 6] & mask) != 0);
             }
         } else {
             for (int i = 0; i < bits; i++)
@@ -9,6 +9,7 @@ import de.neemann.digital.core.Node;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.ObservableValues;
+import de.neemann.digital.core.Restorable;
 import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
@@ -24,7 +25,7 @@ import static de.neemann.digital.core.element.PinInfo.input;
 /**
  * The decoder
  */
-public class Decoder extends Node implements Element, Countable {
+public class Decoder extends Node implements Element, Countable, Restorable {
 
     private final int selectorBits;
     private final ObservableValues output;
@@ -62,6 +63,11 @@ public class Decoder extends Node implements Element, Countable {
         return output;
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         selectorValue = (int) selector.getValue();
@@ -74,6 +80,16 @@ public class Decoder extends Node implements Element, Countable {
         oldSelectorValue = selectorValue;
     }
 
+    @Override
+    public Object saveState() {
+        return oldSelectorValue;
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        oldSelectorValue = (Integer) state;
+    }
+
     @Override
     public void setInputs(ObservableValues inputs) throws NodeException {
         selector = inputs.get(0).addObserverToValue(this).checkBits(selectorBits, this);
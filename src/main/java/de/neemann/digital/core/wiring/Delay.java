@@ -9,11 +9,14 @@ import de.neemann.digital.core.Node;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.ObservableValues;
+import de.neemann.digital.core.Restorable;
 import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
 
+import java.util.Arrays;
+
 import static de.neemann.digital.core.element.PinInfo.input;
 
 /**
@@ -21,7 +24,7 @@ import static de.neemann.digital.core.element.PinInfo.input;
  * Allows to delay a signal propagation by a certain amount of time.
  * This time is given in units of gate delays.
  */
-public class Delay extends Node implements Element {
+public class Delay extends Node implements Element, Restorable {
 
     /**
      * The Delay description
@@ -79,6 +82,20 @@ public class Delay extends Node implements Element {
         }
     }
 
+    @Override
+    public Object saveState() {
+        long[] s = Arrays.copyOf(value, delayTime + 1);
+        s[delayTime] = pos;
+        return s;
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        long[] s = (long[]) state;
+        System.arraycopy(s, 0, value, 0, delayTime);
+        pos = (int) s[delayTime];
+    }
+
     @Override
     public void setInputs(ObservableValues inputs) throws NodeException {
         input = inputs.get(0).addObserverToValue(this).checkBits(bits, this);
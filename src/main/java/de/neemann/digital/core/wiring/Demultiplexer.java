@@ -9,6 +9,7 @@ import de.neemann.digital.core.Node;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.ObservableValues;
+import de.neemann.digital.core.Restorable;
 import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
@@ -24,7 +25,7 @@ import static de.neemann.digital.core.element.PinInfo.input;
 /**
  * The Demultiplexer
  */
-public class Demultiplexer extends Node implements Element, Countable {
+public class Demultiplexer extends Node implements Element, Countable, Restorable {
 
     private final int selectorBits;
     private final Integer bits;
@@ -70,6 +71,11 @@ public class Demultiplexer extends Node implements Element, Countable {
         return output;
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         selectorValue = (int) selector.getValue();
@@ -83,6 +89,16 @@ public class Demultiplexer extends Node implements Element, Countable {
         oldSelectorValue = selectorValue;
     }
 
+    @Override
+    public Object saveState() {
+        return oldSelectorValue;
+    }
+
+    @Override
+    public void restoreState(Object state) {
+        oldSelectorValue = (Integer) state;
+    }
+
     @Override
     public void setInputs(ObservableValues inputs) throws NodeException {
         selector = inputs.get(0).addObserverToValue(this).checkBits(selectorBits, this);
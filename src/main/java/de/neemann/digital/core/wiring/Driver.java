@@ -55,6 +55,11 @@ public class Driver extends Node implements Element, Countable {
         invertOut = attributes.get(Keys.INVERT_DRIVER_OUTPUT);
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         value = input.getValue();
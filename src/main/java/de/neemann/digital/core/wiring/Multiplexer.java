@@ -5,6 +5,7 @@
  */
 package de.neemann.digital.core.wiring;
 
+import de.neemann.digital.core.Bits;
 import de.neemann.digital.core.BitsException;
 import de.neemann.digital.core.NodeException;
 import de.neemann.digital.core.ObservableValue;
@@ -21,6 +22,7 @@ import static de.neemann.digital.core.element.PinInfo.input;
 public class Multiplexer extends FanIn {
 
     private final int selectorBits;
+    private final long[] words;
     private ObservableValue selector;
     private long value;
 
@@ -42,7 +44,8 @@ public class Multiplexer extends FanIn {
             .addAttribute(Keys.BITS)
             .addAttribute(Keys.SELECTOR_BITS)
             .addAttribute(Keys.FLIP_SEL_POSITON)
-            .supportsHDL();
+            .supportsHDL()
+            .supportsWideValues();
 
     /**
      * Creates a new instance
@@ -53,17 +56,31 @@ public class Multiplexer extends FanIn {
         super(attributes.get(Keys.BITS));
         this.selectorBits = attributes.get(Keys.SELECTOR_BITS);
         getOutput().setDescription(Lang.get("elem_Multiplexer_output"));
+        int bits = attributes.get(Keys.BITS);
+        if (bits > 64)
+            words = new long[Bits.words(bits)];
+        else
+            words = null;
     }
 
     @Override
     public void readInputs() throws NodeException {
         int n = (int) selector.getValue();
-        value = getInputs().get(n).getValue();
+        if (words == null)
+            value = getInputs().get(n).getValue();
+        else {
+            ObservableValue in = getInputs().get(n);
+            for (int w = 0; w < words.length; w++)
+                words[w] = in.getWord(w);
+        }
     }
 
     @Override
     public void writeOutputs() throws NodeException {
-        getOutput().setValue(value);
+        if (words == null)
+            getOutput().setValue(value);
+        else
+            getOutput().set(words, null);
     }
 
     @Override
@@ -76,6 +93,13 @@ public class Multiplexer extends FanIn {
             throw new BitsException(Lang.get("err_selectorInputCountMismatch"), this, -1, selector);
     }
 
+    /**
+     * @return the selector input
+     */
+    public ObservableValue getSelector() {
+        return selector;
+    }
+
     @Override
     public int getAddrBits() {
         return selectorBits;
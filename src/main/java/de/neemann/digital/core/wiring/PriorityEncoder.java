@@ -59,6 +59,11 @@ public class PriorityEncoder extends Node implements Element, Countable {
         anyOut = new ObservableValue("any", 1).setPinDescription(DESCRIPTION);
     }
 
+    @Override
+    public boolean isCombinatorial() {
+        return true;
+    }
+
     @Override
     public void readInputs() throws NodeException {
         sel = 0;
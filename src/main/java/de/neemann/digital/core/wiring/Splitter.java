@@ -10,6 +10,7 @@ import de.neemann.digital.core.element.*;
 import de.neemann.digital.lang.Lang;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Iterator;
 import java.util.StringTokenizer;
 
@@ -59,6 +60,7 @@ public class Splitter implements Element {
             .addAttribute(Keys.OUTPUT_SPLIT)
             .addAttribute(Keys.SPLITTER_SPREADING)
             .setShortName("")
+            .supportsWideValues()
             .supportsHDL();
 
     private final ObservableValues outputs;
@@ -117,42 +119,23 @@ public class Splitter implements Element {
     }
 
     private void fillOutput(Port out) throws NodeException {
+        final ObservableValue outValue = outputs.get(out.number);
         for (Port in : inPorts) {
             if (in.getPos() + in.getBits() <= out.getPos() || out.getPos() + out.getBits() <= in.getPos())
                 continue; // this input is not needed to fill the output!!!
 
+            final ObservableValue inValue = inputs.get(in.number);
+
             // out is filled completely by the actual single input value!
             if (out.getPos() >= in.getPos()
                     && out.getPos() + out.getBits() <= in.getPos() + in.getBits()) {
-
-                final int bitPos = out.getPos() - in.getPos();
-                final ObservableValue inValue = inputs.get(in.number);
-                final ObservableValue outValue = outputs.get(out.number);
-                inValue.addObserverToValue(new NodeWithoutDelay(outValue) {
-                    @Override
-                    public void hasChanged() {
-                        outValue.set(inValue.getValue() >>> bitPos, inValue.getHighZ() >>> bitPos);
-                    }
-                });
+                inValue.addObserverToValue(new BitCopy(inValue, out.getPos() - in.getPos(), outValue, 0, out.getBits(), false));
                 break; // done!! out is completely filled!
             }
 
             // complete in value needs to be copied to a part of the output
             if (out.getPos() <= in.getPos() && in.getPos() + in.getBits() <= out.getPos() + out.getBits()) {
-                final int bitPos = in.getPos() - out.getPos();
-                final long mask = ~Bits.up(Bits.mask(in.bits), bitPos);
-                final ObservableValue inValue = inputs.get(in.number);
-                final ObservableValue outValue = outputs.get(out.number);
-                inputs.get(in.number).addObserverToValue(new NodeWithoutDelay(outValue) {
-                    @Override
-                    public void hasChanged() {
-                        long in1 = inValue.getValue();
-                        long out1 = outValue.getValue();
-                        long inz1 = inValue.getHighZ();
-                        long outz1 = outValue.getHighZ();
-                        outValue.set((out1 & mask) | (in1 << bitPos), (outz1 & mask) | (inz1 << bitPos));
-                    }
-                });
+                inValue.addObserverToValue(new BitCopy(inValue, 0, outValue, in.getPos() - out.getPos(), in.getBits(), false));
                 continue; // done with this input, its completely copied to the output!
             }
 
@@ -161,40 +144,13 @@ public class Splitter implements Element {
             // upper part of input needs to be copied to the lower part of the output
             if (in.getPos() < out.getPos()) {
                 final int bitsToCopy = in.getPos() + in.getBits() - out.getPos();
-                final long mask = ~Bits.mask(bitsToCopy);
-                final int shift = out.getPos() - in.getPos();
-                final ObservableValue inValue = inputs.get(in.number);
-                final ObservableValue outValue = outputs.get(out.number);
-                inputs.get(in.number).addObserverToValue(new NodeWithoutDelay(outValue) {
-                    @Override
-                    public void hasChanged() {
-                        long in12 = inValue.getValue();
-                        long out12 = outValue.getValue();
-                        long inz12 = inValue.getHighZ();
-                        long outz12 = outValue.getHighZ();
-                        outValue.set((out12 & mask) | (in12 >>> shift), (outz12 & mask) | (inz12 >>> shift));
-                    }
-                });
+                inValue.addObserverToValue(new BitCopy(inValue, out.getPos() - in.getPos(), outValue, 0, bitsToCopy, false));
                 continue;
             }
 
             // lower part of input needs to be copied to the upper part of the output
             final int bitsToCopy = out.getPos() + out.getBits() - in.getPos();
-            final int shift = in.getPos() - out.getPos();
-            final long mask = ~Bits.up(Bits.mask(bitsToCopy), shift);
-            final ObservableValue inValue = inputs.get(in.number);
-            final ObservableValue outValue = outputs.get(out.number);
-            inputs.get(in.number).addObserverToValue(new NodeWithoutDelay(outValue) {
-                @Override
-                public void hasChanged() {
-                    long in13 = inValue.getValue();
-                    long out13 = outValue.getValue();
-                    long inz13 = inValue.getHighZ();
-                    long outz13 = outValue.getHighZ();
-                    outValue.set((out13 & mask) | (in13 << shift), (outz13 & mask) | (inz13 << shift));
-                }
-            });
-
+            inValue.addObserverToValue(new BitCopy(inValue, 0, outValue, in.getPos() - out.getPos(), bitsToCopy, false));
         }
     }
 
@@ -264,21 +220,20 @@ public class Splitter implements Element {
             if (ports.isEmpty())
                 add(new Port(bits, 1));
 
-            if (bits > 64)
+            if (bits > Bits.MAX_WIDE_BITS)
                 throw new BitsException(Lang.get("err_spitterToManyBits", definition));
         }
 
         void checkInputConsistency() throws BitsException {
-            long fullMask = Bits.mask(bits);
+            BitSet defined = new BitSet(bits);
             for (Port p : ports) {
-                long mask = Bits.up(Bits.mask(p.bits), p.pos);
-
-                if ((fullMask & mask) != mask)
+                int next = defined.nextSetBit(p.pos);
+                if (next >= 0 && next < p.pos + p.bits)
                     throw new BitsException(Lang.get("err_splitterNotUnambiguously"));
 
-                fullMask = fullMask & (~mask);
+                defined.set(p.pos, p.pos + p.bits);
             }
-            if (fullMask != 0)
+            if (defined.cardinality() != bits)
                 throw new BitsException(Lang.get("err_splitterNotAllBitsDefined"));
         }
 
@@ -63,6 +63,8 @@ public class DataBus {
                 if (bits != b)
                     throw new PinException(Lang.get("err_notAllOutputsSameBits"), net);
             }
+            if (b > 64)
+                throw new PinException(Lang.get("err_busWithMoreThan64Bits"), net);
 //            if (!o.supportsHighZ())
 //                throw new PinException(Lang.get("err_notAllOutputsSupportHighZ"), net);
 
@@ -101,27 +101,14 @@ public class DataPlotter implements Drawable {
 
     @Override
     public void drawTo(Graphic g, Style highLight) {
-        ValueTable data;
         final boolean staticData = modelSync == SyncAccess.NOSYNC;
-        if (staticData) {
-            data = dataOriginal;
-        } else {
-            data = modelSync.read(new Runnable() {
-                private ValueTable data;
-
-                @Override
-                public void run() {
-                    data = new ValueTable(dataOriginal);
-                }
-            }).data;
-        }
-
         final int availDataWidth = width - textWidth;
-        final int preferredDataWidth = (int) (size * data.getRows());
 
-        autoScaleOffset = preferredDataWidth - availDataWidth + 2;
-        if (!manualScaling && width > 0 && !staticData && autoScaleOffset > 0)
-            xOffset = autoScaleOffset;
+        // only the visible rows are copied
+        VisibleRows visible = modelSync.read(new VisibleRows(staticData, availDataWidth));
+        final ValueTable data = visible.data;
+        final int preferredDataWidth = visible.preferredDataWidth;
+        final int dataAreaWidth = visible.dataAreaWidth;
 
         int signals = data.getColumns();
         if (horizontalScrollBar != null)
@@ -135,11 +122,6 @@ public class DataPlotter implements Drawable {
         if (verticalScrollBar != null)
             verticalScrollBar.setValues(yOffset, height, 0, signals * (SIZE + SEP) + BORDER * 2);
 
-        int dataAreaWidth = availDataWidth;
-        // if no width is given, plot all the data
-        if (width == 0)
-            dataAreaWidth = preferredDataWidth - xOffset;
-
         int yTextOffs = SIZE / 2;
         int y = BORDER - yOffset;
         int textPos = textWidth;
@@ -158,7 +140,7 @@ public class DataPlotter implements Drawable {
         for (int i = 0; i < signals; i++) last[i] = new LastState();
 
         boolean first = true;
-        double pos = 0;
+        double pos = visible.firstRow * size;
         for (TestRow s : data) {
             int x1 = (int) (pos + textWidth - xOffset);
             int x2 = (int) (pos + textWidth - xOffset + size);
@@ -237,6 +219,43 @@ public class DataPlotter implements Drawable {
         g.drawLine(new Vector(textWidth + dataAreaWidth, BORDER - SEP2 - yOffset), new Vector(textWidth + dataAreaWidth, (SIZE + SEP) * signals + BORDER - SEP2 - yOffset), Style.DASH);
     }
 
+    /**
+     * Determines and copies the visible rows.
+     * Also performs the auto scrolling, because it depends on the number of rows.
+     */
+    private final class VisibleRows implements Runnable {
+        private final boolean staticData;
+        private final int availDataWidth;
+        private ValueTable data;
+        private int preferredDataWidth;
+        private int dataAreaWidth;
+        private int firstRow;
+
+        private VisibleRows(boolean staticData, int availDataWidth) {
+            this.staticData = staticData;
+            this.availDataWidth = availDataWidth;
+        }
+
+        @Override
+        public void run() {
+            int rows = dataOriginal.getRows();
+            preferredDataWidth = (int) (size * rows);
+
+            autoScaleOffset = preferredDataWidth - availDataWidth + 2;
+            if (!manualScaling && width > 0 && !staticData && autoScaleOffset > 0)
+                xOffset = autoScaleOffset;
+
+            dataAreaWidth = availDataWidth;
+            // if no width is given, plot all the data
+            if (width == 0)
+                dataAreaWidth = preferredDataWidth - xOffset;
+
+            firstRow = Math.max(0, Math.min(rows, (int) (xOffset / size) - 1));
+            int lastRow = Math.max(firstRow, Math.min(rows, (int) ((xOffset + dataAreaWidth) / size) + 2));
+            data = dataOriginal.copyRows(firstRow, lastRow);
+        }
+    }
+
     /**
      * @return the preferred height of the graphical representation
      */
@@ -8,6 +8,7 @@ package de.neemann.digital.data;
 import de.neemann.digital.StringList;
 import de.neemann.digital.core.IntFormat;
 import de.neemann.digital.core.Observable;
+import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.ValueFormatter;
 import de.neemann.digital.testing.parser.TestRow;
 
@@ -18,12 +19,16 @@ import java.util.Arrays;
 import java.util.Iterator;
 
 /**
- * Stores values in a table
+ * Stores values in a table.
+ * The table either stores rows created by {@link #add(TestRow)}, or samples of signal
+ * values added by {@link #addSample(ObservableValue[])}. Samples are stored column wise
+ * and only the value changes are stored, so long recordings use only little memory.
  */
 public class ValueTable extends Observable implements Iterable<TestRow> {
 
     private final String[] names;
     private final ArrayList<TestRow> values;
+    private WaveformStore samples;
     private ArrayList<Integer> tableRowIndex;
     private final long[] max;
     private int maxSize = 0;
@@ -56,13 +61,39 @@ public class ValueTable extends Observable implements Iterable<TestRow> {
     public ValueTable(ValueTable toCopy) {
         this.names = toCopy.names;
         values = (ArrayList<TestRow>) toCopy.values.clone();
+        if (toCopy.samples != null)
+            samples = new WaveformStore(toCopy.samples, 0, toCopy.samples.getRows());
         max = toCopy.max.clone();
     }
 
+    private ValueTable(ValueTable toCopy, int from, int to) {
+        this.names = toCopy.names;
+        if (toCopy.samples != null) {
+            values = new ArrayList<>();
+            samples = new WaveformStore(toCopy.samples, from, to);
+        } else
+            values = new ArrayList<>(toCopy.values.subList(from, to));
+        max = toCopy.max.clone();
+    }
+
+    /**
+     * Creates a copy of some rows of this table.
+     * The max values of the copy are the max values of this table.
+     *
+     * @param from the first row to copy
+     * @param to   the row after the last row to copy
+     * @return the copy
+     */
+    public ValueTable copyRows(int from, int to) {
+        return new ValueTable(this, from, to);
+    }
+
     /**
      * @return number of rows
      */
     public int getRows() {
+        if (samples != null)
+            return samples.getRows();
         return values.size();
     }
 
@@ -71,7 +102,7 @@ public class ValueTable extends Observable implements Iterable<TestRow> {
      */
     public int getTableRows() {
         if (tableRowIndex == null)
-            return values.size();
+            return getRows();
         else
             return tableRowIndex.size();
     }
@@ -83,6 +114,9 @@ public class ValueTable extends Observable implements Iterable<TestRow> {
      * @return this for chained calls
      */
     public ValueTable add(TestRow row) {
+        if (samples != null)
+            throw new RuntimeException("rows can not be added to a table containing samples");
+
         if (maxSize > 0 && values.size() >= maxSize) {
 
             if (tableRowIndex != null)
@@ -102,12 +136,41 @@ public class ValueTable extends Observable implements Iterable<TestRow> {
         return this;
     }
 
+    /**
+     * Adds a sample of the given values.
+     * The values are stored column wise and only changes are stored.
+     * Once the internal buffers have grown large enough, no objects are created.
+     *
+     * @param sample the values to store, one value per column
+     * @return this for chained calls
+     */
+    public ValueTable addSample(ObservableValue[] sample) {
+        if (samples == null) {
+            if (!values.isEmpty() || tableRowIndex != null)
+                throw new RuntimeException("samples can not be added to a table containing rows");
+            samples = new WaveformStore(names.length, maxSize);
+        }
+        samples.add(sample);
+
+        for (int i = 0; i < sample.length; i++) {
+            ObservableValue v = sample[i];
+            if (!v.isHighZ() && Long.compareUnsigned(max[i], v.getValue()) < 0)
+                max[i] = v.getValue();
+        }
+
+        fireHasChanged();
+
+        return this;
+    }
+
     /**
      * omit the last added value in a table representation
      *
      * @return this for chained calls
      */
     public ValueTable omitInTable() {
+        if (samples != null)
+            throw new RuntimeException("omit not allowed in a table containing samples");
         if (tableRowIndex == null) {
             tableRowIndex = new ArrayList<>();
             for (int i = 0; i < values.size(); i++)
@@ -131,6 +194,8 @@ public class ValueTable extends Observable implements Iterable<TestRow> {
      * @return the value stored at the given position
      */
     public Value getValue(int rowIndex, int columnIndex) {
+        if (samples != null)
+            return samples.getValue(rowIndex, columnIndex);
         return values.get(rowIndex).getValue(columnIndex);
     }
 
@@ -152,6 +217,8 @@ public class ValueTable extends Observable implements Iterable<TestRow> {
      * @return the table row
      */
     public TestRow getTableRow(int rowIndex) {
+        if (samples != null)
+            return samples.getRow(rowIndex);
         if (tableRowIndex == null)
             return values.get(rowIndex);
         else
@@ -165,6 +232,8 @@ public class ValueTable extends Observable implements Iterable<TestRow> {
      * @return the source line number
      */
     public String getDescription(int rowIndex) {
+        if (samples != null)
+            return null;
         if (tableRowIndex == null)
             return values.get(rowIndex).getDescription();
         else
@@ -192,6 +261,8 @@ public class ValueTable extends Observable implements Iterable<TestRow> {
 
     @Override
     public Iterator<TestRow> iterator() {
+        if (samples != null)
+            return samples.iterator();
         return values.iterator();
     }
 
@@ -265,6 +336,7 @@ public class ValueTable extends Observable implements Iterable<TestRow> {
      */
     public void clear() {
         values.clear();
+        samples = null;
         Arrays.fill(max, 0);
         fireHasChanged();
     }
@@ -289,7 +361,7 @@ public class ValueTable extends Observable implements Iterable<TestRow> {
         sb.append("\n");
 
         if (tableRowIndex == null)
-            for (TestRow row : values) {
+            for (TestRow row : this) {
                 sl = new StringList(sb);
                 for (Value v : row.getValues())
                     sl.add(v.toString());
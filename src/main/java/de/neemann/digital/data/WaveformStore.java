@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.data;
+
+import de.neemann.digital.core.ObservableValue;
+import de.neemann.digital.testing.parser.TestRow;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Column wise storage of recorded signal values.
+ * Every column only stores the changes of its signal together with the number of
+ * the row in which the change occurred. The changes are stored in ring buffers of
+ * primitive arrays, so recording a sample creates no objects once the buffers have
+ * reached their final size. If a maximum size is given, the oldest rows are dropped.
+ * The rows are numbered absolutely, so dropping a row does not require any copying.
+ */
+final class WaveformStore {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final Column[] columns;
+    private final int maxSize;
+    private long first;
+    private long end;
+
+    /**
+     * Creates a new store
+     *
+     * @param columns the number of columns
+     * @param maxSize the maximum number of rows to store, zero means no limit
+     */
+    WaveformStore(int columns, int maxSize) {
+        this.columns = new Column[columns];
+        for (int i = 0; i < columns; i++)
+            this.columns[i] = new Column(INITIAL_CAPACITY);
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates a copy of the given rows of the given store
+     *
+     * @param other the store to copy
+     * @param from  the first row to copy
+     * @param to    the row after the last row to copy
+     */
+    WaveformStore(WaveformStore other, int from, int to) {
+        columns = new Column[other.columns.length];
+        first = other.first + from;
+        end = other.first + to;
+        for (int i = 0; i < columns.length; i++)
+            columns[i] = other.columns[i].copy(first, end);
+        maxSize = other.maxSize;
+    }
+
+    /**
+     * Adds a row
+     *
+     * @param sample the values of the row, one value per column
+     */
+    void add(ObservableValue[] sample) {
+        for (int i = 0; i < columns.length; i++) {
+            ObservableValue v = sample[i];
+            if (v.isHighZ())
+                columns[i].add(end, 0, true);
+            else
+                columns[i].add(end, v.getValue(), false);
+        }
+        end++;
+        if (maxSize > 0 && end - first > maxSize) {
+            first = end - maxSize;
+            for (Column c : columns)
+                c.removeBefore(first);
+        }
+    }
+
+    /**
+     * @return the number of rows
+     */
+    int getRows() {
+        return (int) (end - first);
+    }
+
+    /**
+     * Returns a value
+     *
+     * @param row    the row
+     * @param column the column
+     * @return the value
+     */
+    Value getValue(int row, int column) {
+        Column c = columns[column];
+        return c.createValue(c.find(first + row));
+    }
+
+    /**
+     * Returns a row
+     *
+     * @param row the row
+     * @return the row
+     */
+    TestRow getRow(int row) {
+        Value[] values = new Value[columns.length];
+        for (int i = 0; i < columns.length; i++)
+            values[i] = getValue(row, i);
+        return new TestRow(values);
+    }
+
+    /**
+     * Creates an iterator over all rows.
+     * The iterator follows the changes of every column, so the value objects
+     * are shared by all rows in which the value does not change.
+     *
+     * @return the iterator
+     */
+    Iterator<TestRow> iterator() {
+        return new Iterator<TestRow>() {
+            private final int[] pos = new int[columns.length];
+            private final Value[] actual = new Value[columns.length];
+            private long row = first;
+
+            @Override
+            public boolean hasNext() {
+                return row < end;
+            }
+
+            @Override
+            public TestRow next() {
+                if (row >= end)
+                    throw new NoSuchElementException();
+                for (int i = 0; i < columns.length; i++) {
+                    Column c = columns[i];
+                    int p = pos[i];
+                    while (p + 1 < c.size && c.time[c.index(p + 1)] <= row)
+                        p++;
+                    if (actual[i] == null || p != pos[i]) {
+                        pos[i] = p;
+                        actual[i] = c.createValue(p);
+                    }
+                }
+                row++;
+                return new TestRow(actual.clone());
+            }
+        };
+    }
+
+    /**
+     * The changes of a single signal
+     */
+    private static final class Column {
+        private long[] time;
+        private long[] value;
+        private boolean[] highZ;
+        private int head;
+        private int size;
+
+        private Column(int capacity) {
+            time = new long[capacity];
+            value = new long[capacity];
+            highZ = new boolean[capacity];
+        }
+
+        private int index(int i) {
+            int n = head + i;
+            if (n >= time.length)
+                n -= time.length;
+            return n;
+        }
+
+        private void add(long t, long v, boolean z) {
+            if (size > 0) {
+                int last = index(size - 1);
+                if (value[last] == v && highZ[last] == z)
+                    return;
+            }
+            if (size == time.length)
+                grow(size * 2);
+            int i = index(size);
+            time[i] = t;
+            value[i] = v;
+            highZ[i] = z;
+            size++;
+        }
+
+        private void grow(int capacity) {
+            long[] t = new long[capacity];
+            long[] v = new long[capacity];
+            boolean[] z = new boolean[capacity];
+            for (int i = 0; i < size; i++) {
+                int n = index(i);
+                t[i] = time[n];
+                v[i] = value[n];
+                z[i] = highZ[n];
+            }
+            time = t;
+            value = v;
+            highZ = z;
+            head = 0;
+        }
+
+        /**
+         * Removes all changes which are not needed anymore to obtain the value of the given row
+         */
+        private void removeBefore(long t) {
+            while (size > 1 && time[index(1)] <= t) {
+                head = index(1);
+                size--;
+            }
+        }
+
+        /**
+         * Returns the index of the change which defines the value of the given row
+         */
+        private int find(long t) {
+            int lo = 0;
+            int hi = size - 1;
+            while (lo < hi) {
+                int mid = (lo + hi + 1) >>> 1;
+                if (time[index(mid)] <= t)
+                    lo = mid;
+                else
+                    hi = mid - 1;
+            }
+            return lo;
+        }
+
+        private Value createValue(int i) {
+            int n = index(i);
+            if (highZ[n])
+                return Value.getHighZ();
+            return new Value(value[n]);
+        }
+
+        private Column copy(long from, long to) {
+            if (size == 0 || from >= to)
+                return new Column(INITIAL_CAPACITY);
+            int a = find(from);
+            int b = find(to - 1);
+            Column c = new Column(Math.max(INITIAL_CAPACITY, b - a + 1));
+            for (int i = a; i <= b; i++) {
+                int n = index(i);
+                c.time[c.size] = time[n];
+                c.value[c.size] = value[n];
+                c.highZ[c.size] = highZ[n];
+                c.size++;
+            }
+            return c;
+        }
+    }
+}
@@ -28,6 +28,7 @@ public class Tunnel implements Element {
             = new ElementTypeDescription(Tunnel.class, input("in"))
             .addAttribute(Keys.ROTATE)
             .addAttribute(Keys.NETNAME)
+            .supportsWideValues()
             .supportsHDL();
 
     private final String label;
@@ -10,6 +10,7 @@ import de.neemann.digital.core.element.*;
 import de.neemann.digital.draw.elements.Circuit;
 import de.neemann.digital.draw.elements.PinException;
 import de.neemann.digital.draw.elements.VisualElement;
+import de.neemann.digital.draw.model.CircuitTemplate;
 import de.neemann.digital.draw.model.ModelCreator;
 import de.neemann.digital.draw.model.NetList;
 import de.neemann.digital.hdl.hgs.Parser;
@@ -21,6 +22,7 @@ import de.neemann.digital.lang.Lang;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.TreeSet;
 
 /**
@@ -34,7 +36,7 @@ public final class ElementTypeDescriptionCustom extends ElementTypeDescription {
     private final ResolveGenerics resolveGenerics;
     private final LibraryInterface library;
     private String description;
-    private NetList netList;
+    private final HashMap<Circuit, CircuitTemplate> templates = new HashMap<>();
     private String declarationDefault;
 
     /**
@@ -117,6 +119,10 @@ public final class ElementTypeDescriptionCustom extends ElementTypeDescription {
     /**
      * Gets a {@link ModelCreator} of this circuit.
      * Every time this method is called a new {@link ModelCreator} is created.
+     * The circuit is analysed only once for every distinct set of generic arguments.
+     * The resulting {@link CircuitTemplate} is reused for all instances, but the
+     * elements of the circuit are still created for every instance.
+     * This method can be called by several threads at the same time.
      *
      * @param subName                 name of the circuit, used to name unique elements
      * @param depth                   recursion depth, used to detect a circuit which contains itself
@@ -127,18 +133,26 @@ public final class ElementTypeDescriptionCustom extends ElementTypeDescription {
      * @throws ElementNotFoundException ElementNotFoundException
      */
     ModelCreator getModelCreator(LibraryInterface library, String subName, int depth, VisualElement errorVisualElement, VisualElement containingVisualElement) throws PinException, NodeException, ElementNotFoundException {
-        if (netList == null)
-            netList = new NetList(circuit);
-
         if (depth > MAX_DEPTH)
             throw new NodeException(Lang.get("err_recursiveNestingAt_N0", circuit.getOrigin()));
 
-        if (isGeneric()) {
-            Circuit c = resolveGenerics.resolveCircuit(containingVisualElement.getElementAttributes()).getCircuit();
+        Circuit c = circuit;
+        if (isGeneric())
+            c = resolveGenerics.resolveCircuit(containingVisualElement.getElementAttributes()).getCircuit();
 
-            return new ModelCreator(c, library, true, new NetList(new NetList(c), errorVisualElement), subName, depth, errorVisualElement);
-        } else
-            return new ModelCreator(circuit, library, true, new NetList(netList, errorVisualElement), subName, depth, errorVisualElement);
+        // the lock is not held while the template is created, so nested circuits can be created in parallel
+        CircuitTemplate t;
+        synchronized (templates) {
+            t = templates.get(c);
+        }
+        if (t == null || t.getLibrary() != library) {
+            t = new CircuitTemplate(c, library);
+            synchronized (templates) {
+                templates.put(c, t);
+            }
+        }
+
+        return new ModelCreator(t, true, new NetList(t.getNetList(), errorVisualElement), subName, depth, errorVisualElement);
     }
 
     /**
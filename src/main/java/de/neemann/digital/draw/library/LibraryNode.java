@@ -37,7 +37,7 @@ public class LibraryNode implements Iterable<LibraryNode> {
     private final String name;
     private final File file;
     private final boolean isHidden;
-    private ElementTypeDescription description;
+    private volatile ElementTypeDescription description;
     private String toolTipText;
     private ImageIcon icon;
     private ElementLibrary library;
@@ -154,12 +154,13 @@ public class LibraryNode implements Iterable<LibraryNode> {
     }
 
     /**
-     * Returns the description of the element
+     * Returns the description of the element.
+     * The element is loaded only once, even if it is requested by several threads.
      *
      * @return the description
      * @throws IOException IOException
      */
-    public ElementTypeDescription getDescription() throws IOException {
+    public synchronized ElementTypeDescription getDescription() throws IOException {
         if (description == null) {
             if (!unique)
                 throw new IOException(Lang.get("err_file_N0_ExistsTwiceBelow_N1", file.getName(), library.getRootFilePath()));
@@ -39,7 +39,6 @@ public class ResolveGenerics {
     private static final String SETTINGS_KEY = "settings";
     private static final String GLOBALS_KEY = "global";
     private static final String THIS_KEY = "this";
-    private final HashMap<String, Statement> map;
     private final HashMap<Args, CircuitHolder> circuitMap;
     private final Circuit circuit;
     private final LibraryInterface library;
@@ -53,7 +52,6 @@ public class ResolveGenerics {
     public ResolveGenerics(Circuit circuit, LibraryInterface library) {
         this.circuit = circuit;
         this.library = library;
-        map = new HashMap<>();
         circuitMap = new HashMap<>();
     }
 
@@ -73,10 +71,17 @@ public class ResolveGenerics {
             else
                 args = createArgsFromParentCircuitEmbedding(attributes);
 
-            CircuitHolder ch = circuitMap.get(args);
+            CircuitHolder ch;
+            synchronized (circuitMap) {
+                ch = circuitMap.get(args);
+            }
             if (ch == null) {
                 ch = createResolvedCircuit(args);
-                circuitMap.put(args, ch);
+                synchronized (circuitMap) {
+                    CircuitHolder present = circuitMap.putIfAbsent(args, ch);
+                    if (present != null)
+                        ch = present;
+                }
             }
             return ch;
         } catch (NodeException e) {
@@ -125,7 +130,8 @@ public class ResolveGenerics {
     }
 
     private CircuitHolder createResolvedCircuit(Args args) throws NodeException, ElementNotFoundException {
-        LOGGER.debug("create concrete circuit based on " + circuit.getOrigin() + " width: " + args);
+        if (LOGGER.isDebugEnabled())
+            LOGGER.debug("create concrete circuit based on " + circuit.getOrigin() + " width: " + args);
         final Circuit c = circuit.createDeepCopy();
         ArrayList<VisualElement> newComponents = new ArrayList<>();
         ArrayList<Wire> newWires = new ArrayList<>();
@@ -187,12 +193,7 @@ public class ResolveGenerics {
     }
 
     private Statement getStatement(String code) throws IOException, ParserException {
-        Statement genS = map.get(code);
-        if (genS == null) {
-            genS = new Parser(code).parse(false);
-            map.put(code, genS);
-        }
-        return genS;
+        return Parser.createCached(code);
     }
 
     /**
@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.draw.model;
+
+import de.neemann.digital.core.NodeException;
+import de.neemann.digital.core.element.ElementTypeDescription;
+import de.neemann.digital.core.element.PinDescriptions;
+import de.neemann.digital.draw.elements.Circuit;
+import de.neemann.digital.draw.elements.Pin;
+import de.neemann.digital.draw.elements.PinException;
+import de.neemann.digital.draw.elements.Pins;
+import de.neemann.digital.draw.elements.VisualElement;
+import de.neemann.digital.draw.graphics.Vector;
+import de.neemann.digital.draw.library.ElementNotFoundException;
+import de.neemann.digital.draw.library.LibraryInterface;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+
+/**
+ * Holds everything which is needed to create an instance of a circuit, but which
+ * does not depend on the instance itself: The element types, the transformed pins
+ * and the net each pin is connected to.
+ * A nested circuit which is used many times is analysed only once. Every instance
+ * is then created by creating the elements, copying the pins and adding them to
+ * a copy of the template net list by their net index.
+ * <p>
+ * The template is not a flattened model which could be stamped out by copying:
+ * The elements are created by their factories for every instance, and nested
+ * circuits are expanded for every instance, because the nodes hold their own state
+ * and can not be copied. So the model creation time still grows with the number
+ * of instances, only the analysis of the circuit is shared.
+ */
+public final class CircuitTemplate {
+    private final Circuit circuit;
+    private final LibraryInterface library;
+    private final NetList netList;
+    private final ArrayList<ElementTemplate> elements;
+
+    /**
+     * Creates a new template
+     *
+     * @param circuit the circuit
+     * @param library the library used to create the elements
+     * @throws PinException             PinException
+     * @throws ElementNotFoundException ElementNotFoundException
+     */
+    public CircuitTemplate(Circuit circuit, LibraryInterface library) throws PinException, ElementNotFoundException {
+        this(circuit, library, new NetList(circuit));
+    }
+
+    /**
+     * Creates a new template
+     *
+     * @param circuit the circuit
+     * @param library the library used to create the elements
+     * @param netList the net list of the circuit
+     * @throws ElementNotFoundException ElementNotFoundException
+     */
+    CircuitTemplate(Circuit circuit, LibraryInterface library, NetList netList) throws ElementNotFoundException {
+        this.circuit = circuit;
+        this.library = library;
+        this.netList = netList;
+
+        IdentityHashMap<Net, Integer> netIndex = new IdentityHashMap<>();
+        int i = 0;
+        for (Net n : netList)
+            netIndex.put(n, i++);
+        HashMap<Vector, Net> posMap = netList.getAllNetPositions();
+
+        elements = new ArrayList<>(circuit.getElements().size());
+        for (VisualElement ve : circuit.getElements()) {
+            ElementTypeDescription elementType = library.getElementType(ve.getElementName(), ve.getElementAttributes());
+            Pins pins = ve.getPins();
+            int[] nets = new int[pins.size()];
+            int p = 0;
+            for (Pin pin : pins) {
+                Net n = posMap.get(pin.getPos());
+                nets[p++] = n == null ? -1 : netIndex.get(n);
+            }
+            elements.add(new ElementTemplate(ve, elementType, pins, nets));
+        }
+    }
+
+    /**
+     * @return the circuit this template is created from
+     */
+    public Circuit getCircuit() {
+        return circuit;
+    }
+
+    /**
+     * @return the library used to create the template
+     */
+    public LibraryInterface getLibrary() {
+        return library;
+    }
+
+    /**
+     * @return the template net list, needs to be copied before use
+     */
+    public NetList getNetList() {
+        return netList;
+    }
+
+    ArrayList<ElementTemplate> getElements() {
+        return elements;
+    }
+
+    /**
+     * The template of a single element
+     */
+    static final class ElementTemplate {
+        private final VisualElement visualElement;
+        private final ElementTypeDescription elementType;
+        private final Pins pins;
+        private final int[] nets;
+        private PinDescriptions inputDescription;
+
+        private ElementTemplate(VisualElement visualElement, ElementTypeDescription elementType, Pins pins, int[] nets) {
+            this.visualElement = visualElement;
+            this.elementType = elementType;
+            this.pins = pins;
+            this.nets = nets;
+        }
+
+        VisualElement getVisualElement() {
+            return visualElement;
+        }
+
+        ElementTypeDescription getElementType() {
+            return elementType;
+        }
+
+        /**
+         * @return a new copy of the pins of this element
+         */
+        Pins createPins() {
+            Pins copy = new Pins();
+            for (Pin p : pins)
+                copy.add(new Pin(p.getPos(), p).setVisualElement(visualElement));
+            return copy;
+        }
+
+        /**
+         * Returns the index of the net the pin with the given index is connected to
+         *
+         * @param pin the index of the pin
+         * @return the net index or -1 if the pin is not connected to a net
+         */
+        int getNet(int pin) {
+            return nets[pin];
+        }
+
+        PinDescriptions getInputDescription() throws NodeException {
+            if (inputDescription == null)
+                inputDescription = elementType.getInputDescription(visualElement.getElementAttributes());
+            return inputDescription;
+        }
+    }
+}
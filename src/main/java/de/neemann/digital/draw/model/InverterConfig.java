@@ -5,7 +5,7 @@
  */
 package de.neemann.digital.draw.model;
 
-import de.neemann.digital.core.NodeWithoutDelay;
+import de.neemann.digital.core.BitCopy;
 import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.hdl.hgs.HGSMap;
 
@@ -41,13 +41,9 @@ public final class InverterConfig implements HGSMap {
             return orig;
 
         ObservableValue out = new ObservableValue("~" + orig.getName(), orig.getBits());
-        orig.addObserver(new NodeWithoutDelay(out) {
-            @Override
-            public void hasChanged() {
-                out.set(~orig.getValue(), orig.getHighZ());
-            }
-        });
-        out.set(~orig.getValue(), orig.getHighZ());
+        BitCopy inverter = new BitCopy(orig, 0, out, 0, orig.getBits(), true);
+        orig.addObserver(inverter);
+        inverter.hasChanged();
         return out;
     }
 
@@ -99,6 +99,25 @@ public class ModelCreator implements Iterable<ModelEntry> {
      * @throws ElementNotFoundException ElementNotFoundException
      */
     public ModelCreator(Circuit circuit, LibraryInterface library, boolean isNestedCircuit, NetList netList, String subName, int depth, VisualElement containingVisualElement) throws PinException, NodeException, ElementNotFoundException {
+        this(new CircuitTemplate(circuit, library, netList), isNestedCircuit, netList, subName, depth, containingVisualElement);
+    }
+
+    /**
+     * Creates a new instance from a circuit template
+     *
+     * @param template                the template of the circuit to use
+     * @param isNestedCircuit         if true the model is created for use as nested element
+     * @param netList                 the NetList of the model. Needs to be the templates net list or a copy of it.
+     * @param subName                 name of the circuit, used to name unique elements
+     * @param depth                   recursion depth, used to detect a circuit which contains itself
+     * @param containingVisualElement the topmost containing visual element
+     * @throws PinException             PinException
+     * @throws NodeException            NodeException
+     * @throws ElementNotFoundException ElementNotFoundException
+     */
+    public ModelCreator(CircuitTemplate template, boolean isNestedCircuit, NetList netList, String subName, int depth, VisualElement containingVisualElement) throws PinException, NodeException, ElementNotFoundException {
+        Circuit circuit = template.getCircuit();
+        LibraryInterface library = template.getLibrary();
         this.circuit = circuit;
         this.netList = netList;
         entries = new ArrayList<>();
@@ -111,22 +130,26 @@ public class ModelCreator implements Iterable<ModelEntry> {
             checkWiresForSplitterConnection(circuit);
 
         try {
-            for (VisualElement ve : circuit.getElements()) {
+            for (CircuitTemplate.ElementTemplate et : template.getElements()) {
+                VisualElement ve = et.getVisualElement();
                 VisualElement cve = ve;
                 if (containingVisualElement != null)
                     cve = containingVisualElement;
 
                 ElementAttributes attr = ve.getElementAttributes();
-                ElementTypeDescription elementType = library.getElementType(ve.getElementName(), attr);
+                ElementTypeDescription elementType = et.getElementType();
                 if (attr.getLabel().contains("*")
                         && !ve.equalsDescription(In.DESCRIPTION)
                         && !ve.equalsDescription(Out.DESCRIPTION)) {
                     attr = new ElementAttributes(attr);
                     attr.set(Keys.LABEL, attr.getLabel().replace("*", subName));
                 }
+                if (!elementType.isSupportsWideValues() && elementType.hasAttribute(Keys.BITS) && attr.getBits() > 64)
+                    throw new PinException(Lang.get("err_N_doesNotSupportWideValues", elementType.getName()), cve);
+
                 Element element = elementType.createElement(attr);
                 ve.setElement(element);
-                Pins pins = ve.getPins();
+                Pins pins = et.createPins();
                 pins.bindOutputsToOutputPins(element.getOutputs());
 
                 // sets the nodes origin to create better error messages
@@ -152,10 +175,11 @@ public class ModelCreator implements Iterable<ModelEntry> {
                 }
 
                 if (isNotAIO)
-                    entries.add(new ModelEntry(element, pins, ve, elementType.getInputDescription(ve.getElementAttributes()), isNestedCircuit, circuit.getOrigin(), cve));
+                    entries.add(new ModelEntry(element, pins, ve, et.getInputDescription(), isNestedCircuit, elementType.isSupportsWideValues(), circuit.getOrigin(), cve));
 
+                int pinIndex = 0;
                 for (Pin p : pins)
-                    netList.add(p);
+                    netList.add(p, et.getNet(pinIndex++));
             }
 
             // connect all custom elements to the parents net
@@ -297,8 +321,11 @@ public class ModelCreator implements Iterable<ModelEntry> {
         for (Net n : netList)
             n.interconnect(m, attachWires);
 
-        for (ModelEntry e : entries)
+        for (ModelEntry e : entries) {
             e.applyInputs();
+            m.addValues(e.getIoState().getInputs());
+            m.addValues(e.getIoState().getOutputs());
+        }
 
         for (ModelEntry e : entries)
             e.getElement().registerNodes(m);
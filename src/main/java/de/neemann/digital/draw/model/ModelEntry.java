@@ -33,6 +33,7 @@ public class ModelEntry {
     private final File origin;                           // Only used to create better error messages
     private final VisualElement containingVisualElement; // Only used to create better error messages
     private final VisualElement visualElement;
+    private final boolean supportsWideValues;
     private IOState ioState;
 
     /**
@@ -43,15 +44,17 @@ public class ModelEntry {
      * @param visualElement           the visual element which has created the element
      * @param inputNames              the pin descriptions of the inputs.
      * @param isNestedElement         true if this visual element is a nested included element
+     * @param supportsWideValues      true if the element is able to handle values with more than 64 bits
      * @param origin                  Used to create better error messages
      * @param containingVisualElement only used to create better error messages
      */
-    public ModelEntry(Element element, Pins pins, VisualElement visualElement, PinDescriptions inputNames, boolean isNestedElement, File origin, VisualElement containingVisualElement) {
+    public ModelEntry(Element element, Pins pins, VisualElement visualElement, PinDescriptions inputNames, boolean isNestedElement, boolean supportsWideValues, File origin, VisualElement containingVisualElement) {
         this.element = element;
         this.pins = pins;
         this.visualElement = visualElement;
         this.inputNames = inputNames;
         this.isNestedElement = isNestedElement;
+        this.supportsWideValues = supportsWideValues;
         this.origin = origin;
         this.containingVisualElement = containingVisualElement;
     }
@@ -100,6 +103,10 @@ public class ModelEntry {
                 values = new ObservableValues(inputs);
                 element.setInputs(values);
             }
+            if (!supportsWideValues) {
+                checkNotWide(values);
+                checkNotWide(element.getOutputs());
+            }
             ioState = new IOState(values, element.getOutputs(), element);
         } catch (PinException | NodeException e) {
             e.setOrigin(origin);
@@ -108,6 +115,12 @@ public class ModelEntry {
         }
     }
 
+    private void checkNotWide(ObservableValues values) throws PinException {
+        for (ObservableValue v : values)
+            if (v != null && v.getBits() > 64)
+                throw new PinException(Lang.get("err_N_doesNotSupportWideValues", visualElement.getElementName()), containingVisualElement);
+    }
+
     /**
      * Connects this model to the gui.
      *
@@ -54,17 +54,15 @@ public class Net {
     }
 
     /**
-     * Creates a net containing a single wire
+     * Creates a net containing the given wires
      *
-     * @param w the wire
+     * @param points the end points of the wires
+     * @param wires  the wires
      */
-    public Net(Wire w) {
-        points = new HashSet<>();
-        points.add(w.p1);
-        points.add(w.p2);
+    Net(HashSet<Vector> points, ArrayList<Wire> wires) {
+        this.points = points;
         pins = new ArrayList<>();
-        wires = new ArrayList<>();
-        wires.add(w);
+        this.wires = wires;
         labelSet = new HashSet<>();
     }
 
@@ -81,26 +79,6 @@ public class Net {
         labelSet = new HashSet<>();
     }
 
-    /**
-     * Tries to add the given wire to this net
-     *
-     * @param wire the wire
-     * @return true if the given wire is connected to one of the old wires.
-     */
-    public Vector tryMerge(Wire wire) {
-        if (points.contains(wire.p1)) {
-            wires.add(wire);
-            points.add(wire.p2);
-            return wire.p2;
-        }
-        if (points.contains(wire.p2)) {
-            wires.add(wire);
-            points.add(wire.p1);
-            return wire.p1;
-        }
-        return null;
-    }
-
     /**
      * Checks if the given position is part of this net
      *
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.draw.model;
+
+import de.neemann.digital.draw.elements.Wire;
+import de.neemann.digital.draw.graphics.Vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Builds the nets from a list of wires.
+ * The wire end points are collected in a union-find structure, so that
+ * all nets are created in nearly linear time.
+ * The nets are ordered by the first wire they contain.
+ */
+final class NetBuilder {
+    private final HashMap<Vector, Integer> pointIndex;
+    private final ArrayList<Vector> points;
+    private int[] parent;
+
+    /**
+     * Creates a new instance
+     *
+     * @param expectedWires the expected number of wires
+     */
+    NetBuilder(int expectedWires) {
+        pointIndex = new HashMap<>(expectedWires * 2);
+        points = new ArrayList<>(expectedWires * 2);
+        parent = new int[Math.max(16, expectedWires * 2)];
+    }
+
+    /**
+     * Creates the nets from the given wires
+     *
+     * @param wires the wires
+     * @return the nets
+     */
+    static ArrayList<Net> create(ArrayList<Wire> wires) {
+        NetBuilder b = new NetBuilder(wires.size());
+        for (Wire w : wires)
+            b.union(b.indexOf(w.p1), b.indexOf(w.p2));
+        return b.createNets(wires);
+    }
+
+    private int indexOf(Vector v) {
+        Integer i = pointIndex.get(v);
+        if (i != null)
+            return i;
+
+        int n = points.size();
+        if (n == parent.length)
+            parent = Arrays.copyOf(parent, n * 2);
+        parent[n] = n;
+        points.add(v);
+        pointIndex.put(v, n);
+        return n;
+    }
+
+    private int find(int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private void union(int a, int b) {
+        int ra = find(a);
+        int rb = find(b);
+        if (ra != rb) {
+            // the smaller index becomes the root, the path halving in find keeps the trees flat
+            if (ra < rb)
+                parent[rb] = ra;
+            else
+                parent[ra] = rb;
+        }
+    }
+
+    private ArrayList<Net> createNets(ArrayList<Wire> wires) {
+        int[] netOfRoot = new int[points.size()];
+        Arrays.fill(netOfRoot, -1);
+        ArrayList<HashSet<Vector>> netPoints = new ArrayList<>();
+        ArrayList<ArrayList<Wire>> netWires = new ArrayList<>();
+
+        for (Wire w : wires) {
+            int root = find(pointIndex.get(w.p1));
+            int n = netOfRoot[root];
+            if (n < 0) {
+                n = netWires.size();
+                netOfRoot[root] = n;
+                netPoints.add(new HashSet<>());
+                netWires.add(new ArrayList<>());
+            }
+            netWires.get(n).add(w);
+        }
+
+        for (int i = 0; i < points.size(); i++)
+            netPoints.get(netOfRoot[find(i)]).add(points.get(i));
+
+        ArrayList<Net> nets = new ArrayList<>(netWires.size());
+        for (int n = 0; n < netWires.size(); n++)
+            nets.add(new Net(netPoints.get(n), netWires.get(n)));
+        return nets;
+    }
+}
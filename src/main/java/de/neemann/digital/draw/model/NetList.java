@@ -14,6 +14,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 
 /**
  * Holds all the nets in a circuit
@@ -21,7 +22,6 @@ import java.util.Iterator;
 public class NetList implements Iterable<Net> {
 
     private final ArrayList<Net> netList;
-    private HashMap<Vector, Net> posMap;
     private HashMap<Pin, Net> pinMap;
 
     /**
@@ -31,10 +31,7 @@ public class NetList implements Iterable<Net> {
      * @throws PinException PinException
      */
     public NetList(Circuit circuit) throws PinException {
-        netList = new ArrayList<>();
-        for (Wire w : circuit.getWires())
-            add(w);
-
+        netList = NetBuilder.create(circuit.getWires());
 
         // handles a direct pin overlap by adding a single point net
         HashSet<Vector> allPinPositions = new HashSet<>();
@@ -82,21 +79,21 @@ public class NetList implements Iterable<Net> {
     }
 
     private void mergeLabels() {
-        ArrayList<Net> oldNetList = new ArrayList<>(netList);
-        netList.clear();
+        // a linked set is used to allow a fast removal of merged nets
+        LinkedHashSet<Net> newNetList = new LinkedHashSet<>();
 
         HashMap<String, Net> map = new HashMap<>();
-        for (Net n : oldNetList) {
+        for (Net n : netList) {
             HashSet<String> labels = n.getLabels();
             switch (labels.size()) {
                 case 0:
-                    netList.add(n);
+                    newNetList.add(n);
                     break;
                 case 1:
                     String label = labels.iterator().next();
                     Net net = map.get(label);
                     if (net == null) {
-                        netList.add(n);
+                        newNetList.add(n);
                         map.put(label, n);
                     } else {
                         net.addAllPointsFrom(n);
@@ -109,14 +106,17 @@ public class NetList implements Iterable<Net> {
                         net = map.get(la);
                         if (net != null) {
                             n.addAllPointsFrom(net);
-                            netList.remove(net);
+                            newNetList.remove(net);
                         }
                     }
-                    netList.add(n);
+                    newNetList.add(n);
                     for (String l : n.getLabels())
                         map.put(l, n);
             }
         }
+
+        netList.clear();
+        netList.addAll(newNetList);
     }
 
     /**
@@ -144,41 +144,15 @@ public class NetList implements Iterable<Net> {
     }
 
     /**
-     * Adds a pin to this net list.
+     * Adds a pin to the net with the given index.
      * Used only during model creation.
      *
      * @param pin the pin to add
+     * @param net the index of the net, if negative, the pin is not added
      */
-    public void add(Pin pin) {
-        if (posMap == null)
-            posMap = getAllNetPositions();
-
-        Net net = posMap.get(pin.getPos());
-        if (net != null)
-            net.add(pin);
-    }
-
-    private void add(Wire w) {
-        for (Net net : netList) {
-            Vector added = net.tryMerge(w);
-            if (added != null) {
-                netChanged(net, added);
-                return;
-            }
-        }
-        netList.add(new Net(w));
-    }
-
-    private void netChanged(Net changedNet, Vector added) {
-        for (Net n : netList) {
-            if (n != changedNet) {
-                if (n.contains(added)) {
-                    n.addAllPointsFrom(changedNet);
-                    netList.remove(changedNet);
-                    return;
-                }
-            }
-        }
+    void add(Pin pin, int net) {
+        if (net >= 0)
+            netList.get(net).add(pin);
     }
 
     /**
@@ -223,7 +197,7 @@ public class NetList implements Iterable<Net> {
         return null;
     }
 
-    private HashMap<Vector, Net> getAllNetPositions() {
+    HashMap<Vector, Net> getAllNetPositions() {
         HashMap<Vector, Net> map = new HashMap<>();
         for (Net n : netList)
             n.addPointsTo(map);
@@ -5,6 +5,7 @@
  */
 package de.neemann.digital.draw.shapes;
 
+import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.Value;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.Keys;
@@ -74,6 +75,7 @@ public class OutputShape implements Shape {
     private final boolean small;
     private IOState ioState;
     private Value value;
+    private String wideValue;  // the value of outputs with more than 64 bits
 
     /**
      * Creates a new instance
@@ -107,8 +109,11 @@ public class OutputShape implements Shape {
 
     @Override
     public void readObservableValues() {
-        if (ioState != null)
-            value = ioState.getInput(0).getCopy();
+        if (ioState != null) {
+            ObservableValue in = ioState.getInput(0);
+            value = in.getCopy();
+            wideValue = in.isWide() ? in.getValueString() : null;
+        }
     }
 
     @Override
@@ -125,7 +130,8 @@ public class OutputShape implements Shape {
                 style = Style.getWireStyle(value);
                 if (value.getBits() > 1) {
                     Vector textPos = new Vector(1 + outSize, -4 - outSize);
-                    graphic.drawText(textPos, formatter.formatToView(value), Orientation.CENTERBOTTOM, Style.NORMAL);
+                    String text = wideValue == null ? formatter.formatToView(value) : wideValue;
+                    graphic.drawText(textPos, text, Orientation.CENTERBOTTOM, Style.NORMAL);
                 }
             }
 
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.fsm;
+
+import de.neemann.digital.analyse.expression.ExpressionException;
+import de.neemann.digital.analyse.expression.format.FormatterException;
+import de.neemann.digital.analyse.quinemc.BoolTableByteArray;
+
+import java.util.Arrays;
+import java.util.HashMap;
+
+/**
+ * Calculates the complexity of a state numbering.
+ * The truth table is kept and updated incrementally if states are moved, so only the rows
+ * which really change are written. Only the columns which have changed are minimized again,
+ * and the complexity of every column is cached because the same column shows up many times
+ * during a search. A state which is not yet assigned to a number makes all its rows don't care,
+ * which allows to calculate a bound for a partial numbering.
+ * Instances are not thread safe.
+ */
+final class EncodingCost {
+    private static final byte DC = 2;
+    private static final int MAX_CACHE_BYTES = 1 << 24;
+
+    private final StateTable table;
+    private final int bits;
+    private final int rps;
+    private final byte[][] columns;
+    private final int[] cost;
+    private final boolean[] dirty;
+    private final int[] number;
+    private final int[] owner;
+    private final HashMap<Column, Integer> cache;
+    private final int maxCacheEntries;
+
+    /**
+     * Creates a new instance. No state is assigned to a number.
+     *
+     * @param table the state table
+     */
+    EncodingCost(StateTable table) {
+        this.table = table;
+        bits = table.getBits();
+        rps = table.getRowsPerState();
+        int rows = (1 << bits) * rps;
+        columns = new byte[bits + table.getOutputCount()][rows];
+        for (byte[] c : columns)
+            Arrays.fill(c, DC);
+        cost = new int[columns.length];
+        dirty = new boolean[columns.length];
+        Arrays.fill(dirty, true);
+        number = new int[table.getSize()];
+        Arrays.fill(number, -1);
+        owner = new int[1 << bits];
+        Arrays.fill(owner, -1);
+        cache = new HashMap<>();
+        maxCacheEntries = Math.max(16, MAX_CACHE_BYTES / rows);
+    }
+
+    /**
+     * Sets a complete or a partial numbering
+     *
+     * @param numbers the number of every state, -1 if the state is not assigned
+     */
+    void set(int[] numbers) {
+        for (int s = 0; s < number.length; s++)
+            if (number[s] >= 0)
+                unassign(s);
+        for (int s = 0; s < number.length; s++)
+            if (numbers[s] >= 0)
+                assign(s, numbers[s]);
+    }
+
+    /**
+     * Assigns a number to a state which has no number yet
+     *
+     * @param state the state
+     * @param n     the free number
+     */
+    void assign(int state, int n) {
+        number[state] = n;
+        owner[n] = state;
+        writeBlock(state);
+        for (int e : table.getPredecessors(state))
+            if (number[e / rps] >= 0)
+                writeNext(e);
+    }
+
+    /**
+     * Removes the number of a state
+     *
+     * @param state the state
+     */
+    void unassign(int state) {
+        int n = number[state];
+        number[state] = -1;
+        owner[n] = -1;
+        int row = n * rps;
+        for (int c = 0; c < columns.length; c++)
+            for (int r = 0; r < rps; r++)
+                put(c, row + r, DC);
+        for (int e : table.getPredecessors(state))
+            if (number[e / rps] >= 0)
+                writeNext(e);
+    }
+
+    /**
+     * Exchanges the states which use the given numbers.
+     * One of the numbers may be unused, which moves a state to a free number.
+     * Calling this method twice restores the previous numbering.
+     *
+     * @param a the first number
+     * @param b the second number
+     */
+    void swap(int a, int b) {
+        if (a == b)
+            return;
+        int sa = owner[a];
+        int sb = owner[b];
+        if (sa >= 0) unassign(sa);
+        if (sb >= 0) unassign(sb);
+        if (sa >= 0) assign(sa, b);
+        if (sb >= 0) assign(sb, a);
+    }
+
+    private void writeBlock(int state) {
+        int entry = state * rps;
+        int row = number[state] * rps;
+        for (int r = 0; r < rps; r++) {
+            writeNext(entry + r);
+            for (int o = 0; o < table.getOutputCount(); o++)
+                put(bits + o, row + r, table.getOutput(o, entry + r));
+        }
+    }
+
+    private void writeNext(int entry) {
+        int row = number[entry / rps] * rps + entry % rps;
+        int t = table.getNext(entry);
+        int n = t < 0 ? -1 : number[t];
+        for (int b = 0; b < bits; b++)
+            put(b, row, n < 0 ? DC : (byte) ((n >> (bits - 1 - b)) & 1));
+    }
+
+    private void put(int column, int row, byte value) {
+        if (columns[column][row] != value) {
+            columns[column][row] = value;
+            dirty[column] = true;
+        }
+    }
+
+    /**
+     * Returns the complexity of the actual numbering.
+     * If the numbering is partial, the result is the complexity of the table which
+     * contains don't cares for all unassigned states.
+     *
+     * @return the complexity
+     * @throws ExpressionException ExpressionException
+     * @throws FormatterException  FormatterException
+     */
+    int getCost() throws ExpressionException, FormatterException {
+        int sum = 0;
+        for (int c = 0; c < columns.length; c++) {
+            if (dirty[c]) {
+                Column key = new Column(columns[c]);
+                Integer v = cache.get(key);
+                if (v == null) {
+                    v = Optimizer.calcComplexity(table.getVars(), new BoolTableByteArray(columns[c]));
+                    if (cache.size() >= maxCacheEntries)
+                        cache.clear();
+                    cache.put(new Column(columns[c].clone(), key.hash), v);
+                }
+                cost[c] = v;
+                dirty[c] = false;
+            }
+            sum += cost[c];
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number assigned to a state
+     *
+     * @param state the state
+     * @return the number, -1 if the state is not assigned
+     */
+    int getNumber(int state) {
+        return number[state];
+    }
+
+    /**
+     * Returns the state which uses the given number
+     *
+     * @param n the number
+     * @return the state, -1 if the number is not used
+     */
+    int getOwner(int n) {
+        return owner[n];
+    }
+
+    /**
+     * @return a copy of the actual numbering
+     */
+    int[] getNumbers() {
+        return number.clone();
+    }
+
+    private static final class Column {
+        private final byte[] data;
+        private final int hash;
+
+        private Column(byte[] data) {
+            this(data, Arrays.hashCode(data));
+        }
+
+        private Column(byte[] data, int hash) {
+            this.data = data;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Column column = (Column) o;
+            return hash == column.hash && Arrays.equals(data, column.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
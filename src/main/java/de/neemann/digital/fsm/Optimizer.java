@@ -5,6 +5,7 @@
  */
 package de.neemann.digital.fsm;
 
+import de.neemann.digital.analyse.MinimizerEspresso;
 import de.neemann.digital.analyse.MinimizerInterface;
 import de.neemann.digital.analyse.MinimizerQuineMcCluskey;
 import de.neemann.digital.analyse.TruthTable;
@@ -12,27 +13,52 @@ import de.neemann.digital.analyse.expression.Expression;
 import de.neemann.digital.analyse.expression.ExpressionException;
 import de.neemann.digital.analyse.expression.ExpressionVisitor;
 import de.neemann.digital.analyse.expression.Operation;
+import de.neemann.digital.analyse.expression.Variable;
 import de.neemann.digital.analyse.expression.format.FormatterException;
+import de.neemann.digital.analyse.quinemc.BoolTable;
 import de.neemann.digital.core.Bits;
 import de.neemann.digital.gui.components.table.ExpressionListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * Used to determine the optimal state numbers for a given FSM.
+ * <p>
+ * If the number of possible numberings is small enough, a branch and bound search is used.
+ * The states are numbered one after the other, and a partial numbering is only extended if the
+ * complexity of the table, which contains don't cares for all states not numbered yet, is smaller
+ * than the best complexity found so far. Numberings which only differ by a permutation of the
+ * state bits have the same complexity, so only the numbering whose bit columns are sorted is visited.
+ * Larger machines are optimized by simulated annealing.
+ * In both cases the truth table is updated incrementally, see {@link EncodingCost}.
+ * The parallel optimizer distributes the work on a work stealing pool.
  */
 public class Optimizer {
     private static final Logger LOGGER = LoggerFactory.getLogger(Optimizer.class);
     private static final long[] FAC_TABLE = new long[]{1L, 1L, 2L, 6L, 24L, 120L, 720L, 5040L, 40320L, 362880L, 3628800L, 39916800L, 479001600L, 6227020800L, 87178291200L, 1307674368000L, 20922789888000L, 355687428096000L, 6402373705728000L, 121645100408832000L, 2432902008176640000L};
+    private static final int MAX_VARS_QMC = 12;
+    private static final long MAX_EXACT_COMPLEXITY = 1000000;
+    private static final int SPLIT_DEPTH = 2;
+    private static final int ANNEALING_STEPS_PER_STATE = 200;
+    private static final double ANNEALING_END_TEMPERATURE = 0.05;
     private final FSM fsm;
 
     private final int initialComplexity;
-    private int bestComplexity;
+    private volatile int bestComplexity;
     private int[] best;
-    private Permute.PermPull pp;
+    private long timeBudget;
+    private volatile long deadline;
+    private volatile boolean stopped;
+    private StateTable table;
+    private EventListener listener;
+    private Thread runner;
 
     /**
      * Returns the factorial of a number.
@@ -62,40 +88,33 @@ public class Optimizer {
     }
 
     /**
-     * Called to optimize the state numbers in a FSM
+     * Sets the time the optimizer is allowed to run.
+     * If the time is over, the best numbering found so far is kept.
      *
+     * @param millis the time budget in milliseconds, zero means no limit
      * @return this for chained calls
-     * @throws FiniteStateMachineException   FiniteStateMachineException
-     * @throws FormatterException            FormatterException
-     * @throws ExpressionException           ExpressionException
-     * @throws Permute.PermListenerException PermListenerException
      */
-    public Optimizer optimizeFSM() throws FiniteStateMachineException, FormatterException, ExpressionException, Permute.PermListenerException {
-        LOGGER.info("optimizing time complexity: " + getTimeComplexity(fsm));
-
-        bestComplexity = calcComplexity(fsm, false);
-        LOGGER.info("start complexity " + bestComplexity);
-        List<State> states = fsm.getStates();
-        int size = states.size();
-        int sizeInclDC = 1 << Bits.binLn2(size - 1);
-
-        Permute.permute(size, sizeInclDC, perm -> {
-            for (int i = 0; i < states.size(); i++)
-                states.get(i).setNumber(perm[i]);
-
-            int c;
-            try {
-                c = calcComplexity(fsm, false);
-            } catch (ExpressionException | FiniteStateMachineException | FormatterException e) {
-                throw new Permute.PermListenerException(e);
-            }
-
-            if (c < bestComplexity) {
-                bestComplexity = c;
-                best = Arrays.copyOf(perm, size);
-            }
-        });
+    public Optimizer setTimeBudget(long millis) {
+        this.timeBudget = millis;
+        return this;
+    }
 
+    /**
+     * Called to optimize the state numbers in a FSM.
+     * Runs in the calling thread.
+     *
+     * @return this for chained calls
+     * @throws FiniteStateMachineException FiniteStateMachineException
+     * @throws FormatterException          FormatterException
+     * @throws ExpressionException         ExpressionException
+     */
+    public Optimizer optimizeFSM() throws FiniteStateMachineException, FormatterException, ExpressionException {
+        start(null);
+        EncodingCost ec = new EncodingCost(table);
+        if (isExactSearchPossible())
+            search(ec, 0, initialTied());
+        else
+            anneal(ec, new Random(0), getStartNumbers());
         return this;
     }
 
@@ -126,37 +145,149 @@ public class Optimizer {
      * @throws ExpressionException         ExpressionException
      */
     public Optimizer optimizeFSMParallel(EventListener el) throws FiniteStateMachineException, FormatterException, ExpressionException {
+        start(el);
+        final ThreadLocal<EncodingCost> costs = ThreadLocal.withInitial(() -> new EncodingCost(table));
+        final RecursiveAction root;
+        if (isExactSearchPossible()) {
+            int[] numbers = new int[table.getSize()];
+            Arrays.fill(numbers, -1);
+            root = new SearchTask(costs, numbers, 0, initialTied());
+        } else
+            root = new AnnealingTask(costs);
+
+        ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        runner = new Thread(() -> {
+            try {
+                pool.invoke(root);
+            } catch (RuntimeException e) {
+                LOGGER.warn("error during fsm optimization", e);
+            } finally {
+                pool.shutdown();
+                if (el != null)
+                    el.finished();
+            }
+        });
+        runner.start();
+        return this;
+    }
+
+    private void start(EventListener el) throws FiniteStateMachineException, ExpressionException {
         LOGGER.info("optimizing time complexity: " + getTimeComplexity(fsm));
-        bestComplexity = calcComplexity(fsm, false);
+        table = new StateTable(fsm);
+        listener = el;
+        stopped = false;
+        bestComplexity = initialComplexity;
+        best = null;
+        deadline = timeBudget > 0 ? System.currentTimeMillis() + timeBudget : Long.MAX_VALUE;
         LOGGER.info("start complexity " + bestComplexity);
-        List<State> states = fsm.getStates();
-        int size = states.size();
-        int sizeInclDC = 1 << Bits.binLn2(size - 1);
-        pp = new Permute.PermPull(size, sizeInclDC);
+    }
 
-        final Object lock = new Object();
+    private boolean isExactSearchPossible() {
+        long tc = getTimeComplexity(fsm);
+        return tc != Long.MAX_VALUE && tc / fac(table.getBits()) <= MAX_EXACT_COMPLEXITY;
+    }
 
-        BestListener l = (b, bcplx) -> {
-            synchronized (lock) {
-                if (bcplx < bestComplexity) {
-                    bestComplexity = bcplx;
-                    best = b;
-                    if (el != null)
-                        el.bestSoFar(best, bestComplexity);
-                }
+    private boolean isStopped() {
+        return stopped || System.currentTimeMillis() > deadline;
+    }
+
+    private void improve(int[] numbers, int complexity) {
+        synchronized (this) {
+            if (complexity < bestComplexity) {
+                bestComplexity = complexity;
+                best = numbers;
+                if (listener != null)
+                    listener.bestSoFar(Arrays.copyOf(numbers, numbers.length), complexity);
             }
-        };
+        }
+    }
 
-        WaitGroup wg = new WaitGroup(() -> {
-            if (el != null)
-                el.finished();
-        });
-        for (int i = 0; i < Runtime.getRuntime().availableProcessors(); i++) {
-            wg.add();
-            new ThreadRunner(wg, new FSM(fsm), pp, l).start();
+    private int initialTied() {
+        return (1 << (table.getBits() - 1)) - 1;
+    }
+
+    /**
+     * Checks if the bit columns stay sorted if the given number is added.
+     * The bit i of tied is set if the columns of the state bits i and i+1 are equal so far.
+     * The column of a lower bit must not be smaller than the column of the next higher bit.
+     *
+     * @return the new tied mask or -1 if the number is not allowed
+     */
+    private int sortedColumns(int tied, int n) {
+        for (int b = 0; b < table.getBits() - 1; b++)
+            if ((tied & (1 << b)) != 0) {
+                int lo = (n >> b) & 1;
+                int hi = (n >> (b + 1)) & 1;
+                if (lo < hi)
+                    return -1;
+                if (lo > hi)
+                    tied &= ~(1 << b);
+            }
+        return tied;
+    }
+
+    /**
+     * Branch and bound search which numbers the states starting with the given state
+     */
+    private void search(EncodingCost ec, int state, int tied) throws ExpressionException, FormatterException {
+        int numbers = 1 << table.getBits();
+        for (int n = 0; n < numbers && !isStopped(); n++) {
+            if (ec.getOwner(n) >= 0)
+                continue;
+            int t = sortedColumns(tied, n);
+            if (t < 0)
+                continue;
+
+            ec.assign(state, n);
+            int c = ec.getCost();
+            if (state + 1 == table.getSize())
+                improve(ec.getNumbers(), c);
+            else if (c < bestComplexity)
+                search(ec, state + 1, t);
+            ec.unassign(state);
         }
+    }
 
-        return this;
+    private int[] getStartNumbers() {
+        int[] numbers = table.getNumbers();
+        for (int n : numbers)
+            if (n >= 1 << table.getBits()) {
+                for (int i = 0; i < numbers.length; i++)
+                    numbers[i] = i;
+                break;
+            }
+        return numbers;
+    }
+
+    /**
+     * Simulated annealing. A step moves a state to a different number, if this number is
+     * used by an other state, the two states are exchanged.
+     */
+    private void anneal(EncodingCost ec, Random rnd, int[] start) throws ExpressionException, FormatterException {
+        ec.set(start);
+        int cost = ec.getCost();
+        improve(ec.getNumbers(), cost);
+
+        int size = table.getSize();
+        int numbers = 1 << table.getBits();
+        long steps = (long) ANNEALING_STEPS_PER_STATE * size;
+        double temp = Math.max(1, cost * 0.02);
+        double factor = Math.pow(ANNEALING_END_TEMPERATURE / temp, 1.0 / steps);
+        for (long i = 0; i < steps && !isStopped(); i++) {
+            int a = ec.getNumber(rnd.nextInt(size));
+            int b = rnd.nextInt(numbers - 1);
+            if (b >= a)
+                b++;
+            ec.swap(a, b);
+            int c = ec.getCost();
+            if (c <= cost || rnd.nextDouble() < Math.exp((cost - c) / temp)) {
+                cost = c;
+                if (c < bestComplexity)
+                    improve(ec.getNumbers(), c);
+            } else
+                ec.swap(a, b);
+            temp *= factor;
+        }
     }
 
     /**
@@ -165,9 +296,13 @@ public class Optimizer {
      * @return this for chained calls
      */
     public Optimizer waitFor() {
-        if (pp != null)
-            pp.waitFor();
-
+        if (runner != null) {
+            try {
+                runner.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
         return this;
     }
 
@@ -175,8 +310,7 @@ public class Optimizer {
      * stops the optimizer
      */
     public void stop() {
-        if (pp != null)
-            pp.stop();
+        stopped = true;
     }
 
     /**
@@ -203,7 +337,7 @@ public class Optimizer {
     static int calcComplexity(FSM fsm, boolean out) throws
             ExpressionException, FiniteStateMachineException, FormatterException {
         TruthTable tt = fsm.createTruthTable(null);
-        MinimizerInterface mi = new MinimizerQuineMcCluskey();
+        MinimizerInterface mi = createMinimizer(tt.getVars().size());
         ComplexityListener listener = new ComplexityListener(out);
 
         for (int i = 0; i < tt.getResultCount(); i++)
@@ -211,6 +345,28 @@ public class Optimizer {
         return listener.complexity;
     }
 
+    /**
+     * Calculates the complexity of a single table
+     *
+     * @param vars  the variables
+     * @param table the table
+     * @return the complexity of the minimized expression
+     * @throws ExpressionException ExpressionException
+     * @throws FormatterException  FormatterException
+     */
+    static int calcComplexity(List<Variable> vars, BoolTable table) throws ExpressionException, FormatterException {
+        ComplexityListener listener = new ComplexityListener(false);
+        createMinimizer(vars.size()).minimize(vars, table, "", listener);
+        return listener.complexity;
+    }
+
+    private static MinimizerInterface createMinimizer(int vars) {
+        if (vars <= MAX_VARS_QMC)
+            return new MinimizerQuineMcCluskey();
+        else
+            return new MinimizerEspresso();
+    }
+
     /**
      * @return the initial complexity
      */
@@ -256,43 +412,107 @@ public class Optimizer {
         }
     }
 
-    private static final class ThreadRunner extends Thread {
-        private final WaitGroup wg;
-        private final FSM fsm;
-        private final Permute.PermPull pp;
-        private final BestListener l;
-
-        private ThreadRunner(WaitGroup wg, FSM fsm, Permute.PermPull pp, BestListener l) {
-            this.wg = wg;
-            this.fsm = fsm;
-            this.pp = pp;
-            this.l = l;
+    /**
+     * Branch and bound search. The first levels are split into sub tasks which can be stolen
+     * by idle workers, the deeper levels are searched sequentially.
+     */
+    private final class SearchTask extends RecursiveAction {
+        private final ThreadLocal<EncodingCost> costs;
+        private final int[] numbers;
+        private final int state;
+        private final int tied;
+
+        private SearchTask(ThreadLocal<EncodingCost> costs, int[] numbers, int state, int tied) {
+            this.costs = costs;
+            this.numbers = numbers;
+            this.state = state;
+            this.tied = tied;
         }
 
-        public void run() {
+        @Override
+        protected void compute() {
+            EncodingCost ec = costs.get();
             try {
-                int bestComplexity = Integer.MAX_VALUE;
-                List<de.neemann.digital.fsm.State> states = fsm.getStates();
-                int size = states.size();
-                int[] p;
-                while ((p = pp.next()) != null) {
-                    for (int i = 0; i < size; i++)
-                        states.get(i).setNumber(p[i]);
-
-                    int c;
-                    try {
-                        c = calcComplexity(fsm, false);
-
-                        if (c < bestComplexity) {
-                            bestComplexity = c;
-                            l.bestSoFar(Arrays.copyOf(p, size), bestComplexity);
-                        }
-                    } catch (ExpressionException | FiniteStateMachineException | FormatterException e) {
-                        // do nothing
-                    }
+                ec.set(numbers);
+                if (state >= SPLIT_DEPTH || state + 1 >= table.getSize()) {
+                    search(ec, state, tied);
+                    return;
                 }
-            } finally {
-                wg.done();
+
+                ArrayList<SearchTask> tasks = new ArrayList<>();
+                for (int n = 0; n < 1 << table.getBits() && !isStopped(); n++) {
+                    if (ec.getOwner(n) >= 0)
+                        continue;
+                    int t = sortedColumns(tied, n);
+                    if (t < 0)
+                        continue;
+                    ec.assign(state, n);
+                    if (ec.getCost() < bestComplexity)
+                        tasks.add(new SearchTask(costs, ec.getNumbers(), state + 1, t));
+                    ec.unassign(state);
+                }
+                invokeAll(tasks);
+            } catch (ExpressionException | FormatterException e) {
+                LOGGER.warn("error during fsm optimization", e);
+            }
+        }
+    }
+
+    /**
+     * Runs an annealing on every worker. The first one starts with the actual numbering,
+     * the others with random numberings. If a time budget is given, the runs are repeated
+     * starting at the best numbering found so far until the time is over.
+     */
+    private final class AnnealingTask extends RecursiveAction {
+        private final ThreadLocal<EncodingCost> costs;
+        private final int run;
+
+        private AnnealingTask(ThreadLocal<EncodingCost> costs) {
+            this(costs, -1);
+        }
+
+        private AnnealingTask(ThreadLocal<EncodingCost> costs, int run) {
+            this.costs = costs;
+            this.run = run;
+        }
+
+        @Override
+        protected void compute() {
+            if (run < 0) {
+                ArrayList<AnnealingTask> tasks = new ArrayList<>();
+                for (int i = 0; i < getPool().getParallelism(); i++)
+                    tasks.add(new AnnealingTask(costs, i));
+                invokeAll(tasks);
+                return;
+            }
+
+            Random rnd = new Random(run);
+            int[] start = getStartNumbers();
+            if (run > 0)
+                shuffle(start, rnd);
+            try {
+                do {
+                    anneal(costs.get(), rnd, start);
+                    synchronized (Optimizer.this) {
+                        if (best != null)
+                            start = Arrays.copyOf(best, best.length);
+                    }
+                } while (deadline != Long.MAX_VALUE && !isStopped());
+            } catch (ExpressionException | FormatterException e) {
+                LOGGER.warn("error during fsm optimization", e);
+            }
+        }
+
+        private void shuffle(int[] start, Random rnd) {
+            int[] all = new int[1 << table.getBits()];
+            for (int i = 0; i < all.length; i++)
+                all[i] = i;
+            for (int i = 0; i < start.length; i++) {
+                int j = i + rnd.nextInt(all.length - i);
+                int t = all[i];
+                all[i] = all[j];
+                all[j] = t;
+                start[i] = all[i];
             }
         }
     }
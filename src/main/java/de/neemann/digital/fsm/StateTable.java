@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.fsm;
+
+import de.neemann.digital.analyse.TruthTable;
+import de.neemann.digital.analyse.expression.ExpressionException;
+import de.neemann.digital.analyse.expression.Variable;
+import de.neemann.digital.analyse.quinemc.BoolTable;
+import de.neemann.digital.core.Bits;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * The transition table of a FSM which does not depend on the state numbers.
+ * The table is created once from the transition table of the FSM. Afterwards the
+ * truth table belonging to any state numbering can be written without evaluating the
+ * transition conditions again.
+ * An entry is addressed by the state index times the rows per state plus the row of
+ * the input variables.
+ */
+final class StateTable {
+    private final int size;
+    private final int bits;
+    private final int rowsPerState;
+    private final int[] next;
+    private final byte[][] outputs;
+    private final int[][] predecessors;
+    private final ArrayList<Variable> vars;
+    private final int[] numbers;
+
+    /**
+     * Creates a new instance
+     *
+     * @param fsm the fsm
+     * @throws FiniteStateMachineException FiniteStateMachineException
+     * @throws ExpressionException         ExpressionException
+     */
+    StateTable(FSM fsm) throws FiniteStateMachineException, ExpressionException {
+        List<State> states = fsm.getStates();
+        size = states.size();
+        bits = Bits.binLn2(size - 1);
+
+        TruthTable tt = fsm.createTruthTable(null);
+        HashMap<Integer, Integer> indexOf = new HashMap<>();
+        numbers = new int[size];
+        int maxNumber = 0;
+        for (int i = 0; i < size; i++) {
+            numbers[i] = states.get(i).getNumber();
+            indexOf.put(numbers[i], i);
+            maxNumber = Math.max(maxNumber, numbers[i]);
+        }
+        int tableBits = Bits.binLn2(maxNumber);
+        int inBits = tt.getVars().size() - tableBits;
+        rowsPerState = 1 << inBits;
+
+        vars = new ArrayList<>();
+        for (int i = bits - 1; i >= 0; i--)
+            vars.add(new Variable("Z_" + i + "^n"));
+        vars.addAll(tt.getVars().subList(tableBits, tt.getVars().size()));
+
+        BoolTable[] nextBits = new BoolTable[tableBits];
+        for (int b = 0; b < tableBits; b++)
+            nextBits[b] = tt.getResult(b);
+        outputs = new byte[tt.getResultCount() - tableBits][size * rowsPerState];
+        next = new int[size * rowsPerState];
+        for (int i = 0; i < size; i++)
+            for (int r = 0; r < rowsPerState; r++) {
+                int row = numbers[i] * rowsPerState + r;
+                int e = i * rowsPerState + r;
+
+                int target = 0;
+                boolean dc = false;
+                for (BoolTable nb : nextBits) {
+                    int v = nb.get(row).asInt();
+                    if (v > 1)
+                        dc = true;
+                    target = target * 2 + v;
+                }
+                Integer t = indexOf.get(target);
+                next[e] = dc || t == null ? -1 : t;
+
+                for (int o = 0; o < outputs.length; o++)
+                    outputs[o][e] = (byte) tt.getResult(o + tableBits).get(row).asInt();
+            }
+
+        int[] count = new int[size];
+        for (int t : next)
+            if (t >= 0)
+                count[t]++;
+        predecessors = new int[size][];
+        for (int s = 0; s < size; s++)
+            predecessors[s] = new int[count[s]];
+        Arrays.fill(count, 0);
+        for (int e = 0; e < next.length; e++)
+            if (next[e] >= 0)
+                predecessors[next[e]][count[next[e]]++] = e;
+    }
+
+    /**
+     * @return the number of states
+     */
+    int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of state bits used by an optimized numbering
+     */
+    int getBits() {
+        return bits;
+    }
+
+    /**
+     * @return the number of rows belonging to a single state
+     */
+    int getRowsPerState() {
+        return rowsPerState;
+    }
+
+    /**
+     * Returns the target state of the given entry
+     *
+     * @param entry the entry
+     * @return the index of the target state, -1 if the target is don't care
+     */
+    int getNext(int entry) {
+        return next[entry];
+    }
+
+    /**
+     * @return the number of output columns
+     */
+    int getOutputCount() {
+        return outputs.length;
+    }
+
+    /**
+     * Returns an output value
+     *
+     * @param output the output
+     * @param entry  the entry
+     * @return the value, 2 means don't care
+     */
+    byte getOutput(int output, int entry) {
+        return outputs[output][entry];
+    }
+
+    /**
+     * Returns the entries which have the given state as their target
+     *
+     * @param state the state
+     * @return the entries
+     */
+    int[] getPredecessors(int state) {
+        return predecessors[state];
+    }
+
+    /**
+     * @return the variables of the truth table, the state variables come first
+     */
+    List<Variable> getVars() {
+        return vars;
+    }
+
+    /**
+     * @return the state numbers used when this table was created
+     */
+    int[] getNumbers() {
+        return numbers.clone();
+    }
+}
@@ -7,9 +7,11 @@ package de.neemann.digital.gui;
 
 import de.neemann.digital.FileLocator;
 import de.neemann.digital.analyse.AnalyseException;
+import de.neemann.digital.analyse.AnalysisCache;
 import de.neemann.digital.analyse.ModelAnalyser;
 import de.neemann.digital.analyse.SubstituteLibrary;
 import de.neemann.digital.analyse.TruthTable;
+import de.neemann.digital.analyse.TruthTableBinary;
 import de.neemann.digital.core.*;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.Keys;
@@ -17,6 +19,7 @@ import de.neemann.digital.core.io.Button;
 import de.neemann.digital.core.io.*;
 import de.neemann.digital.core.memory.ProgramCounter;
 import de.neemann.digital.core.stats.Statistics;
+import de.neemann.digital.core.stats.TimingAnalysis;
 import de.neemann.digital.core.wiring.AsyncSeq;
 import de.neemann.digital.core.wiring.Clock;
 import de.neemann.digital.draw.elements.*;
@@ -133,6 +136,7 @@ public final class Main extends JFrame implements ClosingWindowListener.ConfirmS
     private final InsertHistory insertHistory;
     private final boolean keepPrefMainFile;
     private final FileHistory fileHistory;
+    private final AnalysisCache analysisCache = new AnalysisCache();
 
     private ToolTipAction doMicroStep;
     private ToolTipAction runToBreakMicroAction;
@@ -569,11 +573,12 @@ public final class Main extends JFrame implements ClosingWindowListener.ConfirmS
                     JFileChooser fc = getJFileChooser(baseFilename);
                     fc.addChoosableFileFilter(new FileNameExtensionFilter("FSM", "fsm"));
                     fc.addChoosableFileFilter(new FileNameExtensionFilter(Lang.get("msg_truthTable"), "tru"));
+                    fc.addChoosableFileFilter(new FileNameExtensionFilter(Lang.get("msg_truthTableBinary"), TruthTableBinary.SUFFIX));
                     if (fc.showOpenDialog(Main.this) == JFileChooser.APPROVE_OPTION) {
                         File file = fc.getSelectedFile();
                         if (file.getName().endsWith(".fsm")) {
                             new FSMFrame(Main.this, library, file).setVisible(true);
-                        } else if (file.getName().endsWith(".tru")) {
+                        } else if (file.getName().endsWith(".tru") || file.getName().endsWith("." + TruthTableBinary.SUFFIX)) {
                             try {
                                 new TableDialog(Main.this, TruthTable.readFromFile(file), library, filename).setVisible(true);
                             } catch (IOException ex) {
@@ -1238,13 +1243,15 @@ public final class Main extends JFrame implements ClosingWindowListener.ConfirmS
             @Override
             public void actionPerformed(ActionEvent e) {
                 try {
-                    Model model = new ModelCreator(circuitComponent.getCircuit(), new SubstituteLibrary(library)).createModel(false);
+                    ModelCreator creator = new ModelCreator(circuitComponent.getCircuit(), new SubstituteLibrary(library));
+                    Model model = creator.createModel(false);
                     try {
                         model.checkForInvalidSignals();
                         new TableDialog(Main.this,
-                                new ModelAnalyser(model).analyse(),
+                                new ModelAnalyser(model).setCache(analysisCache, creator).analyse(),
                                 library,
-                                getBaseFileName())
+                                getBaseFileName(),
+                                analysisCache)
                                 .setVisible(true);
                         ensureModelIsStopped();
                     } finally {
@@ -1315,11 +1322,14 @@ public final class Main extends JFrame implements ClosingWindowListener.ConfirmS
                     try {
                         model.setWindowPosManager(windowPosManager);
                         SpeedTest speedTest = new SpeedTest(model);
-                        String frequency = format.format(speedTest.calculate() / 1000);
+                        SpeedTest.Result result = speedTest.calculate();
+                        String frequency = format.format(result.getFrequency() / 1000);
+                        String compiledFrequency = format.format(result.getCompiledFrequency() / 1000);
                         circuitComponent.getCircuit().clearState();
                         SwingUtilities.invokeLater(() -> {
                             windowPosManager.closeAll();
-                            JOptionPane.showMessageDialog(Main.this, Lang.get("msg_frequency_N", frequency));
+                            JOptionPane.showMessageDialog(Main.this, Lang.get("msg_frequency_N", frequency)
+                                    + "\n" + Lang.get("msg_frequencyCompiled_N", compiledFrequency));
                         });
                     } finally {
                         model.close();
@@ -1336,7 +1346,8 @@ public final class Main extends JFrame implements ClosingWindowListener.ConfirmS
                 try {
                     model = new ModelCreator(getCircuitComponent().getCircuit(), library).createModel(false);
                     Statistics stats = new Statistics(model);
-                    new StatsDialog(Main.this, stats.getTableModel()).setVisible(true);
+                    TimingAnalysis timing = new TimingAnalysis(model);
+                    new StatsDialog(Main.this, stats.getTableModel(), timing).setVisible(true);
                 } catch (ElementNotFoundException | PinException | NodeException e) {
                     new ErrorMessage(Lang.get("msg_couldNotCreateStats")).addCause(e).show(Main.this);
                 }
@@ -5,6 +5,7 @@
  */
 package de.neemann.digital.gui;
 
+import de.neemann.digital.core.stats.TimingAnalysis;
 import de.neemann.digital.lang.Lang;
 import de.neemann.gui.Screen;
 
@@ -14,31 +15,76 @@ import javax.swing.table.TableModel;
 import java.awt.*;
 
 /**
- * Dialog used to show the circuits stats
+ * Dialog used to show the circuits stats and the timing report
  */
 public class StatsDialog extends JDialog {
 
     /**
      * Creates a new instance
      *
-     * @param frame the parent frame
-     * @param model the table model
+     * @param frame  the parent frame
+     * @param model  the table model
+     * @param timing the timing analysis of the circuit
      */
-    public StatsDialog(Frame frame, TableModel model) {
+    public StatsDialog(Frame frame, TableModel model, TimingAnalysis timing) {
         super(frame, Lang.get("menu_stats"));
         setDefaultCloseOperation(DISPOSE_ON_CLOSE);
 
+        JTabbedPane tabs = new JTabbedPane();
+        final int fontSize = Screen.getInstance().getFontSize();
+
         final JTable table = new JTable(model);
-        getContentPane().add(new JScrollPane(table));
+        tabs.addTab(Lang.get("stat_components"), new JScrollPane(table));
         final TableColumnModel columnModel = table.getColumnModel();
-        final int fontSize = Screen.getInstance().getFontSize();
         columnModel.getColumn(0).setPreferredWidth(fontSize * 35);
         columnModel.getColumn(1).setPreferredWidth(fontSize * 6);
         columnModel.getColumn(2).setPreferredWidth(fontSize * 6);
         columnModel.getColumn(3).setPreferredWidth(fontSize * 8);
         table.setPreferredScrollableViewportSize(new Dimension(fontSize * 55, fontSize * 40));
 
+        tabs.addTab(Lang.get("stat_timing"), createTimingPanel(timing, fontSize));
+        getContentPane().add(tabs);
+
         pack();
         setLocationRelativeTo(frame);
     }
+
+    private JPanel createTimingPanel(TimingAnalysis timing, int fontSize) {
+        final int critical = timing.getCriticalDelay();
+        final JSpinner period = new JSpinner(new SpinnerNumberModel(critical, 0, Integer.MAX_VALUE, 1));
+        final JSpinner paths = new JSpinner(new SpinnerNumberModel(10, 1, Integer.MAX_VALUE, 1));
+        final JTable table = new JTable(timing.getTableModel(10, critical));
+        table.setPreferredScrollableViewportSize(new Dimension(fontSize * 55, fontSize * 40));
+        setTimingColumnWidths(table, fontSize);
+
+        Runnable update = () -> {
+            table.setModel(timing.getTableModel((Integer) paths.getValue(), (Integer) period.getValue()));
+            setTimingColumnWidths(table, fontSize);
+        };
+        period.addChangeListener(e -> update.run());
+        paths.addChangeListener(e -> update.run());
+
+        JPanel settings = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        settings.add(new JLabel(Lang.get("stat_period")));
+        settings.add(period);
+        settings.add(new JLabel(Lang.get("stat_paths")));
+        settings.add(paths);
+        settings.add(new JLabel(Lang.get("stat_criticalDelay_N", critical)));
+        if (timing.getBrokenLoops() > 0)
+            settings.add(new JLabel(Lang.get("stat_brokenLoops_N", timing.getBrokenLoops())));
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.add(settings, BorderLayout.NORTH);
+        panel.add(new JScrollPane(table), BorderLayout.CENTER);
+        return panel;
+    }
+
+    private static void setTimingColumnWidths(JTable table, int fontSize) {
+        final TableColumnModel columnModel = table.getColumnModel();
+        columnModel.getColumn(0).setPreferredWidth(fontSize * 5);
+        columnModel.getColumn(1).setPreferredWidth(fontSize * 20);
+        columnModel.getColumn(2).setPreferredWidth(fontSize * 18);
+        columnModel.getColumn(3).setPreferredWidth(fontSize * 6);
+        columnModel.getColumn(4).setPreferredWidth(fontSize * 6);
+    }
 }
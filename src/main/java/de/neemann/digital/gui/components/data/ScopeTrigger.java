@@ -10,13 +10,11 @@ import de.neemann.digital.core.element.Element;
 import de.neemann.digital.core.element.ElementAttributes;
 import de.neemann.digital.core.element.ElementTypeDescription;
 import de.neemann.digital.core.element.Keys;
-import de.neemann.digital.data.Value;
 import de.neemann.digital.data.ValueTable;
 import de.neemann.digital.draw.elements.PinException;
 import de.neemann.digital.gui.Main;
 import de.neemann.digital.gui.components.OrderMerger;
 import de.neemann.digital.lang.Lang;
-import de.neemann.digital.testing.parser.TestRow;
 
 import javax.swing.*;
 import java.awt.event.WindowAdapter;
@@ -65,6 +63,7 @@ public class ScopeTrigger extends Node implements Element {
     private ObservableValue clockValue;
     private boolean lastClock;
     private ValueTable logData;
+    private ObservableValue[] sample;
     private ArrayList<Signal> signals;
     private Model model;
     private GraphDialog graphDialog;
@@ -138,6 +137,9 @@ public class ScopeTrigger extends Node implements Element {
 
         ArrayList<String> names = new ArrayList<>(signals.size());
         for (Signal signal : signals) names.add(signal.getName());
+        sample = new ObservableValue[signals.size()];
+        for (int i = 0; i < signals.size(); i++)
+            sample[i] = signals.get(i).getValue();
         return new ValueTable(names).setMaxSize(maxSize);
     }
 
@@ -149,11 +151,7 @@ public class ScopeTrigger extends Node implements Element {
                 if (logData == null)
                     logData = createLogData();
 
-                Value[] sample = new Value[logData.getColumns()];
-                for (int i = 0; i < logData.getColumns(); i++)
-                    sample[i] = new Value(signals.get(i).getValue());
-
-                logData.add(new TestRow(sample));
+                logData.addSample(sample);
                 wasTrigger = false;
 
                 if (graphDialog == null || !graphDialog.isVisible()) {
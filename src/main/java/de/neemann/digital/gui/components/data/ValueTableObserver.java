@@ -8,10 +8,9 @@ package de.neemann.digital.gui.components.data;
 import de.neemann.digital.core.ModelEvent;
 import de.neemann.digital.core.ModelEventType;
 import de.neemann.digital.core.ModelStateObserverTyped;
+import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.Signal;
-import de.neemann.digital.data.Value;
 import de.neemann.digital.data.ValueTable;
-import de.neemann.digital.testing.parser.TestRow;
 
 import java.util.ArrayList;
 
@@ -23,7 +22,7 @@ public class ValueTableObserver implements ModelStateObserverTyped {
     private final ValueTable logData;
     private final Condition condition;
     private final ModelEventType[] events;
-    private final ArrayList<Signal> signals;
+    private final ObservableValue[] sample;
 
     /**
      * Creates a new instance
@@ -33,7 +32,9 @@ public class ValueTableObserver implements ModelStateObserverTyped {
      * @param maxSize   the maximum number of data points to store
      */
     public ValueTableObserver(boolean microStep, ArrayList<Signal> signals, int maxSize) {
-        this.signals = signals;
+        sample = new ObservableValue[signals.size()];
+        for (int i = 0; i < signals.size(); i++)
+            sample[i] = signals.get(i).getValue();
         if (microStep) {
             condition = type -> type == ModelEventType.MICROSTEP;
             events = new ModelEventType[]{ModelEventType.MICROSTEP};
@@ -53,12 +54,8 @@ public class ValueTableObserver implements ModelStateObserverTyped {
         if (event == ModelEvent.STARTED)
             logData.clear();
 
-        if (condition.accept(event.getType())) {
-            Value[] row = new Value[logData.getColumns()];
-            for (int i = 0; i < logData.getColumns(); i++)
-                row[i] = new Value(signals.get(i).getValue());
-            logData.add(new TestRow(row));
-        }
+        if (condition.accept(event.getType()))
+            logData.addSample(sample);
     }
 
     @Override
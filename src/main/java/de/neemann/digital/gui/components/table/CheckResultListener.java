@@ -5,7 +5,7 @@
  */
 package de.neemann.digital.gui.components.table;
 
-import de.neemann.digital.analyse.expression.ContextFiller;
+import de.neemann.digital.analyse.expression.BitSliceEvaluator;
 import de.neemann.digital.analyse.expression.Expression;
 import de.neemann.digital.analyse.expression.ExpressionException;
 import de.neemann.digital.analyse.expression.Variable;
@@ -47,10 +47,9 @@ public class CheckResultListener implements ExpressionListener {
     public void resultFound(String name, Expression expression) throws FormatterException, ExpressionException {
         listener.resultFound(name, expression);
 
-        ContextFiller cf = new ContextFiller(variables);
-
+        long[] values = new BitSliceEvaluator(expression, variables).calculateAll();
         for (int i = 0; i < boolTable.size(); i++)
-            check(boolTable.get(i), expression.calculate(cf.setContextTo(i)));
+            check(boolTable.get(i), BitSliceEvaluator.get(values, i));
 
     }
 
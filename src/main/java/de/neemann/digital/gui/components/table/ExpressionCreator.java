@@ -7,9 +7,11 @@ package de.neemann.digital.gui.components.table;
 
 import de.neemann.digital.analyse.*;
 import de.neemann.digital.analyse.expression.ExpressionException;
+import de.neemann.digital.analyse.expression.NamedExpression;
 import de.neemann.digital.analyse.expression.Variable;
 import de.neemann.digital.analyse.expression.format.FormatterException;
 import de.neemann.digital.analyse.quinemc.BoolTable;
+import de.neemann.digital.analyse.quinemc.TableDecomposer;
 import de.neemann.digital.analyse.quinemc.TableReducer;
 import de.neemann.digital.gui.Main;
 import de.neemann.digital.lang.Lang;
@@ -29,11 +31,13 @@ import java.util.concurrent.TimeUnit;
  */
 public class ExpressionCreator {
     private static final Logger LOGGER = LoggerFactory.getLogger(ExpressionCreator.class);
-    private static final int MAX_INPUTS_ALLOWED = 12;
+    private static final int MAX_INPUTS_ALLOWED = 24;
+    private static final int MAX_INPUTS_QMC = 12;
     private static final int COMPLEX_VAR_SIZE = 8;
 
     private final TruthTable theTable;
     private ProgressListener progressListener;
+    private AnalysisCache cache;
 
     /**
      * Creates a new instance
@@ -113,21 +117,50 @@ public class ExpressionCreator {
                 localVars = tr.getVars();
             }
         }
-        if (!Main.isExperimentalMode() && localVars.size() > MAX_INPUTS_ALLOWED)
-            throw new AnalyseException(Lang.get("err_toManyInputsIn_N0_max_N1_is_N2", resultName, MAX_INPUTS_ALLOWED, localVars.size()));
+        TableDecomposer decomposer = null;
+        if (localVars.size() > MAX_INPUTS_QMC) {
+            decomposer = new TableDecomposer(localVars, boolTable);
+            if (decomposer.canDecompose())
+                LOGGER.debug(resultName + " decomposed, largest part has " + decomposer.getMaxPartVars() + " variables");
+            else
+                decomposer = null;
+        }
+        int size = decomposer == null ? localVars.size() : decomposer.getMaxPartVars();
+        if (!Main.isExperimentalMode() && size > MAX_INPUTS_ALLOWED)
+            throw new AnalyseException(Lang.get("err_toManyInputsIn_N0_max_N1_is_N2", resultName, MAX_INPUTS_ALLOWED, size));
+
 
+        String cacheKey = null;
+        if (cache != null) {
+            cacheKey = AnalysisCache.createKey(resultName, localVars, boolTable, getMinimizer(localVars.size()).getClass().getName());
+            List<NamedExpression> cached = cache.getExpressions(cacheKey);
+            if (cached != null)
+                return new Job(localVars, boolTable, resultName, listener).setCached(cached);
+        }
 
         listener = new CheckResultListener(listener, localVars, boolTable);
 
-        return new Job(localVars, boolTable, resultName, listener);
+        return new Job(localVars, boolTable, resultName, listener).setCacheKey(cacheKey).setDecomposer(decomposer);
     }
 
     private MinimizerInterface getMinimizer(int size) {
         if (size <= 4)
             return new MinimizerQuineMcCluskeyExam();
-        else {
+        else if (size <= MAX_INPUTS_QMC)
             return new MinimizerQuineMcCluskey();
-        }
+        else
+            return new MinimizerEspresso();
+    }
+
+    /**
+     * Sets the cache used to reuse the expressions of tables which have been minimized before
+     *
+     * @param cache the cache, maybe null
+     * @return this for chained calls
+     */
+    public ExpressionCreator setCache(AnalysisCache cache) {
+        this.cache = cache;
+        return this;
     }
 
     /**
@@ -162,6 +195,9 @@ public class ExpressionCreator {
         private final String resultName;
         private final ExpressionListener listener;
         private ExpressionListenerStore storage;
+        private List<NamedExpression> cached;
+        private String cacheKey;
+        private TableDecomposer decomposer;
 
         private Job(List<Variable> localVars, BoolTable boolTable, String resultName, ExpressionListener listener) {
             this.localVars = localVars;
@@ -171,14 +207,43 @@ public class ExpressionCreator {
         }
 
         private void run() throws ExpressionException, FormatterException {
+            if (cached != null) {
+                for (NamedExpression e : cached)
+                    listener.resultFound(e.getName(), e.getExpression().copy());
+                if (progressListener != null)
+                    progressListener.oneCompleted();
+                return;
+            }
             LOGGER.debug("start job with complexity " + getComplexity());
             long time = System.currentTimeMillis();
-            getMinimizer(localVars.size()).minimize(localVars, boolTable, resultName, listener);
+            if (cacheKey == null)
+                minimize(listener);
+            else {
+                ExpressionListenerStore found = new ExpressionListenerStore(null);
+                minimize(found);
+                found.close();
+                ArrayList<NamedExpression> list = new ArrayList<>();
+                for (ExpressionListenerStore.Result r : found.getResults())
+                    list.add(new NamedExpression(r.getName(), r.getExpression()));
+                cache.putExpressions(cacheKey, list);
+                found.replayTo(listener);
+            }
             LOGGER.debug("finished job with complexity " + getComplexity() + ":  " + (System.currentTimeMillis() - time) / 1000 + "sec");
             if (progressListener != null)
                 progressListener.oneCompleted();
         }
 
+        private void minimize(ExpressionListener l) throws ExpressionException, FormatterException {
+            if (decomposer == null)
+                getMinimizer(localVars.size()).minimize(localVars, boolTable, resultName, l);
+            else
+                l.resultFound(resultName, decomposer.createExpression((vars, table) -> {
+                    ExpressionListenerStore part = new ExpressionListenerStore(null);
+                    getMinimizer(vars.size()).minimize(vars, table, resultName, part);
+                    return part.getFirst();
+                }));
+        }
+
         private int getComplexity() {
             return boolTable.realSize();
         }
@@ -195,5 +260,20 @@ public class ExpressionCreator {
             this.storage = storage;
             return this;
         }
+
+        private Job setCached(List<NamedExpression> cached) {
+            this.cached = cached;
+            return this;
+        }
+
+        private Job setCacheKey(String cacheKey) {
+            this.cacheKey = cacheKey;
+            return this;
+        }
+
+        private Job setDecomposer(TableDecomposer decomposer) {
+            this.decomposer = decomposer;
+            return this;
+        }
     }
 }
@@ -6,8 +6,10 @@
 package de.neemann.digital.gui.components.table;
 
 import de.neemann.digital.analyse.AnalyseException;
+import de.neemann.digital.analyse.AnalysisCache;
 import de.neemann.digital.analyse.ModelAnalyserInfo;
 import de.neemann.digital.analyse.TruthTable;
+import de.neemann.digital.analyse.TruthTableBinary;
 import de.neemann.digital.analyse.TruthTableTableModel;
 import de.neemann.digital.analyse.expression.Expression;
 import de.neemann.digital.analyse.expression.ExpressionException;
@@ -61,6 +63,7 @@ import java.awt.*;
 import java.awt.event.ActionEvent;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
@@ -116,6 +119,7 @@ public class TableDialog extends JDialog {
     private final KarnaughMapDialog kvMap;
     private final Mouse mouse = Mouse.getMouse();
     private final UndoManager<TruthTable> undoManager;
+    private final AnalysisCache analysisCache;
     private JCheckBoxMenuItem createJK;
     private File filename;
     private int columnIndex;
@@ -131,7 +135,21 @@ public class TableDialog extends JDialog {
      * @param filename   the file name used to create the names of the created files
      */
     public TableDialog(Window parent, TruthTable truthTable, ElementLibrary library, File filename) {
+        this(parent, truthTable, library, filename, null);
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param parent        the parent frame
+     * @param truthTable    the table to show
+     * @param library       the library to use
+     * @param filename      the file name used to create the names of the created files
+     * @param analysisCache the cache used to reuse the expressions of previous analyses, maybe null
+     */
+    public TableDialog(Window parent, TruthTable truthTable, ElementLibrary library, File filename, AnalysisCache analysisCache) {
         super(parent, Lang.get("win_table"));
+        this.analysisCache = analysisCache;
         undoManager = new UndoManager<>(truthTable);
         this.library = library;
         this.shapeFactory = library.getShapeFactory();
@@ -378,6 +396,7 @@ public class TableDialog extends JDialog {
                 if (TableDialog.this.filename != null)
                     fc.setSelectedFile(SaveAsHelper.checkSuffix(TableDialog.this.filename, "tru"));
                 fc.setFileFilter(new FileNameExtensionFilter(Lang.get("msg_truthTableCSV"), "csv"));
+                fc.setFileFilter(new FileNameExtensionFilter(Lang.get("msg_truthTableBinary"), TruthTableBinary.SUFFIX));
                 fc.setFileFilter(new FileNameExtensionFilter(Lang.get("msg_truthTable"), "tru"));
                 if (fc.showOpenDialog(TableDialog.this) == JFileChooser.APPROVE_OPTION) {
                     try {
@@ -444,27 +463,30 @@ public class TableDialog extends JDialog {
 
         JMenu export = new JMenu(Lang.get("menu_export"));
         fileMenu.add(export);
-        export.add(new FileExportActionConfirm(Lang.get("menu_table_exportHex"), "hex") {
-            @Override
-            protected String getString() throws ExpressionException {
-                return new TruthTableFormatterHex().format(undoManager.getActual());
-            }
-        }.setToolTip(Lang.get("menu_table_exportHex_tt")).createJMenuItem());
+        export.add(new FileExportActionConfirm(Lang.get("menu_table_exportHex"), "hex", new TruthTableFormatterHex())
+                .setToolTip(Lang.get("menu_table_exportHex_tt")).createJMenuItem());
         export.add(new FileExportAction(Lang.get("menu_table_exportCSVCondensed"), "csv") {
             @Override
-            protected String getString() throws FormatterException, ExpressionException {
+            protected void write(Writer w) throws FormatterException, ExpressionException, IOException {
                 ExpressionListenerCSVCondensed expressionListener = new ExpressionListenerCSVCondensed();
                 lastGeneratedExpressions.replayTo(expressionListener);
                 expressionListener.close();
-                return expressionListener.toString();
+                w.write(expressionListener.toString());
             }
         }.setToolTip(Lang.get("menu_table_exportCSVCondensed_tt")).createJMenuItem());
-        export.add(new FileExportActionConfirm(Lang.get("menu_table_exportCSV"), "csv") {
+        export.add(new FileExportActionConfirm(Lang.get("menu_table_exportCSV"), "csv", new TruthTableFormatterCSV())
+                .setToolTip(Lang.get("menu_table_exportCSV_tt")).createJMenuItem());
+        export.add(new ToolTipAction(Lang.get("menu_table_exportBinary")) {
             @Override
-            protected String getString() throws ExpressionException {
-                return new TruthTableFormatterCSV().format(undoManager.getActual());
+            public void actionPerformed(ActionEvent e) {
+                JFileChooser fc = new MyFileChooser();
+                if (TableDialog.this.filename != null)
+                    fc.setSelectedFile(SaveAsHelper.checkSuffix(TableDialog.this.filename, TruthTableBinary.SUFFIX));
+                fc.setFileFilter(new FileNameExtensionFilter(Lang.get("msg_truthTableBinary"), TruthTableBinary.SUFFIX));
+                new SaveAsHelper(TableDialog.this, fc, TruthTableBinary.SUFFIX)
+                        .checkOverwrite(file -> TruthTableBinary.write(undoManager.getActual(), file));
             }
-        }.setToolTip(Lang.get("menu_table_exportCSV_tt")).createJMenuItem());
+        }.setToolTip(Lang.get("menu_table_exportBinary_tt")).createJMenuItem());
 
         createJK = new JCheckBoxMenuItem(Lang.get("menu_table_JK"));
         createJK.addActionListener(e -> calculateExpressions());
@@ -732,7 +754,7 @@ public class TableDialog extends JDialog {
                 new Thread(() -> {
                     ExpressionListenerStore storage = new ExpressionListenerStore(null);
                     try {
-                        new ExpressionCreator(table).setProgressListener(progress).create(storage);
+                        new ExpressionCreator(table).setCache(analysisCache).setProgressListener(progress).create(storage);
                     } catch (ExpressionException | FormatterException | AnalyseException e) {
                         SwingUtilities.invokeLater(() -> {
                             progress.dispose();
@@ -757,7 +779,7 @@ public class TableDialog extends JDialog {
                 }).start();
             } else {
                 lastGeneratedExpressions = new ExpressionListenerStore(expressionListener);
-                new ExpressionCreator(table).create(lastGeneratedExpressions);
+                new ExpressionCreator(table).setCache(analysisCache).create(lastGeneratedExpressions);
                 kvMap.setResult(table, lastGeneratedExpressions.getResults());
             }
 
@@ -1027,8 +1049,8 @@ public class TableDialog extends JDialog {
                 new SaveAsHelper(TableDialog.this, fc, suffix)
                         .checkOverwrite(file -> {
                             try {
-                                try (Writer w = new FileWriter(file)) {
-                                    w.write(getString());
+                                try (Writer w = new BufferedWriter(new FileWriter(file))) {
+                                    write(w);
                                 }
                             } catch (FormatterException | ExpressionException ex) {
                                 throw new IOException(ex);
@@ -1041,13 +1063,20 @@ public class TableDialog extends JDialog {
             return true;
         }
 
-        protected abstract String getString() throws FormatterException, ExpressionException;
+        protected abstract void write(Writer w) throws FormatterException, ExpressionException, IOException;
     }
 
-    private abstract class FileExportActionConfirm extends FileExportAction {
+    private final class FileExportActionConfirm extends FileExportAction {
+        private final TruthTableFormatter formatter;
 
-        private FileExportActionConfirm(String name, String suffix) {
+        private FileExportActionConfirm(String name, String suffix, TruthTableFormatter formatter) {
             super(name, suffix);
+            this.formatter = formatter;
+        }
+
+        @Override
+        protected void write(Writer w) throws ExpressionException, IOException {
+            formatter.format(undoManager.getActual(), w);
         }
 
         @Override
@@ -33,6 +33,7 @@ public class Context implements HGSMap {
      * Key used to store the base file name in the context
      */
     public static final String BASE_FILE_KEY = "baseFile";
+    private static final int MAX_SLOTS_WITHOUT_INDEX = 16;
 
     static {
         BUILT_IN.put("bitsNeededFor", new FunctionBitsNeeded());
@@ -63,7 +64,12 @@ public class Context implements HGSMap {
 
     private final Context parent;
     private final StringBuilder code;
-    private final HashMap<String, Object> map;
+    // The variables are stored in slots. The arrays are created if the first variable is declared,
+    // because most block contexts declare no variables at all.
+    private String[] names;
+    private Object[] values;
+    private int size;
+    private HashMap<String, Integer> index;
     private File rootPath;
     private boolean loggingEnabled = true;
 
@@ -98,7 +104,6 @@ public class Context implements HGSMap {
             this.code = new StringBuilder();
         else
             this.code = null;
-        map = new HashMap<>();
     }
 
     /**
@@ -108,7 +113,7 @@ public class Context implements HGSMap {
      * @return true if value is present
      */
     public boolean contains(String name) {
-        if (map.containsKey(name))
+        if (slotOf(name) >= 0)
             return true;
         else {
             if (parent != null)
@@ -144,18 +149,21 @@ public class Context implements HGSMap {
      * @throws HGSEvalException HGSEvalException
      */
     public Object getVar(String name) throws HGSEvalException {
-        Object v = map.get(name);
-        if (v == null) {
-            if (parent == null) {
-                InnerFunction builtIn = BUILT_IN.get(name);
-                if (builtIn != null)
-                    return builtIn;
-
-                throw new HGSEvalException("Variable not found: " + name);
-            } else
-                return parent.getVar(name);
-        } else
-            return v;
+        Context c = this;
+        do {
+            if (c.size > 0) {
+                int slot = c.slotOf(name);
+                if (slot >= 0 && c.values[slot] != null)
+                    return c.values[slot];
+            }
+            c = c.parent;
+        } while (c != null);
+
+        InnerFunction builtIn = BUILT_IN.get(name);
+        if (builtIn != null)
+            return builtIn;
+
+        throw new HGSEvalException("Variable not found: " + name);
     }
 
     /**
@@ -167,10 +175,11 @@ public class Context implements HGSMap {
      * @throws HGSEvalException HGSEvalException
      */
     public void setVar(String name, Object val) throws HGSEvalException {
-        Object v = map.get(name);
+        int slot = slotOf(name);
+        Object v = slot < 0 ? null : values[slot];
         if (v != null) {
             if (v.getClass().isAssignableFrom(val.getClass()))
-                map.put(name, val);
+                values[slot] = val;
             else
                 throw new HGSEvalException("Variable '" + name + "' has wrong type. Needs to be "
                         + v.getClass().getSimpleName() + ", is " + val.getClass().getSimpleName());
@@ -209,12 +218,52 @@ public class Context implements HGSMap {
      * @throws HGSEvalException HGSEvalException
      */
     public Context declareVar(String name, Object value) throws HGSEvalException {
-        if (map.containsKey(name))
+        if (slotOf(name) >= 0)
             throw new HGSEvalException("Variable '" + name + "' already declared!");
-        map.put(name, value);
+
+        if (names == null) {
+            names = new String[4];
+            values = new Object[4];
+        } else if (size == names.length) {
+            names = Arrays.copyOf(names, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        names[size] = name;
+        values[size] = value;
+        if (index != null)
+            index.put(name, size);
+        size++;
+        if (index == null && size > MAX_SLOTS_WITHOUT_INDEX) {
+            index = new HashMap<>();
+            for (int i = 0; i < size; i++)
+                index.put(names[i], i);
+        }
         return this;
     }
 
+    /**
+     * Returns the slot of the given variable.
+     * The identifiers created by the parser are interned, so in most cases the
+     * identity comparison finds the slot.
+     *
+     * @param name the name of the variable
+     * @return the slot or -1 if the variable is not declared in this context
+     */
+    private int slotOf(String name) {
+        if (index != null) {
+            Integer slot = index.get(name);
+            return slot == null ? -1 : slot;
+        }
+        for (int i = 0; i < size; i++)
+            if (names[i] == name)
+                return i;
+        final int hash = name.hashCode();
+        for (int i = 0; i < size; i++)
+            if (names[i].hashCode() == hash && names[i].equals(name))
+                return i;
+        return -1;
+    }
+
     /**
      * Adds a function to the context.
      * Only needed for type checking. Calls setVar().
@@ -255,9 +304,9 @@ public class Context implements HGSMap {
      */
     public String toStringKeys() {
         StringBuilder sb = new StringBuilder();
-        for (Map.Entry<String, Object> k : map.entrySet()) {
-            sb.append(k.getKey()).append(":");
-            Object val = k.getValue();
+        for (int i = 0; i < size; i++) {
+            sb.append(names[i]).append(":");
+            Object val = values[i];
             if (val instanceof Context)
                 sb.append("[").append(((Context) val).toStringKeys()).append("]");
             else if (val instanceof File)
@@ -333,14 +382,18 @@ public class Context implements HGSMap {
 
     @Override
     public Object hgsMapGet(String key) {
-        return map.get(key);
+        int slot = slotOf(key);
+        return slot < 0 ? null : values[slot];
     }
 
     /**
      * @return the set of all contained values
      */
     public HashSet<String> getKeySet() {
-        return new HashSet<>(map.keySet());
+        HashSet<String> keys = new HashSet<>();
+        for (int i = 0; i < size; i++)
+            keys.add(names[i]);
+        return keys;
     }
 
     private static final class FunctionPrint extends InnerFunction {
@@ -724,13 +777,22 @@ public class Context implements HGSMap {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Context context = (Context) o;
-        return Objects.equals(parent, context.parent)
-                && map.equals(context.map);
+        if (!Objects.equals(parent, context.parent) || size != context.size)
+            return false;
+        for (int i = 0; i < size; i++) {
+            int slot = context.slotOf(names[i]);
+            if (slot < 0 || !Objects.equals(values[i], context.values[slot]))
+                return false;
+        }
+        return true;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(parent, map);
+        int h = 0;
+        for (int i = 0; i < size; i++)
+            h += names[i].hashCode() ^ Objects.hashCode(values[i]);
+        return Objects.hash(parent, h);
     }
 
 }
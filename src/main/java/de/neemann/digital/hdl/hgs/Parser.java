@@ -15,7 +15,9 @@ import java.io.*;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.WeakHashMap;
 
 import static de.neemann.digital.hdl.hgs.Tokenizer.Token.*;
 
@@ -23,9 +25,19 @@ import static de.neemann.digital.hdl.hgs.Tokenizer.Token.*;
  * Parser to evaluate text templates
  */
 public class Parser {
+    private static final int MAX_CACHED_CODE = 1000;
+    // parsed templates, the class loader is weak referenced to allow a library jar to be unloaded
+    private static final WeakHashMap<ClassLoader, HashMap<String, Statement>> TEMPLATE_CACHE = new WeakHashMap<>();
+    private static final LinkedHashMap<String, Statement> CODE_CACHE = new LinkedHashMap<String, Statement>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Statement> eldest) {
+            return size() > MAX_CACHED_CODE;
+        }
+    };
 
     /**
      * Creates a statement from the jar file using ClassLoader.getSystemResourceAsStream(path).
+     * The parsed statements are cached, so every template file is parsed only once.
      *
      * @param path the path of the file to load
      * @param cl   the classloader used to load the template. If set to null, the SystemClassLoader is used
@@ -36,13 +48,50 @@ public class Parser {
     public static Statement createFromJar(String path, ClassLoader cl) throws IOException, ParserException {
         if (cl == null)
             cl = ClassLoader.getSystemClassLoader();
+        synchronized (TEMPLATE_CACHE) {
+            HashMap<String, Statement> templates = TEMPLATE_CACHE.get(cl);
+            if (templates != null) {
+                Statement s = templates.get(path);
+                if (s != null)
+                    return s;
+            }
+        }
+
         InputStream in = cl.getResourceAsStream(path);
         if (in == null)
             throw new FileNotFoundException("file not found: " + path);
+        Statement s;
         try (Reader r = new InputStreamReader(in, StandardCharsets.UTF_8)) {
             Parser p = new Parser(r, path);
-            return p.parse();
+            s = p.parse();
+        }
+        synchronized (TEMPLATE_CACHE) {
+            TEMPLATE_CACHE.computeIfAbsent(cl, c -> new HashMap<>()).put(path, s);
+        }
+        return s;
+    }
+
+    /**
+     * Parses the given code which does not start with text, see {@link #parse(boolean)}.
+     * The parsed statements are cached, because the same code is evaluated many times,
+     * e.g. the generic code of a circuit for every instance of the circuit.
+     *
+     * @param code the code to parse
+     * @return the statement
+     * @throws IOException     IOException
+     * @throws ParserException ParserException
+     */
+    public static Statement createCached(String code) throws IOException, ParserException {
+        synchronized (CODE_CACHE) {
+            Statement s = CODE_CACHE.get(code);
+            if (s != null)
+                return s;
+        }
+        Statement s = new Parser(code).parse(false);
+        synchronized (CODE_CACHE) {
+            CODE_CACHE.put(code, s);
         }
+        return s;
     }
 
     /**
@@ -291,7 +340,7 @@ public class Parser {
                 return lino(c -> FirstClassFunctionCall.returnFromFunc(retExp.value(c)));
             case FUNC:
                 expect(IDENT);
-                String funcName = tok.getIdent();
+                String funcName = tok.getIdent().intern();
                 FirstClassFunction funcDecl = parseFunction();
                 return lino(c -> c.declareVar(funcName, new FirstClassFunctionCall(funcDecl, c)));
             default:
@@ -315,7 +364,7 @@ public class Parser {
     }
 
     private Reference parseReference(String var) throws IOException, ParserException {
-        Reference r = new ReferenceToVar(var);
+        Reference r = new ReferenceToVar(var.intern());
         while (true) {
             if (nextIs(OPENSQUARE)) {
                 r = new ReferenceToArray(r, parseExpression());
@@ -324,7 +373,7 @@ public class Parser {
                 r = new ReferenceToFunc(r, parseArgList());
             } else if (nextIs(DOT)) {
                 expect(IDENT);
-                r = new ReferenceToStruct(r, tok.getIdent());
+                r = new ReferenceToStruct(r, tok.getIdent().intern());
             } else
                 return r;
         }
@@ -391,13 +440,37 @@ public class Parser {
         Expression ac = next.next();
         while (tok.peek().getPrecedence() == op) {
             Tokenizer.Binary function = tok.next().getBinary();
-            Expression a = ac;
-            Expression b = next.next();
-            ac = (c) -> function.op(a.value(c), b.value(c));
+            ac = createBinary(function, ac, next.next());
         }
         return ac;
     }
 
+    /**
+     * Creates a binary operation.
+     * If both operands are constant, the operation is evaluated at parse time.
+     */
+    private static Expression createBinary(Tokenizer.Binary function, Expression a, Expression b) {
+        if (a instanceof Constant && b instanceof Constant) {
+            try {
+                return new Constant(function.op(((Constant) a).value, ((Constant) b).value));
+            } catch (HGSEvalException | RuntimeException e) {
+                // not folded, so the error is reported when the expression is evaluated
+            }
+        }
+        return c -> function.op(a.value(c), b.value(c));
+    }
+
+    private static Expression createUnary(Unary function, Expression a) {
+        if (a instanceof Constant) {
+            try {
+                return new Constant(function.op(((Constant) a).value));
+            } catch (HGSEvalException | RuntimeException e) {
+                // not folded, so the error is reported when the expression is evaluated
+            }
+        }
+        return c -> function.op(a.value(c));
+    }
+
     private Next getNextParser(OperatorPrecedence pr) {
         if (pr == null)
             return this::parseIdent;
@@ -415,24 +488,19 @@ public class Parser {
                     refRead.add(r);
                 return r::get;
             case NUMBER:
-                long num = convToLong(tok.getIdent());
-                return c -> num;
+                return new Constant(convToLong(tok.getIdent()));
             case DOUBLE:
-                double d = convToDouble(tok.getIdent());
-                return c -> d;
+                return new Constant(convToDouble(tok.getIdent()));
             case TRUE:
-                return c -> true;
+                return new Constant(true);
             case FALSE:
-                return c -> false;
+                return new Constant(false);
             case STRING:
-                String s = tok.getIdent();
-                return c -> s;
+                return new Constant(tok.getIdent());
             case SUB:
-                Expression negExp = parseIdent();
-                return c -> Value.neg(negExp.value(c));
+                return createUnary(Value::neg, parseIdent());
             case NOT:
-                Expression notExp = parseIdent();
-                return c -> Value.not(notExp.value(c));
+                return createUnary(Value::not, parseIdent());
             case OPEN:
                 Expression exp = parseExpression();
                 expect(CLOSE);
@@ -497,16 +565,20 @@ public class Parser {
         Expression next() throws IOException, ParserException;
     }
 
+    private interface Unary {
+        Object op(Object a) throws HGSEvalException;
+    }
+
     private FirstClassFunction parseFunction() throws IOException, ParserException {
         expect(OPEN);
         ArrayList<String> args = new ArrayList<>();
         if (!nextIs(CLOSE)) {
             expect(IDENT);
-            args.add(tok.getIdent());
+            args.add(tok.getIdent().intern());
             while (!nextIs(CLOSE)) {
                 expect(COMMA);
                 expect(IDENT);
-                args.add(tok.getIdent());
+                args.add(tok.getIdent().intern());
             }
         }
         Statement st = parseStatement();
@@ -553,6 +625,22 @@ public class Parser {
         }
     }
 
+    /**
+     * A constant value. The value is boxed only once at parse time.
+     */
+    private static final class Constant implements Expression {
+        private final Object value;
+
+        private Constant(Object value) {
+            this.value = value;
+        }
+
+        @Override
+        public Object value(Context c) {
+            return value;
+        }
+    }
+
     private static final class StructLiteral implements Expression {
         private final HashMap<String, Expression> map;
 
@@ -123,6 +123,8 @@ public final class Value {
      * @return true if both values are equal
      */
     public static boolean equals(Object a, Object b) {
+        if (a instanceof Long && b instanceof Long)
+            return ((Long) a).longValue() == (Long) b;
         if (a instanceof Double || b instanceof Double)
             return a.equals(b);
         else if (a instanceof Number && b instanceof Number)
@@ -142,6 +144,8 @@ public final class Value {
      * @throws HGSEvalException HGSEvalException
      */
     public static Object add(Object a, Object b) throws HGSEvalException {
+        if (a instanceof Long && b instanceof Long)
+            return (Long) a + (Long) b;
         if (a instanceof Double || b instanceof Double)
             return toDouble(a) + toDouble(b);
         if (a instanceof Number && b instanceof Number)
@@ -160,6 +164,8 @@ public final class Value {
      * @throws HGSEvalException HGSEvalException
      */
     public static Object sub(Object a, Object b) throws HGSEvalException {
+        if (a instanceof Long && b instanceof Long)
+            return (Long) a - (Long) b;
         if (a instanceof Double || b instanceof Double)
             return toDouble(a) - toDouble(b);
         if (a instanceof Number && b instanceof Number)
@@ -176,6 +182,8 @@ public final class Value {
      * @throws HGSEvalException HGSEvalException
      */
     public static Object mul(Object a, Object b) throws HGSEvalException {
+        if (a instanceof Long && b instanceof Long)
+            return (Long) a * (Long) b;
         if (a instanceof Double || b instanceof Double)
             return toDouble(a) * toDouble(b);
         if (a instanceof Number && b instanceof Number)
@@ -192,6 +200,8 @@ public final class Value {
      * @throws HGSEvalException HGSEvalException
      */
     public static Object div(Object a, Object b) throws HGSEvalException {
+        if (a instanceof Long && b instanceof Long)
+            return (Long) a / (Long) b;
         if (a instanceof Double || b instanceof Double)
             return toDouble(a) / toDouble(b);
         if (a instanceof Number && b instanceof Number)
@@ -276,6 +286,8 @@ public final class Value {
      * @throws HGSEvalException HGSEvalException
      */
     public static boolean less(Object a, Object b) throws HGSEvalException {
+        if (a instanceof Long && b instanceof Long)
+            return (Long) a < (Long) b;
         if (a instanceof Double || b instanceof Double)
             return toDouble(a) < toDouble(b);
         if (a instanceof Number && b instanceof Number)
@@ -294,6 +306,8 @@ public final class Value {
      * @throws HGSEvalException HGSEvalException
      */
     public static boolean lessEqual(Object a, Object b) throws HGSEvalException {
+        if (a instanceof Long && b instanceof Long)
+            return (Long) a <= (Long) b;
         if (a instanceof Double || b instanceof Double)
             return toDouble(a) <= toDouble(b);
         if (a instanceof Number && b instanceof Number)
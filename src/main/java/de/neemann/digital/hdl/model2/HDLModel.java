@@ -27,6 +27,10 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static de.neemann.digital.draw.model.ModelCreator.fixGenerics;
 
@@ -35,6 +39,8 @@ import static de.neemann.digital.draw.model.ModelCreator.fixGenerics;
  * Ensures that every circuit is only processed one time.
  */
 public class HDLModel implements Iterable<HDLCircuit> {
+    private static final int MIN_CIRCUITS_PER_THREAD = 8;
+
     private final ElementLibrary elementLibrary;
     private final HashMap<Circuit, HDLCircuit> circuitMap;
     private final HashMap<String, GenericsCache> genericInstanceNumbers;
@@ -226,6 +232,51 @@ public class HDLModel implements Iterable<HDLCircuit> {
         return this;
     }
 
+    /**
+     * Applies the default optimizations to all circuits of this model.
+     * The optimizations only modify the circuit they are applied to, so in large
+     * hierarchies the circuits are optimized in parallel. The result does not depend
+     * on the order in which the circuits are processed.
+     *
+     * @return this for chained calls
+     * @throws HDLException HDLException
+     * @see HDLCircuit#applyDefaultOptimizations()
+     */
+    public HDLModel applyDefaultOptimizations() throws HDLException {
+        int threads = Math.min(Runtime.getRuntime().availableProcessors(), circuitMap.size() / MIN_CIRCUITS_PER_THREAD);
+        if (threads <= 1) {
+            for (HDLCircuit c : circuitMap.values())
+                c.applyDefaultOptimizations();
+            return this;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "hdl-optimizer");
+            t.setDaemon(true);
+            return t;
+        });
+        try {
+            ArrayList<Future<HDLCircuit>> futures = new ArrayList<>(circuitMap.size());
+            for (HDLCircuit c : circuitMap.values())
+                futures.add(executor.submit(c::applyDefaultOptimizations));
+            for (Future<HDLCircuit> f : futures)
+                f.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof HDLException)
+                throw (HDLException) cause;
+            if (cause instanceof RuntimeException)
+                throw (RuntimeException) cause;
+            throw new HDLException("error optimizing circuit", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HDLException("interrupted while optimizing circuit", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        return this;
+    }
+
     /**
      * Renames the signals in this model
      *
@@ -69,9 +69,9 @@ public class VerilogGenerator implements Closeable {
             if (!circuit.getAttributes().get(Keys.ROMMANAGER).isEmpty())
                 throw new HDLException(Lang.get("err_centralDefinedRomsAreNotSupported"));
 
-            model = new HDLModel(library).create(circuit, clockIntegrator);
-            for (HDLCircuit hdlCircuit : model)
-                hdlCircuit.applyDefaultOptimizations();
+            model = new HDLModel(library)
+                    .create(circuit, clockIntegrator)
+                    .applyDefaultOptimizations();
 
             HDLModel.Renaming vrename = new VerilogRenaming();
             model.renameLabels(vrename);
@@ -16,6 +16,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 
 /**
@@ -28,6 +29,8 @@ public class VerilogTemplate implements VerilogElement {
     private final String moduleBaseName;
     private final Statement statements;
     private HashMap<String, Module> modules;
+    // the template is evaluated only once per node
+    private final IdentityHashMap<HDLNode, Module> nodeModules = new IdentityHashMap<>();
 
     /**
      * Creates a new instance
@@ -120,6 +123,15 @@ public class VerilogTemplate implements VerilogElement {
     }
 
     private Module getModule(HDLNode node, File root) throws HGSEvalException {
+        Module m = nodeModules.get(node);
+        if (m == null) {
+            m = createModule(node, root);
+            nodeModules.put(node, m);
+        }
+        return m;
+    }
+
+    private Module createModule(HDLNode node, File root) throws HGSEvalException {
         Module genModule = new Module(node, moduleBaseName, root);
 
         Module e = modules.get(genModule.name);
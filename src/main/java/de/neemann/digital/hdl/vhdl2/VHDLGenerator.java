@@ -64,9 +64,9 @@ public class VHDLGenerator implements Closeable {
             if (!circuit.getAttributes().get(Keys.ROMMANAGER).isEmpty())
                 throw new HDLException(Lang.get("err_centralDefinedRomsAreNotSupported"));
 
-            model = new HDLModel(library).create(circuit, clockIntegrator);
-            for (HDLCircuit hdlCircuit : model)
-                hdlCircuit.applyDefaultOptimizations();
+            model = new HDLModel(library)
+                    .create(circuit, clockIntegrator)
+                    .applyDefaultOptimizations();
 
             model.renameLabels(new VHDLRenaming());
 
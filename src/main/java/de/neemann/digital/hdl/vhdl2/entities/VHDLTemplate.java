@@ -18,6 +18,7 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 
 /**
  * Reads a file with the vhdl code to create the entity.
@@ -30,6 +31,8 @@ public class VHDLTemplate implements VHDLEntity {
     private final Statement statements;
     private final String entityName;
     private HashMap<String, Entity> entities;
+    // the template is evaluated only once per node
+    private final IdentityHashMap<HDLNode, Entity> nodeEntities = new IdentityHashMap<>();
 
     /**
      * Creates a new instance
@@ -107,6 +110,15 @@ public class VHDLTemplate implements VHDLEntity {
     }
 
     private Entity getEntity(HDLNode node, File root) throws HGSEvalException {
+        Entity e = nodeEntities.get(node);
+        if (e == null) {
+            e = createEntity(node, root);
+            nodeEntities.put(node, e);
+        }
+        return e;
+    }
+
+    private Entity createEntity(HDLNode node, File root) throws HGSEvalException {
         Entity newGenerated = new Entity(node, entityName, root);
 
         Entity e = entities.get(newGenerated.name);
@@ -21,12 +21,17 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Runs all tests in al circuits in a folder
  */
 public class FolderTestRunner {
     private final ArrayList<FileToTest> files;
+    private int threads = Runtime.getRuntime().availableProcessors();
     private Thread thread;
 
     /**
@@ -51,16 +56,29 @@ public class FolderTestRunner {
         }
     }
 
+    /**
+     * Sets the number of threads used to run the tests.
+     * The default is the number of available processors.
+     *
+     * @param threads the number of threads, if less than two, all tests are executed sequentially
+     * @return this for chained calls
+     */
+    public FolderTestRunner setThreads(int threads) {
+        this.threads = threads;
+        return this;
+    }
+
     /**
      * Starts all the tests.
      * The test execution is done in a new thread, so this method returns immediately.
+     * The files are tested in parallel, but the listener is notified in the order of the files.
      *
      * @param fileChangedListener the listsener to notify if a file status changed
      * @param shapeFactory        the shape factory
      * @param library             the element library
      */
     public void startTests(FileChangedListener fileChangedListener, ShapeFactory shapeFactory, ElementLibrary library) {
-        thread = new Thread(new TestRunner(files, fileChangedListener, shapeFactory, library));
+        thread = new Thread(new TestRunner(files, fileChangedListener, shapeFactory, library, threads));
         thread.setDaemon(true);
         thread.start();
     }
@@ -170,36 +188,72 @@ public class FolderTestRunner {
         private final FileChangedListener fileChangedListener;
         private final ShapeFactory shapeFactory;
         private final ElementLibrary library;
+        private final int threads;
 
-        private TestRunner(ArrayList<FileToTest> files, FileChangedListener fileChangedListener, ShapeFactory shapeFactory, ElementLibrary library) {
+        private TestRunner(ArrayList<FileToTest> files, FileChangedListener fileChangedListener, ShapeFactory shapeFactory, ElementLibrary library, int threads) {
             this.files = files;
             this.fileChangedListener = fileChangedListener;
             this.shapeFactory = shapeFactory;
             this.library = library;
+            this.threads = threads;
         }
 
         @Override
         public void run() {
-            for (int i = 0; i < files.size(); i++) {
-                FileToTest f = files.get(i);
-                try {
-                    Circuit circuit = Circuit.loadCircuit(f.file, shapeFactory);
-                    List<Circuit.TestCase> testCases = circuit.getTestCases();
-                    if (testCases.isEmpty()) {
-                        // if no test data is available, at least check if the model is error free
-                        try {
-                            new ModelCreator(circuit, library).createModel(false);
-                            // if error free, issue a no test date message
-                            setMessage(f, i, Lang.get("err_noTestData"), FileToTest.Status.unknown);
-                        } catch (Exception e) {
-                            setMessage(f, i, Lang.get("msg_errorCreatingModel"), FileToTest.Status.error);
-                        }
-                    } else {
-                        StringBuilder sb = new StringBuilder();
-                        int rowCount = 0;
+            if (threads <= 1) {
+                for (int i = 0; i < files.size(); i++)
+                    setResult(i, test(files.get(i)));
+                return;
+            }
+
+            ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread t = new Thread(r);
+                t.setDaemon(true);
+                return t;
+            });
+            try {
+                ArrayList<Future<Result>> results = new ArrayList<>();
+                for (FileToTest f : files)
+                    results.add(executor.submit(() -> test(f)));
+
+                // the results are reported in the order of the files
+                for (int i = 0; i < results.size(); i++) {
+                    Result r;
+                    try {
+                        r = results.get(i).get();
+                    } catch (ExecutionException e) {
+                        r = new Result(e.getCause().getMessage(), FileToTest.Status.error, 0);
+                    }
+                    setResult(i, r);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        private Result test(FileToTest f) {
+            try {
+                Circuit circuit = Circuit.loadCircuit(f.file, shapeFactory);
+                List<Circuit.TestCase> testCases = circuit.getTestCases();
+                if (testCases.isEmpty()) {
+                    // if no test data is available, at least check if the model is error free
+                    try {
+                        new ModelCreator(circuit, library).createModel(false);
+                        // if error free, issue a no test date message
+                        return new Result(Lang.get("err_noTestData"), FileToTest.Status.unknown, 0);
+                    } catch (Exception e) {
+                        return new Result(Lang.get("msg_errorCreatingModel"), FileToTest.Status.error, 0);
+                    }
+                } else {
+                    StringBuilder sb = new StringBuilder();
+                    int rowCount = 0;
+                    TestModelCache models = new TestModelCache(circuit, library);
+                    try {
                         for (Circuit.TestCase tc : testCases) {
                             try {
-                                TestResult tr = new TestExecutor(tc, circuit, library).execute();
+                                TestResult tr = new TestExecutor(tc, models).execute();
                                 if (tr.allPassed()) {
                                     rowCount += tr.getRowsTested();
                                 } else {
@@ -213,25 +267,41 @@ public class FolderTestRunner {
                                 sb.append(tc.getLabel()).append(": ").append(e.getMessage());
                             }
                         }
-                        if (sb.length() == 0) {
-                            f.setTestRows(rowCount);
-                            setMessage(f, i, Lang.get("msg_testPassed_N", rowCount), FileToTest.Status.passed);
-                        } else
-                            setMessage(f, i, sb.toString(), FileToTest.Status.failed);
+                    } finally {
+                        models.close();
                     }
-
-                } catch (IOException | ElementNotFoundException | PinException | ParserException | RuntimeException e) {
-                    setMessage(f, i, e.getMessage(), FileToTest.Status.error);
+                    if (sb.length() == 0)
+                        return new Result(Lang.get("msg_testPassed_N", rowCount), FileToTest.Status.passed, rowCount);
+                    else
+                        return new Result(sb.toString(), FileToTest.Status.failed, 0);
                 }
+
+            } catch (IOException | ElementNotFoundException | PinException | ParserException | RuntimeException e) {
+                return new Result(e.getMessage(), FileToTest.Status.error, 0);
             }
         }
 
-        private void setMessage(FileToTest f, int i, String message, FileToTest.Status status) {
-            f.setMessage(message, status);
+        private void setResult(int i, Result r) {
+            FileToTest f = files.get(i);
+            if (r.status == FileToTest.Status.passed)
+                f.setTestRows(r.rowCount);
+            f.setMessage(r.message, r.status);
             fileChangedListener.messageChanged(f, i);
         }
     }
 
+    private static final class Result {
+        private final String message;
+        private final FileToTest.Status status;
+        private final int rowCount;
+
+        private Result(String message, FileToTest.Status status, int rowCount) {
+            this.message = message;
+            this.status = status;
+            this.rowCount = rowCount;
+        }
+    }
+
     /**
      * Interface to notify a listener for changes
      */
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.testing;
+
+import de.neemann.digital.core.BitSlicedModel;
+import de.neemann.digital.data.Value;
+import de.neemann.digital.testing.parser.Context;
+import de.neemann.digital.testing.parser.RowBuffer;
+import de.neemann.digital.testing.parser.RowListener;
+
+import java.util.ArrayList;
+
+/**
+ * Collects up to {@link BitSlicedModel#LANES} test rows and evaluates them in a single pass
+ * using a {@link BitSlicedModel}.
+ * Rows which can not be evaluated by the bit sliced model, e.g. rows containing
+ * clock or high z values, are passed to the {@link TestResult} and are executed by the model.
+ * The collected rows are stored in preallocated buffers. Their descriptions are only
+ * created if the rows are shown in the result table.
+ */
+class LineListenerBitSliced implements RowListener, Context.ModelSync {
+    private final TestExecutor testExecutor;
+    private final TestResult testResult;
+    private final BitSlicedModel bitSliced;
+    private final ArrayList<TestExecutor.TestSignal> inputs;
+    private final ArrayList<TestExecutor.TestSignal> outputs;
+    private final RowBuffer[] rows;
+    private final long[] found;
+    private int rowCount;
+    private boolean modelNotSynced;
+
+    /**
+     * Creates a new instance
+     *
+     * @param testExecutor the test executor
+     * @param testResult   the test result to add the results to
+     * @param bitSliced    the bit sliced model, the inputs and outputs need to have the order
+     *                     of the test executors inputs and outputs
+     */
+    LineListenerBitSliced(TestExecutor testExecutor, TestResult testResult, BitSlicedModel bitSliced) {
+        this.testExecutor = testExecutor;
+        this.testResult = testResult;
+        this.bitSliced = bitSliced;
+        inputs = testExecutor.getInputs();
+        outputs = testExecutor.getOutputs();
+        int columns = testExecutor.getNames().size();
+        rows = new RowBuffer[BitSlicedModel.LANES];
+        for (int i = 0; i < rows.length; i++)
+            rows[i] = new RowBuffer(columns);
+        found = new long[outputs.size()];
+    }
+
+    @Override
+    public void add(RowBuffer row) {
+        for (TestExecutor.TestSignal in : inputs)
+            if (in.getValue() != null && row.getType(in.getIndex()) != Value.Type.NORMAL) {
+                flush();
+                modelNotSynced = false;
+                testResult.add(row);
+                return;
+            }
+
+        int lane = rowCount;
+        int i = 0;
+        for (TestExecutor.TestSignal in : inputs)
+            if (in.getValue() != null)
+                bitSliced.setInput(i++, lane, row.getValue(in.getIndex()));
+
+        // the buffer is reused by the emitter, so it is copied
+        rows[lane].copyFrom(row);
+        rowCount++;
+        if (rowCount == rows.length)
+            flush();
+    }
+
+    /**
+     * Evaluates all collected rows and adds them to the test result
+     */
+    void flush() {
+        if (rowCount == 0)
+            return;
+
+        bitSliced.evaluate();
+        for (int lane = 0; lane < rowCount; lane++) {
+            for (int i = 0; i < found.length; i++)
+                found[i] = bitSliced.getOutput(i, lane);
+            testResult.addResult(rows[lane], found);
+        }
+        // keep the last row in the first buffer to be able to sync the model
+        if (rowCount > 1)
+            rows[0].copyFrom(rows[rowCount - 1]);
+        modelNotSynced = true;
+        rowCount = 0;
+    }
+
+    /**
+     * The test code has read a value from the model.
+     * So the pending rows are evaluated and the model is set to the state of the last row.
+     */
+    @Override
+    public void sync() {
+        flush();
+        if (modelNotSynced) {
+            testExecutor.advanceModel(rows[0], testResult);
+            modelNotSynced = false;
+        }
+    }
+}
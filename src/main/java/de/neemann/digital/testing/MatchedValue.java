@@ -5,6 +5,7 @@
  */
 package de.neemann.digital.testing;
 
+import de.neemann.digital.core.Bits;
 import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.data.Value;
 import de.neemann.digital.lang.Lang;
@@ -26,7 +27,20 @@ public class MatchedValue extends Value {
     MatchedValue(Value expected, ObservableValue found) {
         super(found);
         this.expected = expected;
-        mask = (1L << found.getBits()) - 1;
+        mask = Bits.mask(found.getBits());
+    }
+
+    /**
+     * Creates a new instance
+     *
+     * @param expected the expected value
+     * @param found    the found value
+     * @param bits     the number of bits of the found value
+     */
+    MatchedValue(Value expected, long found, int bits) {
+        super(found);
+        this.expected = expected;
+        mask = Bits.mask(bits);
     }
 
     /**
@@ -36,6 +50,32 @@ public class MatchedValue extends Value {
         return isEqualTo(expected, mask);
     }
 
+    /**
+     * Checks if a found value matches the expected value without creating value instances.
+     * Gives the same result as {@link #isPassed()}.
+     *
+     * @param expectedType  the type of the expected value
+     * @param expectedValue the expected value
+     * @param found         the found value
+     * @param foundHighZ    true if the found value is high z
+     * @param bits          the number of bits of the found value
+     * @return true if the values match
+     */
+    static boolean matches(Type expectedType, long expectedValue, long found, boolean foundHighZ, int bits) {
+        switch (expectedType) {
+            case DONTCARE:
+                return true;
+            case HIGHZ:
+                return foundHighZ;
+            case NORMAL:
+                if (foundHighZ)
+                    return false;
+                return ((found ^ expectedValue) & Bits.mask(bits)) == 0;
+            default:
+                return false;
+        }
+    }
+
     @Override
     public String toString() {
         if (isPassed())
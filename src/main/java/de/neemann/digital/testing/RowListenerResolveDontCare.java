@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.testing;
+
+import de.neemann.digital.data.Value;
+import de.neemann.digital.testing.parser.RowBuffer;
+import de.neemann.digital.testing.parser.RowListener;
+
+import java.util.ArrayList;
+
+/**
+ * Resolves don't cares in the inputs of a {@link RowBuffer}.
+ * The values are modified in place, so no objects are created.
+ */
+public class RowListenerResolveDontCare implements RowListener {
+
+    private final RowListener parent;
+    private final ArrayList<TestExecutor.TestSignal> inputs;
+    private final int[] dcIndex;
+
+    /**
+     * Create a new instance
+     *
+     * @param parent the parent listener
+     * @param inputs the input test signals
+     */
+    public RowListenerResolveDontCare(RowListener parent, ArrayList<TestExecutor.TestSignal> inputs) {
+        this.parent = parent;
+        this.inputs = inputs;
+        dcIndex = new int[inputs.size()];
+    }
+
+    @Override
+    public void add(RowBuffer row) {
+        int dcCount = 0;
+        for (TestExecutor.TestSignal in : inputs)
+            if (row.getType(in.getIndex()) == Value.Type.DONTCARE)
+                dcIndex[dcCount++] = in.getIndex();
+
+        if (dcCount == 0)
+            parent.add(row);
+        else {
+            int count = 1 << dcCount;
+            for (int n = 0; n < count; n++) {
+                for (int i = 0; i < dcCount; i++)
+                    row.setValue(dcIndex[i], (n >>> i) & 1);
+                row.setDontCare(n);
+                parent.add(row);
+            }
+            for (int i = 0; i < dcCount; i++)
+                row.setType(dcIndex[i], Value.Type.DONTCARE);
+            row.setDontCare(-1);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.testing;
+
+import de.neemann.digital.core.Model;
+import de.neemann.digital.core.element.ElementAttributes;
+import de.neemann.digital.core.element.ElementTypeDescription;
+import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.draw.elements.Circuit;
+import de.neemann.digital.draw.elements.VisualElement;
+import de.neemann.digital.draw.elements.Wire;
+import de.neemann.digital.draw.library.ElementLibrary;
+import de.neemann.digital.draw.library.ElementNotFoundException;
+import de.neemann.digital.draw.library.ElementTypeDescriptionCustom;
+import de.neemann.digital.lang.Lang;
+import de.neemann.digital.testing.parser.Context;
+import de.neemann.digital.testing.parser.ParserException;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Stores the checkpoints of a test case in files next to the circuit.
+ * Every checkpoint file contains a hash of the circuit including all nested circuits and
+ * of the test data which leads to the checkpoint. The file is only used if this hash
+ * matches and the file matches the model. Otherwise the rows leading to the checkpoint
+ * are executed and the file is written again. A checkpoint is not written if a test row
+ * has failed.
+ */
+final class TestCheckpoints implements Context.Checkpoints {
+    private final Model model;
+    private final File base;
+    private final Circuit circuit;
+    private final ElementLibrary library;
+    private final String label;
+    private final TestResult testResult;
+    private byte[] circuitHash;
+
+    /**
+     * Creates a new instance
+     *
+     * @param model      the model
+     * @param base       the circuit file, the checkpoint files are stored in the same folder
+     * @param circuit    the circuit the model was created from
+     * @param library    the library used to create the model
+     * @param label      the label of the test case
+     * @param testResult the test result which is filled
+     */
+    TestCheckpoints(Model model, File base, Circuit circuit, ElementLibrary library, String label, TestResult testResult) {
+        this.model = model;
+        this.base = base;
+        this.circuit = circuit;
+        this.library = library;
+        this.label = label;
+        this.testResult = testResult;
+    }
+
+    /**
+     * Returns the file used to store the given checkpoint
+     *
+     * @param name the name of the checkpoint
+     * @return the file
+     */
+    File getFile(String name) {
+        String baseName = base.getName();
+        int p = baseName.lastIndexOf('.');
+        if (p > 0)
+            baseName = baseName.substring(0, p);
+        String fileName = baseName + "_" + label + "_" + name + ".chk";
+        return new File(base.getParentFile(), fileName.replaceAll("[^A-Za-z0-9_.-]", "_"));
+    }
+
+    /**
+     * Creates the key which identifies the circuit and the test data of a checkpoint.
+     *
+     * @param source the test data which leads to the checkpoint
+     * @return the key
+     * @throws ElementNotFoundException ElementNotFoundException
+     */
+    String createKey(String source) throws ElementNotFoundException {
+        if (circuitHash == null) {
+            MessageDigest md = createDigest();
+            hashCircuit(md, circuit, new IdentityHashMap<>());
+            circuitHash = md.digest();
+        }
+        MessageDigest md = createDigest();
+        md.update(circuitHash);
+        update(md, label);
+        update(md, source);
+        StringBuilder sb = new StringBuilder();
+        for (byte b : md.digest())
+            sb.append(Character.forDigit((b >> 4) & 15, 16)).append(Character.forDigit(b & 15, 16));
+        return sb.toString();
+    }
+
+    /**
+     * Adds the elements and wires of the given circuit and all the circuits it contains to the hash.
+     * The test data of the test cases is not included. It is covered by the source of the checkpoint.
+     */
+    private void hashCircuit(MessageDigest md, Circuit c, IdentityHashMap<Circuit, Boolean> visited) throws ElementNotFoundException {
+        // the shape has no influence on the simulation
+        update(md, new ElementAttributes(c.getAttributes())
+                .set(Keys.CUSTOM_SHAPE, Keys.CUSTOM_SHAPE.getDefault())
+                .getContentDescription());
+        for (Wire w : c.getWires())
+            update(md, w.p1 + "-" + w.p2);
+        for (VisualElement ve : c.getElements()) {
+            update(md, ve.getElementName() + "@" + ve.getPos());
+            if (ve.equalsDescription(TestCaseElement.DESCRIPTION))
+                update(md, ve.getElementAttributes().get(Keys.GENERIC));
+            else
+                update(md, ve.getElementAttributes().getContentDescription());
+
+            ElementTypeDescription td = library.getElementType(ve.getElementName());
+            if (td instanceof ElementTypeDescriptionCustom) {
+                Circuit child = ((ElementTypeDescriptionCustom) td).getCircuit();
+                if (visited.put(child, Boolean.TRUE) == null)
+                    hashCircuit(md, child, visited);
+            }
+        }
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every java platform is required to support SHA-256
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void update(MessageDigest md, String s) {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        md.update((byte) (b.length >>> 24));
+        md.update((byte) (b.length >>> 16));
+        md.update((byte) (b.length >>> 8));
+        md.update((byte) b.length);
+        md.update(b);
+    }
+
+    @Override
+    public boolean restore(String name, String source, Context context) {
+        File file = getFile(name);
+        if (!file.exists())
+            return false;
+        try {
+            for (Map.Entry<String, Long> e : model.loadCheckpoint(file, createKey(source)).entrySet())
+                context.setVar(e.getKey(), e.getValue());
+            return true;
+        } catch (IOException | ElementNotFoundException | RuntimeException e) {
+            // an invalid checkpoint is simply created again
+            return false;
+        }
+    }
+
+    @Override
+    public void store(String name, String source, Context context) throws ParserException {
+        if (testResult.hasFailedRows())
+            return;
+        File file = getFile(name);
+        try {
+            model.saveCheckpoint(file, createKey(source), context.getVars());
+        } catch (IOException | ElementNotFoundException e) {
+            file.delete();
+            throw new ParserException(Lang.get("err_couldNotWriteCheckpoint_N", file), e);
+        }
+    }
+}
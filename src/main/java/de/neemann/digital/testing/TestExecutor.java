@@ -18,8 +18,10 @@ import de.neemann.digital.draw.model.ModelCreator;
 import de.neemann.digital.lang.Lang;
 import de.neemann.digital.testing.parser.*;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 
 /**
  * Runs the test and stores the test results created by a single {@link TestCaseDescription} instance.
@@ -33,7 +35,14 @@ public class TestExecutor {
     private final ArrayList<TestSignal> inputs;
     private final ArrayList<TestSignal> outputs;
     private boolean allowMissingInputs;
+    private boolean allowBitSliced = true;
     private boolean errorOccurred;
+    private boolean sharedModel;
+    private File checkpointBase;
+    private Circuit checkpointCircuit;
+    private ElementLibrary checkpointLibrary;
+    private final ModelStateObserver errorObserver;
+    private final ArrayList<ModelStateObserver> addedObservers = new ArrayList<>();
 
     /**
      * Creates a new testing result.
@@ -48,16 +57,63 @@ public class TestExecutor {
      */
     public TestExecutor(Circuit.TestCase testCase, Circuit circuit, ElementLibrary library) throws TestingDataException, NodeException, ElementNotFoundException, PinException {
         this(testCase.getLabel(), testCase.getTestCaseDescription(), createModel(testCase, circuit, library));
+        setCheckpointBase(circuit.getOrigin(), circuit, library);
     }
 
-    static private Model createModel(Circuit.TestCase testCase, Circuit circuit, ElementLibrary library) throws NodeException, ElementNotFoundException, PinException {
-        final Model model;
+    /**
+     * Creates a new testing result.
+     * The model is provided by the given cache, which allows to run all test cases
+     * of a circuit on a single model.
+     *
+     * @param testCase the testing data
+     * @param models   the model cache
+     * @throws TestingDataException     DataException
+     * @throws ElementNotFoundException ElementNotFoundException
+     * @throws PinException             PinException
+     * @throws NodeException            NodeException
+     */
+    public TestExecutor(Circuit.TestCase testCase, TestModelCache models) throws TestingDataException, NodeException, ElementNotFoundException, PinException {
+        this(testCase.getLabel(), testCase.getTestCaseDescription(), models.getModel(testCase), false);
+        sharedModel = models.isShared(model);
+        setCheckpointBase(models.getCircuit().getOrigin(), models.getCircuit(), models.getLibrary());
+    }
+
+    static Model createModel(Circuit.TestCase testCase, Circuit circuit, ElementLibrary library) throws NodeException, ElementNotFoundException, PinException {
+        return createModelCreator(testCase, circuit, library).createModel(false);
+    }
+
+    private static ModelCreator createModelCreator(Circuit.TestCase testCase, Circuit circuit, ElementLibrary library) throws NodeException, ElementNotFoundException, PinException {
         if (circuit != null && circuit.getAttributes().get(Keys.IS_GENERIC) && testCase.hasGenericCode()) {
             Circuit c = new ResolveGenerics(circuit, library).resolveCircuit(testCase.getVisualElement().getElementAttributes()).getCircuit();
-            model = new ModelCreator(c, library, false).createModel(false);
+            return new ModelCreator(c, library, false);
         } else
-            model = new ModelCreator(circuit, library).createModel(false);
-        return model;
+            return new ModelCreator(circuit, library);
+    }
+
+    /**
+     * Loads and resolves the circuits used by the given test cases.
+     * The library loads the nested circuits and creates their shapes lazily. If the
+     * models are created by several threads, this method should be called before,
+     * so that the threads find everything in place and do not need to wait for each other.
+     * Errors are ignored here, they are reported if the test case is executed.
+     *
+     * @param testCases the test cases
+     * @param circuit   the circuit
+     * @param library   the library
+     */
+    public static void prepare(List<Circuit.TestCase> testCases, Circuit circuit, ElementLibrary library) {
+        boolean plainCircuitPrepared = false;
+        for (Circuit.TestCase testCase : testCases) {
+            try {
+                boolean resolved = circuit.getAttributes().get(Keys.IS_GENERIC) && testCase.hasGenericCode();
+                if (resolved || !plainCircuitPrepared) {
+                    createModelCreator(testCase, circuit, library);
+                    plainCircuitPrepared |= !resolved;
+                }
+            } catch (NodeException | ElementNotFoundException | PinException e) {
+                // reported by the test case
+            }
+        }
     }
 
 
@@ -83,6 +139,10 @@ public class TestExecutor {
      * @throws TestingDataException TestingDataException
      */
     public TestExecutor(String label, TestCaseDescription testCase, Model model) throws TestingDataException {
+        this(label, testCase, model, true);
+    }
+
+    private TestExecutor(String label, TestCaseDescription testCase, Model model, boolean initModel) throws TestingDataException {
         this.label = label;
         names = checkForPinNumbers(testCase.getNames(), model);
         this.model = model;
@@ -141,19 +201,32 @@ public class TestExecutor {
                 else
                     throw new TestingDataException(Lang.get("err_testSignal_N_notFound", name));
 
+        // the test data contains 64 bit values, so wider signals can not be tested
+        for (TestSignal s : inputs)
+            checkWidth(s);
+        for (TestSignal s : outputs)
+            checkWidth(s);
+
         if (inputs.size() == 0)
             throw new TestingDataException(Lang.get("err_noTestInputSignalsDefined"));
 
         if (outputs.size() == 0)
             throw new TestingDataException(Lang.get("err_noTestOutputSignalsDefined"));
 
-        testCase.getModelInitializer().init(model);
-
-        model.init();
-        model.addObserver(event -> {
+        if (initModel) {
+            testCase.getModelInitializer().init(model);
+            model.init();
+        }
+        errorObserver = event -> {
             if (event.getType() == ModelEventType.ERROR_OCCURRED)
                 errorOccurred = true;
-        }, ModelEventType.ERROR_OCCURRED);
+        };
+        model.addObserver(errorObserver, ModelEventType.ERROR_OCCURRED);
+    }
+
+    private void checkWidth(TestSignal s) throws TestingDataException {
+        if (s.value != null && s.value.getBits() > 64)
+            throw new TestingDataException(Lang.get("err_testSignal_N_isWiderThan64Bits", names.get(s.index)));
     }
 
     private ArrayList<String> checkForPinNumbers(ArrayList<String> names, Model model) {
@@ -189,22 +262,19 @@ public class TestExecutor {
      * @throws TestingDataException TestingDataException
      */
     public void executeTo(int row) throws ParserException, TestingDataException {
-        execute(new TestResultListener() {
+        emitRows(new TestResultListener() {
             private int r = row;
 
             @Override
-            public void add(TestRow testRow) {
-                Value[] values = testRow.getValues();
-                Value[] res = new Value[values.length];
-
+            public void add(RowBuffer rowBuffer) {
                 if (r >= 0) {
-                    advanceModel(testRow, values, res, this);
+                    advanceModel(rowBuffer, this);
                     r--;
                 }
             }
 
             @Override
-            public void addClockRow(String description) {
+            public void addClockRow(RowBuffer rowBuffer) {
             }
 
         }, false);
@@ -218,74 +288,130 @@ public class TestExecutor {
      * @throws TestingDataException TestingDataException
      */
     public TestResult execute() throws ParserException, TestingDataException {
-        return execute(new TestResult(this), true);
+        TestResult testResult = new TestResult(this);
+        LineListenerBitSliced bitSliced = createBitSliced(testResult);
+        if (bitSliced == null) {
+            if (checkpointBase != null && checkpointCircuit != null)
+                context.setCheckpoints(new TestCheckpoints(model, checkpointBase, checkpointCircuit, checkpointLibrary, label, testResult));
+            emitRows(testResult, true);
+            return testResult;
+        }
+
+        context.setModelSync(bitSliced);
+        try {
+            emitRows(bitSliced, false);
+            bitSliced.flush();
+        } finally {
+            releaseModel();
+        }
+        return testResult;
+    }
+
+    /**
+     * Creates the bit sliced line listener if the model is suited for bit sliced execution.
+     *
+     * @param testResult the test result to fill
+     * @return the line listener or null if bit sliced execution is not possible
+     */
+    private LineListenerBitSliced createBitSliced(TestResult testResult) {
+        if (!allowBitSliced)
+            return null;
+
+        ArrayList<ObservableValue> in = new ArrayList<>();
+        for (TestSignal s : inputs)
+            if (s.value != null)
+                in.add(s.value);
+        ArrayList<ObservableValue> out = new ArrayList<>();
+        for (TestSignal s : outputs)
+            out.add(s.value);
+
+        BitSlicedModel bitSlicedModel = BitSlicedModel.create(model, in, out);
+        if (bitSlicedModel == null)
+            return null;
+        return new LineListenerBitSliced(this, testResult, bitSlicedModel);
     }
 
     /**
-     * Executes the test and sends all the test lines to the {@link LineListener} provided.
+     * Executes the test and sends all the test rows to the {@link RowListener} provided.
+     * The rows are written to a single reusable buffer.
      *
-     * @param lineListener the line listener to use
-     * @param closeModel   if true the model is closed
+     * @param rowListener the row listener to use
+     * @param closeModel  if true the model is closed
      * @throws ParserException ParserException
      */
-    private <LL extends LineListener> LL execute(LL lineListener, boolean closeModel) throws ParserException, TestingDataException {
+    private void emitRows(RowListener rowListener, boolean closeModel) throws ParserException, TestingDataException {
         try {
-            lines.emitLines(new LineListenerResolveDontCare(lineListener, inputs), context);
-            return lineListener;
+            lines.emitRows(new RowListenerResolveDontCare(rowListener, inputs), new RowBuffer(names.size()), context);
         } catch (RuntimeException re) {
             errorOccurred = true;
             throw new TestingDataException(Lang.get("err_whileExecutingTests_N0", label), re);
         } finally {
             if (closeModel)
-                model.close();
+                releaseModel();
         }
     }
 
+    /**
+     * Closes the model after the test is executed.
+     * A model which is shared with other test cases is not closed, instead
+     * the observers added to the model are removed.
+     */
+    private void releaseModel() {
+        if (sharedModel) {
+            model.removeObserver(errorObserver);
+            for (ModelStateObserver o : addedObservers)
+                model.removeObserver(o);
+        } else
+            model.close();
+    }
+
     private void addTo(HashSet<String> signals, String name) throws TestingDataException {
         if (signals.contains(name))
             throw new TestingDataException(Lang.get("err_nameUsedTwice_N", name));
         signals.add(name);
     }
 
-    void advanceModel(TestRow testRow, Value[] values, Value[] res, TestResultListener trl) {
+    void advanceModel(RowBuffer row, TestResultListener trl) {
         boolean clockIsUsed = false;
         // set all values except the clocks
         for (TestSignal in : inputs) {
-            if (values[in.index].getType() != Value.Type.CLOCK) {
+            if (row.getType(in.index) != Value.Type.CLOCK) {
                 if (in.value != null)
-                    values[in.index].copyTo(in.value);
+                    copyTo(row, in);
             } else {
                 clockIsUsed = true;
             }
-            res[in.index] = values[in.index];
         }
 
         if (clockIsUsed) {  // a clock signal is used
             model.doStep();  // propagate all except clock
-            trl.addClockRow(testRow.getDescription());
+            trl.addClockRow(row);
 
             // set clock
             for (TestSignal in : inputs)
-                if (values[in.index].getType() == Value.Type.CLOCK) {
-                    values[in.index].copyTo(in.value);
-                    res[in.index] = values[in.index];
-                }
+                if (row.getType(in.index) == Value.Type.CLOCK)
+                    in.value.setValue(row.getValue(in.index));
 
             // propagate clock change
             model.doStep();
-            trl.addClockRow(testRow.getDescription());
+            trl.addClockRow(row);
 
             // restore clock
             for (TestSignal in : inputs)   // invert the clock values
-                if (values[in.index].getType() == Value.Type.CLOCK) {
+                if (row.getType(in.index) == Value.Type.CLOCK)
                     in.value.setBool(!in.value.getBool());
-                    res[in.index] = new Value(in.value);
-                }
         }
 
         model.doStep();
     }
 
+    private static void copyTo(RowBuffer row, TestSignal in) {
+        if (row.getType(in.index) == Value.Type.HIGHZ)
+            in.value.setToHighZ();
+        else
+            in.value.setValue(row.getValue(in.index));
+    }
+
     private int getIndexOf(String name) {
         if (name == null || name.length() == 0)
             return -1;
@@ -309,6 +435,38 @@ public class TestExecutor {
         return this;
     }
 
+    /**
+     * Allows or forbids the bit sliced execution of the test.
+     * If allowed, combinatorial circuits are tested by a {@link BitSlicedModel}
+     * which evaluates {@link BitSlicedModel#LANES} test rows in a single pass.
+     * The bit sliced execution is allowed by default.
+     *
+     * @param allowBitSliced if true, bit sliced execution is allowed
+     * @return this for chained calls
+     */
+    public TestExecutor setAllowBitSliced(boolean allowBitSliced) {
+        this.allowBitSliced = allowBitSliced;
+        return this;
+    }
+
+    /**
+     * Sets the file the checkpoint files are stored next to and the circuit the model
+     * was created from. The content of the circuit is used to detect outdated checkpoints.
+     * If the test is created from a circuit, the circuit file is used.
+     * If no file is set, the rows inside of a checkpoint are executed every time.
+     *
+     * @param checkpointBase the file, maybe null
+     * @param circuit        the circuit the model was created from
+     * @param library        the library used to create the model
+     * @return this for chained calls
+     */
+    public TestExecutor setCheckpointBase(File checkpointBase, Circuit circuit, ElementLibrary library) {
+        this.checkpointBase = checkpointBase;
+        this.checkpointCircuit = circuit;
+        this.checkpointLibrary = library;
+        return this;
+    }
+
     /**
      * Adds a observer to the model of this test executor
      *
@@ -317,6 +475,7 @@ public class TestExecutor {
      */
     public TestExecutor addObserver(ModelStateObserverTyped observer) {
         model.addObserver(observer);
+        addedObservers.add(observer);
         return this;
     }
 
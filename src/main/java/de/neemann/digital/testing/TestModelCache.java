@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.testing;
+
+import de.neemann.digital.core.Model;
+import de.neemann.digital.core.ModelSnapshot;
+import de.neemann.digital.core.NodeException;
+import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.draw.elements.Circuit;
+import de.neemann.digital.draw.elements.PinException;
+import de.neemann.digital.draw.library.ElementLibrary;
+import de.neemann.digital.draw.library.ElementNotFoundException;
+
+/**
+ * Provides the models used to run the test cases of a single circuit.
+ * Instead of creating a new model for every test case, a single model is created and
+ * a {@link ModelSnapshot} of its initial state is taken. Before the next test case is
+ * executed, the snapshot is restored.
+ * If a test case initializes the model, uses generic code or if the model contains nodes
+ * which state can not be stored, a new model is created for this test case.
+ * This class is not thread safe, so every thread needs its own instance.
+ */
+public final class TestModelCache {
+    private final Circuit circuit;
+    private final ElementLibrary library;
+    private ModelSnapshot snapshot;
+    private int reuseCount;
+
+    /**
+     * Creates a new instance
+     *
+     * @param circuit the circuit to test
+     * @param library the library
+     */
+    public TestModelCache(Circuit circuit, ElementLibrary library) {
+        this.circuit = circuit;
+        this.library = library;
+    }
+
+    /**
+     * Returns an initialized model to run the given test case on.
+     *
+     * @param testCase the test case
+     * @return the model
+     * @throws TestingDataException     TestingDataException
+     * @throws ElementNotFoundException ElementNotFoundException
+     * @throws PinException             PinException
+     * @throws NodeException            NodeException
+     */
+    Model getModel(Circuit.TestCase testCase) throws TestingDataException, NodeException, ElementNotFoundException, PinException {
+        boolean reusable = isReusable(testCase);
+        if (reusable && snapshot != null) {
+            if (snapshot.getModel().isRunning()) {
+                snapshot.restore();
+                reuseCount++;
+                return snapshot.getModel();
+            }
+            snapshot = null;
+        }
+
+        Model model = TestExecutor.createModel(testCase, circuit, library);
+        testCase.getTestCaseDescription().getModelInitializer().init(model);
+        model.init();
+        if (reusable) {
+            close();
+            snapshot = model.createSnapshot();
+        }
+        return model;
+    }
+
+    private boolean isReusable(Circuit.TestCase testCase) throws TestingDataException {
+        if (circuit.getAttributes().get(Keys.IS_GENERIC) && testCase.hasGenericCode())
+            return false;
+        return testCase.getTestCaseDescription().getModelInitializer().isEmpty();
+    }
+
+    /**
+     * Returns true if the given model is used by more than one test case.
+     * Such a model is not allowed to be closed after the test case is executed.
+     *
+     * @param model the model
+     * @return true if the model is shared
+     */
+    boolean isShared(Model model) {
+        return snapshot != null && snapshot.getModel() == model;
+    }
+
+    /**
+     * @return the circuit to test
+     */
+    Circuit getCircuit() {
+        return circuit;
+    }
+
+    /**
+     * @return the library
+     */
+    ElementLibrary getLibrary() {
+        return library;
+    }
+
+    /**
+     * @return the number of test cases which have reused a model
+     */
+    public int getReuseCount() {
+        return reuseCount;
+    }
+
+    /**
+     * Closes the shared model.
+     */
+    public void close() {
+        if (snapshot != null) {
+            snapshot.getModel().close();
+            snapshot = null;
+        }
+    }
+}
@@ -5,12 +5,16 @@
  */
 package de.neemann.digital.testing;
 
+import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.data.Value;
 import de.neemann.digital.data.ValueTable;
+import de.neemann.digital.testing.parser.RowBuffer;
 import de.neemann.digital.testing.parser.TestRow;
 
 /**
- * The test result created by the test executor
+ * The test result created by the test executor.
+ * Only a limited number of rows is stored in the value table. All other rows
+ * are only counted, so no values and descriptions are created for them.
  */
 public class TestResult implements TestResultListener {
     private static final int MAX_RESULTS = 1 << 10;
@@ -35,20 +39,72 @@ public class TestResult implements TestResultListener {
     }
 
     @Override
-    public void add(TestRow testRow) {
-        Value[] values = testRow.getValues();
-        Value[] res = new Value[values.length];
+    public void add(RowBuffer row) {
+        testExecutor.advanceModel(row, this);
 
-        testExecutor.advanceModel(testRow, values, res, this);
+        boolean ok = true;
+        for (TestExecutor.TestSignal out : testExecutor.getOutputs()) {
+            ObservableValue v = out.getValue();
+            int i = out.getIndex();
+            if (!MatchedValue.matches(row.getType(i), row.getValue(i), v.getValue(), v.isHighZ(), v.getBits())) {
+                ok = false;
+                break;
+            }
+        }
 
+        if (count(ok)) {
+            Value[] res = new Value[row.size()];
+            for (TestExecutor.TestSignal in : testExecutor.getInputs()) {
+                int i = in.getIndex();
+                if (row.getType(i) == Value.Type.CLOCK && in.getValue() != null)
+                    res[i] = new Value(in.getValue());
+                else
+                    res[i] = row.createValue(i);
+            }
+            for (TestExecutor.TestSignal out : testExecutor.getOutputs())
+                res[out.getIndex()] = new MatchedValue(row.createValue(out.getIndex()), out.getValue());
+            results.add(new TestRow(res, row.getDescription()).setRow(rowCount));
+        }
+        rowCount++;
+    }
+
+    /**
+     * Adds a result row whose outputs are given as primitive values.
+     * The values of the row are only copied if the row is shown in the result table.
+     *
+     * @param row   the test row
+     * @param found the found output values in the order of the test executors outputs
+     */
+    void addResult(RowBuffer row, long[] found) {
         boolean ok = true;
+        int o = 0;
         for (TestExecutor.TestSignal out : testExecutor.getOutputs()) {
-            MatchedValue matchedValue = new MatchedValue(values[out.getIndex()], out.getValue());
-            res[out.getIndex()] = matchedValue;
-            if (!matchedValue.isPassed())
+            int i = out.getIndex();
+            if (!MatchedValue.matches(row.getType(i), row.getValue(i), found[o++], false, out.getValue().getBits())) {
                 ok = false;
+                break;
+            }
         }
 
+        if (count(ok)) {
+            Value[] res = new Value[row.size()];
+            for (TestExecutor.TestSignal in : testExecutor.getInputs())
+                res[in.getIndex()] = row.createValue(in.getIndex());
+            o = 0;
+            for (TestExecutor.TestSignal out : testExecutor.getOutputs())
+                res[out.getIndex()] = new MatchedValue(row.createValue(out.getIndex()), found[o++], out.getValue().getBits());
+            results.add(new TestRow(res, row.getDescription()).setRow(rowCount));
+        }
+        rowCount++;
+    }
+
+    /**
+     * Counts a row
+     *
+     * @param ok true if the row has passed
+     * @return true if the row is to be shown in the result table
+     */
+    private boolean count(boolean ok) {
         if (ok)
             passedCount++;
         else
@@ -56,21 +112,21 @@ public class TestResult implements TestResultListener {
 
         if (visibleRows < (ok ? MAX_RESULTS : ERR_RESULTS)) {
             visibleRows++;
-            results.add(new TestRow(res, testRow.getDescription()).setRow(rowCount));
-        } else
-            toManyResults = true;
-        rowCount++;
+            return true;
+        }
+        toManyResults = true;
+        return false;
     }
 
     @Override
-    public void addClockRow(String description) {
+    public void addClockRow(RowBuffer row) {
         if (visibleRows < ERR_RESULTS) {
             Value[] r = new Value[testExecutor.getNames().size()];
             for (TestExecutor.TestSignal out : testExecutor.getOutputs())
                 r[out.getIndex()] = new Value(out.getValue());
             for (TestExecutor.TestSignal in : testExecutor.getInputs())
                 r[in.getIndex()] = new Value(in.getValue());
-            results.add(new TestRow(r, description)).omitInTable();
+            results.add(new TestRow(r, row.getDescription())).omitInTable();
         } else
             toManyResults = true;
     }
@@ -83,6 +139,13 @@ public class TestResult implements TestResultListener {
         return !isErrorOccurred() && failedCount == 0 && passedCount > 0;
     }
 
+    /**
+     * @return true if a test row has failed
+     */
+    boolean hasFailedRows() {
+        return failedCount > 0;
+    }
+
     /**
      * Indicates if there are to many entries in the table to show.
      * If there are to many entries, the test results is still correct.
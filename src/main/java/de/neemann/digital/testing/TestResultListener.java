@@ -5,16 +5,18 @@
  */
 package de.neemann.digital.testing;
 
-import de.neemann.digital.testing.parser.LineListener;
+import de.neemann.digital.testing.parser.RowBuffer;
+import de.neemann.digital.testing.parser.RowListener;
 
 /**
  * Used to create the test result
  */
-public interface TestResultListener extends LineListener {
+public interface TestResultListener extends RowListener {
     /**
-     * Is called by the test executor to add the clock rows to the result
+     * Is called by the test executor to add the clock rows to the result.
+     * The description is created only if it is used.
      *
-     * @param description the description
+     * @param row the row which is executed
      */
-    void addClockRow(String description);
+    void addClockRow(RowBuffer row);
 }
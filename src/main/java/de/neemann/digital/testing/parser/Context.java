@@ -10,6 +10,7 @@ import de.neemann.digital.core.Signal;
 import de.neemann.digital.lang.Lang;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 /**
@@ -20,6 +21,8 @@ public class Context {
     private HashMap<String, Long> map;
     private Model model;
     private SeedReset seedReset;
+    private ModelSync modelSync;
+    private Checkpoints checkpoints;
 
     /**
      * Creates an empty context
@@ -48,6 +51,8 @@ public class Context {
         if (map == null || !map.containsKey(name)) {
             if (parent == null) {
                 if (model != null) {
+                    if (modelSync != null)
+                        modelSync.sync();
                     // inputs are not supported because there are cases where values
                     // are evaluated and model inputs are not set!
                     for (Signal s : model.getTestOutputs())
@@ -96,6 +101,39 @@ public class Context {
             }
     }
 
+    /**
+     * Copies the variables to the given row in the order used by {@link #toString()}
+     *
+     * @param row the row to copy the variables to
+     */
+    void copyVarsTo(RowBuffer row) {
+        if (parent != null)
+            parent.copyVarsTo(row);
+        if (map != null)
+            for (Map.Entry<String, Long> e : map.entrySet())
+                row.addVar(e.getKey(), e.getValue());
+    }
+
+    /**
+     * Returns all variables visible in this context.
+     * If a variable is defined in this context and in a parent context, the value
+     * of this context is returned.
+     *
+     * @return the variables
+     */
+    public Map<String, Long> getVars() {
+        LinkedHashMap<String, Long> vars = new LinkedHashMap<>();
+        addVarsTo(vars);
+        return vars;
+    }
+
+    private void addVarsTo(Map<String, Long> vars) {
+        if (parent != null)
+            parent.addVarsTo(vars);
+        if (map != null)
+            vars.putAll(map);
+    }
+
     /**
      * Sets the model where this context is used with.
      *
@@ -125,6 +163,47 @@ public class Context {
         return this;
     }
 
+    /**
+     * Sets the model sync interface.
+     *
+     * @param modelSync called before a value is read from the model
+     * @return this for chained calls
+     */
+    public Context setModelSync(ModelSync modelSync) {
+        this.modelSync = modelSync;
+        return this;
+    }
+
+    /**
+     * Sets the checkpoint store.
+     *
+     * @param checkpoints used to store and restore checkpoints, maybe null if checkpoints are not supported
+     * @return this for chained calls
+     */
+    public Context setCheckpoints(Checkpoints checkpoints) {
+        this.checkpoints = checkpoints;
+        return this;
+    }
+
+    /**
+     * @return the checkpoint store or null if checkpoints are not supported
+     */
+    Checkpoints getCheckpoints() {
+        if (checkpoints == null && parent != null)
+            return parent.getCheckpoints();
+        return checkpoints;
+    }
+
+    /**
+     * Interface used to bring the model up to date before a value is read from it
+     */
+    public interface ModelSync {
+        /**
+         * Updates the model
+         */
+        void sync();
+    }
+
     /**
      * Interface used to reset the seed value
      */
@@ -134,4 +213,32 @@ public class Context {
          */
         void resetSeed();
     }
+
+    /**
+     * Interface used to store and restore the state reached at a checkpoint
+     */
+    public interface Checkpoints {
+        /**
+         * Restores the state stored at the given checkpoint.
+         * Also the variables stored at the checkpoint are restored to the given context.
+         * The checkpoint is only valid if it was stored with the same source.
+         *
+         * @param name    the name of the checkpoint
+         * @param source  the test data which leads to the checkpoint
+         * @param context the context
+         * @return false if there is no valid checkpoint, so the checkpoint has to be created
+         * @throws ParserException ParserException
+         */
+        boolean restore(String name, String source, Context context) throws ParserException;
+
+        /**
+         * Stores the actual state and the variables of the given context.
+         *
+         * @param name    the name of the checkpoint
+         * @param source  the test data which leads to the checkpoint
+         * @param context the context
+         * @throws ParserException ParserException
+         */
+        void store(String name, String source, Context context) throws ParserException;
+    }
 }
@@ -20,4 +20,21 @@ public interface LineEmitter {
      */
     void emitLines(LineListener listener, Context context) throws ParserException;
 
+    /**
+     * Is called to emit the described line to the listener.
+     * The values are written to the given buffer which is reused for every row.
+     * The default implementation creates the rows by {@link #emitLines(LineListener, Context)}.
+     *
+     * @param listener the listener to emit the lines
+     * @param buffer   the buffer to write the rows to
+     * @param context  the context
+     * @throws ParserException ParserException
+     */
+    default void emitRows(RowListener listener, RowBuffer buffer, Context context) throws ParserException {
+        emitLines(testRow -> {
+            buffer.set(testRow);
+            listener.add(buffer);
+        }, context);
+    }
+
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.testing.parser;
+
+/**
+ * Line emitter which implements a checkpoint.
+ * If the checkpoint was stored before, the state of the model is restored
+ * and the inner rows are skipped. Otherwise the inner rows are emitted and the
+ * state reached is stored.
+ */
+public class LineEmitterCheckpoint implements LineEmitter {
+    private final String name;
+    private final String source;
+    private final LineEmitter inner;
+
+    /**
+     * Creates a new instance
+     *
+     * @param name   the name of the checkpoint
+     * @param source the test data from the beginning up to the end of the checkpoint
+     * @param inner  the rows which lead to the checkpoint
+     */
+    public LineEmitterCheckpoint(String name, String source, LineEmitter inner) {
+        this.name = name;
+        this.source = source;
+        this.inner = inner;
+    }
+
+    @Override
+    public void emitLines(LineListener listener, Context context) throws ParserException {
+        Context.Checkpoints checkpoints = context.getCheckpoints();
+        if (checkpoints != null && checkpoints.restore(name, source, context))
+            return;
+        inner.emitLines(listener, context);
+        if (checkpoints != null)
+            checkpoints.store(name, source, context);
+    }
+
+    @Override
+    public void emitRows(RowListener listener, RowBuffer buffer, Context context) throws ParserException {
+        Context.Checkpoints checkpoints = context.getCheckpoints();
+        if (checkpoints != null && checkpoints.restore(name, source, context))
+            return;
+        inner.emitRows(listener, buffer, context);
+        if (checkpoints != null)
+            checkpoints.store(name, source, context);
+    }
+}
@@ -48,4 +48,10 @@ public class LineEmitterList implements LineEmitter {
             l.emitLines(listener, context);
     }
 
+    @Override
+    public void emitRows(RowListener listener, RowBuffer buffer, Context context) throws ParserException {
+        for (LineEmitter l : lines)
+            l.emitRows(listener, buffer, context);
+    }
+
 }
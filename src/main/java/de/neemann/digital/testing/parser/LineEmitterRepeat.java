@@ -42,4 +42,13 @@ public class LineEmitterRepeat implements LineEmitter {
             inner.emitLines(listener, c);
         }
     }
+
+    @Override
+    public void emitRows(RowListener listener, RowBuffer buffer, Context context) throws ParserException {
+        Context c = new Context(context);
+        for (int i = 0; i < size; i++) {
+            c.setVar(name, i);
+            inner.emitRows(listener, buffer, c);
+        }
+    }
 }
@@ -56,4 +56,16 @@ public class LineEmitterSimple implements LineEmitter {
 
         listener.add(new TestRow(vals.toArray(new Value[vals.size()]), description));
     }
+
+    @Override
+    public void emitRows(RowListener listener, RowBuffer buffer, Context context) throws ParserException {
+        buffer.start(line, context);
+        for (ValueAppender ve : appender)
+            ve.appendValues(buffer, context);
+
+        if (buffer.size() != valuesCount)
+            throw new ParserException(Lang.get("err_testDataExpected_N0_found_N1_numbersInLine_N2", valuesCount, buffer.size(), line));
+
+        listener.add(buffer);
+    }
 }
@@ -28,4 +28,10 @@ public class LineEmitterWhile implements LineEmitter {
         while (condition.value(context) != 0)
             inner.emitLines(listener, context);
     }
+
+    @Override
+    public void emitRows(RowListener listener, RowBuffer buffer, Context context) throws ParserException {
+        while (condition.value(context) != 0)
+            inner.emitRows(listener, buffer, context);
+    }
 }
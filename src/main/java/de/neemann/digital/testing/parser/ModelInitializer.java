@@ -51,6 +51,13 @@ public class ModelInitializer {
             mi.init(model);
     }
 
+    /**
+     * @return true if there are no init steps
+     */
+    public boolean isEmpty() {
+        return inits.isEmpty();
+    }
+
     private interface ModelInit {
         void init(Model model) throws TestingDataException;
     }
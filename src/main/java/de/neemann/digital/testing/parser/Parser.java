@@ -35,6 +35,7 @@ public class Parser {
     private final ArrayList<String> names;
     private final ModelInitializer modelInit;
     private final ArrayList<VirtualSignal> virtualSignals;
+    private final String data;
     private final Tokenizer tok;
     private final HashMap<String, Function> functions = new HashMap<>();
     private final Random random;
@@ -53,6 +54,7 @@ public class Parser {
         names = new ArrayList<>();
         virtualSignals = new ArrayList<>();
         modelInit = new ModelInitializer();
+        this.data = data;
         tok = new Tokenizer(new BufferedReader(new StringReader(data)));
     }
 
@@ -195,6 +197,18 @@ public class Parser {
                     expect(Tokenizer.Token.CLOSE);
                     list.add(new LineEmitterWhile(condition, parseRows(Tokenizer.Token.WHILE)));
                     break;
+                case CHECKPOINT:
+                    // inside a loop every iteration would restore the state stored by the first one
+                    if (endToken != null)
+                        throw new ParserException(Lang.get("err_checkpointNotAtTopLevelInLine_N", tok.getLine()));
+                    tok.consume();
+                    expect(Tokenizer.Token.OPEN);
+                    expect(Tokenizer.Token.IDENT);
+                    final String checkpointName = tok.getIdent();
+                    expect(Tokenizer.Token.CLOSE);
+                    final LineEmitter checkpointRows = parseRows(Tokenizer.Token.CHECKPOINT);
+                    list.add(new LineEmitterCheckpoint(checkpointName, data.substring(0, tok.getPos()), checkpointRows));
+                    break;
                 default:
                     throw newUnexpectedToken(t);
             }
@@ -236,8 +250,7 @@ public class Parser {
                 line = new LineEmitterSimple(names.size(), tok.getLine());
             switch (token) {
                 case NUMBER:
-                    Value num = new Value(convToLong(tok.getIdent()));
-                    line.add((vals, context) -> vals.add(num));
+                    line.add(new ValueAppenderValue(new Value(convToLong(tok.getIdent()))));
                     break;
                 case BITS:
                     expect(Tokenizer.Token.OPEN);
@@ -249,15 +262,14 @@ public class Parser {
                     break;
                 case IDENT:
                     try {
-                        final Value value = new Value(tok.getIdent().toUpperCase());
-                        line.add((vals, context) -> vals.add(value));
+                        line.add(new ValueAppenderValue(new Value(tok.getIdent().toUpperCase())));
                     } catch (Bits.NumberFormatException e) {
                         throw new ParserException(Lang.get("err_notANumber_N0_inLine_N1", tok.getIdent(), tok.getLine()));
                     }
                     break;
                 case OPEN:
                     exp = parseExpression();
-                    line.add((vals, context) -> vals.add(new Value(exp.value(context))));
+                    line.add(new ValueAppenderExpression(exp));
                     expect(Tokenizer.Token.CLOSE);
                     break;
                 case EOF:
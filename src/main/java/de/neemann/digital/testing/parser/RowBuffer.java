@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.testing.parser;
+
+import de.neemann.digital.data.Value;
+
+import java.util.Arrays;
+
+/**
+ * A reusable test data row, used by the {@link RowListener}.
+ * The values are stored as primitives, so emitting a row allocates no objects.
+ * The buffer is overwritten by the next row, so a listener which needs to keep
+ * the row has to copy it, e.g. by calling {@link #createTestRow()}.
+ * The description is created only on demand from the context which is valid
+ * while the row is emitted. A copied row keeps the values of the variables instead.
+ */
+public final class RowBuffer {
+    private final long[] values;
+    private final Value.Type[] types;
+    private int size;
+    private int line;
+    private Context context;
+    private int dontCare = -1;
+    private String description;
+    private String[] varNames = new String[4];
+    private long[] varValues = new long[4];
+    private int varCount;
+
+    /**
+     * Creates a new instance
+     *
+     * @param columns the number of columns
+     */
+    public RowBuffer(int columns) {
+        values = new long[columns];
+        types = new Value.Type[columns];
+    }
+
+    /**
+     * Clears the buffer to start a new row
+     *
+     * @param line    the source line
+     * @param context the context of the row
+     */
+    void start(int line, Context context) {
+        size = 0;
+        this.line = line;
+        this.context = context;
+        dontCare = -1;
+        description = null;
+        varCount = 0;
+    }
+
+    /**
+     * Appends a normal value
+     *
+     * @param value the value
+     */
+    public void add(long value) {
+        add(value, Value.Type.NORMAL);
+    }
+
+    /**
+     * Appends a value
+     *
+     * @param value the value
+     */
+    public void add(Value value) {
+        add(value.getValue(), value.getType());
+    }
+
+    private void add(long value, Value.Type type) {
+        // more values than columns are counted to allow an error message
+        if (size < values.length) {
+            values[size] = value;
+            types[size] = type;
+        }
+        size++;
+    }
+
+    /**
+     * @return the number of values in this row
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the value with index i
+     *
+     * @param i the index
+     * @return the value
+     */
+    public long getValue(int i) {
+        return values[i];
+    }
+
+    /**
+     * Returns the type of the value with index i
+     *
+     * @param i the index
+     * @return the type
+     */
+    public Value.Type getType(int i) {
+        return types[i];
+    }
+
+    /**
+     * Sets the value with index i to a normal value
+     *
+     * @param i     the index
+     * @param value the value
+     */
+    public void setValue(int i, long value) {
+        values[i] = value;
+        types[i] = Value.Type.NORMAL;
+    }
+
+    /**
+     * Sets the type of the value with index i
+     *
+     * @param i    the index
+     * @param type the type
+     */
+    public void setType(int i, Value.Type type) {
+        types[i] = type;
+    }
+
+    /**
+     * Sets the number of the don't care combination, which is added to the description
+     *
+     * @param dontCare the number or -1 if no don't cares are resolved
+     */
+    public void setDontCare(int dontCare) {
+        this.dontCare = dontCare;
+    }
+
+    /**
+     * Creates a {@link Value} instance of the value with index i
+     *
+     * @param i the index
+     * @return the value
+     */
+    public Value createValue(int i) {
+        return new Value(values[i], types[i]);
+    }
+
+    /**
+     * Creates the description of this row.
+     * If the row is not a copy, the description is only valid as long as the row is
+     * emitted, because the context changes afterwards.
+     *
+     * @return the rows description
+     */
+    public String getDescription() {
+        if (description != null)
+            return description;
+
+        StringBuilder sb = new StringBuilder().append('L').append(line);
+        if (context != null) {
+            String conString = context.toString();
+            if (!conString.isEmpty())
+                sb.append(';').append(conString);
+        } else
+            for (int i = 0; i < varCount; i++)
+                sb.append(';').append(varNames[i]).append('=').append(varValues[i]);
+        if (dontCare >= 0)
+            sb.append(";X=").append(dontCare);
+        return sb.toString();
+    }
+
+    /**
+     * @return a test row containing a copy of this row
+     */
+    public TestRow createTestRow() {
+        Value[] v = new Value[size];
+        for (int i = 0; i < size; i++)
+            v[i] = createValue(i);
+        return new TestRow(v, getDescription());
+    }
+
+    /**
+     * Copies the given row to this buffer.
+     * Instead of the context, which changes after the row is emitted, the values of
+     * its variables are copied, so that the description can be created later on.
+     *
+     * @param other the row to copy
+     */
+    public void copyFrom(RowBuffer other) {
+        System.arraycopy(other.values, 0, values, 0, other.size);
+        System.arraycopy(other.types, 0, types, 0, other.size);
+        size = other.size;
+        line = other.line;
+        dontCare = other.dontCare;
+        description = other.description;
+        context = null;
+        varCount = 0;
+        if (other.context != null)
+            other.context.copyVarsTo(this);
+        else
+            for (int i = 0; i < other.varCount; i++)
+                addVar(other.varNames[i], other.varValues[i]);
+    }
+
+    void addVar(String name, long value) {
+        if (varCount == varNames.length) {
+            varNames = Arrays.copyOf(varNames, varCount * 2);
+            varValues = Arrays.copyOf(varValues, varCount * 2);
+        }
+        varNames[varCount] = name;
+        varValues[varCount] = value;
+        varCount++;
+    }
+
+    /**
+     * Sets this buffer to the given test row
+     *
+     * @param testRow the test row
+     */
+    void set(TestRow testRow) {
+        Value[] v = testRow.getValues();
+        size = 0;
+        for (Value value : v)
+            add(value);
+        context = null;
+        dontCare = -1;
+        varCount = 0;
+        description = testRow.getDescription();
+    }
+}
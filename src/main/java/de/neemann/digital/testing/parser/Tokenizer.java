@@ -37,7 +37,7 @@ public class Tokenizer {
         SMALLER(OperatorPrecedence.COMPARE, (a, b) -> (a < b) ? 1 : 0),
         SMALLER_EQUAL(OperatorPrecedence.COMPARE, (a, b) -> (a <= b) ? 1 : 0),
         END, LOOP, REPEAT, BITS, SEMICOLON,
-        LET, DECLARE, PROGRAM, INIT, MEMORY, WHILE, RESETRANDOM;
+        LET, DECLARE, PROGRAM, INIT, MEMORY, WHILE, RESETRANDOM, CHECKPOINT;
 
         private final OperatorPrecedence precedence;
         private final Binary function;
@@ -74,6 +74,7 @@ public class Tokenizer {
         STATEMENT_MAP.put("program", Token.PROGRAM);
         STATEMENT_MAP.put("init", Token.INIT);
         STATEMENT_MAP.put("memory", Token.MEMORY);
+        STATEMENT_MAP.put("checkpoint", Token.CHECKPOINT);
     }
 
     private final Reader in;
@@ -83,6 +84,7 @@ public class Tokenizer {
     private boolean isUnreadChar = false;
     private int unreadChar;
     private int line = 1;
+    private int pos;
 
     /**
      * Creates a new instance
@@ -269,6 +271,7 @@ public class Tokenizer {
         } else {
             final int c = in.read();
             if (c == '\n') line++;
+            if (c >= 0) pos++;
             return c;
         }
     }
@@ -322,6 +325,16 @@ public class Tokenizer {
         return line;
     }
 
+    /**
+     * Returns the number of characters read so far.
+     * A character which was read ahead to terminate the last token is not counted.
+     *
+     * @return the position behind the last token read
+     */
+    public int getPos() {
+        return isUnreadChar && unreadChar >= 0 ? pos - 1 : pos;
+    }
+
     /**
      * Skips empty lines in the beginning of the file
      *
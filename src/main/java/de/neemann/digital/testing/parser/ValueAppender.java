@@ -21,4 +21,19 @@ public interface ValueAppender {
      * @throws ParserException ParserException
      */
     void appendValues(ArrayList<Value> values, Context context) throws ParserException;
+
+    /**
+     * Appends some values to the given row buffer.
+     * The default implementation uses {@link #appendValues(ArrayList, Context)}.
+     *
+     * @param row     the row
+     * @param context the context to access variables
+     * @throws ParserException ParserException
+     */
+    default void appendValues(RowBuffer row, Context context) throws ParserException {
+        ArrayList<Value> values = new ArrayList<>();
+        appendValues(values, context);
+        for (Value v : values)
+            row.add(v);
+    }
 }
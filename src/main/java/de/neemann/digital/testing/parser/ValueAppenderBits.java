@@ -37,4 +37,11 @@ public class ValueAppenderBits implements ValueAppender {
             mask >>>= 1;
         }
     }
+
+    @Override
+    public void appendValues(RowBuffer row, Context context) throws ParserException {
+        long value = expression.value(context);
+        for (int i = bitCount - 1; i >= 0; i--)
+            row.add((value >>> i) & 1);
+    }
 }
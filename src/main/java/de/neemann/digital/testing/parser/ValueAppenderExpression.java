@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.testing.parser;
+
+import de.neemann.digital.data.Value;
+
+import java.util.ArrayList;
+
+/**
+ * Appends the value of an expression to the given row.
+ */
+public class ValueAppenderExpression implements ValueAppender {
+    private final Expression expression;
+
+    /**
+     * Creates a new instance
+     *
+     * @param expression the expression to calculate the value
+     */
+    public ValueAppenderExpression(Expression expression) {
+        this.expression = expression;
+    }
+
+    @Override
+    public void appendValues(ArrayList<Value> values, Context context) throws ParserException {
+        values.add(new Value(expression.value(context)));
+    }
+
+    @Override
+    public void appendValues(RowBuffer row, Context context) throws ParserException {
+        row.add(expression.value(context));
+    }
+}
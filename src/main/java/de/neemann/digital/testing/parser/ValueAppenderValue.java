@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.testing.parser;
+
+import de.neemann.digital.data.Value;
+
+import java.util.ArrayList;
+
+/**
+ * Appends a constant value to the given row.
+ */
+public class ValueAppenderValue implements ValueAppender {
+    private final Value value;
+
+    /**
+     * Creates a new instance
+     *
+     * @param value the value to append
+     */
+    public ValueAppenderValue(Value value) {
+        this.value = value;
+    }
+
+    @Override
+    public void appendValues(ArrayList<Value> values, Context context) {
+        values.add(value);
+    }
+
+    @Override
+    public void appendValues(RowBuffer row, Context context) {
+        row.add(value);
+    }
+}
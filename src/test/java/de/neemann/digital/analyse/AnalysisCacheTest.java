@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse;
+
+import de.neemann.digital.analyse.expression.Expression;
+import de.neemann.digital.analyse.expression.Variable;
+import de.neemann.digital.builder.circuit.CircuitBuilder;
+import de.neemann.digital.draw.elements.Circuit;
+import de.neemann.digital.draw.library.ElementLibrary;
+import de.neemann.digital.draw.model.ModelCreator;
+import de.neemann.digital.draw.shapes.ShapeFactory;
+import de.neemann.digital.gui.components.table.ExpressionCreator;
+import de.neemann.digital.gui.components.table.ExpressionListenerStore;
+import junit.framework.TestCase;
+
+import static de.neemann.digital.analyse.expression.Not.not;
+import static de.neemann.digital.analyse.expression.Operation.*;
+
+public class AnalysisCacheTest extends TestCase {
+    private static final Variable A = new Variable("A");
+    private static final Variable B = new Variable("B");
+    private static final Variable C = new Variable("C");
+
+    private static TruthTable analyse(AnalysisCache cache, Expression y, Expression z) throws Exception {
+        return analyse(cache, y, z, false);
+    }
+
+    private static TruthTable analyse(AnalysisCache cache, Expression y, Expression z, boolean symbolic) throws Exception {
+        ElementLibrary library = new ElementLibrary();
+        Circuit circuit = new CircuitBuilder(new ShapeFactory(library))
+                .addCombinatorial("Y", y)
+                .addCombinatorial("Z", z)
+                .createCircuit();
+        ModelCreator m = new ModelCreator(circuit, library);
+        ModelAnalyser ma = new ModelAnalyser(m.createModel(false)).setCache(cache, m);
+        if (symbolic)
+            ma.forceSymbolic();
+        return ma.analyse();
+    }
+
+    private static void checkEquals(TruthTable expected, TruthTable found) {
+        assertEquals(expected.getVarNames(), found.getVarNames());
+        assertEquals(expected.getResultNames(), found.getResultNames());
+        for (int i = 0; i < expected.getResultCount(); i++)
+            for (int row = 0; row < expected.getRows(); row++)
+                assertEquals(expected.getResult(i).get(row), found.getResult(i).get(row));
+    }
+
+    public void testTableReuse() throws Exception {
+        Expression y = xor(A, B);
+        AnalysisCache cache = new AnalysisCache();
+
+        TruthTable t1 = analyse(cache, y, and(A, C));
+        assertEquals(0, cache.getTableHits());
+        checkEquals(analyse(null, y, and(A, C)), t1);
+
+        // only Z is modified, so the table of Y is reused
+        TruthTable t2 = analyse(cache, y, or(A, C));
+        assertEquals(1, cache.getTableHits());
+        checkEquals(analyse(null, y, or(A, C)), t2);
+
+        TruthTable t3 = analyse(cache, y, and(A, C));
+        assertEquals(3, cache.getTableHits());
+        checkEquals(t1, t3);
+    }
+
+    public void testSymbolicTableWithAddedInput() throws Exception {
+        AnalysisCache cache = new AnalysisCache();
+        analyse(cache, xor(A, B), and(A, B), true);
+
+        // the new input C is not used by Y, so the diagram of Y is reused
+        TruthTable t = analyse(cache, xor(A, B), and(A, C), true);
+        assertEquals(1, cache.getTableHits());
+        checkEquals(analyse(null, xor(A, B), and(A, C)), t);
+
+        t = analyse(cache, xor(A, B), and(A, C));
+        checkEquals(analyse(null, xor(A, B), and(A, C)), t);
+    }
+
+    public void testModifiedTableIsNotShared() throws Exception {
+        AnalysisCache cache = new AnalysisCache();
+        TruthTable t1 = analyse(cache, xor(A, B), and(A, C));
+        t1.setValue(0, 3, 1);
+
+        TruthTable t2 = analyse(cache, xor(A, B), and(A, C));
+        assertEquals(2, cache.getTableHits());
+        checkEquals(analyse(null, xor(A, B), and(A, C)), t2);
+    }
+
+    public void testExpressionReuse() throws Exception {
+        TruthTable tt = analyse(null, or(and(A, not(B)), C), and(A, C));
+        AnalysisCache cache = new AnalysisCache();
+
+        ExpressionListenerStore first = new ExpressionListenerStore(null);
+        new ExpressionCreator(tt).setCache(cache).create(first);
+        assertEquals(0, cache.getExpressionHits());
+
+        ExpressionListenerStore second = new ExpressionListenerStore(null);
+        new ExpressionCreator(tt).setCache(cache).create(second);
+        assertEquals(2, cache.getExpressionHits());
+
+        assertEquals(first.getResults().toString(), second.getResults().toString());
+    }
+}
@@ -5,12 +5,15 @@
  */
 package de.neemann.digital.analyse;
 
+import de.neemann.digital.analyse.bdd.BoolTableBDD;
 import de.neemann.digital.analyse.expression.Variable;
 import de.neemann.digital.analyse.quinemc.BoolTable;
 import de.neemann.digital.analyse.quinemc.BoolTableByteArray;
+import de.neemann.digital.analyse.quinemc.TableReducer;
 import de.neemann.digital.analyse.quinemc.ThreeStateValue;
 import de.neemann.digital.core.Model;
 import de.neemann.digital.core.NodeException;
+import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.core.Signal;
 import de.neemann.digital.draw.elements.Circuit;
 import de.neemann.digital.draw.elements.PinException;
@@ -290,4 +293,48 @@ public class ModelAnalyserTest extends TestCase {
             assertEquals(names[i], bus.getSignalNames().get(i));
     }
 
+    public void testSymbolic() throws Exception {
+        String[] files = {"analyzeTest.dig", "analyzeTestDFF.dig", "analyzeTestDFFInvIn.dig",
+                "analyzeTestJKFF.dig", "analyzeTestTFF.dig", "analyzeTestCounter.dig",
+                "analyzeTestCounterInvIn.dig", "analyzeTestRegister.dig", "multiBitCounter.dig",
+                "multiBitInOut.dig", "multiBitInOutXOr.dig", "analyzeBacktrack.dig"};
+        int symbolic = 0;
+        for (String f : files) {
+            TruthTable expected = new ModelAnalyser(createModel("dig/analyze/" + f)).analyse();
+            TruthTable tt = new ModelAnalyser(createModel("dig/analyze/" + f)).forceSymbolic().analyse();
+            if (tt.getResult(0) instanceof BoolTableBDD)
+                symbolic++;
+
+            assertEquals(f, expected.getVarNames(), tt.getVarNames());
+            assertEquals(f, expected.getResultNames(), tt.getResultNames());
+            for (int r = 0; r < expected.getResultCount(); r++)
+                for (int row = 0; row < expected.getRows(); row++)
+                    assertEquals(f, expected.getResult(r).get(row), tt.getResult(r).get(row));
+        }
+        assertTrue(symbolic > files.length / 2);
+    }
+
+    public void testSymbolicManyInputs() throws Exception {
+        Model model = createModel("dig/analyze/analyzeTest.dig");
+        // adds unused inputs to exceed the limit of the enumerating analysis
+        ModelAnalyser ma = new ModelAnalyser(model);
+        for (int i = 0; i < 26; i++)
+            ma.getInputs().add(new Signal("I" + i, new ObservableValue("I" + i, 1)));
+        TruthTable tt = ma.analyse();
+
+        assertEquals(28, tt.getVars().size());
+        BoolTable y = tt.getResult(0);
+        assertTrue(y instanceof BoolTableBDD);
+        assertEquals(zero, y.get(0));
+        assertEquals(one, y.get(1 << 26));
+        assertEquals(one, y.get((1 << 27) + 12345));
+        assertEquals(zero, y.get((3 << 26) + 54321));
+
+        TableReducer tr = new TableReducer(tt.getVars(), y);
+        assertTrue(tr.canReduce());
+        assertEquals("[A, B]", tr.getVars().toString());
+        assertEquals(4, tr.getTable().size());
+        assertEquals(one, tr.getTable().get(1));
+        assertEquals(zero, tr.getTable().get(3));
+    }
 }
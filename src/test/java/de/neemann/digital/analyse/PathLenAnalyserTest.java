@@ -0,0 +1,71 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse;
+
+import de.neemann.digital.core.Model;
+import de.neemann.digital.core.ObservableValue;
+import de.neemann.digital.core.Signal;
+import de.neemann.digital.core.basic.And;
+import de.neemann.digital.core.basic.FanIn;
+import de.neemann.digital.core.basic.Not;
+import de.neemann.digital.core.element.ElementAttributes;
+import de.neemann.digital.integration.ToBreakRunner;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+
+import static de.neemann.digital.core.ObservableValues.ovs;
+
+public class PathLenAnalyserTest extends TestCase {
+
+    /**
+     * Creates a chain of stages. In every stage the and gate is reached by a short path
+     * and by a long path, which makes a naive search exponential.
+     */
+    private static ModelAnalyser createChain(int stages) throws Exception {
+        Model model = new Model();
+        ObservableValue a = new ObservableValue("a", 1);
+        ObservableValue b = new ObservableValue("b", 1);
+        model.addInput(new Signal("a", a));
+        model.addInput(new Signal("b", b));
+
+        ObservableValue x = a;
+        for (int i = 0; i < stages; i++) {
+            FanIn and = model.add(new And(new ElementAttributes().setBits(1)));
+            Not not = model.add(new Not(new ElementAttributes().setBits(1)));
+            not.setInputs(ovs(x));
+            and.setInputs(ovs(x, not.getOutputs().get(0)));
+            x = and.getOutputs().get(0);
+        }
+        model.addOutput(new Signal("y", x));
+        model.addOutput(new Signal("nb", b));
+        return new ModelAnalyser(model);
+    }
+
+    public void testReconvergentChain() throws Exception {
+        ModelAnalyser m = createChain(200);
+        assertEquals(400, m.calcMaxPathLen());
+
+        DependencyAnalyser da = new DependencyAnalyser(m);
+        ArrayList<Signal> in = da.getInputs(m.getOutputs().get(0));
+        assertEquals(1, in.size());
+        assertEquals("a", in.get(0).getName());
+        assertEquals(1, da.getInputs(m.getOutputs().get(1)).size());
+        assertEquals(2 + 2, da.getRequiredSteps(m));
+    }
+
+    public void testCircuits() throws Exception {
+        assertEquals(6, pathLen("../../main/dig/combinatorial/Adder8bit.dig"));
+        assertEquals(4, pathLen("../../main/dig/combinatorial/FullAdderCLA.dig"));
+        assertEquals(13, pathLen("../../main/dig/combinatorial/Multiply.dig"));
+        assertEquals(6, pathLen("dig/backtrack/Plexer.dig"));
+    }
+
+    private static int pathLen(String name) throws Exception {
+        Model model = new ToBreakRunner(name, false).getModel();
+        return new ModelAnalyser(model).calcMaxPathLen();
+    }
+}
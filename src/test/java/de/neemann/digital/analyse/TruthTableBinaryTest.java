@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse;
+
+import de.neemann.digital.analyse.expression.Variable;
+import de.neemann.digital.analyse.format.TruthTableFormatterCSV;
+import de.neemann.digital.analyse.quinemc.BoolTableByteArray;
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+public class TruthTableBinaryTest extends TestCase {
+
+    private static TruthTable create(int vars, int results) {
+        Random r = new Random(vars);
+        TruthTable t = new TruthTable(Variable.vars(vars));
+        for (int i = 0; i < results; i++) {
+            t.addResult("Y_" + i + "äö");
+            BoolTableByteArray v = (BoolTableByteArray) t.getResult(i);
+            for (int row = 0; row < t.getRows(); row++)
+                v.set(row, r.nextInt(3));
+        }
+        return t;
+    }
+
+    private static void checkEquals(TruthTable expected, TruthTable found) {
+        assertEquals(expected.getVarNames(), found.getVarNames());
+        assertEquals(expected.getResultNames(), found.getResultNames());
+        for (int i = 0; i < expected.getResultCount(); i++)
+            for (int row = 0; row < expected.getRows(); row++)
+                assertEquals(expected.getResult(i).get(row), found.getResult(i).get(row));
+    }
+
+    public void testStream() throws Exception {
+        for (int vars = 0; vars <= 9; vars++) {
+            TruthTable t = create(vars, 3);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            TruthTableBinary.write(t, out);
+            checkEquals(t, TruthTableBinary.read(new ByteArrayInputStream(out.toByteArray())));
+        }
+    }
+
+    public void testSize() throws Exception {
+        TruthTable t = create(10, 2);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TruthTableBinary.write(t, out);
+        // two bits per entry
+        assertTrue(out.size() < 2 * 1024 / 4 + 100);
+    }
+
+    public void testFile() throws Exception {
+        TruthTable t = create(18, 2);
+        File file = File.createTempFile("digital", "." + TruthTableBinary.SUFFIX);
+        try {
+            t.save(file);
+            checkEquals(t, TruthTable.readFromFile(file));
+        } finally {
+            assertTrue(file.delete());
+        }
+    }
+
+    public void testCSVRoundTrip() throws Exception {
+        TruthTable t = create(4, 2);
+        t.modifyValues(v -> v == 2 ? 0 : v);
+        String csv = new TruthTableFormatterCSV().format(t);
+        checkEquals(t, CSVImporter.readCSV(csv));
+    }
+
+    public void testInvalid() {
+        try {
+            TruthTableBinary.read(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+            fail();
+        } catch (IOException e) {
+            assertTrue(true);
+        }
+    }
+}
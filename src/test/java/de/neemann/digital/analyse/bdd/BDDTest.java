@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.bdd;
+
+import de.neemann.digital.analyse.quinemc.BoolTable;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static de.neemann.digital.analyse.quinemc.ThreeStateValue.one;
+import static de.neemann.digital.analyse.quinemc.ThreeStateValue.zero;
+
+public class BDDTest extends TestCase {
+
+    public void testCanonical() {
+        BDD bdd = new BDD(3);
+        int a = bdd.var(0);
+        int b = bdd.var(1);
+        int c = bdd.var(2);
+
+        assertEquals(a, bdd.or(bdd.and(a, b), bdd.and(a, bdd.not(b))));
+        assertEquals(BDD.TRUE, bdd.or(a, bdd.not(a)));
+        assertEquals(BDD.FALSE, bdd.xor(c, c));
+        assertEquals(bdd.not(bdd.and(a, b)), bdd.or(bdd.not(a), bdd.not(b)));
+        assertEquals(bdd.xor(a, b), bdd.ite(a, bdd.not(b), b));
+        assertEquals(bdd.or(a, c), bdd.ite(a, BDD.TRUE, c));
+    }
+
+    public void testRestrictAndSupport() {
+        BDD bdd = new BDD(4);
+        int a = bdd.var(0);
+        int b = bdd.var(1);
+        int d = bdd.var(3);
+        int f = bdd.or(bdd.and(a, b), d);
+
+        assertTrue(Arrays.equals(new int[]{0, 1, 3}, bdd.support(f)));
+        assertEquals(bdd.or(b, d), bdd.restrict(f, 0, true));
+        assertEquals(d, bdd.restrict(f, 0, false));
+
+        BitSet values = new BitSet();
+        values.set(0);
+        assertFalse(bdd.evaluate(f, values));
+        values.set(1);
+        assertTrue(bdd.evaluate(f, values));
+    }
+
+    public void testManyNodes() {
+        // the xor of many variables requires the node table to grow
+        int vars = 2000;
+        BDD bdd = new BDD(vars);
+        int f = BDD.FALSE;
+        for (int i = 0; i < vars; i++)
+            f = bdd.xor(f, bdd.var(i));
+        assertEquals(vars, bdd.support(f).length);
+
+        BitSet values = new BitSet();
+        values.set(17);
+        assertTrue(bdd.evaluate(f, values));
+        values.set(1999);
+        assertFalse(bdd.evaluate(f, values));
+    }
+
+    public void testBoolTable() {
+        BDD bdd = new BDD(3);
+        int a = bdd.var(0);
+        int c = bdd.var(2);
+        BoolTableBDD t = new BoolTableBDD(bdd, bdd.and(a, bdd.not(c)));
+        assertEquals(8, t.size());
+        for (int i = 0; i < 8; i++)
+            assertEquals(i == 4 || i == 6 ? one : zero, t.get(i));
+
+        int[] support = t.getSupport();
+        assertTrue(Arrays.equals(new int[]{0, 2}, support));
+        BoolTable r = t.keepColumns(support);
+        assertEquals(4, r.size());
+        assertEquals(zero, r.get(0));
+        assertEquals(zero, r.get(1));
+        assertEquals(one, r.get(2));
+        assertEquals(zero, r.get(3));
+    }
+
+    public void testCompactString() {
+        BDD bdd = new BDD(5);
+        // some unrelated nodes which must not be stored
+        bdd.xor(bdd.var(1), bdd.var(3));
+        int f = bdd.or(bdd.and(bdd.var(0), bdd.not(bdd.var(2))), bdd.xor(bdd.var(3), bdd.var(4)));
+        BoolTableBDD t = new BoolTableBDD(bdd, f).keepColumns(new int[]{0, 2, 3, 4});
+
+        String compact = t.toCompactString();
+        BoolTableBDD r = BoolTableBDD.fromCompactString(t.getColumnCount(), compact);
+        assertEquals(t.size(), r.size());
+        for (int i = 0; i < t.size(); i++)
+            assertEquals(t.get(i), r.get(i));
+        assertEquals(compact, r.toCompactString());
+
+        assertEquals(zero, BoolTableBDD.fromCompactString(3, new BoolTableBDD(new BDD(3), BDD.FALSE).toCompactString()).get(5));
+        assertEquals(one, BoolTableBDD.fromCompactString(3, "1").get(5));
+        try {
+            BoolTableBDD.fromCompactString(3, "3:0:5 2");
+            fail();
+        } catch (NumberFormatException e) {
+            assertTrue(true);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.espresso;
+
+import de.neemann.digital.analyse.expression.Constant;
+import de.neemann.digital.analyse.expression.ContextFiller;
+import de.neemann.digital.analyse.expression.Expression;
+import de.neemann.digital.analyse.expression.ExpressionException;
+import de.neemann.digital.analyse.expression.Variable;
+import de.neemann.digital.analyse.quinemc.BoolTable;
+import de.neemann.digital.analyse.quinemc.BoolTableByteArray;
+import de.neemann.digital.analyse.quinemc.QuineMcCluskey;
+import de.neemann.digital.analyse.quinemc.ThreeStateValue;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static de.neemann.digital.analyse.expression.Variable.vars;
+
+public class EspressoTest extends TestCase {
+
+    public void testConstants() throws ExpressionException {
+        assertEquals(Constant.ZERO, new Espresso(vars(3), new BoolTableByteArray(new byte[8])).minimize().getExpression());
+
+        byte[] tab = new byte[8];
+        for (int i = 0; i < tab.length; i++)
+            tab[i] = (byte) (i % 2 == 0 ? 1 : 2);
+        assertEquals(Constant.ONE, new Espresso(vars(3), new BoolTableByteArray(tab)).minimize().getExpression());
+    }
+
+    public void testSimple() throws ExpressionException {
+        // Y = A!B + C, with A the most significant bit
+        ArrayList<Variable> v = vars(3);
+        byte[] tab = new byte[8];
+        for (int i = 0; i < tab.length; i++) {
+            boolean a = (i & 4) != 0;
+            boolean b = (i & 2) != 0;
+            boolean c = (i & 1) != 0;
+            tab[i] = (byte) ((a && !b) || c ? 1 : 0);
+        }
+        Espresso e = new Espresso(v, new BoolTableByteArray(tab)).minimize();
+        assertEquals(2, e.getCubeCount());
+        assertEquals(3, e.getLiteralCount());
+        check(v, new BoolTableByteArray(tab), e.getExpression());
+    }
+
+    public void testCompareToQMC() throws ExpressionException {
+        Random r = new Random(1);
+        for (int n = 4; n <= 6; n++) {
+            ArrayList<Variable> v = vars(n);
+            for (int t = 0; t < 50; t++) {
+                byte[] tab = new byte[1 << n];
+                for (int i = 0; i < tab.length; i++)
+                    tab[i] = (byte) (r.nextInt(8) == 0 ? 2 : r.nextInt(2));
+                BoolTableByteArray table = new BoolTableByteArray(tab);
+
+                Espresso e = new Espresso(v, table).minimize();
+                check(v, table, e.getExpression());
+
+                int qmcTerms = new QuineMcCluskey(v).fillTableWith(table).simplify().getPrimes().size();
+                assertTrue(e.getCubeCount() <= qmcTerms * 5 / 4 + 1);
+            }
+        }
+    }
+
+    public void testManyInputs() throws ExpressionException {
+        // Y = AB + CD + ... with 16 variables; the rows with all variables set are don't care
+        int n = 16;
+        ArrayList<Variable> v = vars(n);
+        BoolTable table = new BoolTable() {
+            @Override
+            public int size() {
+                return 1 << n;
+            }
+
+            @Override
+            public ThreeStateValue get(int i) {
+                if (i == (1 << n) - 1)
+                    return ThreeStateValue.dontCare;
+                for (int p = 0; p < n; p += 2)
+                    if (((i >> p) & 3) == 3)
+                        return ThreeStateValue.one;
+                return ThreeStateValue.zero;
+            }
+        };
+        Espresso e = new Espresso(v, table).minimize();
+        assertEquals(n / 2, e.getCubeCount());
+        assertEquals(n, e.getLiteralCount());
+        check(v, table, e.getExpression());
+    }
+
+    private static void check(ArrayList<Variable> v, BoolTable table, Expression e) throws ExpressionException {
+        ContextFiller context = new ContextFiller(v);
+        for (int i = 0; i < table.size(); i++) {
+            ThreeStateValue val = table.get(i);
+            if (val != ThreeStateValue.dontCare)
+                assertEquals(val == ThreeStateValue.one, e.calculate(context.setContextTo(i)));
+        }
+    }
+}
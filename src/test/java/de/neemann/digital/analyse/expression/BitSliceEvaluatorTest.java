@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.expression;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static de.neemann.digital.analyse.expression.Not.not;
+import static de.neemann.digital.analyse.expression.Operation.*;
+import static de.neemann.digital.analyse.expression.Variable.v;
+
+public class BitSliceEvaluatorTest extends TestCase {
+
+    public void testSimple() throws Exception {
+        Variable a = v("A");
+        Variable b = v("B");
+        long[] values = new BitSliceEvaluator(or(and(a, not(b)), and(not(a), b))).calculateAll();
+        assertEquals(1, values.length);
+        assertEquals(0b0110, values[0]);
+    }
+
+    public void testConstant() throws Exception {
+        BitSliceEvaluator e = new BitSliceEvaluator(Constant.ONE);
+        assertEquals(1, e.getRowCount());
+        assertEquals(1, e.calculate(0));
+        assertEquals(0, new BitSliceEvaluator(Constant.ZERO).calculate(0));
+    }
+
+    public void testUnknownVariable() {
+        ArrayList<Variable> vars = Variable.vars(2);
+        try {
+            new BitSliceEvaluator(and(vars.get(0), v("Q")), vars);
+            fail();
+        } catch (ExpressionException e) {
+            assertTrue(true);
+        }
+    }
+
+    public void testTreeFallback() throws Exception {
+        ArrayList<Variable> vars = Variable.vars(8);
+        Expression exp = xor(vars.get(0), vars.get(7));
+        Expression wrapped = new NamedExpression("Y", exp) {
+        };
+        long[] v1 = new BitSliceEvaluator(exp, vars).calculateAll();
+        long[] v2 = new BitSliceEvaluator(and(wrapped, Constant.ONE), vars).calculateAll();
+        assertEquals(4, v1.length);
+        for (int w = 0; w < v1.length; w++)
+            assertEquals(v1[w], v2[w]);
+    }
+
+    public void testRandom() throws Exception {
+        Random r = new Random(1);
+        for (int n = 1; n <= 10; n++) {
+            ArrayList<Variable> vars = Variable.vars(n);
+            for (int i = 0; i < 20; i++)
+                check(createRandom(r, vars, 4), vars);
+        }
+    }
+
+    private static void check(Expression exp, ArrayList<Variable> vars) throws ExpressionException {
+        long[] values = new BitSliceEvaluator(exp, vars).calculateAll();
+        ContextFiller cf = new ContextFiller(vars);
+        for (int row = 0; row < cf.getRowCount(); row++)
+            assertEquals(exp.toString(), exp.calculate(cf.setContextTo(row)), BitSliceEvaluator.get(values, row));
+        // no bits beyond the last row are set
+        if (cf.getRowCount() < 64)
+            assertEquals(0, values[0] >>> cf.getRowCount());
+    }
+
+    private static Expression createRandom(Random r, ArrayList<Variable> vars, int depth) {
+        if (depth == 0 || r.nextInt(4) == 0) {
+            if (r.nextInt(10) == 0)
+                return r.nextBoolean() ? Constant.ONE : Constant.ZERO;
+            return vars.get(r.nextInt(vars.size()));
+        }
+        ArrayList<Expression> list = new ArrayList<>();
+        int n = r.nextInt(3) + 1;
+        for (int i = 0; i < n; i++)
+            list.add(createRandom(r, vars, depth - 1));
+        switch (r.nextInt(4)) {
+            case 0:
+                return andNoMerge(list.toArray(new Expression[0]));
+            case 1:
+                return orNoMerge(list.toArray(new Expression[0]));
+            case 2:
+                return xor(list.get(0), createRandom(r, vars, depth - 1));
+            default:
+                return new Not(list.get(0));
+        }
+    }
+}
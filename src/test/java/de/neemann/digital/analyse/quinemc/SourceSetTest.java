@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.quinemc;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+
+public class SourceSetTest extends TestCase {
+
+    private static SourceSet create(int... values) {
+        SourceSet s = new SourceSet();
+        for (int v : values)
+            s.add(v);
+        return s;
+    }
+
+    public void testAdd() {
+        SourceSet s = create(5, 1, 3, 1);
+        assertEquals(3, s.size());
+        assertEquals("[1, 3, 5]", s.toString());
+        assertTrue(s.contains(3));
+        assertFalse(s.contains(2));
+        assertFalse(s.contains("3"));
+    }
+
+    public void testMerge() {
+        SourceSet s = create(1, 4, 7);
+        assertTrue(s.addAll(create(2, 4, 9)));
+        assertEquals("[1, 2, 4, 7, 9]", s.toString());
+        assertFalse(s.addAll(create(1, 9)));
+
+        assertTrue(s.containsAll(create(2, 7)));
+        assertFalse(s.containsAll(create(2, 8)));
+        assertTrue(s.containsAll(new SourceSet()));
+        assertTrue(s.containsAll(Arrays.asList(1, 9)));
+    }
+
+    public void testRemove() {
+        SourceSet s = create(1, 2, 3, 4, 5);
+        assertTrue(s.removeAll(new HashSet<>(Arrays.asList(2, 4))));
+        assertEquals("[1, 3, 5]", s.toString());
+
+        Iterator<Integer> it = s.iterator();
+        assertEquals(1, (int) it.next());
+        assertEquals(3, (int) it.next());
+        it.remove();
+        assertEquals(5, (int) it.next());
+        assertFalse(it.hasNext());
+        assertEquals("[1, 5]", s.toString());
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.analyse.quinemc;
+
+import de.neemann.digital.analyse.expression.BitSliceEvaluator;
+import de.neemann.digital.analyse.expression.Expression;
+import de.neemann.digital.analyse.expression.Operation;
+import de.neemann.digital.analyse.expression.Variable;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static de.neemann.digital.analyse.expression.Not.not;
+import static de.neemann.digital.analyse.expression.Operation.*;
+
+public class TableDecomposerTest extends TestCase {
+
+    private static BoolTable table(Expression e, List<Variable> vars) throws Exception {
+        long[] v = new BitSliceEvaluator(e, vars).calculateAll();
+        BoolTableByteArray t = new BoolTableByteArray(1 << vars.size());
+        for (int r = 0; r < t.size(); r++)
+            t.set(r, BitSliceEvaluator.get(v, r) ? 1 : 0);
+        return t;
+    }
+
+    private static Expression check(Expression e, List<Variable> vars, int maxPartVars) throws Exception {
+        BoolTable t = table(e, vars);
+        TableDecomposer td = new TableDecomposer(vars, t);
+        assertTrue(td.canDecompose());
+        assertEquals(maxPartVars, td.getMaxPartVars());
+
+        Expression found = td.createExpression((v, table) -> {
+            assertTrue(v.size() <= maxPartVars);
+            return new QuineMcCluskey(v).fillTableWith(table).simplify().getExpression();
+        });
+        long[] values = new BitSliceEvaluator(found, vars).calculateAll();
+        for (int r = 0; r < t.size(); r++)
+            assertEquals(found.toString(), t.get(r).bool(), BitSliceEvaluator.get(values, r));
+        return found;
+    }
+
+    public void testParity() throws Exception {
+        ArrayList<Variable> vars = Variable.vars(16);
+        Expression p = vars.get(0);
+        for (int i = 1; i < vars.size(); i++)
+            p = xor(p, vars.get(i));
+        check(p, vars, 0);
+        check(not(p), vars, 0);
+    }
+
+    public void testComparator() throws Exception {
+        ArrayList<Variable> vars = Variable.vars(16);
+        ArrayList<Expression> eq = new ArrayList<>();
+        for (int i = 0; i < 8; i++)
+            eq.add(not(xor(vars.get(i), vars.get(i + 8))));
+        check(and(eq), vars, 0);
+    }
+
+    public void testDecoder() throws Exception {
+        ArrayList<Variable> vars = Variable.vars(14);
+        ArrayList<Expression> term = new ArrayList<>();
+        for (int i = 0; i < vars.size(); i++)
+            term.add(i % 3 == 0 ? not(vars.get(i)) : vars.get(i));
+        Expression e = check(and(term), vars, 0);
+        assertEquals(and(term).toString(), e.toString());
+    }
+
+    public void testMixed() throws Exception {
+        ArrayList<Variable> vars = Variable.vars(14);
+        Random r = new Random(1);
+        // or of an and of a random function of four variables with a parity
+        Expression f = random(r, vars.subList(0, 4));
+        Expression g = random(r, vars.subList(4, 8));
+        Expression p = vars.get(8);
+        for (int i = 9; i < 14; i++)
+            p = xor(p, vars.get(i));
+        check(or(and(f, g), p), vars, 4);
+    }
+
+    public void testSymmetric() throws Exception {
+        ArrayList<Variable> vars = Variable.vars(6);
+        ArrayList<Expression> terms = new ArrayList<>();
+        for (int i = 0; i < vars.size(); i++)
+            for (int j = i + 1; j < vars.size(); j++)
+                terms.add(and(vars.get(i), vars.get(j)));
+        // at least two of six
+        Expression e = check(or(terms), vars, 0);
+        assertEquals(15, ((Operation) e).getExpressions().size());
+    }
+
+    public void testNotDecomposable() throws Exception {
+        ArrayList<Variable> vars = Variable.vars(6);
+        Expression e = random(new Random(2), vars);
+        assertFalse(new TableDecomposer(vars, table(e, vars)).canDecompose());
+    }
+
+    public void testDontCare() {
+        BoolTableByteArray t = new BoolTableByteArray("0110100x");
+        assertFalse(new TableDecomposer(Variable.vars(3), t).canDecompose());
+    }
+
+    private static Expression random(Random r, List<Variable> vars) {
+        ArrayList<Expression> terms = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            ArrayList<Expression> term = new ArrayList<>();
+            for (Variable v : vars)
+                term.add(r.nextBoolean() ? v : not(v));
+            terms.add(and(term));
+        }
+        return or(terms);
+    }
+}
@@ -22,6 +22,14 @@ public class CommandLineTesterTest extends TestCase {
         assertEquals(32, tester.getTestsPassed());
     }
 
+    public void testGenericParallel() throws IOException {
+        File source = new File(Resources.getRoot(), "../../main/dig/generic/barrelShifter/barrelShifter.dig");
+        CommandLineTester tester = new CommandLineTester(source).setThreads(3);
+        int errors = tester.execute(System.out);
+        assertEquals(0, errors);
+        assertEquals(3, tester.getTestsPassed());
+    }
+
     public void testFailing() throws IOException {
         File source = new File(Resources.getRoot(), "dig/failingTest.dig");
         CommandLineTester tester = new CommandLineTester(source);
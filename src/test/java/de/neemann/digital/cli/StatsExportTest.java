@@ -11,7 +11,10 @@ import junit.framework.TestCase;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.HashMap;
 
 public class StatsExportTest extends TestCase {
 
@@ -31,4 +34,35 @@ public class StatsExportTest extends TestCase {
         }
     }
 
-}
\ No newline at end of file
+    public void testTiming() throws CLIException, IOException {
+        File source = new File(Resources.getRoot(), "../../main/dig/sequential/Counter-T.dig");
+        File timing = File.createTempFile("timing", ".csv");
+        PrintStream old = System.out;
+        try {
+            try (PrintStream out = new PrintStream(new ByteArrayOutputStream())) {
+                System.setOut(out);
+                new StatsExport().execute(new String[]{source.getPath(), "-timing", timing.getPath(), "-paths", "2", "-period", "10"});
+            }
+            String csv = new String(Files.readAllBytes(timing.toPath()));
+            assertTrue(csv.startsWith("Path,Component,Signal,Delay,Slack"));
+            assertTrue(csv.contains("FlipflopT"));
+            assertFalse(csv.contains("\n3,"));
+        } finally {
+            System.setOut(old);
+            timing.delete();
+        }
+    }
+
+    public void testParseDelays() throws CLIException {
+        HashMap<String, Integer> d = StatsExport.parseDelays("And=2, XOr = 3,");
+        assertEquals(2, d.size());
+        assertEquals(2, (int) d.get("And"));
+        assertEquals(3, (int) d.get("XOr"));
+        try {
+            StatsExport.parseDelays("And");
+            fail();
+        } catch (CLIException e) {
+            assertTrue(true);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import de.neemann.digital.core.basic.FanIn;
+import de.neemann.digital.core.basic.NAnd;
+import de.neemann.digital.core.basic.NOr;
+import de.neemann.digital.core.basic.Not;
+import de.neemann.digital.core.basic.XOr;
+import de.neemann.digital.core.element.ElementAttributes;
+import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.core.flipflops.FlipflopD;
+import de.neemann.digital.core.wiring.Multiplexer;
+import de.neemann.digital.core.wiring.Splitter;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+
+import static de.neemann.digital.core.ObservableValues.ovs;
+
+public class BitSlicedModelTest extends TestCase {
+
+    public void testCombinatorial() throws Exception {
+        ObservableValue a = new ObservableValue("a", 1);
+        ObservableValue b = new ObservableValue("b", 1);
+        ObservableValue c = new ObservableValue("c", 1);
+
+        Model model = new Model();
+        FanIn xor = model.add(new XOr(new ElementAttributes()));
+        xor.setInputs(ovs(a, b, c));
+        FanIn nand = model.add(new NAnd(new ElementAttributes()));
+        nand.setInputs(ovs(a, b));
+        Not not = model.add(new Not(new ElementAttributes()));
+        not.setInputs(ovs(nand.getOutput()));
+        FanIn mux = model.add(new Multiplexer(new ElementAttributes()));
+        mux.setInputs(ovs(c, not.getOutput(), xor.getOutput()));
+        model.init();
+
+        BitSlicedModel bsm = BitSlicedModel.create(model, Arrays.asList(a, b, c), Arrays.asList(xor.getOutput(), mux.getOutput()));
+        assertNotNull(bsm);
+        for (int lane = 0; lane < BitSlicedModel.LANES; lane++) {
+            bsm.setInput(0, lane, lane & 1);
+            bsm.setInput(1, lane, (lane >> 1) & 1);
+            bsm.setInput(2, lane, (lane >> 2) & 1);
+        }
+        bsm.evaluate();
+
+        for (int lane = 0; lane < BitSlicedModel.LANES; lane++) {
+            a.setValue(lane & 1);
+            b.setValue((lane >> 1) & 1);
+            c.setValue((lane >> 2) & 1);
+            model.doStep();
+            assertEquals(xor.getOutput().getValue(), bsm.getOutput(0, lane));
+            assertEquals(mux.getOutput().getValue(), bsm.getOutput(1, lane));
+        }
+    }
+
+    public void testSplitterAndMultiplexer() throws Exception {
+        ObservableValue sel = new ObservableValue("sel", 2);
+        ObservableValue in = new ObservableValue("in", 8);
+
+        Model model = new Model();
+        Splitter splitter = new Splitter(new ElementAttributes()
+                .set(Keys.INPUT_SPLIT, "8")
+                .set(Keys.OUTPUT_SPLIT, "2,2,2,2"));
+        splitter.setInputs(ovs(in));
+        ObservableValues parts = splitter.getOutputs();
+        FanIn mux = model.add(new Multiplexer(new ElementAttributes()
+                .set(Keys.BITS, 2)
+                .set(Keys.SELECTOR_BITS, 2)));
+        mux.setInputs(ovs(sel, parts.get(0), parts.get(1), parts.get(2), parts.get(3)));
+        splitter.init(model);
+        model.init();
+
+        BitSlicedModel bsm = BitSlicedModel.create(model, Arrays.asList(sel, in), mux.getOutput().asList());
+        assertNotNull(bsm);
+
+        for (int lane = 0; lane < BitSlicedModel.LANES; lane++) {
+            bsm.setInput(0, lane, lane & 3);
+            bsm.setInput(1, lane, 0xE4 ^ lane);
+        }
+        bsm.evaluate();
+
+        for (int lane = 0; lane < BitSlicedModel.LANES; lane++) {
+            long expected = ((0xE4 ^ lane) >> ((lane & 3) * 2)) & 3;
+            assertEquals(expected, bsm.getOutput(0, lane));
+        }
+    }
+
+    public void testFeedbackNotSupported() throws Exception {
+        ObservableValue s = new ObservableValue("s", 1);
+        ObservableValue r = new ObservableValue("r", 1);
+
+        Model model = new Model();
+        FanIn nor1 = model.add(new NOr(new ElementAttributes()));
+        FanIn nor2 = model.add(new NOr(new ElementAttributes()));
+        nor1.setInputs(ovs(r, nor2.getOutput()));
+        nor2.setInputs(ovs(s, nor1.getOutput()));
+        model.init();
+
+        assertNull(BitSlicedModel.create(model, Arrays.asList(s, r), nor1.getOutput().asList()));
+    }
+
+    public void testStateNotSupported() throws Exception {
+        ObservableValue d = new ObservableValue("d", 1);
+        ObservableValue c = new ObservableValue("c", 1);
+
+        Model model = new Model();
+        FlipflopD ff = model.add(new FlipflopD(new ElementAttributes()));
+        ff.setInputs(ovs(d, c));
+        model.init();
+
+        assertNull(BitSlicedModel.create(model, Arrays.asList(d, c), ff.getOutputs()));
+    }
+}
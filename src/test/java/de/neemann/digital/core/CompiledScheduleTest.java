@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import de.neemann.digital.TestExecuter;
+import de.neemann.digital.core.basic.And;
+import de.neemann.digital.core.basic.FanIn;
+import de.neemann.digital.core.basic.NOr;
+import de.neemann.digital.core.basic.Not;
+import de.neemann.digital.core.basic.XOr;
+import de.neemann.digital.core.element.ElementAttributes;
+import de.neemann.digital.core.flipflops.FlipflopD;
+import junit.framework.TestCase;
+
+import static de.neemann.digital.core.ObservableValues.ovs;
+
+public class CompiledScheduleTest extends TestCase {
+
+    public void testLevelize() throws Exception {
+        ObservableValue a = new ObservableValue("a", 1);
+        ObservableValue b = new ObservableValue("b", 1);
+
+        Model model = new Model().setCompiled(true);
+        Not not = model.add(new Not(new ElementAttributes()));
+        not.setInputs(ovs(a));
+        FanIn and = model.add(new And(new ElementAttributes()));
+        and.setInputs(ovs(not.getOutput(), b));
+        FanIn xor = model.add(new XOr(new ElementAttributes()));
+        xor.setInputs(ovs(and.getOutput(), a));
+
+        CompiledSchedule schedule = new CompiledSchedule(model.getNodes());
+        assertEquals(3, schedule.getNodeCount());
+        assertEquals(3, schedule.getLevels());
+        assertEquals(0, schedule.getEventDrivenNodeCount());
+        assertEquals(0, schedule.getLevel(not));
+        assertEquals(1, schedule.getLevel(and));
+        assertEquals(2, schedule.getLevel(xor));
+        assertEquals(1, schedule.getFanOut(not));
+        assertEquals(0, schedule.getFanOut(xor));
+
+        TestExecuter sc = new TestExecuter(model).setInputs(a, b).setOutputs(xor.getOutputs());
+        sc.check(0, 0, 0);
+        sc.check(0, 1, 1);
+        sc.check(1, 0, 1);
+        sc.check(1, 1, 1);
+        sc.check(0, 1, 1);
+    }
+
+    public void testFeedbackIsEventDriven() throws Exception {
+        ObservableValue s = new ObservableValue("s", 1);
+        ObservableValue r = new ObservableValue("r", 1);
+
+        Model model = new Model().setCompiled(true);
+        FanIn nor1 = model.add(new NOr(new ElementAttributes()));
+        FanIn nor2 = model.add(new NOr(new ElementAttributes()));
+        nor1.setInputs(ovs(r, nor2.getOutput()));
+        nor2.setInputs(ovs(s, nor1.getOutput()));
+        Not not = model.add(new Not(new ElementAttributes()));
+        not.setInputs(ovs(nor1.getOutput()));
+
+        CompiledSchedule schedule = new CompiledSchedule(model.getNodes());
+        assertEquals(-1, schedule.getLevel(nor1));
+        assertEquals(-1, schedule.getLevel(nor2));
+        assertEquals(0, schedule.getLevel(not));
+        assertEquals(2, schedule.getEventDrivenNodeCount());
+
+        TestExecuter sc = new TestExecuter(model, true).setInputs(s, r).setOutputs(nor1.getOutput(), not.getOutput());
+        sc.check(1, 0, 1, 0);
+        sc.check(0, 0, 1, 0);
+        sc.check(0, 1, 0, 1);
+        sc.check(0, 0, 0, 1);
+        sc.check(1, 0, 1, 0);
+    }
+
+    public void testStateIsEventDriven() throws Exception {
+        ObservableValue c = new ObservableValue("c", 1);
+
+        Model model = new Model().setCompiled(true);
+        FlipflopD ff = model.add(new FlipflopD(new ElementAttributes()));
+        Not not = model.add(new Not(new ElementAttributes()));
+        not.setInputs(ovs(ff.getOutputs().get(0)));
+        ff.setInputs(ovs(not.getOutput(), c));
+
+        CompiledSchedule schedule = new CompiledSchedule(model.getNodes());
+        assertEquals(-1, schedule.getLevel(ff));
+        assertEquals(0, schedule.getLevel(not));
+
+        TestExecuter sc = new TestExecuter(model).setInputs(c).setOutputs(ff.getOutputs().get(0));
+        sc.check(0, 0);
+        sc.check(1, 1);
+        sc.check(0, 1);
+        sc.check(1, 0);
+        sc.check(0, 0);
+        sc.check(1, 1);
+    }
+
+    public void testSameResultAsEventDriven() throws Exception {
+        for (int val = 0; val < 16; val++)
+            assertEquals(createParityChain(false, val), createParityChain(true, val));
+    }
+
+    private long createParityChain(boolean compiled, int val) throws Exception {
+        ObservableValue[] in = new ObservableValue[4];
+        for (int i = 0; i < in.length; i++)
+            in[i] = new ObservableValue("in" + i, 1);
+
+        Model model = new Model().setCompiled(compiled);
+        ObservableValue parity = in[0];
+        ObservableValue all = in[0];
+        for (int i = 1; i < in.length; i++) {
+            FanIn xor = model.add(new XOr(new ElementAttributes()));
+            xor.setInputs(ovs(parity, in[i]));
+            parity = xor.getOutput();
+            FanIn and = model.add(new And(new ElementAttributes()));
+            and.setInputs(ovs(all, in[i]));
+            all = and.getOutput();
+        }
+        model.init();
+
+        for (int i = 0; i < in.length; i++)
+            in[i].setValue((val >> i) & 1);
+        model.doStep();
+
+        return parity.getValue() | (all.getValue() << 1);
+    }
+}
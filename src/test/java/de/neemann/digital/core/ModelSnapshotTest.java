@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import de.neemann.digital.draw.elements.Circuit;
+import de.neemann.digital.integration.ToBreakRunner;
+import de.neemann.digital.testing.TestExecutor;
+import de.neemann.digital.testing.TestModelCache;
+import de.neemann.digital.testing.TestResult;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Map;
+
+public class ModelSnapshotTest extends TestCase {
+
+    private static long[] count(Model model, int steps) {
+        ObservableValue clk = model.getInput("clk");
+        long[] values = new long[steps];
+        for (int i = 0; i < steps; i++) {
+            clk.setBool(true);
+            model.doStep();
+            clk.setBool(false);
+            model.doStep();
+            values[i] = model.getOutput("out").getValue();
+        }
+        return values;
+    }
+
+    public void testRestore() throws Exception {
+        Model model = new ToBreakRunner("dig/test/vhdl/counterPre.dig").getModel();
+        ModelSnapshot snapshot = model.createSnapshot();
+        assertNotNull(snapshot);
+
+        model.getInput("en").setBool(true);
+        model.doStep();
+        long[] first = count(model, 20);
+        assertEquals(4, first[3]);
+
+        snapshot.restore();
+        assertEquals(0, model.getOutput("out").getValue());
+        assertFalse(model.getInput("en").getBool());
+
+        model.getInput("en").setBool(true);
+        model.doStep();
+        long[] second = count(model, 20);
+        for (int i = 0; i < first.length; i++)
+            assertEquals(first[i], second[i]);
+    }
+
+    public void testNoSnapshotBeforeInit() throws Exception {
+        Model model = new ToBreakRunner("dig/test/vhdl/counterPre.dig", false).getModel();
+        assertNull(model.createSnapshot());
+    }
+
+    public void testTestCasesShareModel() throws Exception {
+        ToBreakRunner br = new ToBreakRunner("dig/test/vhdl/counterPre.dig");
+        TestModelCache models = new TestModelCache(br.getCircuit(), br.getLibrary());
+        for (int i = 0; i < 2; i++)
+            for (Circuit.TestCase tc : br.getCircuit().getTestCases()) {
+                TestResult tr = new TestExecutor(tc, models).execute();
+                assertTrue(tc.getLabel(), tr.allPassed());
+            }
+        models.close();
+        assertEquals(5, models.getReuseCount());
+    }
+
+    public void testCheckpoint() throws Exception {
+        File file = File.createTempFile("counter", ".chk");
+        try {
+            Model model = new ToBreakRunner("dig/test/vhdl/counterPre.dig").getModel();
+            model.getInput("en").setBool(true);
+            model.doStep();
+            long[] first = count(model, 10);
+            assertTrue(model.saveCheckpoint(file, "key", Collections.singletonMap("n", 10L)));
+            long[] expected = count(model, 10);
+
+            model = new ToBreakRunner("dig/test/vhdl/counterPre.dig").getModel();
+            try {
+                model.loadCheckpoint(file, "other");
+                fail();
+            } catch (IOException e) {
+                assertTrue(true);
+            }
+            Map<String, Long> vars = model.loadCheckpoint(file, "key");
+            assertEquals(10L, (long) vars.get("n"));
+            assertEquals(first[9], model.getOutput("out").getValue());
+            assertTrue(model.getInput("en").getBool());
+            long[] second = count(model, 10);
+            for (int i = 0; i < expected.length; i++)
+                assertEquals(expected[i], second[i]);
+
+            Model other = new ToBreakRunner("dig/test/vhdl/registerFile.dig").getModel();
+            try {
+                other.loadCheckpoint(file, "key");
+                fail();
+            } catch (IOException e) {
+                assertTrue(true);
+            }
+        } finally {
+            file.delete();
+        }
+    }
+}
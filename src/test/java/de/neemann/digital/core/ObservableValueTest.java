@@ -110,4 +110,69 @@ public class ObservableValueTest extends TestCase {
             return c;
         }
     }
+    public void testObservers() {
+        ObservableValue v = new ObservableValue("z", 4);
+        int[] count = new int[1];
+        Observer[] obs = new Observer[40];
+        for (int i = 0; i < obs.length; i++) {
+            obs[i] = () -> count[0]++;
+            v.addObserver(obs[i]);
+            v.addObserver(obs[i]);
+        }
+        assertEquals(40, v.observerCount());
+        v.setValue(1);
+        assertEquals(40, count[0]);
+
+        v.removeObserver(obs[7]);
+        assertFalse(v.hasObserver(obs[7]));
+        assertTrue(v.hasObserver(obs[8]));
+        assertEquals(39, v.observerCount());
+        assertEquals(obs[8], v.getObservers().get(7));
+        v.setValue(2);
+        assertEquals(79, count[0]);
+    }
+
+    public void testRemoveWhileNotified() {
+        ObservableValue v = new ObservableValue("z", 4);
+        int[] count = new int[1];
+        Observer second = () -> count[0]++;
+        v.addObserver(() -> v.removeObserver(second));
+        v.addObserver(second);
+        v.setValue(1);
+        assertEquals(1, count[0]);
+        v.setValue(2);
+        assertEquals(1, count[0]);
+        assertEquals(1, v.observerCount());
+    }
+
+    public void testWide() {
+        ObservableValue v = new ObservableValue("w", 100);
+        assertTrue(v.isWide());
+        assertEquals(2, v.getWordCount());
+
+        v.set(new long[]{0x1234, 0xfffffffffffL}, null);
+        assertEquals(0x1234, v.getValue());
+        assertEquals(0x1234, v.getWord(0));
+        assertEquals(0xfffffffffL, v.getWord(1));
+        assertEquals("0xfffffffff0000000000001234", v.getValueString());
+
+        v.setValue(5);
+        assertEquals(5, v.getWord(0));
+        assertEquals(0, v.getWord(1));
+        assertEquals("5", v.getValueString());
+
+        v.set(0, -1);
+        assertTrue(v.isHighZ());
+        assertEquals("Z", v.getValueString());
+
+        v.set(new long[]{1, 2}, new long[]{0, 1});
+        assertTrue(v.isHighZ());
+        assertEquals(1, v.getHighZWord(1));
+        long[] words = new long[2];
+        v.getWords(words, null);
+        assertEquals(1, words[0]);
+        assertEquals(2, words[1]);
+
+        assertFalse(new ObservableValue("n", 64).isWide());
+    }
 }
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import de.neemann.digital.core.basic.FanIn;
+import de.neemann.digital.core.basic.XOr;
+import de.neemann.digital.core.element.ElementAttributes;
+
+import java.util.ArrayList;
+
+import static de.neemann.digital.core.ObservableValues.ovs;
+
+/**
+ * Measures the scaling of the partitioned engine.
+ * The model consists of independent blocks of xor chains. In every step an input
+ * of every block is modified.
+ * Not executed by the test suite. Run the main method to obtain the timings.
+ */
+public final class PartitionedBenchmark {
+    private static final int[] THREADS = new int[]{1, 2, 4, 8};
+    private static final int BLOCKS = 8;
+    private static final int CHAINS = 500;
+    private static final int DEPTH = 16;
+    private static final int STEPS = 50;
+
+    private PartitionedBenchmark() {
+    }
+
+    /**
+     * Runs the benchmark
+     *
+     * @param args the program arguments
+     * @throws Exception Exception
+     */
+    public static void main(String[] args) throws Exception {
+        System.out.println("available processors: " + Runtime.getRuntime().availableProcessors());
+        long reference = 0;
+        long singleTime = 0;
+        for (int threads : THREADS) {
+            Model model = new Model();
+            ArrayList<ObservableValue> inputs = new ArrayList<>();
+            ArrayList<ObservableValue> outputs = new ArrayList<>();
+            for (int b = 0; b < BLOCKS; b++) {
+                ObservableValue a = new ObservableValue("a" + b, 1);
+                ObservableValue in = new ObservableValue("in" + b, 1);
+                inputs.add(a);
+                inputs.add(in);
+                for (int c = 0; c < CHAINS; c++) {
+                    ObservableValue v = a;
+                    for (int d = 0; d < DEPTH; d++) {
+                        FanIn xor = model.add(new XOr(new ElementAttributes()));
+                        xor.setInputs(ovs(v, in));
+                        v = xor.getOutput();
+                    }
+                    outputs.add(v);
+                }
+            }
+            model.setThreads(threads);
+            model.init(false);
+
+            long time = Long.MAX_VALUE;
+            long checksum = 0;
+            for (int run = 0; run < 3; run++) {
+                checksum = 0;
+                long t = System.nanoTime();
+                for (int s = 0; s < STEPS; s++) {
+                    for (int b = 0; b < BLOCKS; b++) {
+                        ObservableValue in = inputs.get(b * 2 + s % 2);
+                        in.setBool(!in.getBool());
+                    }
+                    model.doStep();
+                    for (ObservableValue o : outputs)
+                        checksum = checksum * 31 + o.getValue();
+                }
+                time = Math.min(time, System.nanoTime() - t);
+            }
+            model.close();
+
+            if (threads == 1) {
+                reference = checksum;
+                singleTime = time;
+            } else if (checksum != reference)
+                throw new IllegalStateException("results differ using " + threads + " threads");
+
+            System.out.println(threads + " threads: " + time / 1000000 + "ms, speedup "
+                    + String.format("%.2f", (double) singleTime / time));
+        }
+    }
+}
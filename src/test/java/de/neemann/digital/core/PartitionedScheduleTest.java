@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core;
+
+import de.neemann.digital.core.basic.FanIn;
+import de.neemann.digital.core.basic.XOr;
+import de.neemann.digital.core.element.ElementAttributes;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Random;
+
+import static de.neemann.digital.core.ObservableValues.ovs;
+
+public class PartitionedScheduleTest extends TestCase {
+
+    /**
+     * Creates independent blocks of xor chains.
+     * Every chain of a block is driven by the blocks input.
+     */
+    private static final class Blocks {
+        private final Model model = new Model();
+        private final ArrayList<ObservableValue> inputs = new ArrayList<>();
+        private final ArrayList<ObservableValue> outputs = new ArrayList<>();
+
+        private Blocks(int blocks, int chains, int depth) throws NodeException {
+            for (int b = 0; b < blocks; b++) {
+                ObservableValue in = new ObservableValue("in" + b, 1);
+                inputs.add(in);
+                for (int c = 0; c < chains; c++) {
+                    ObservableValue v = in;
+                    for (int d = 0; d < depth; d++) {
+                        FanIn xor = model.add(new XOr(new ElementAttributes()));
+                        xor.setInputs(ovs(v, in));
+                        v = xor.getOutput();
+                    }
+                    outputs.add(v);
+                }
+            }
+        }
+    }
+
+    public void testSameAsSequential() throws Exception {
+        Blocks seq = new Blocks(8, 64, 8);
+        Blocks par = new Blocks(8, 64, 8);
+        par.model.setThreads(4);
+        seq.model.init(false);
+        par.model.init(false);
+
+        Random r = new Random(1);
+        for (int i = 0; i < 50; i++) {
+            for (int b = 0; b < seq.inputs.size(); b++) {
+                boolean v = r.nextBoolean();
+                seq.inputs.get(b).setBool(v);
+                par.inputs.get(b).setBool(v);
+            }
+            seq.model.doStep();
+            par.model.doStep();
+
+            assertEquals(seq.model.getStepCounter(), par.model.getStepCounter());
+            for (int o = 0; o < seq.outputs.size(); o++)
+                assertEquals(seq.outputs.get(o).getValue(), par.outputs.get(o).getValue());
+        }
+        par.model.close();
+    }
+
+    public void testIndependentBlocksNotCut() throws Exception {
+        Blocks blocks = new Blocks(8, 16, 4);
+        PartitionedSchedule ps = new PartitionedSchedule(blocks.model.getNodes(), 4);
+        try {
+            assertEquals(4, ps.getRegions());
+            assertEquals(0, ps.getCutSignals());
+
+            // every region contains two blocks
+            int[] count = new int[4];
+            for (Node n : blocks.model)
+                count[ps.getRegion(n)]++;
+            for (int c : count)
+                assertEquals(2 * 16 * 4, c);
+        } finally {
+            ps.shutdown();
+        }
+    }
+}
@@ -85,4 +85,34 @@ public class AddTest extends TestCase {
         sc.check(-1, 0, 1, 0, 1);
         sc.check(-1, 1, 0, 0, 1);
     }
+
+    public void testAdd128() throws Exception {
+        ObservableValue a = new ObservableValue("a", 128);
+        ObservableValue b = new ObservableValue("b", 128);
+        ObservableValue c = new ObservableValue("c", 1);
+
+        Model model = new Model();
+        Add node = new Add(new ElementAttributes().setBits(128));
+        node.setInputs(ovs(a, b, c));
+        model.add(node);
+        model.init();
+
+        ObservableValue sum = node.getOutputs().get(0);
+        ObservableValue carry = node.getOutputs().get(1);
+
+        a.set(new long[]{-1, 0}, null);
+        b.set(new long[]{1, 0}, null);
+        model.doStep();
+        assertEquals(0, sum.getWord(0));
+        assertEquals(1, sum.getWord(1));
+        assertEquals(0, carry.getValue());
+
+        a.set(new long[]{-1, -1}, null);
+        b.set(new long[]{0, 0}, null);
+        c.setValue(1);
+        model.doStep();
+        assertEquals(0, sum.getWord(0));
+        assertEquals(0, sum.getWord(1));
+        assertEquals(1, carry.getValue());
+    }
 }
@@ -54,4 +54,33 @@ public class SubTest extends TestCase {
         sc.check(2, 3, 0, -1, 1);
     }
 
+    public void testSub128() throws Exception {
+        ObservableValue a = new ObservableValue("a", 128);
+        ObservableValue b = new ObservableValue("b", 128);
+        ObservableValue c = new ObservableValue("c", 1);
+
+        Model model = new Model();
+        Sub node = new Sub(new ElementAttributes().setBits(128));
+        node.setInputs(ovs(a, b, c));
+        model.add(node);
+        model.init();
+
+        ObservableValue diff = node.getOutputs().get(0);
+        ObservableValue borrow = node.getOutputs().get(1);
+
+        a.set(new long[]{0, 1}, null);
+        b.set(new long[]{1, 0}, null);
+        model.doStep();
+        assertEquals(-1, diff.getWord(0));
+        assertEquals(0, diff.getWord(1));
+        assertEquals(0, borrow.getValue());
+
+        a.set(new long[]{0, 0}, null);
+        b.set(new long[]{0, 0}, null);
+        c.setValue(1);
+        model.doStep();
+        assertEquals(-1, diff.getWord(0));
+        assertEquals(-1, diff.getWord(1));
+        assertEquals(1, borrow.getValue());
+    }
 }
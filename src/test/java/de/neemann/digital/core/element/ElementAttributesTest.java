@@ -6,12 +6,15 @@
 package de.neemann.digital.core.element;
 
 import de.neemann.digital.core.memory.DataField;
+import de.neemann.digital.draw.graphics.Vector;
+import de.neemann.digital.draw.shapes.custom.CustomShapeDescription;
 import de.neemann.digital.hdl.hgs.Context;
 import de.neemann.digital.hdl.hgs.HGSEvalException;
 import de.neemann.digital.hdl.hgs.Parser;
 import de.neemann.digital.hdl.hgs.ParserException;
 import junit.framework.TestCase;
 
+import java.awt.*;
 import java.io.File;
 import java.io.IOException;
 
@@ -42,4 +45,20 @@ public class ElementAttributesTest extends TestCase {
         assertEquals("(1-7-4-8-2)", c.toString());
     }
 
-}
\ No newline at end of file
+    /**
+     * Values which do not describe themselves by their toString method are described by their content
+     */
+    public void testContentDescription() {
+        ElementAttributes a = new ElementAttributes().set(Keys.CUSTOM_SHAPE, shape(10));
+        ElementAttributes b = new ElementAttributes().set(Keys.CUSTOM_SHAPE, shape(10));
+        ElementAttributes c = new ElementAttributes().set(Keys.CUSTOM_SHAPE, shape(20));
+        assertEquals(a.getContentDescription(), b.getContentDescription());
+        assertFalse(a.getContentDescription().equals(c.getContentDescription()));
+    }
+
+    private static CustomShapeDescription shape(int x) {
+        return new CustomShapeDescription.Builder()
+                .addLine(new Vector(0, 0), new Vector(x, 0), 1, Color.BLACK)
+                .build();
+    }
+}
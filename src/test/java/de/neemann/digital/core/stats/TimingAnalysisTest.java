@@ -0,0 +1,138 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.core.stats;
+
+import de.neemann.digital.core.Model;
+import de.neemann.digital.core.ObservableValue;
+import de.neemann.digital.core.Signal;
+import de.neemann.digital.core.basic.And;
+import de.neemann.digital.core.basic.FanIn;
+import de.neemann.digital.core.basic.Not;
+import de.neemann.digital.core.basic.Or;
+import de.neemann.digital.core.element.ElementAttributes;
+import de.neemann.digital.core.flipflops.FlipflopD;
+import de.neemann.digital.integration.ToBreakRunner;
+import junit.framework.TestCase;
+
+import javax.swing.table.TableModel;
+import java.util.HashMap;
+import java.util.List;
+
+import static de.neemann.digital.core.ObservableValues.ovs;
+
+public class TimingAnalysisTest extends TestCase {
+
+    /**
+     * a -> not -> and(b) -> D of the flip-flop, Q -> not -> not -> y
+     */
+    private static Model createSequential() throws Exception {
+        Model model = new Model();
+        ObservableValue a = new ObservableValue("a", 1);
+        ObservableValue b = new ObservableValue("b", 1);
+        ObservableValue c = new ObservableValue("c", 1);
+        model.addInput(new Signal("a", a));
+        model.addInput(new Signal("b", b));
+        model.addInput(new Signal("c", c));
+
+        Not n1 = model.add(new Not(new ElementAttributes()));
+        n1.setInputs(ovs(a));
+        FanIn and = model.add(new And(new ElementAttributes()));
+        and.setInputs(ovs(n1.getOutputs().get(0), b));
+        FlipflopD ff = model.add(new FlipflopD(new ElementAttributes()));
+        ff.setInputs(ovs(and.getOutputs().get(0), c));
+        Not n2 = model.add(new Not(new ElementAttributes()));
+        n2.setInputs(ovs(ff.getOutputs().get(0)));
+        Not n3 = model.add(new Not(new ElementAttributes()));
+        n3.setInputs(ovs(n2.getOutputs().get(0)));
+        model.addOutput(new Signal("y", n3.getOutputs().get(0)));
+        return model;
+    }
+
+    public void testSequential() throws Exception {
+        TimingAnalysis ta = new TimingAnalysis(createSequential());
+        List<TimingAnalysis.Path> paths = ta.getPaths();
+        assertEquals(2, ta.getCriticalDelay());
+
+        // only the worst path of every end point: a -> D, FF -> y, c -> clock
+        assertEquals(3, paths.size());
+        for (int i = 1; i < paths.size(); i++)
+            assertTrue(paths.get(i - 1).getDelay() >= paths.get(i).getDelay());
+
+        TimingAnalysis.Path p = findPath(paths, "a");
+        assertEquals("FlipflopD", p.getEnd());
+        assertEquals(2, p.getDelay());
+        assertEquals(3, p.getHops().size());
+        assertEquals("Not", p.getHops().get(1).getComponent());
+        assertEquals(1, p.getHops().get(1).getDelay());
+        assertEquals("And", p.getHops().get(2).getComponent());
+        assertEquals(2, p.getHops().get(2).getDelay());
+        assertEquals(3, p.getSlack(5));
+
+        p = findPath(paths, "FlipflopD");
+        assertEquals("y", p.getEnd());
+        assertEquals(2, p.getDelay());
+
+        assertEquals(0, findPath(paths, "c").getDelay());
+        assertEquals(0, ta.getBrokenLoops());
+    }
+
+    public void testDelays() throws Exception {
+        HashMap<String, Integer> delays = new HashMap<>();
+        delays.put("And", 5);
+        TimingAnalysis ta = new TimingAnalysis(createSequential(), delays);
+        TimingAnalysis.Path p = ta.getPaths().get(0);
+        assertEquals("a", p.getStart());
+        assertEquals(6, p.getDelay());
+        assertEquals(-2, p.getSlack(4));
+    }
+
+    public void testTableModel() throws Exception {
+        TimingAnalysis ta = new TimingAnalysis(createSequential());
+        TableModel tm = ta.getTableModel(1, 3);
+        // three hops and the end point
+        assertEquals(4, tm.getRowCount());
+        assertEquals(2, tm.getValueAt(3, 3));
+        assertEquals(1, tm.getValueAt(3, 4));
+        assertNull(tm.getValueAt(2, 4));
+
+        assertNull(ta.getTableModel(1, 0).getValueAt(3, 4));
+    }
+
+    public void testLoop() throws Exception {
+        Model model = new Model();
+        ObservableValue s = new ObservableValue("s", 1);
+        model.addInput(new Signal("s", s));
+        FanIn or = model.add(new Or(new ElementAttributes()));
+        Not not = model.add(new Not(new ElementAttributes()));
+        not.setInputs(ovs(or.getOutputs().get(0)));
+        or.setInputs(ovs(s, not.getOutputs().get(0)));
+        model.addOutput(new Signal("q", not.getOutputs().get(0)));
+
+        TimingAnalysis ta = new TimingAnalysis(model);
+        assertEquals(1, ta.getBrokenLoops());
+        assertEquals(2, ta.getCriticalDelay());
+    }
+
+    public void testCircuits() throws Exception {
+        // without delays of the splitters the same result as the max path len
+        assertEquals(6, criticalDelay("../../main/dig/combinatorial/Adder8bit.dig"));
+        assertEquals(4, criticalDelay("../../main/dig/combinatorial/FullAdderCLA.dig"));
+        assertEquals(13, criticalDelay("../../main/dig/combinatorial/Multiply.dig"));
+    }
+
+    private static int criticalDelay(String name) throws Exception {
+        Model model = new ToBreakRunner(name, false).getModel();
+        return new TimingAnalysis(model).getCriticalDelay();
+    }
+
+    private static TimingAnalysis.Path findPath(List<TimingAnalysis.Path> paths, String start) {
+        for (TimingAnalysis.Path p : paths)
+            if (p.getStart().equals(start))
+                return p;
+        fail("no path starting at " + start);
+        return null;
+    }
+}
@@ -83,9 +83,9 @@ public class PortsTest extends TestCase {
     }
 
     public void testInputConsistency4() throws Exception {
-        Splitter.Ports p = new Splitter.Ports("1*64");
+        Splitter.Ports p = new Splitter.Ports("1*256");
         try {
-            p = new Splitter.Ports("1*65");
+            p = new Splitter.Ports("1*257");
             fail();
         } catch (NodeException e) {
             assertTrue(true);
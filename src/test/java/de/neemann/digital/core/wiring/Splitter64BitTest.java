@@ -64,4 +64,26 @@ public class Splitter64BitTest extends TestCase {
         sc.check(0xffff0000ffffffffL, 0xffff, 0xffff, 0, 0xffff);
         sc.check(0x0000ffffffffffffL, 0xffff, 0xffff, 0xffff, 0);
     }
+
+    public void test128Bit() throws NodeException, PinException {
+        ObservableValue lo = new ObservableValue("lo", 64);
+        ObservableValue hi = new ObservableValue("hi", 64);
+
+        Splitter join = new Splitter(new ElementAttributes()
+                .set(Keys.INPUT_SPLIT, "64,64")
+                .set(Keys.OUTPUT_SPLIT, "128"));
+        join.setInputs(ovs(lo, hi));
+        ObservableValue wide = join.getOutputs().get(0);
+
+        Splitter split = new Splitter(new ElementAttributes()
+                .set(Keys.INPUT_SPLIT, "128")
+                .set(Keys.OUTPUT_SPLIT, "4,120,4"));
+        split.setInputs(ovs(wide));
+
+        TestExecuter sc = new TestExecuter().setInputs(lo, hi).setOutputsOf(split);
+        sc.check(0x0, 0x0, 0x0, 0x0, 0x0);
+        sc.check(0x3, 0x1000000000000000L, 0x3, 0x0, 0x1);
+        sc.check(0xfffffffffffffff0L, 0x0fffffffffffffffL, 0x0, 0xffffffffffffffffL, 0x0);
+        assertEquals(0x0fffffffffffffffL, wide.getWord(1));
+    }
 }
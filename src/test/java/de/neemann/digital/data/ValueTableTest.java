@@ -6,6 +6,7 @@
 package de.neemann.digital.data;
 
 import de.neemann.digital.core.IntFormat;
+import de.neemann.digital.core.ObservableValue;
 import de.neemann.digital.testing.parser.TestRow;
 import junit.framework.TestCase;
 
@@ -77,4 +78,70 @@ public class ValueTableTest extends TestCase {
         assertTrue(new Value(3).isEqualTo(t.getTableValue(1, 0)));
         assertTrue(new Value(5).isEqualTo(t.getTableValue(2, 0)));
     }
+
+    public void testSamples() throws Exception {
+        ObservableValue a = new ObservableValue("a", 4);
+        ObservableValue b = new ObservableValue("b", 1);
+        ObservableValue[] sample = new ObservableValue[]{a, b};
+        ValueTable t = new ValueTable("A", "B");
+        for (int i = 0; i < 10; i++) {
+            a.setValue(i / 3);
+            if (i == 5)
+                b.setToHighZ();
+            else
+                b.setValue(i & 1);
+            t.addSample(sample);
+        }
+
+        assertEquals(10, t.getRows());
+        assertEquals(3, t.getMax(0));
+        assertEquals(1, t.getMax(1));
+        assertEquals(2, t.getValue(7, 0).getValue());
+        assertTrue(t.getValue(5, 1).isHighZ());
+
+        int row = 0;
+        for (TestRow r : t) {
+            assertEquals(row / 3, r.getValue(0).getValue());
+            if (row == 5)
+                assertTrue(r.getValue(1).isHighZ());
+            else
+                assertEquals(row & 1, r.getValue(1).getValue());
+            row++;
+        }
+        assertEquals(10, row);
+
+        ValueTable c = t.copyRows(4, 7);
+        assertEquals(3, c.getRows());
+        assertEquals(3, c.getMax(0));
+        assertEquals("A B\n1 0\n1 Z\n2 0\n", c.toString());
+    }
+
+    public void testSamplesMaxSize() throws Exception {
+        ObservableValue a = new ObservableValue("a", 8);
+        ObservableValue b = new ObservableValue("b", 8).setValue(7);
+        ObservableValue[] sample = new ObservableValue[]{a, b};
+        ValueTable t = new ValueTable("A", "B").setMaxSize(5);
+        for (int i = 0; i < 100; i++) {
+            a.setValue(i);
+            t.addSample(sample);
+        }
+
+        assertEquals(5, t.getRows());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(95 + i, t.getValue(i, 0).getValue());
+            assertEquals(7, t.getValue(i, 1).getValue());
+        }
+
+        StringWriter sw = new StringWriter();
+        t.saveCSV(new BufferedWriter(sw));
+        assertEquals("\"step\",\"A\",\"B\"\n" +
+                "\"0\",\"5F\",\"7\"\n" +
+                "\"1\",\"0x60\",\"7\"\n" +
+                "\"2\",\"0x61\",\"7\"\n" +
+                "\"3\",\"0x62\",\"7\"\n" +
+                "\"4\",\"0x63\",\"7\"\n", sw.toString());
+
+        t.clear();
+        assertEquals(0, t.getRows());
+    }
 }
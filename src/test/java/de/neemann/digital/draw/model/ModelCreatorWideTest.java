@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.draw.model;
+
+import de.neemann.digital.core.Model;
+import de.neemann.digital.core.ObservableValue;
+import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.draw.elements.Circuit;
+import de.neemann.digital.draw.elements.PinException;
+import de.neemann.digital.draw.elements.VisualElement;
+import de.neemann.digital.draw.elements.Wire;
+import de.neemann.digital.draw.graphics.Vector;
+import de.neemann.digital.draw.library.ElementLibrary;
+import de.neemann.digital.draw.shapes.ShapeFactory;
+import junit.framework.TestCase;
+
+import static de.neemann.digital.draw.shapes.GenericShape.SIZE;
+
+/**
+ * Checks that values with more than 64 bits only reach components which are able to handle them.
+ */
+public class ModelCreatorWideTest extends TestCase {
+    private ElementLibrary library;
+    private ShapeFactory shapeFactory;
+
+    @Override
+    protected void setUp() throws Exception {
+        library = new ElementLibrary();
+        shapeFactory = new ShapeFactory(library);
+    }
+
+    private VisualElement add(Circuit c, String name, Vector pos) {
+        VisualElement ve = new VisualElement(name).setPos(pos).setShapeFactory(shapeFactory);
+        c.add(ve);
+        return ve;
+    }
+
+    private VisualElement addIO(Circuit c, String name, Vector pos, String label) {
+        VisualElement ve = add(c, name, pos);
+        ve.getElementAttributes().set(Keys.LABEL, label);
+        ve.getElementAttributes().setBits(96);
+        return ve;
+    }
+
+    public void testTunnelTransportsAllWords() throws Exception {
+        Circuit c = new Circuit();
+        addIO(c, "In", new Vector(0, 0), "A");
+        c.add(new Wire(new Vector(0, 0), new Vector(SIZE, 0)));
+        add(c, "Tunnel", new Vector(SIZE, 0)).getElementAttributes().set(Keys.NETNAME, "n");
+        add(c, "Tunnel", new Vector(SIZE * 4, 0)).getElementAttributes().set(Keys.NETNAME, "n");
+        c.add(new Wire(new Vector(SIZE * 4, 0), new Vector(SIZE * 5, 0)));
+        addIO(c, "Out", new Vector(SIZE * 5, 0), "Y");
+
+        Model model = new ModelCreator(c, library).createModel(false);
+        model.init();
+        model.getInput("A").set(new long[]{1, 0xabcd}, null);
+        model.doStep();
+        ObservableValue y = model.getOutput("Y");
+        assertEquals(1, y.getWord(0));
+        assertEquals(0xabcd, y.getWord(1));
+    }
+
+    public void testProbeIsRejected() throws Exception {
+        Circuit c = new Circuit();
+        addIO(c, "In", new Vector(0, 0), "A");
+        c.add(new Wire(new Vector(0, 0), new Vector(SIZE, 0)));
+        add(c, "Probe", new Vector(SIZE, 0)).getElementAttributes().set(Keys.LABEL, "P");
+
+        try {
+            new ModelCreator(c, library).createModel(false);
+            fail();
+        } catch (PinException e) {
+            assertTrue(e.getMessage().contains("Probe"));
+        }
+    }
+
+    public void testBusIsRejected() throws Exception {
+        Circuit c = new Circuit();
+        addIO(c, "In", new Vector(0, 0), "A");
+        c.add(new Wire(new Vector(0, 0), new Vector(SIZE, 0)));
+        addIO(c, "In", new Vector(SIZE, 0), "B");
+
+        try {
+            new ModelCreator(c, library).createModel(false);
+            fail();
+        } catch (PinException e) {
+            assertTrue(e.getMessage().contains("64"));
+        }
+    }
+}
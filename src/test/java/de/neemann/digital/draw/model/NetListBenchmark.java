@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.draw.model;
+
+import de.neemann.digital.core.Model;
+import de.neemann.digital.core.basic.Not;
+import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.core.io.In;
+import de.neemann.digital.core.io.Out;
+import de.neemann.digital.draw.elements.Circuit;
+import de.neemann.digital.draw.elements.Pin;
+import de.neemann.digital.draw.elements.VisualElement;
+import de.neemann.digital.draw.elements.Wire;
+import de.neemann.digital.draw.graphics.Vector;
+import de.neemann.digital.draw.library.ElementLibrary;
+import de.neemann.digital.draw.shapes.ShapeFactory;
+
+import java.util.ArrayList;
+
+import static de.neemann.digital.draw.shapes.GenericShape.SIZE;
+
+/**
+ * Measures the time needed to create the net list and the model of large circuits.
+ * The generated circuits consist of a long chain of inverters. Every inverter
+ * is connected to the next one by three wires.
+ * Not executed by the test suite. Run the main method to obtain the timings.
+ */
+public final class NetListBenchmark {
+    private static final int[] WIRES = new int[]{1000, 10000, 100000};
+    private static final int RUNS = 5;
+
+    private NetListBenchmark() {
+    }
+
+    /**
+     * Creates a chain of inverters
+     *
+     * @param wires the number of wires to create
+     * @param sf    the shape factory
+     * @return the circuit
+     */
+    static Circuit createCircuit(int wires, ShapeFactory sf) {
+        Circuit c = new Circuit();
+        ArrayList<Wire> wireList = new ArrayList<>();
+
+        VisualElement in = new VisualElement(In.DESCRIPTION.getName())
+                .setPos(new Vector(0, 0))
+                .setAttribute(Keys.LABEL, "in")
+                .setShapeFactory(sf);
+        c.add(in);
+        Vector out = in.getPins().get(0).getPos();
+
+        int gates = wires / 3;
+        for (int i = 0; i < gates; i++) {
+            VisualElement not = new VisualElement(Not.DESCRIPTION.getName())
+                    .setPos(new Vector(out.x + SIZE * 3, out.y + SIZE))
+                    .setShapeFactory(sf);
+            c.add(not);
+            Vector nextIn = getPin(not, Pin.Direction.input);
+            connect(wireList, out, nextIn);
+            out = getPin(not, Pin.Direction.output);
+        }
+
+        VisualElement o = new VisualElement(Out.DESCRIPTION.getName())
+                .setPos(new Vector(out.x + SIZE * 3, out.y + SIZE))
+                .setAttribute(Keys.LABEL, "out")
+                .setShapeFactory(sf);
+        c.add(o);
+        connect(wireList, out, o.getPins().get(0).getPos());
+
+        c.add(wireList);
+        return c;
+    }
+
+    private static Vector getPin(VisualElement ve, Pin.Direction dir) {
+        for (Pin p : ve.getPins())
+            if (p.getDirection() == dir)
+                return p.getPos();
+        throw new IllegalStateException("pin not found");
+    }
+
+    private static void connect(ArrayList<Wire> wireList, Vector from, Vector to) {
+        Vector c1 = new Vector(from.x + SIZE, from.y);
+        Vector c2 = new Vector(from.x + SIZE, to.y);
+        wireList.add(new Wire(from, c1));
+        wireList.add(new Wire(c1, c2));
+        wireList.add(new Wire(c2, to));
+    }
+
+    /**
+     * Runs the benchmark
+     *
+     * @param args the program arguments
+     * @throws Exception Exception
+     */
+    public static void main(String[] args) throws Exception {
+        ElementLibrary library = new ElementLibrary();
+        ShapeFactory sf = new ShapeFactory(library);
+        for (int wires : WIRES) {
+            Circuit c = createCircuit(wires, sf);
+
+            long netListTime = Long.MAX_VALUE;
+            long modelTime = Long.MAX_VALUE;
+            int nets = 0;
+            int nodes = 0;
+            for (int r = 0; r < RUNS; r++) {
+                long t0 = System.nanoTime();
+                NetList netList = new NetList(c);
+                long t1 = System.nanoTime();
+                Model model = new ModelCreator(c, library).createModel(false);
+                long t2 = System.nanoTime();
+                netListTime = Math.min(netListTime, t1 - t0);
+                modelTime = Math.min(modelTime, t2 - t1);
+                nets = netList.size();
+                nodes = model.size();
+            }
+
+            System.out.println(c.getWires().size() + " wires, " + nets + " nets, " + nodes + " nodes: "
+                    + "net list " + netListTime / 1000000 + "ms, "
+                    + "model " + modelTime / 1000000 + "ms");
+        }
+    }
+}
@@ -33,6 +33,26 @@ public class NetListTest extends TestCase {
         assertEquals(1, ns.size());
     }
 
+    public void testBridge() throws Exception {
+        Circuit c = new Circuit();
+
+        c.add(new Wire(new Vector(1 * SIZE, 1 * SIZE), new Vector(1 * SIZE, 2 * SIZE)));
+        c.add(new Wire(new Vector(4 * SIZE, 1 * SIZE), new Vector(4 * SIZE, 2 * SIZE)));
+        c.add(new Wire(new Vector(7 * SIZE, 1 * SIZE), new Vector(7 * SIZE, 2 * SIZE)));
+        assertEquals(3, new NetList(c).size());
+
+        // connects the first and the last net
+        c.add(new Wire(new Vector(1 * SIZE, 2 * SIZE), new Vector(2 * SIZE, 3 * SIZE)));
+        c.add(new Wire(new Vector(7 * SIZE, 2 * SIZE), new Vector(2 * SIZE, 3 * SIZE)));
+
+        NetList ns = new NetList(c);
+        assertEquals(2, ns.size());
+        Net net = ns.getNetOfPos(new Vector(1 * SIZE, 1 * SIZE));
+        assertSame(net, ns.getNetOfPos(new Vector(7 * SIZE, 1 * SIZE)));
+        assertEquals(4, net.getWires().size());
+        assertNotSame(net, ns.getNetOfPos(new Vector(4 * SIZE, 1 * SIZE)));
+    }
+
     private void addTunnel(Circuit c, Vector pos, String name, ShapeFactory sf) {
         VisualElement ve = new VisualElement("Tunnel")
                 .setPos(pos).setShapeFactory(sf);
@@ -13,6 +13,7 @@ import junit.framework.TestCase;
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import java.util.Random;
 
 import static de.neemann.digital.fsm.Optimizer.fac;
 
@@ -63,4 +64,51 @@ public class OptimizerTest extends TestCase {
         assertEquals(2432902008176640000L, fac(20));
         assertEquals(Long.MAX_VALUE, fac(21));
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a FSM with the given number of states which is too large for an exhaustive search
+     */
+    private static FSM createLargeFSM(int n) throws FiniteStateMachineException {
+        State[] s = new State[n];
+        for (int i = 0; i < n; i++)
+            s[i] = new State("S" + i).setValues("Y=" + (i % 3 == 0 ? 1 : 0) + ",X=" + (i % 5 == 0 ? 1 : 0));
+        FSM fsm = new FSM(s);
+        for (int i = 0; i < n; i++) {
+            fsm.transition(s[i], s[(i + 1) % n], "A");
+            fsm.transition(s[i], s[(i * 7 + 3) % n], "!A & B");
+        }
+        return fsm;
+    }
+
+    public void testLarge() throws ExpressionException, FiniteStateMachineException, FormatterException {
+        FSM fsm = createLargeFSM(24);
+        assertEquals(Long.MAX_VALUE, Optimizer.getTimeComplexity(fsm));
+
+        Optimizer optimizer = new Optimizer(fsm).setTimeBudget(3000).optimizeFSM().applyBest();
+        assertTrue(optimizer.getBestComplexity() < optimizer.getInitialComplexity());
+        assertEquals(optimizer.getBestComplexity(), Optimizer.calcComplexity(fsm, false));
+    }
+
+    public void testIncrementalCost() throws ExpressionException, FiniteStateMachineException, FormatterException {
+        FSM fsm = createLargeFSM(12);
+        StateTable table = new StateTable(fsm);
+        EncodingCost ec = new EncodingCost(table);
+        ec.set(table.getNumbers());
+        assertEquals(Optimizer.calcComplexity(fsm, false), ec.getCost());
+
+        Random rnd = new Random(1);
+        for (int i = 0; i < 20; i++) {
+            ec.swap(rnd.nextInt(16), rnd.nextInt(16));
+            int[] numbers = ec.getNumbers();
+
+            EncodingCost full = new EncodingCost(table);
+            full.set(numbers);
+            assertEquals(full.getCost(), ec.getCost());
+
+            List<State> states = fsm.getStates();
+            for (int j = 0; j < states.size(); j++)
+                states.get(j).setNumber(numbers[j]);
+            assertEquals(Optimizer.calcComplexity(fsm, false), ec.getCost());
+        }
+    }
+}
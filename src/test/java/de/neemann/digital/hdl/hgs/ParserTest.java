@@ -659,6 +659,42 @@ public class ParserTest extends TestCase {
         assertEquals("", exec("<? if ( startsWith(\"foobar\", \"bar\") ) { print(\"true\"); } -?> ").toString());
     }
 
+    public void testConstantFolding() throws IOException, ParserException, HGSEvalException {
+        assertEquals(7L, new Parser("1+2*3").parseExp().value(newContext()));
+        assertEquals(false, new Parser("!(1<2)").parseExp().value(newContext()));
+        // errors are reported at evaluation time, not while parsing
+        Expression e = new Parser("1/0").parseExp();
+        try {
+            e.value(newContext());
+            fail();
+        } catch (ArithmeticException ex) {
+            // expected
+        }
+    }
+
+    public void testManyVariables() throws IOException, ParserException, HGSEvalException {
+        Context c = newContext();
+        for (int i = 0; i < 40; i++)
+            c.declareVar("v" + i, (long) i);
+        assertEquals(39L, c.getVar(new String("v39")));
+        assertEquals(5L, c.hgsMapGet("v5"));
+        assertEquals(40, c.getKeySet().size());
+        failToEval("<? v3:=1; ?>", c);
+        exec("<? v3=7; ?>", c);
+        assertEquals(7L, c.getVar("v3"));
+    }
+
+    public void testShadowing() throws IOException, ParserException, HGSEvalException {
+        Context c = exec("<? a:=1; if (true) { a:=2; print(a); } print(a); ?>");
+        assertEquals("21", c.toString());
+    }
+
+    public void testCreateCached() throws IOException, ParserException {
+        Statement s = Parser.createCached("a:=1;");
+        assertSame(s, Parser.createCached("a:=1;"));
+        assertSame(Parser.createFromJar("verilog/DIG_Add.v", null), Parser.createFromJar("verilog/DIG_Add.v", null));
+    }
+
     // checks the available VHDL templates
     public void testVHDLTemplates() throws Exception {
         final File path = new File(Resources.getRoot(), "../../main/resources/vhdl");
@@ -12,6 +12,9 @@ import de.neemann.digital.hdl.printer.CodePrinterStr;
 import de.neemann.digital.integration.ToBreakRunner;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.Collections;
+
 public class HDLModelTest extends TestCase {
 
     private HDLCircuit getCircuit(String filename, HDLClockIntegrator ci) throws Exception {
@@ -344,4 +347,28 @@ public class HDLModelTest extends TestCase {
                 "end circuit main\n", cp.toString());
     }
 
-}
\ No newline at end of file
+    public void testParallelOptimization() throws Exception {
+        ToBreakRunner br = new ToBreakRunner("dig/test/vhdl/generics/mainMem2.dig");
+        HDLModel sequential = new HDLModel(br.getLibrary()).create(br.getCircuit(), null);
+        for (HDLCircuit c : sequential)
+            c.applyDefaultOptimizations();
+        HDLModel parallel = new HDLModel(br.getLibrary()).create(br.getCircuit(), null)
+                .applyDefaultOptimizations();
+
+        ArrayList<String> expected = printAll(sequential);
+        assertTrue(expected.size() > 16);
+        assertEquals(expected, printAll(parallel));
+    }
+
+    private static ArrayList<String> printAll(HDLModel model) throws Exception {
+        ArrayList<String> list = new ArrayList<>();
+        for (HDLCircuit c : model) {
+            CodePrinterStr cp = new CodePrinterStr();
+            c.print(cp);
+            list.add(cp.toString());
+        }
+        Collections.sort(list);
+        return list;
+    }
+
+}
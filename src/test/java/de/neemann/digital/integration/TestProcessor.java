@@ -73,6 +73,21 @@ public class TestProcessor extends TestCase {
         assertEquals(610, ram.getMemory().getDataWord(0));
     }
 
+    /**
+     * Same as {@link #testFibonacci()} but uses the compiled simulation engine.
+     *
+     * @throws Exception Exception
+     */
+    public void testFibonacciCompiled() throws Exception {
+        ToBreakRunner processor = createProcessor("programs/fibonacci.hex");
+        processor.getModel().setCompiled(true);
+        RAMSinglePort ram = processor
+                .runToBreak(100616)
+                .getSingleNode(RAMSinglePort.class);
+
+        assertEquals(610, ram.getMemory().getDataWord(0));
+    }
+
     /**
      * Loads the simulated processor, and loads a program that calculates the 15th
      * fibonacci number with a simple recursive algorithm. The result (610) is stored in the first RAM word.
@@ -12,6 +12,8 @@ import junit.framework.TestCase;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 public class FolderTestRunnerTest extends TestCase {
 
@@ -36,4 +38,31 @@ public class FolderTestRunnerTest extends TestCase {
 
         ft.waitUntilFinished();
     }
-}
\ No newline at end of file
+
+    public void testFolderTestOrdered() throws InterruptedException, IOException {
+        for (int threads = 1; threads <= 4; threads++) {
+            File f = new File(Resources.getRoot(), "dig/test/arith");
+            FolderTestRunner ft = new FolderTestRunner(f).setThreads(threads);
+
+            ElementLibrary library = new ElementLibrary();
+            library.setRootFilePath(f.getParentFile());
+            ShapeFactory shapeFactory = new ShapeFactory(library);
+            ArrayList<Integer> reported = new ArrayList<>();
+            ArrayList<Integer> rowCounts = new ArrayList<>();
+            ft.startTests(
+                    (fileToTest, row) -> {
+                        reported.add(row);
+                        rowCounts.add(fileToTest.getRowCount());
+                    },
+                    shapeFactory,
+                    library);
+            ft.waitUntilFinished();
+
+            assertEquals(Arrays.asList(0, 1, 2, 3, 4), reported);
+            for (int i = 0; i < ROWS.length; i++)
+                assertEquals(ROWS[i], (int) rowCounts.get(i));
+            for (FolderTestRunner.FileToTest fileToTest : ft.getFiles())
+                assertEquals(FolderTestRunner.FileToTest.Status.passed, fileToTest.getStatus());
+        }
+    }
+}
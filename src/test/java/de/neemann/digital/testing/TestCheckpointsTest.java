@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 Helmut Neemann.
+ * Use of this source code is governed by the GPL v3 license
+ * that can be found in the LICENSE file.
+ */
+package de.neemann.digital.testing;
+
+import de.neemann.digital.core.Model;
+import de.neemann.digital.core.element.Keys;
+import de.neemann.digital.draw.elements.VisualElement;
+import de.neemann.digital.integration.ToBreakRunner;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+
+public class TestCheckpointsTest extends TestCase {
+    private static final String TEST = "C we Di Rw Ra Rb Da Db\n"
+            + "checkpoint(write)\n"
+            + "loop (a, 16)\n"
+            + " c 1 (a*10) (a) 0 0 x x\n"
+            + "end loop\n"
+            + "let f = 10;\n"
+            + "end checkpoint\n"
+            + "loop (a, 16)\n"
+            + " 0 0 0 0 (a) (a) (a*f) (a*f)\n"
+            + "end loop\n";
+
+    private File dir;
+    private File base;
+    private ToBreakRunner runner;
+
+    @Override
+    protected void setUp() throws Exception {
+        dir = File.createTempFile("checkpoint", "");
+        assertTrue(dir.delete());
+        assertTrue(dir.mkdir());
+        base = new File(dir, "registerFile.dig");
+        assertTrue(base.createNewFile());
+        runner = new ToBreakRunner("dig/test/vhdl/registerFile.dig");
+    }
+
+    @Override
+    protected void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null)
+            for (File f : files)
+                f.delete();
+        dir.delete();
+    }
+
+    private TestResult execute(String test) throws Exception {
+        Model model = new ToBreakRunner("dig/test/vhdl/registerFile.dig").getModel();
+        return new TestExecutor(new TestCaseDescription(test), model)
+                .setCheckpointBase(base, runner.getCircuit(), runner.getLibrary())
+                .execute();
+    }
+
+    private File getCheckpointFile() {
+        return new TestCheckpoints(null, base, null, null, "unknown", null).getFile("write");
+    }
+
+    public void testCheckpoint() throws Exception {
+        TestResult tr = execute(TEST);
+        assertTrue(tr.allPassed());
+        assertEquals(32, tr.getRowsTested());
+        assertTrue(getCheckpointFile().exists());
+
+        tr = execute(TEST);
+        assertTrue(tr.allPassed());
+        assertEquals(16, tr.getRowsTested());
+    }
+
+    public void testModifiedCircuit() throws Exception {
+        assertEquals(32, execute(TEST).getRowsTested());
+        VisualElement ve = runner.getCircuit().getElements().get(0);
+        ve.getElementAttributes().set(Keys.DESCRIPTION, "modified");
+        assertEquals(32, execute(TEST).getRowsTested());
+        assertEquals(16, execute(TEST).getRowsTested());
+    }
+
+    public void testModifiedRows() throws Exception {
+        assertEquals(32, execute(TEST).getRowsTested());
+        // rows behind the checkpoint do not invalidate the checkpoint
+        assertEquals(17, execute(TEST + " 0 0 0 0 0 0 0 0\n").getRowsTested());
+        assertEquals(32, execute(TEST.replace("let f = 10;", "let f = 10; let g = 1;")).getRowsTested());
+    }
+
+    public void testDamagedCheckpoint() throws Exception {
+        assertEquals(32, execute(TEST).getRowsTested());
+        try (RandomAccessFile f = new RandomAccessFile(getCheckpointFile(), "rw")) {
+            for (long p = f.length() / 2; p < f.length(); p += 4) {
+                f.seek(p);
+                f.writeInt(-1);
+            }
+        }
+        TestResult tr = execute(TEST);
+        assertTrue(tr.allPassed());
+        assertEquals(32, tr.getRowsTested());
+    }
+
+    public void testNoCheckpointOnFailure() throws Exception {
+        TestResult tr = execute(TEST.replace("x x\n", "1 x\n"));
+        assertFalse(tr.allPassed());
+        assertFalse(getCheckpointFile().exists());
+    }
+
+    public void testFileName() {
+        File f = new TestCheckpoints(null, base, null, null, "my test", null).getFile("a");
+        assertEquals(new File(dir, "registerFile_my_test_a.chk"), f);
+    }
+}
@@ -12,6 +12,8 @@ import de.neemann.digital.builder.BuilderException;
 import de.neemann.digital.builder.circuit.CircuitBuilder;
 import de.neemann.digital.core.Model;
 import de.neemann.digital.core.NodeException;
+import de.neemann.digital.core.ObservableValue;
+import de.neemann.digital.core.Signal;
 import de.neemann.digital.data.ValueTable;
 import de.neemann.digital.draw.elements.Circuit;
 import de.neemann.digital.draw.elements.PinException;
@@ -122,4 +124,89 @@ public class TestResultTest extends TestCase {
         assertTrue(tr.allPassed());
     }
 
+    public void testBitSlicedSameAsEventDriven() throws Exception {
+        TestCaseDescription data = new TestCaseDescription(
+                "A B C D E F Y\n"
+                        + "loop(n,200)\n"
+                        + "bits(6,n) (n&1)\n"
+                        + "end loop\n"
+                        + "0 0 0 0 z 0 0\n");
+        TestResult sliced = new TestExecutor(data, getModel("A*B+C*D+!E*F")).execute();
+        TestResult eventDriven = new TestExecutor(data, getModel("A*B+C*D+!E*F")).setAllowBitSliced(false).execute();
+
+        assertEquals(201, sliced.getRowsTested());
+        assertEquals(eventDriven.failedPercent(), sliced.failedPercent());
+        ValueTable s = sliced.getValueTable();
+        ValueTable e = eventDriven.getValueTable();
+        assertEquals(e.getRows(), s.getRows());
+        for (int r = 0; r < e.getRows(); r++)
+            for (int c = 0; c < e.getColumns(); c++)
+                assertEquals(e.getValue(r, c).toString(), s.getValue(r, c).toString());
+    }
+
+    public void testBitSlicedReadsModel() throws Exception {
+        TestCaseDescription data = new TestCaseDescription(
+                "A B Y\n"
+                        + "0 0 0\n"
+                        + "1 1 1\n"
+                        + "let a=Y;\n"
+                        + "(a) 1 1\n");
+        TestResult tr = new TestExecutor(data, getModel("A*B")).execute();
+        assertEquals(3, tr.getRowsTested());
+        assertTrue(tr.allPassed());
+    }
+
+    public void testDescriptions() throws Exception {
+        TestCaseDescription data = new TestCaseDescription(
+                "A B Y\n"
+                        + "loop(n,2)\n"
+                        + "x (n) (n)\n"
+                        + "end loop\n"
+                        + "1 1 0\n");
+        for (boolean sliced : new boolean[]{true, false}) {
+            TestResult tr = new TestExecutor(data, getModel("A*0+B")).setAllowBitSliced(sliced).execute();
+            ValueTable valueTable = tr.getValueTable();
+            assertEquals(5, valueTable.getRows());
+            assertEquals("L3;n=0;X=0", valueTable.getDescription(0));
+            assertEquals("L3;n=0;X=1", valueTable.getDescription(1));
+            assertEquals("L3;n=1;X=1", valueTable.getDescription(3));
+            assertEquals("L5", valueTable.getDescription(4));
+            assertFalse(((MatchedValue) valueTable.getValue(4, 2)).isPassed());
+        }
+    }
+
+    public void testManyRowsAreCounted() throws Exception {
+        TestCaseDescription data = new TestCaseDescription(
+                "A B Y\n"
+                        + "loop(n,100000)\n"
+                        + "bits(2,n) (n=99999)\n"
+                        + "end loop\n");
+        for (boolean sliced : new boolean[]{true, false}) {
+            TestResult tr = new TestExecutor(data, getModel("A*B")).setAllowBitSliced(sliced).execute();
+            assertEquals(100000, tr.getRowsTested());
+            assertTrue(tr.toManyResults());
+            ValueTable valueTable = tr.getValueTable();
+            // 256 failing rows within the first 1024 rows, afterwards only failing rows are shown
+            assertTrue(valueTable.getRows() <= 2048);
+            int failed = 0;
+            for (int r = 0; r < valueTable.getRows(); r++)
+                if (!((MatchedValue) valueTable.getValue(r, 2)).isPassed()) {
+                    assertTrue(valueTable.getDescription(r).startsWith("L3;n="));
+                    failed++;
+                }
+            assertEquals(256 + 1024, failed);
+        }
+    }
+
+    public void testWideSignalIsRejected() throws Exception {
+        Model model = new Model();
+        model.addInput(new Signal("A", new ObservableValue("A", 8)));
+        model.addOutput(new Signal("Y", new ObservableValue("Y", 96)));
+        try {
+            new TestExecutor(new TestCaseDescription("A Y\n0 0\n"), model);
+            fail();
+        } catch (TestingDataException e) {
+            assertTrue(e.getMessage().contains("Y"));
+        }
+    }
 }
@@ -40,6 +40,31 @@ public class ParserLoopTest extends TestCase {
         }
     }
 
+    public void testCheckpoint() throws IOException, ParserException {
+        Parser parser = new Parser("A B\ncheckpoint(warmup)\nloop(i,10)\n C (i*2)\nend loop\nlet k=5;\nend checkpoint\n C (k)").parse();
+        LineCollector td = new LineCollector(parser);
+
+        assertEquals(11, td.getLines().size());
+        for (int i = 0; i < 10; i++)
+            assertEquals(i * 2, td.getLines().get(i).getValue(1).getValue());
+        assertEquals(5, td.getLines().get(10).getValue(1).getValue());
+    }
+
+    public void testCheckpointInLoop() throws IOException {
+        checkNotAllowed("A B\nloop(i,10)\ncheckpoint(c)\n C (i)\nend checkpoint\nend loop");
+        checkNotAllowed("A B\nwhile(1)\ncheckpoint(c)\n C 1\nend checkpoint\nend while");
+        checkNotAllowed("A B\ncheckpoint(a)\ncheckpoint(b)\n C 1\nend checkpoint\nend checkpoint");
+    }
+
+    private static void checkNotAllowed(String data) throws IOException {
+        try {
+            new Parser(data).parse();
+            fail();
+        } catch (ParserException e) {
+            assertTrue(true);
+        }
+    }
+
     public void testNested() throws IOException, ParserException {
         Parser parser = new Parser("A B\nloop(i,10)\nloop(j,10)\n C (i+j*2)\nend loop\nend loop").parse();
         LineCollector td = new LineCollector(parser);